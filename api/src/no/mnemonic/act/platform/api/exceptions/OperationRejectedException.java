@@ -0,0 +1,27 @@
+package no.mnemonic.act.platform.api.exceptions;
+
+/**
+ * An OperationRejectedException is thrown when an operation is not executed because the server is too busy or the
+ * operation would be too expensive. The request can be retried later.
+ */
+public class OperationRejectedException extends Exception {
+
+  private static final long serialVersionUID = 6093447364930628167L;
+
+  private final String messageTemplate;
+
+  public OperationRejectedException(String message, String messageTemplate) {
+    super(message);
+    this.messageTemplate = messageTemplate;
+  }
+
+  /**
+   * Returns an error message template which can be used to translate an error message.
+   *
+   * @return Error message template
+   */
+  public String getMessageTemplate() {
+    return messageTemplate;
+  }
+
+}
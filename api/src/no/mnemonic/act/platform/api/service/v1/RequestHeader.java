@@ -9,32 +9,49 @@ import no.mnemonic.services.common.auth.model.Credentials;
 public class RequestHeader {
 
   private final Credentials credentials;
+  private final boolean bypassCache;
 
-  private RequestHeader(Credentials credentials) {
+  private RequestHeader(Credentials credentials, boolean bypassCache) {
     this.credentials = credentials;
+    this.bypassCache = bypassCache;
   }
 
   public Credentials getCredentials() {
     return credentials;
   }
 
+  /**
+   * If true the service must not return cached results, e.g. because the client explicitly requested fresh results.
+   *
+   * @return Whether cached results should be bypassed
+   */
+  public boolean isBypassCache() {
+    return bypassCache;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
 
   public static class Builder {
     private Credentials credentials;
+    private boolean bypassCache;
 
     private Builder() {
     }
 
     public RequestHeader build() {
-      return new RequestHeader(credentials);
+      return new RequestHeader(credentials, bypassCache);
     }
 
     public Builder setCredentials(Credentials credentials) {
       this.credentials = credentials;
       return this;
     }
+
+    public Builder setBypassCache(boolean bypassCache) {
+      this.bypassCache = bypassCache;
+      return this;
+    }
   }
 }
@@ -362,9 +362,11 @@ public interface ThreatIntelligenceService {
    * @throws AuthenticationFailedException If the user could not be authenticated.
    * @throws InvalidArgumentException      If the request contains invalid parameters.
    * @throws OperationTimeoutException     If the graph traversal timed out.
+   * @throws OperationRejectedException    If the graph traversal was rejected because of too many concurrent traversals.
    */
   default ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectIdRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     throw new UnsupportedOperationException();
   }
 
@@ -378,9 +380,11 @@ public interface ThreatIntelligenceService {
    * @throws AuthenticationFailedException If the user could not be authenticated.
    * @throws InvalidArgumentException      If the request contains invalid parameters.
    * @throws OperationTimeoutException     If the graph traversal timed out.
+   * @throws OperationRejectedException    If the graph traversal was rejected because of too many concurrent traversals.
    */
   default ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectTypeValueRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     throw new UnsupportedOperationException();
   }
 
@@ -394,9 +398,11 @@ public interface ThreatIntelligenceService {
    * @throws AuthenticationFailedException If the user could not be authenticated.
    * @throws InvalidArgumentException      If the request contains invalid parameters.
    * @throws OperationTimeoutException     If the graph traversal timed out.
+   * @throws OperationRejectedException    If the graph traversal was rejected because of too many concurrent traversals.
    */
   default ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectSearchRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     throw new UnsupportedOperationException();
   }
 
@@ -0,0 +1,88 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
+import no.mnemonic.services.common.auth.model.Credentials;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Creates a {@link PropertiesBasedAccessController} with a generated access control configuration.
+ * <p>
+ * The configuration contains a number of organizations and one user (subject 1) which is affiliated with the first
+ * organization. The user is nested inside a chain of subject groups of the given depth, and the organizations are
+ * nested inside a chain of organization groups of the same depth. Only the top-level subject group is granted
+ * permissions, and only for the top-level organization group. Thus, every permission check of the user needs to
+ * walk through both hierarchies.
+ */
+class AccessControlFixture implements AutoCloseable {
+
+  static final long USER_ID = 1;
+  static final long FIRST_ORGANIZATION_ID = 1;
+
+  private static final long ORGANIZATION_GROUP_OFFSET = 100_000;
+  private static final long SUBJECT_GROUP_OFFSET = 200_000;
+
+  private final Path propertiesFile;
+  private final PropertiesBasedAccessController accessController;
+
+  AccessControlFixture(int depth, int organizations) throws IOException {
+    propertiesFile = Files.createTempFile("act-benchmark-acl", ".properties");
+    try (FileWriter writer = new FileWriter(propertiesFile.toFile())) {
+      writer.write(generateProperties(Math.max(depth, 1), Math.max(organizations, 1)));
+    }
+
+    accessController = PropertiesBasedAccessController.builder()
+            .setPropertiesFile(propertiesFile.toString())
+            .build();
+    accessController.startComponent();
+  }
+
+  PropertiesBasedAccessController getAccessController() {
+    return accessController;
+  }
+
+  Credentials getUserCredentials() {
+    return SubjectCredentials.builder().setSubjectID(USER_ID).build();
+  }
+
+  @Override
+  public void close() throws IOException {
+    accessController.stopComponent();
+    Files.deleteIfExists(propertiesFile);
+  }
+
+  private String generateProperties(int depth, int organizations) {
+    StringBuilder builder = new StringBuilder()
+            .append("function.all.members = viewFactObjects,traverseFactObjects,addFactObjects,viewFactComments\n");
+
+    // Organizations nested inside a chain of organization groups.
+    StringBuilder members = new StringBuilder();
+    for (long id = FIRST_ORGANIZATION_ID; id < FIRST_ORGANIZATION_ID + organizations; id++) {
+      builder.append(String.format("organization.%d.name = organization%d\n", id, id));
+      members.append(members.length() > 0 ? "," : "").append(id);
+    }
+    appendGroupChain(builder, "organization", ORGANIZATION_GROUP_OFFSET, depth, members.toString());
+
+    // The user nested inside a chain of subject groups, the top-level group holds all permissions.
+    builder.append(String.format("subject.%d.name = user\n", USER_ID))
+            .append(String.format("subject.%d.affiliation = %d\n", USER_ID, FIRST_ORGANIZATION_ID));
+    appendGroupChain(builder, "subject", SUBJECT_GROUP_OFFSET, depth, String.valueOf(USER_ID));
+    builder.append(String.format("subject.%d.permission.%d = all\n", SUBJECT_GROUP_OFFSET + depth - 1, ORGANIZATION_GROUP_OFFSET + depth - 1));
+
+    return builder.toString();
+  }
+
+  private void appendGroupChain(StringBuilder builder, String prefix, long offset, int depth, String firstMembers) {
+    for (long level = 0; level < depth; level++) {
+      long id = offset + level;
+      builder.append(String.format("%s.%d.name = group%d\n", prefix, id, id))
+              .append(String.format("%s.%d.type = group\n", prefix, id))
+              .append(String.format("%s.%d.members = %s\n", prefix, id, level == 0 ? firstMembers : String.valueOf(id - 1)));
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.auth.properties.model.FunctionIdentifier;
+import no.mnemonic.act.platform.auth.properties.model.OrganizationIdentifier;
+import no.mnemonic.services.common.auth.InvalidCredentialsException;
+import no.mnemonic.services.common.auth.model.Credentials;
+import no.mnemonic.services.common.auth.model.FunctionIdentity;
+import no.mnemonic.services.common.auth.model.OrganizationIdentity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures permission checks of the {@link PropertiesBasedAccessController} with deep subject and organization
+ * group hierarchies, see {@link AccessControlFixture}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AccessControllerBenchmark {
+
+  @Param({"1", "3", "5"})
+  private int depth;
+  @Param({"10", "100"})
+  private int organizations;
+
+  private AccessControlFixture fixture;
+  private PropertiesBasedAccessController accessController;
+  private Credentials credentials;
+  private FunctionIdentity function;
+  private FunctionIdentity missingFunction;
+  private OrganizationIdentity organization;
+
+  @Setup
+  public void setUp() throws IOException {
+    fixture = new AccessControlFixture(depth, organizations);
+    accessController = fixture.getAccessController();
+    credentials = fixture.getUserCredentials();
+    function = FunctionIdentifier.builder().setName("viewFactObjects").build();
+    missingFunction = FunctionIdentifier.builder().setName("grantFactAccess").build();
+    organization = OrganizationIdentifier.builder().setInternalID(AccessControlFixture.FIRST_ORGANIZATION_ID + organizations - 1).build();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public boolean hasPermission() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function);
+  }
+
+  @Benchmark
+  public boolean hasPermissionForOrganization() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function, organization);
+  }
+
+  @Benchmark
+  public boolean hasPermissionDenied() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, missingFunction, organization);
+  }
+
+  @Benchmark
+  public int getAvailableOrganizations() throws InvalidCredentialsException {
+    return accessController.getAvailableOrganizations(credentials).size();
+  }
+
+}
@@ -0,0 +1,106 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.api.model.v1.*;
+import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.service.ti.converters.FactConverter;
+import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of Fact and Object entities into their API models. All referenced models are resolved from
+ * memory, thus, only the conversion itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ConverterBenchmark {
+
+  @Param({"0", "10", "100"})
+  private int statisticsCount;
+
+  private FactConverter factConverter;
+  private ObjectConverter objectConverter;
+  private FactEntity fact;
+  private FactEntity metaFact;
+  private ObjectEntity object;
+
+  @Setup
+  public void setUp() {
+    FactType factType = FactType.builder().setId(UUID.randomUUID()).setName("factType").build();
+    ObjectType objectType = ObjectType.builder().setId(UUID.randomUUID()).setName("objectType").build();
+    Organization organization = Organization.builder().setId(UUID.randomUUID()).setName("organization").build();
+    Source source = Source.builder().setId(UUID.randomUUID()).setName("source").build();
+
+    object = new ObjectEntity().setId(UUID.randomUUID()).setTypeID(objectType.getId()).setValue("object");
+    Object objectModel = Object.builder().setId(object.getId()).setType(objectType.toInfo()).setValue(object.getValue()).build();
+
+    fact = createFact(factType, organization, source)
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(object.getId()).setDirection(Direction.FactIsDestination),
+                    new FactEntity.FactObjectBinding().setObjectID(object.getId()).setDirection(Direction.FactIsSource)
+            ));
+    metaFact = createFact(factType, organization, source).setInReferenceToID(fact.getId());
+
+    Map<UUID, FactEntity> facts = new HashMap<>();
+    facts.put(fact.getId(), fact);
+
+    List<ObjectStatisticsResult.FactStatistic> statistics = new ArrayList<>();
+    for (int i = 0; i < statisticsCount; i++) {
+      statistics.add(new ObjectStatisticsResult.FactStatistic(factType.getId(), i, i, i));
+    }
+
+    factConverter = FactConverter.builder()
+            .setFactTypeConverter(id -> factType)
+            .setOrganizationConverter(id -> organization)
+            .setSourceConverter(id -> source)
+            .setObjectConverter(id -> objectModel)
+            .setFactEntityResolver(facts::get)
+            .setAccessChecker(entity -> true)
+            .build();
+    objectConverter = ObjectConverter.builder()
+            .setObjectTypeConverter(id -> objectType)
+            .setFactTypeConverter(id -> factType)
+            .setFactStatisticsResolver(id -> statistics)
+            .build();
+  }
+
+  @Benchmark
+  public Fact convertFact() {
+    return factConverter.apply(fact);
+  }
+
+  @Benchmark
+  public Fact convertMetaFact() {
+    return factConverter.apply(metaFact);
+  }
+
+  @Benchmark
+  public Object convertObject() {
+    return objectConverter.apply(object);
+  }
+
+  private FactEntity createFact(FactType type, Organization organization, Source source) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(type.getId())
+            .setValue("value")
+            .setOrganizationID(organization.getId())
+            .setSourceID(source.getId())
+            .setAccessMode(AccessMode.RoleBased)
+            .setTimestamp(System.currentTimeMillis())
+            .setLastSeenTimestamp(System.currentTimeMillis());
+  }
+
+}
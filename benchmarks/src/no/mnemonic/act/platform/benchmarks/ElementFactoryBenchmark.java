@@ -0,0 +1,88 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.benchmarks.stubs.InMemoryFactManager;
+import no.mnemonic.act.platform.benchmarks.stubs.InMemoryObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
+import no.mnemonic.act.platform.dao.tinkerpop.utils.ElementFactory;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of edges by the {@link ElementFactory} of a graph with one Object bound to many Facts. With
+ * more Facts than the size of the edge cache (10000 edges) cached edges are evicted during the benchmark.
+ * <p>
+ * Cassandra is replaced by in-memory managers, thus, only the creation and caching of edges is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ElementFactoryBenchmark {
+
+  @Param({"1000", "11000"})
+  private int factCount;
+
+  private ActGraph graph;
+  private List<ObjectFactBindingEntity> bindings;
+
+  @Setup
+  public void setUp() {
+    InMemoryObjectManager objectManager = new InMemoryObjectManager();
+    InMemoryFactManager factManager = new InMemoryFactManager();
+
+    ObjectTypeEntity objectType = objectManager.saveObjectType(new ObjectTypeEntity().setId(UUID.randomUUID()).setName("objectType"));
+    FactTypeEntity factType = factManager.saveFactType(new FactTypeEntity().setId(UUID.randomUUID()).setName("factType"));
+    ObjectEntity object = objectManager.saveObject(new ObjectEntity().setId(UUID.randomUUID()).setTypeID(objectType.getId()).setValue("object"));
+
+    for (int i = 0; i < factCount; i++) {
+      ObjectEntity other = objectManager.saveObject(new ObjectEntity().setId(UUID.randomUUID()).setTypeID(objectType.getId()).setValue("object" + i));
+      FactEntity fact = factManager.saveFact(new FactEntity()
+              .setId(UUID.randomUUID())
+              .setTypeID(factType.getId())
+              .setValue("fact" + i)
+              .setAccessMode(AccessMode.Public)
+              .setBindings(ListUtils.list(
+                      new FactEntity.FactObjectBinding().setObjectID(object.getId()).setDirection(Direction.FactIsDestination),
+                      new FactEntity.FactObjectBinding().setObjectID(other.getId()).setDirection(Direction.FactIsSource)
+              )));
+      objectManager.saveObjectFactBinding(new ObjectFactBindingEntity().setObjectID(object.getId()).setFactID(fact.getId()).setDirection(Direction.FactIsDestination));
+      objectManager.saveObjectFactBinding(new ObjectFactBindingEntity().setObjectID(other.getId()).setFactID(fact.getId()).setDirection(Direction.FactIsSource));
+    }
+
+    graph = ActGraph.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setHasFactAccess(fact -> true)
+            .build();
+    bindings = objectManager.fetchObjectFactBindings(object.getId());
+  }
+
+  @Benchmark
+  public void createEdges(Blackhole blackhole) {
+    // Use a new factory for every invocation in order to start with empty caches.
+    ElementFactory factory = ElementFactory.builder().setOwner(graph).build();
+    for (ObjectFactBindingEntity binding : bindings) {
+      blackhole.consume(factory.createEdges(binding));
+    }
+  }
+
+  @Benchmark
+  public void createEdgesTwice(Blackhole blackhole) {
+    // The second pass is served from the cache as long as no edges were evicted.
+    ElementFactory factory = ElementFactory.builder().setOwner(graph).build();
+    for (int pass = 0; pass < 2; pass++) {
+      for (ObjectFactBindingEntity binding : bindings) {
+        blackhole.consume(factory.createEdges(binding));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of the bindings between a Fact and its Objects, both in the binary format and in the
+ * legacy JSON format which is still read for old Facts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FactEntityBindingsBenchmark {
+
+  @Param({"1", "2", "10"})
+  private int bindingCount;
+
+  private List<FactEntity.FactObjectBinding> bindings;
+  private ByteBuffer bindingsBinary;
+  private String bindingsStored;
+
+  @Setup
+  public void setUp() {
+    bindings = new ArrayList<>();
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < bindingCount; i++) {
+      FactEntity.FactObjectBinding binding = new FactEntity.FactObjectBinding()
+              .setObjectID(UUID.randomUUID())
+              .setDirection(i % 2 == 0 ? Direction.FactIsSource : Direction.FactIsDestination);
+      bindings.add(binding);
+      json.append(i > 0 ? "," : "")
+              .append(String.format("{\"objectID\":\"%s\",\"direction\":%d}", binding.getObjectID(), binding.getDirectionValue()));
+    }
+
+    bindingsBinary = new FactEntity().setBindings(bindings).getBindingsBinary();
+    bindingsStored = json.append("]").toString();
+  }
+
+  @Benchmark
+  public ByteBuffer encodeBinary() {
+    return new FactEntity().setBindings(bindings).getBindingsBinary();
+  }
+
+  @Benchmark
+  public List<FactEntity.FactObjectBinding> decodeBinary() {
+    return new FactEntity().setBindingsBinary(bindingsBinary).getBindings();
+  }
+
+  @Benchmark
+  public void decodeBinaryWithoutMaterializing(Blackhole blackhole) {
+    FactEntity fact = new FactEntity().setBindingsBinary(bindingsBinary);
+    for (int i = 0; i < fact.getBindingCount(); i++) {
+      blackhole.consume(fact.getBindingObjectID(i));
+      blackhole.consume(fact.getBindingDirection(i));
+    }
+  }
+
+  @Benchmark
+  public List<FactEntity.FactObjectBinding> decodeStored() {
+    return new FactEntity().setBindingsStored(bindingsStored).getBindings();
+  }
+
+}
@@ -0,0 +1,138 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import no.mnemonic.act.platform.benchmarks.stubs.StubElasticSearchServer;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.ClientFactory;
+import no.mnemonic.act.platform.dao.elastic.ElasticFactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FactSearchManager#searchFacts(FactSearchCriteria)}, i.e. building the search request from a search
+ * criteria, sending it and decoding the returned Facts. ElasticSearch is replaced by a {@link StubElasticSearchServer}
+ * returning a canned response, thus, the measured time includes one request over the loopback interface.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FactSearchManagerBenchmark {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Param({"10", "1000"})
+  private int hitCount;
+  @Param({"1", "100"})
+  private int organizationCount;
+
+  private StubElasticSearchServer server;
+  private ClientFactory clientFactory;
+  private ElasticFactSearchManager searchManager;
+  private FactSearchCriteria criteria;
+
+  @Setup
+  public void setUp() throws IOException {
+    server = new StubElasticSearchServer().setResponse(createSearchResponse());
+    clientFactory = ClientFactory.builder()
+            .setPort(server.getPort())
+            .addContactPoint("localhost")
+            .build();
+    clientFactory.startComponent();
+    searchManager = new ElasticFactSearchManager(clientFactory, new QueryMetrics());
+
+    Set<UUID> organizations = new HashSet<>();
+    for (int i = 0; i < organizationCount; i++) {
+      organizations.add(UUID.randomUUID());
+    }
+
+    criteria = FactSearchCriteria.builder()
+            .setKeywords("some keywords")
+            .setFactTypeName(SetUtils.set("factType1", "factType2"))
+            .setObjectValue(SetUtils.set("value1", "value2"))
+            .setStartTimestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30))
+            .setEndTimestamp(System.currentTimeMillis())
+            .setLimit(hitCount)
+            .setCurrentUserID(UUID.randomUUID())
+            .setAvailableOrganizationID(organizations)
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    clientFactory.stopComponent();
+    server.close();
+  }
+
+  @Benchmark
+  public SearchResult<FactDocument> searchFacts() {
+    return searchManager.searchFacts(criteria);
+  }
+
+  private String createSearchResponse() throws IOException {
+    ArrayNode hits = MAPPER.createArrayNode();
+    for (int i = 0; i < hitCount; i++) {
+      FactDocument document = new FactDocument()
+              .setTypeID(UUID.randomUUID())
+              .setTypeName("factType")
+              .setValue("value" + i)
+              .setOrganizationID(UUID.randomUUID())
+              .setOrganizationName("organization")
+              .setSourceID(UUID.randomUUID())
+              .setSourceName("source")
+              .setAccessMode(FactDocument.AccessMode.RoleBased)
+              .setTimestamp(System.currentTimeMillis())
+              .setLastSeenTimestamp(System.currentTimeMillis())
+              .setAcl(SetUtils.set(UUID.randomUUID(), UUID.randomUUID()))
+              .addObject(createObject(ObjectDocument.Direction.FactIsSource))
+              .addObject(createObject(ObjectDocument.Direction.FactIsDestination));
+
+      ObjectNode hit = hits.addObject()
+              .put("_index", "act-facts-2018.10")
+              .put("_type", "fact")
+              .put("_id", UUID.randomUUID().toString())
+              .put("_score", 1.0);
+      hit.set("_source", MAPPER.valueToTree(document));
+    }
+
+    ObjectNode response = MAPPER.createObjectNode()
+            .put("took", 1)
+            .put("timed_out", false);
+    response.putObject("_shards")
+            .put("total", 1)
+            .put("successful", 1)
+            .put("skipped", 0)
+            .put("failed", 0);
+    ObjectNode hitsNode = response.putObject("hits")
+            .put("total", hitCount)
+            .put("max_score", 1.0);
+    hitsNode.set("hits", hits);
+
+    return MAPPER.writeValueAsString(response);
+  }
+
+  private ObjectDocument createObject(ObjectDocument.Direction direction) {
+    return new ObjectDocument()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setTypeName("objectType")
+            .setValue("object")
+            .setDirection(direction);
+  }
+
+}
@@ -0,0 +1,58 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.service.validators.DefaultValidatorFactory;
+import no.mnemonic.act.platform.service.validators.Validator;
+import no.mnemonic.act.platform.service.validators.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validation of Object and Fact values with the RegexValidator using typical patterns. The validators
+ * are created by the {@link DefaultValidatorFactory} once, thus, only the validation itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RegexValidatorBenchmark {
+
+  private static final String IPV4_PATTERN = "^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$";
+  private static final String DOMAIN_PATTERN = "^([a-z0-9]([a-z0-9-]{0,61}[a-z0-9])?\\.)+[a-z]{2,}$";
+  private static final String HASH_PATTERN = "^[a-fA-F0-9]{64}$";
+
+  private Validator ipv4Validator;
+  private Validator domainValidator;
+  private Validator hashValidator;
+
+  @Setup
+  public void setUp() {
+    ValidatorFactory factory = new DefaultValidatorFactory();
+    ipv4Validator = factory.get("RegexValidator", IPV4_PATTERN);
+    domainValidator = factory.get("RegexValidator", DOMAIN_PATTERN);
+    hashValidator = factory.get("RegexValidator", HASH_PATTERN);
+  }
+
+  @Benchmark
+  public boolean validateIPv4() {
+    return ipv4Validator.validate("192.168.100.254");
+  }
+
+  @Benchmark
+  public boolean validateDomain() {
+    return domainValidator.validate("subdomain.some-long-domain-name.example.com");
+  }
+
+  @Benchmark
+  public boolean validateDomainInvalid() {
+    return domainValidator.validate("subdomain.some-long-domain-name.example.com-");
+  }
+
+  @Benchmark
+  public boolean validateHash() {
+    return hashValidator.validate("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+  }
+
+}
@@ -0,0 +1,111 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedIdentityResolver;
+import no.mnemonic.act.platform.auth.properties.internal.IdMapper;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TiSecurityContext#hasReadPermission(FactEntity)} for Facts with large ACLs. The user is either
+ * the last entry of the ACL, or not part of it at all, such that the whole ACL needs to be scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SecurityContextBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  private int aclSize;
+
+  private AccessControlFixture fixture;
+  private TiSecurityContext securityContext;
+  private FactEntity publicFact;
+  private FactEntity roleBasedFactInAcl;
+  private FactEntity roleBasedFactNotInAcl;
+  private FactEntity explicitFactNotInAcl;
+
+  @Setup
+  public void setUp() throws IOException {
+    fixture = new AccessControlFixture(5, 10);
+    UUID organizationID = IdMapper.toGlobalID(AccessControlFixture.FIRST_ORGANIZATION_ID);
+    publicFact = createFact(AccessMode.Public, organizationID);
+    roleBasedFactInAcl = createFact(AccessMode.RoleBased, UUID.randomUUID());
+    roleBasedFactNotInAcl = createFact(AccessMode.RoleBased, organizationID);
+    explicitFactNotInAcl = createFact(AccessMode.Explicit, organizationID);
+
+    Map<UUID, List<FactAclEntity>> acl = new HashMap<>();
+    acl.put(roleBasedFactInAcl.getId(), createAcl(roleBasedFactInAcl, IdMapper.toGlobalID(AccessControlFixture.USER_ID)));
+    acl.put(roleBasedFactNotInAcl.getId(), createAcl(roleBasedFactNotInAcl, null));
+    acl.put(explicitFactNotInAcl.getId(), createAcl(explicitFactNotInAcl, null));
+
+    securityContext = TiSecurityContext.builder()
+            .setAccessController(fixture.getAccessController())
+            .setIdentityResolver(new PropertiesBasedIdentityResolver())
+            .setOrganizationResolver(fixture.getAccessController())
+            .setSubjectResolver(fixture.getAccessController())
+            .setCredentials(fixture.getUserCredentials())
+            .setAclResolver(id -> acl.getOrDefault(id, Collections.emptyList()))
+            .setFactsBoundToObjectResolver(id -> Collections.emptyIterator())
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public boolean hasReadPermissionPublic() {
+    return securityContext.hasReadPermission(publicFact);
+  }
+
+  @Benchmark
+  public boolean hasReadPermissionInAcl() {
+    return securityContext.hasReadPermission(roleBasedFactInAcl);
+  }
+
+  @Benchmark
+  public boolean hasReadPermissionRoleBasedNotInAcl() {
+    return securityContext.hasReadPermission(roleBasedFactNotInAcl);
+  }
+
+  @Benchmark
+  public boolean hasReadPermissionDenied() {
+    return securityContext.hasReadPermission(explicitFactNotInAcl);
+  }
+
+  private FactEntity createFact(AccessMode accessMode, UUID organizationID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("value")
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID);
+  }
+
+  private List<FactAclEntity> createAcl(FactEntity fact, UUID lastSubjectID) {
+    List<FactAclEntity> acl = new ArrayList<>(aclSize);
+    for (int i = 0; i < aclSize; i++) {
+      // Put the given subject last such that the whole ACL needs to be scanned.
+      UUID subjectID = lastSubjectID != null && i == aclSize - 1 ? lastSubjectID : UUID.randomUUID();
+      acl.add(new FactAclEntity()
+              .setId(UUID.randomUUID())
+              .setFactID(fact.getId())
+              .setSubjectID(subjectID)
+              .setSourceID(UUID.randomUUID())
+              .setTimestamp(System.currentTimeMillis()));
+    }
+    return acl;
+  }
+
+}
@@ -0,0 +1,117 @@
+package no.mnemonic.act.platform.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latencies and errors of all executed operations (thread-safe) and summarizes them per operation.
+ * Latencies are recorded in microseconds with three significant digits.
+ */
+class LatencyReport {
+
+  private static final long MAX_LATENCY = TimeUnit.MINUTES.toMicros(10);
+
+  private final Map<Workload.Operation, Recorder> recorders = new EnumMap<>(Workload.Operation.class);
+  private final Map<Workload.Operation, LongAdder> errors = new EnumMap<>(Workload.Operation.class);
+
+  LatencyReport() {
+    for (Workload.Operation operation : Workload.Operation.values()) {
+      recorders.put(operation, new Recorder(MAX_LATENCY, 3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  void record(Workload.Operation operation, long latencyNanos, boolean successful) {
+    recorders.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY));
+    if (!successful) errors.get(operation).increment();
+  }
+
+  /**
+   * Discard everything recorded so far, e.g. at the end of the warmup period.
+   */
+  void reset() {
+    for (Workload.Operation operation : Workload.Operation.values()) {
+      recorders.get(operation).reset();
+      errors.get(operation).reset();
+    }
+  }
+
+  /**
+   * Take a snapshot of everything recorded since the last reset.
+   *
+   * @param durationMillis Duration of the measurement in milliseconds, used to calculate the throughput
+   * @return Summary of the measurement
+   */
+  Summary summarize(long durationMillis) {
+    Summary summary = new Summary(durationMillis);
+    for (Workload.Operation operation : Workload.Operation.values()) {
+      Histogram histogram = recorders.get(operation).getIntervalHistogram();
+      summary.histograms.put(operation, histogram);
+      summary.errors.put(operation, errors.get(operation).sum());
+      summary.total.add(histogram);
+      summary.totalErrors += errors.get(operation).sum();
+    }
+    return summary;
+  }
+
+  static class Summary {
+    private final long durationMillis;
+    private final Map<Workload.Operation, Histogram> histograms = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, Long> errors = new EnumMap<>(Workload.Operation.class);
+    private final Histogram total = new Histogram(MAX_LATENCY, 3);
+    private long totalErrors;
+
+    private Summary(long durationMillis) {
+      this.durationMillis = Math.max(durationMillis, 1);
+    }
+
+    long getCount() {
+      return total.getTotalCount();
+    }
+
+    double getErrorRate() {
+      return total.getTotalCount() > 0 ? (double) totalErrors / total.getTotalCount() : 0;
+    }
+
+    /**
+     * Returns the highest p99 latency of all executed operations in milliseconds.
+     */
+    double getMaxP99() {
+      double max = 0;
+      for (Histogram histogram : histograms.values()) {
+        if (histogram.getTotalCount() > 0) max = Math.max(max, millis(histogram.getValueAtPercentile(99)));
+      }
+      return max;
+    }
+
+    void print(PrintStream out) {
+      String format = "%-14s %10s %8s %10s %10s %10s %10s %10s%n";
+      out.printf(format, "operation", "count", "errors", "ops/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)");
+      for (Map.Entry<Workload.Operation, Histogram> entry : histograms.entrySet()) {
+        if (entry.getValue().getTotalCount() == 0) continue;
+        print(out, format, entry.getKey().name(), entry.getValue(), errors.get(entry.getKey()));
+      }
+      print(out, format, "total", total, totalErrors);
+    }
+
+    private void print(PrintStream out, String format, String name, Histogram histogram, long errorCount) {
+      out.printf(format, name, histogram.getTotalCount(), errorCount,
+              String.format("%.1f", histogram.getTotalCount() * 1000.0 / durationMillis),
+              String.format("%.2f", millis(histogram.getValueAtPercentile(50))),
+              String.format("%.2f", millis(histogram.getValueAtPercentile(99))),
+              String.format("%.2f", millis(histogram.getValueAtPercentile(99.9))),
+              String.format("%.2f", millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+      return micros / 1000.0;
+    }
+  }
+
+}
@@ -0,0 +1,185 @@
+package no.mnemonic.act.platform.benchmarks.load;
+
+import no.mnemonic.commons.utilities.StringUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the REST API. Unless an external server is specified with 'load.target' the complete
+ * platform is booted inside the JVM on top of in-memory storage (see {@link LoadTestEnvironment}).
+ * <p>
+ * The test seeds a set of Facts, executes a mixed workload with a fixed number of concurrent clients and reports
+ * the throughput and the latency distribution per operation. It exits with status 1 if the p99 latency of any
+ * operation or the error rate exceeds the configured limits, such that it can be used to gate releases.
+ * <p>
+ * Configuration (system properties):
+ * <ul>
+ * <li>load.target: Base URL of an external server, e.g. 'http://localhost:8080' (default: in-process server)</li>
+ * <li>load.storage: Storage of the in-process server, either 'memory' or 'embedded' (default: memory)</li>
+ * <li>load.concurrency: Number of concurrent clients (default: 16)</li>
+ * <li>load.warmup: Warmup period in seconds which isn't measured (default: 10)</li>
+ * <li>load.duration: Measurement period in seconds (default: 60)</li>
+ * <li>load.users: Number of users the requests are distributed over (default: 10)</li>
+ * <li>load.seed.ips: Number of distinct IP addresses (default: 100)</li>
+ * <li>load.seed.facts: Number of seeded Facts (default: 1000)</li>
+ * <li>load.mix: Weights of the operations, e.g. 'getFact:20,traverse:10' (default: {@value #DEFAULT_MIX})</li>
+ * <li>load.rate: Requests per second per client, 0 for closed-loop execution (default: 0)</li>
+ * <li>load.max.p99: Maximum allowed p99 latency in milliseconds, 0 to disable (default: 0)</li>
+ * <li>load.max.error.rate: Maximum allowed ratio of failed requests (default: 0.01)</li>
+ * </ul>
+ * With a fixed request rate latencies are measured from the time a request should have been sent, thus, stalls of
+ * the server are not hidden by clients waiting for responses (coordinated omission).
+ */
+public class LoadTest {
+
+  private static final String DEFAULT_MIX = "createFact:15,refreshFact:15,getFact:20,getObject:15,searchFacts:20,searchObjects:5,traverse:10";
+  private static final int REQUEST_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(60);
+
+  private final int concurrency = Integer.getInteger("load.concurrency", 16);
+  private final long warmup = TimeUnit.SECONDS.toMillis(Long.getLong("load.warmup", 10));
+  private final long duration = TimeUnit.SECONDS.toMillis(Long.getLong("load.duration", 60));
+  private final int users = Integer.getInteger("load.users", 10);
+  private final int seedIps = Integer.getInteger("load.seed.ips", 100);
+  private final int seedFacts = Integer.getInteger("load.seed.facts", 1000);
+  private final double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+  private final double maxP99 = Double.parseDouble(System.getProperty("load.max.p99", "0"));
+  private final double maxErrorRate = Double.parseDouble(System.getProperty("load.max.error.rate", "0.01"));
+  private final Workload.Operation[] mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+
+  private final LatencyReport report = new LatencyReport();
+
+  public static void main(String[] args) throws Exception {
+    boolean passed;
+    String target = System.getProperty("load.target");
+    if (StringUtils.isBlank(target)) {
+      int port = findFreePort();
+      boolean embeddedStorage = "embedded".equals(System.getProperty("load.storage", "memory"));
+      try (LoadTestEnvironment ignored = new LoadTestEnvironment(port, Integer.getInteger("load.users", 10), embeddedStorage)) {
+        passed = new LoadTest().run("http://localhost:" + port);
+      }
+    } else {
+      passed = new LoadTest().run(target);
+    }
+
+    System.exit(passed ? 0 : 1);
+  }
+
+  private boolean run(String target) throws Exception {
+    Workload workload = new Workload(new LoadTestClient(target, REQUEST_TIMEOUT));
+    System.out.printf("Seeding %d Facts against %s ...%n", seedFacts, target);
+    workload.seed(seedIps, seedFacts);
+
+    System.out.printf("Running %d clients for %ds (warmup %ds) ...%n", concurrency,
+            TimeUnit.MILLISECONDS.toSeconds(duration), TimeUnit.MILLISECONDS.toSeconds(warmup));
+    long start = System.currentTimeMillis();
+    long measurementStart = start + warmup;
+    long end = measurementStart + duration;
+
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Future<?>> clients = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        long seed = i;
+        clients.add(executor.submit(() -> runClient(workload, new Random(seed), end)));
+      }
+
+      // Discard everything recorded during the warmup period.
+      sleepUntil(measurementStart);
+      report.reset();
+
+      for (Future<?> client : clients) {
+        client.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    LatencyReport.Summary summary = report.summarize(System.currentTimeMillis() - measurementStart);
+    summary.print(System.out);
+    return verify(summary);
+  }
+
+  private Void runClient(Workload workload, Random random, long end) throws IOException {
+    long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+    long intendedStart = System.nanoTime();
+
+    while (System.currentTimeMillis() < end) {
+      if (interval > 0) {
+        intendedStart += interval;
+        LockSupport.parkNanos(intendedStart - System.nanoTime());
+      } else {
+        intendedStart = System.nanoTime();
+      }
+
+      Workload.Operation operation = mix[random.nextInt(mix.length)];
+      long userID = 1 + random.nextInt(users);
+      boolean successful;
+      try {
+        successful = workload.execute(operation, random, userID).isSuccessful();
+      } catch (IOException ex) {
+        // Count failed requests (e.g. timeouts) as errors instead of aborting the test.
+        successful = false;
+      }
+      report.record(operation, System.nanoTime() - intendedStart, successful);
+    }
+
+    return null;
+  }
+
+  private boolean verify(LatencyReport.Summary summary) {
+    boolean passed = true;
+
+    if (summary.getCount() == 0) {
+      System.out.println("FAILED: No requests were executed.");
+      passed = false;
+    }
+    if (summary.getErrorRate() > maxErrorRate) {
+      System.out.printf("FAILED: Error rate %.4f exceeds %.4f.%n", summary.getErrorRate(), maxErrorRate);
+      passed = false;
+    }
+    if (maxP99 > 0 && summary.getMaxP99() > maxP99) {
+      System.out.printf("FAILED: p99 latency %.2fms exceeds %.2fms.%n", summary.getMaxP99(), maxP99);
+      passed = false;
+    }
+
+    if (passed) System.out.println("PASSED");
+    return passed;
+  }
+
+  private static Workload.Operation[] parseMix(String mix) {
+    // Expand the weights into a table which allows picking an operation with a single random number.
+    List<Workload.Operation> table = new ArrayList<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) throw new IllegalArgumentException("Invalid entry in load.mix: " + entry);
+      Workload.Operation operation = Workload.Operation.valueOf(parts[0].trim());
+      for (int i = 0; i < Integer.parseInt(parts[1].trim()); i++) {
+        table.add(operation);
+      }
+    }
+
+    if (table.isEmpty()) throw new IllegalArgumentException("load.mix doesn't contain any operation.");
+    return table.toArray(new Workload.Operation[0]);
+  }
+
+  private static int findFreePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static void sleepUntil(long timestamp) throws InterruptedException {
+    long remaining = timestamp - System.currentTimeMillis();
+    if (remaining > 0) Thread.sleep(remaining);
+  }
+
+}
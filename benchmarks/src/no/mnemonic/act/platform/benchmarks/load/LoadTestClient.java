@@ -0,0 +1,94 @@
+package no.mnemonic.act.platform.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Minimal HTTP client for the REST API. It uses {@link HttpURLConnection} which keeps connections alive between
+ * requests, and it always reads the complete response body such that the transfer of responses is measured, too.
+ */
+class LoadTestClient {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final String baseUrl;
+  private final int timeout;
+
+  LoadTestClient(String baseUrl, int timeout) {
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.timeout = timeout;
+  }
+
+  Response get(String path, long userID) throws IOException {
+    return execute("GET", path, null, userID);
+  }
+
+  Response post(String path, Object body, long userID) throws IOException {
+    return execute("POST", path, MAPPER.writeValueAsBytes(body), userID);
+  }
+
+  private Response execute(String method, String path, byte[] body, long userID) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+    connection.setRequestMethod(method);
+    connection.setConnectTimeout(timeout);
+    connection.setReadTimeout(timeout);
+    connection.setRequestProperty("ACT-User-ID", String.valueOf(userID));
+    connection.setRequestProperty("Accept", "application/json");
+
+    if (body != null) {
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream output = connection.getOutputStream()) {
+        output.write(body);
+      }
+    }
+
+    int status = connection.getResponseCode();
+    // Error responses must be consumed as well, otherwise the connection isn't reused.
+    try (InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      return new Response(status, readFully(input));
+    }
+  }
+
+  private byte[] readFully(InputStream input) throws IOException {
+    if (input == null) return new byte[0];
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+      output.write(buffer, 0, read);
+    }
+    return output.toByteArray();
+  }
+
+  static class Response {
+    private final int status;
+    private final byte[] body;
+
+    private Response(int status, byte[] body) {
+      this.status = status;
+      this.body = body;
+    }
+
+    int getStatus() {
+      return status;
+    }
+
+    boolean isSuccessful() {
+      return status >= 200 && status < 300;
+    }
+
+    JsonNode getData() throws IOException {
+      // Return the payload in the "data" field of the returned ResultStash.
+      return MAPPER.readTree(body).get("data");
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+package no.mnemonic.act.platform.benchmarks.load;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.name.Names;
+import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.benchmarks.stubs.InMemoryFactManager;
+import no.mnemonic.act.platform.benchmarks.stubs.InMemoryFactSearchManager;
+import no.mnemonic.act.platform.benchmarks.stubs.InMemoryObjectManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.embedded.EmbeddedDaoModule;
+import no.mnemonic.act.platform.rest.RestModule;
+import no.mnemonic.act.platform.rest.container.ApiServer;
+import no.mnemonic.act.platform.service.ServiceModule;
+import no.mnemonic.act.platform.service.triggers.TriggerEventDispatcher;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.services.common.auth.AccessController;
+import no.mnemonic.services.triggers.pipeline.worker.InMemoryQueueWorker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Boots the complete platform (service layer, access control, triggers and REST API) inside the current JVM.
+ * Cassandra and ElasticSearch are replaced by in-memory implementations of FactManager, ObjectManager and
+ * FactSearchManager or by the embedded storage (inside a temporary directory), thus, the load test doesn't require
+ * any external services.
+ * <p>
+ * The access control configuration grants all permissions for one organization (internal ID 1) to the subjects
+ * 1 to N which are used as the users of the load test.
+ */
+class LoadTestEnvironment implements AutoCloseable {
+
+  private static final String[] TRIGGER_CONFIGURATION = {
+          "triggerEventDefinition.yaml", "triggerActionDefinition.yaml", "triggerRule.yaml"
+  };
+
+  private final Path directory;
+  private final List<LifecycleAspect> storage = new ArrayList<>();
+  private final PropertiesBasedAccessController accessController;
+  private final InMemoryQueueWorker triggerEventConsumer;
+  private final TriggerEventDispatcher triggerEventDispatcher;
+  private final ApiServer apiServer;
+
+  LoadTestEnvironment(int port, int users, boolean embeddedStorage) throws IOException {
+    directory = Files.createTempDirectory("act-loadtest");
+    Path aclFile = writeAccessControlConfiguration(users);
+    writeTriggerConfiguration();
+
+    Map<String, String> properties = new HashMap<>();
+    properties.put("access.controller.properties.file", aclFile.toString());
+    properties.put("access.controller.read.interval", "60000");
+    properties.put("trigger.administration.service.configuration.directory", directory.toString());
+    properties.put("api.server.port", String.valueOf(port));
+    properties.put("embedded.storage.directory", directory.resolve("storage").toString());
+
+    Module storageModule = embeddedStorage ? new EmbeddedDaoModule() : new InMemoryStorageModule();
+    Injector injector = Guice.createInjector(new LoadTestModule(storageModule, properties));
+    for (Class<?> manager : Arrays.asList(FactManager.class, ObjectManager.class, FactSearchManager.class)) {
+      // The in-memory managers don't need to be started.
+      Object instance = injector.getInstance(manager);
+      if (instance instanceof LifecycleAspect) storage.add((LifecycleAspect) instance);
+    }
+    accessController = (PropertiesBasedAccessController) injector.getInstance(AccessController.class);
+    triggerEventConsumer = injector.getInstance(InMemoryQueueWorker.class);
+    triggerEventDispatcher = injector.getInstance(TriggerEventDispatcher.class);
+    apiServer = injector.getInstance(ApiServer.class);
+
+    // Start up everything in correct order.
+    storage.forEach(LifecycleAspect::startComponent);
+    accessController.startComponent();
+    triggerEventConsumer.startComponent();
+    triggerEventDispatcher.startComponent();
+    apiServer.startComponent();
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Stop everything in correct order.
+    apiServer.stopComponent();
+    triggerEventDispatcher.stopComponent();
+    triggerEventConsumer.stopComponent();
+    accessController.stopComponent();
+    storage.forEach(LifecycleAspect::stopComponent);
+
+    // Delete children before their parent directory.
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private Path writeAccessControlConfiguration(int users) throws IOException {
+    StringBuilder builder = new StringBuilder()
+            .append("function.all.members = addTypes,updateTypes,viewTypes,addFactObjects,traverseFactObjects,viewFactObjects,")
+            .append("addFactComments,viewFactComments,grantFactAccess,viewFactAccess\n")
+            .append("organization.1.name = LoadTest\n");
+    for (int id = 1; id <= users; id++) {
+      builder.append(String.format("subject.%d.name = user%d\n", id, id))
+              .append(String.format("subject.%d.affiliation = 1\n", id))
+              .append(String.format("subject.%d.permission.1 = all\n", id));
+    }
+
+    return Files.write(directory.resolve("acl.properties"), builder.toString().getBytes());
+  }
+
+  private void writeTriggerConfiguration() throws IOException {
+    for (String file : TRIGGER_CONFIGURATION) {
+      try (InputStream resource = LoadTestEnvironment.class.getClassLoader().getResourceAsStream("loadtest/" + file)) {
+        if (resource == null) throw new IOException("Could not find resource loadtest/" + file);
+        Files.copy(resource, directory.resolve(file));
+      }
+    }
+  }
+
+  private static class LoadTestModule extends AbstractModule {
+    private final Module storageModule;
+    private final Map<String, String> properties;
+
+    private LoadTestModule(Module storageModule, Map<String, String> properties) {
+      this.storageModule = storageModule;
+      this.properties = properties;
+    }
+
+    @Override
+    protected void configure() {
+      install(new ServiceModule(storageModule));
+      install(new RestModule());
+      // Configuration
+      Names.bindProperties(binder(), properties);
+    }
+  }
+
+  private static class InMemoryStorageModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(FactManager.class).toInstance(new InMemoryFactManager());
+      bind(ObjectManager.class).toInstance(new InMemoryObjectManager());
+      bind(FactSearchManager.class).toInstance(new InMemoryFactSearchManager());
+      // Metrics (shared with all other modules)
+      bind(MetricRegistry.class).in(Scopes.SINGLETON);
+    }
+  }
+
+}
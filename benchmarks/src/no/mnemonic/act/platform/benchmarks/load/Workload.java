@@ -0,0 +1,159 @@
+package no.mnemonic.act.platform.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import no.mnemonic.act.platform.api.request.v1.*;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed workload against the REST API modelled after the typical usage of the platform: Facts binding domains to
+ * IP addresses are created and refreshed (i.e. submitted again), and they are read back by ID, searched for and
+ * traversed starting at the IP addresses.
+ * <p>
+ * The Facts used for reading, refreshing and traversing are created up front by {@link #seed(int, int)}. Multiple
+ * domains resolve to the same IP address, thus, traversals starting at an IP address visit several Facts.
+ */
+class Workload {
+
+  enum Operation {
+    createFact, refreshFact, getFact, getObject, searchFacts, searchObjects, traverse
+  }
+
+  static final String DOMAIN_TYPE = "loadTestDomain";
+  static final String IP_TYPE = "loadTestIp";
+  static final String FACT_TYPE = "loadTestResolve";
+
+  private static final int SEARCH_LIMIT = 25;
+  private static final String TRAVERSAL_QUERY = "g.bothE().otherV().bothE()";
+
+  private final LoadTestClient client;
+  private final AtomicLong createdFacts = new AtomicLong();
+
+  private String[] ips;
+  private CreateFactRequest[] seededRequests;
+  private UUID[] seededFacts;
+
+  Workload(LoadTestClient client) {
+    this.client = client;
+  }
+
+  /**
+   * Create the types used by the workload (unless they already exist) and the Facts used by the read operations.
+   *
+   * @param ipCount   Number of distinct IP addresses
+   * @param factCount Number of Facts, each binding a distinct domain to one of the IP addresses
+   * @throws IOException If seeding fails
+   */
+  void seed(int ipCount, int factCount) throws IOException {
+    UUID domainType = resolveObjectType(DOMAIN_TYPE);
+    UUID ipType = resolveObjectType(IP_TYPE);
+    resolveFactType(domainType, ipType);
+
+    ips = new String[Math.max(ipCount, 1)];
+    for (int i = 0; i < ips.length; i++) {
+      ips[i] = String.format("10.%d.%d.%d", (i >> 16) & 0xff, (i >> 8) & 0xff, i & 0xff);
+    }
+
+    seededRequests = new CreateFactRequest[Math.max(factCount, 1)];
+    seededFacts = new UUID[seededRequests.length];
+    for (int i = 0; i < seededRequests.length; i++) {
+      seededRequests[i] = createFactRequest(String.format("seed%d.loadtest.example.org", i), ips[i % ips.length]);
+      LoadTestClient.Response response = client.post("/v1/fact", seededRequests[i], 1);
+      if (!response.isSuccessful()) throw new IOException("Could not seed Fact (status " + response.getStatus() + ").");
+      seededFacts[i] = UUID.fromString(response.getData().get("id").textValue());
+    }
+  }
+
+  /**
+   * Execute one operation with randomly chosen parameters.
+   *
+   * @param operation Operation to execute
+   * @param random    Random generator of the calling thread
+   * @param userID    User executing the operation
+   * @return Response of the REST API
+   * @throws IOException If the request fails
+   */
+  LoadTestClient.Response execute(Operation operation, Random random, long userID) throws IOException {
+    switch (operation) {
+      case createFact:
+        String domain = String.format("new%d.loadtest.example.org", createdFacts.incrementAndGet());
+        return client.post("/v1/fact", createFactRequest(domain, randomIp(random)), userID);
+      case refreshFact:
+        // Submitting an existing Fact again only refreshes its lastSeenTimestamp.
+        return client.post("/v1/fact", seededRequests[random.nextInt(seededRequests.length)], userID);
+      case getFact:
+        return client.get("/v1/fact/uuid/" + seededFacts[random.nextInt(seededFacts.length)], userID);
+      case getObject:
+        return client.get(String.format("/v1/object/%s/%s", IP_TYPE, randomIp(random)), userID);
+      case searchFacts:
+        return client.post("/v1/fact/search", new SearchFactRequest()
+                .setObjectValue(SetUtils.set(randomIp(random)))
+                .setLimit(SEARCH_LIMIT), userID);
+      case searchObjects:
+        return client.post("/v1/object/search", new SearchObjectRequest()
+                .setObjectType(SetUtils.set(IP_TYPE))
+                .setFactType(SetUtils.set(FACT_TYPE))
+                .setLimit(SEARCH_LIMIT), userID);
+      case traverse:
+        return client.post(String.format("/v1/object/%s/%s/traverse", IP_TYPE, randomIp(random)),
+                new TraverseByObjectTypeValueRequest().setQuery(TRAVERSAL_QUERY), userID);
+      default:
+        throw new IllegalArgumentException("Unknown operation " + operation);
+    }
+  }
+
+  private String randomIp(Random random) {
+    return ips[random.nextInt(ips.length)];
+  }
+
+  private CreateFactRequest createFactRequest(String domain, String ip) {
+    return new CreateFactRequest()
+            .setType(FACT_TYPE)
+            .setValue("resolve")
+            .setSourceObject(DOMAIN_TYPE + "/" + domain)
+            .setDestinationObject(IP_TYPE + "/" + ip);
+  }
+
+  private UUID resolveObjectType(String name) throws IOException {
+    UUID existing = findType("/v1/objectType", name);
+    if (existing != null) return existing;
+
+    return createType("/v1/objectType", new CreateObjectTypeRequest()
+            .setName(name)
+            .setValidator("TrueValidator"));
+  }
+
+  private void resolveFactType(UUID domainType, UUID ipType) throws IOException {
+    if (findType("/v1/factType", FACT_TYPE) != null) return;
+
+    createType("/v1/factType", new CreateFactTypeRequest()
+            .setName(FACT_TYPE)
+            .setValidator("TrueValidator")
+            .setRelevantObjectBindings(ListUtils.list(new FactObjectBindingDefinition()
+                    .setSourceObjectType(domainType)
+                    .setDestinationObjectType(ipType))));
+  }
+
+  private UUID findType(String path, String name) throws IOException {
+    LoadTestClient.Response response = client.get(path, 1);
+    if (!response.isSuccessful()) throw new IOException("Could not list types (status " + response.getStatus() + ").");
+
+    for (JsonNode type : response.getData()) {
+      if (name.equals(type.get("name").textValue())) return UUID.fromString(type.get("id").textValue());
+    }
+
+    return null;
+  }
+
+  private UUID createType(String path, Object request) throws IOException {
+    LoadTestClient.Response response = client.post(path, request, 1);
+    if (!response.isSuccessful()) throw new IOException("Could not create type (status " + response.getStatus() + ").");
+    return UUID.fromString(response.getData().get("id").textValue());
+  }
+
+}
@@ -0,0 +1,165 @@
+package no.mnemonic.act.platform.benchmarks.stubs;
+
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * FactManager which keeps all data in memory instead of Cassandra. It behaves like the Cassandra-backed
+ * implementation (including the validation of saved entities), but it doesn't persist anything.
+ */
+public class InMemoryFactManager implements FactManager {
+
+  private final Map<UUID, FactTypeEntity> factTypesById = new ConcurrentHashMap<>();
+  private final Map<String, FactTypeEntity> factTypesByName = new ConcurrentHashMap<>();
+  private final Map<UUID, FactEntity> facts = new ConcurrentHashMap<>();
+  private final Map<UUID, List<FactAclEntity>> acl = new ConcurrentHashMap<>();
+  private final Map<UUID, List<FactCommentEntity>> comments = new ConcurrentHashMap<>();
+  private final Map<UUID, List<MetaFactBindingEntity>> metaFactBindings = new ConcurrentHashMap<>();
+
+  /* FactTypeEntity-related methods */
+
+  @Override
+  public FactTypeEntity getFactType(UUID id) {
+    return id != null ? factTypesById.get(id) : null;
+  }
+
+  @Override
+  public FactTypeEntity getFactType(String name) {
+    return !StringUtils.isBlank(name) ? factTypesByName.get(name) : null;
+  }
+
+  @Override
+  public List<FactTypeEntity> fetchFactTypes() {
+    return new ArrayList<>(factTypesById.values());
+  }
+
+  @Override
+  public synchronized FactTypeEntity saveFactType(FactTypeEntity type) {
+    if (type == null) return null;
+
+    FactTypeEntity existing = getFactType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId())) {
+      throw new IllegalArgumentException(String.format("FactType with name = %s already exists.", type.getName()));
+    }
+
+    // Same as the type registry, publish a copy and remove the mapping of the previous name if the type was renamed.
+    FactTypeEntity copy = type.clone();
+    factTypesByName.values().removeIf(t -> t.getId().equals(type.getId()));
+    factTypesById.put(copy.getId(), copy);
+    factTypesByName.put(copy.getName(), copy);
+
+    return type;
+  }
+
+  /* FactEntity-related methods */
+
+  @Override
+  public FactEntity getFact(UUID id) {
+    if (id == null) return null;
+
+    FactEntity fact = facts.get(id);
+    // Return a copy such that callers modifying the returned entity don't affect the stored Fact.
+    return fact != null ? fact.clone() : null;
+  }
+
+  @Override
+  public Iterator<FactEntity> getFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+
+    List<FactEntity> result = new ArrayList<>();
+    for (UUID factID : new LinkedHashSet<>(id)) {
+      FactEntity fact = getFact(factID);
+      if (fact != null) result.add(fact);
+    }
+
+    return result.iterator();
+  }
+
+  @Override
+  public FactEntity saveFact(FactEntity fact) {
+    if (fact == null) return null;
+    if (getFactType(fact.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("FactType with id = %s does not exist.", fact.getTypeID()));
+    if (facts.putIfAbsent(fact.getId(), fact.clone()) != null)
+      throw new ImmutableViolationException("It is not allowed to update a Fact");
+
+    return fact;
+  }
+
+  @Override
+  public FactEntity refreshFact(UUID id) {
+    FactEntity fact = facts.computeIfPresent(id, (k, v) -> v.clone().setLastSeenTimestamp(System.currentTimeMillis()));
+    if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
+
+    return fact.clone();
+  }
+
+  /* FactAclEntity-related methods */
+
+  @Override
+  public List<FactAclEntity> fetchFactAcl(UUID id) {
+    return fetch(acl, id);
+  }
+
+  @Override
+  public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
+    if (entry == null) return null;
+    return save(acl, entry, entry.getFactID(), e -> e.getId().equals(entry.getId()), "It is not allowed to update an ACL entry.");
+  }
+
+  /* FactCommentEntity-related methods */
+
+  @Override
+  public List<FactCommentEntity> fetchFactComments(UUID id) {
+    return fetch(comments, id);
+  }
+
+  @Override
+  public FactCommentEntity saveFactComment(FactCommentEntity comment) {
+    if (comment == null) return null;
+    return save(comments, comment, comment.getFactID(), c -> c.getId().equals(comment.getId()), "It is not allowed to update a comment.");
+  }
+
+  /* MetaFactBindingEntity-related methods */
+
+  @Override
+  public List<MetaFactBindingEntity> fetchMetaFactBindings(UUID id) {
+    return fetch(metaFactBindings, id);
+  }
+
+  @Override
+  public MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding) {
+    if (binding == null) return null;
+    return save(metaFactBindings, binding, binding.getFactID(), b -> b.getMetaFactID().equals(binding.getMetaFactID()),
+            "It is not allowed to update a MetaFactBinding.");
+  }
+
+  /* Private helper methods */
+
+  private <T> List<T> fetch(Map<UUID, List<T>> partitions, UUID id) {
+    if (id == null) return new ArrayList<>();
+    return new ArrayList<>(partitions.getOrDefault(id, Collections.emptyList()));
+  }
+
+  private <T> T save(Map<UUID, List<T>> partitions, T entity, UUID factID, Predicate<T> sameEntity, String immutableMessage) {
+    if (!facts.containsKey(factID))
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", factID));
+
+    List<T> partition = partitions.computeIfAbsent(factID, id -> new CopyOnWriteArrayList<>());
+    synchronized (partition) {
+      if (partition.stream().anyMatch(sameEntity)) throw new ImmutableViolationException(immutableMessage);
+      partition.add(entity);
+    }
+
+    return entity;
+  }
+
+}
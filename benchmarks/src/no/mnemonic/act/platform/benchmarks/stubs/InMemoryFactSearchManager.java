@@ -0,0 +1,239 @@
+package no.mnemonic.act.platform.benchmarks.stubs;
+
+import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * FactSearchManager which keeps all indexed Facts in memory instead of ElasticSearch. Searches are executed by
+ * filtering the indexed Facts, using an index from Objects to Facts when the search criteria specify Objects.
+ * Keyword searches are approximated by case-insensitive substring matching.
+ */
+public class InMemoryFactSearchManager implements FactSearchManager {
+
+  private static final int MAX_RESULT_WINDOW = 10_000;
+
+  private final Map<UUID, FactDocument> facts = new ConcurrentHashMap<>();
+  private final Map<UUID, Set<UUID>> factsByObject = new ConcurrentHashMap<>();
+
+  @Override
+  public FactDocument getFact(UUID id) {
+    return id != null ? facts.get(id) : null;
+  }
+
+  @Override
+  public FactDocument getFact(UUID id, long timestamp) {
+    return getFact(id);
+  }
+
+  @Override
+  public FactDocument indexFact(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return null;
+
+    facts.put(fact.getId(), fact);
+    for (ObjectDocument object : SetUtils.set(fact.getObjects())) {
+      factsByObject.computeIfAbsent(object.getId(), id -> ConcurrentHashMap.newKeySet()).add(fact.getId());
+    }
+
+    return fact;
+  }
+
+  @Override
+  public SearchResult<FactDocument> retrieveExistingFacts(FactExistenceSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<FactDocument>builder().build();
+
+    Set<List<Object>> objects = SetUtils.set(criteria.getObjects(), o -> Arrays.asList(o.getObjectID(), o.getDirection().name()));
+    List<FactDocument> result = candidates(SetUtils.set(criteria.getObjects(), FactExistenceSearchCriteria.ObjectExistence::getObjectID))
+            .filter(fact -> Objects.equals(fact.getTypeID(), criteria.getFactTypeID()))
+            .filter(fact -> Objects.equals(fact.getSourceID(), criteria.getSourceID()))
+            .filter(fact -> Objects.equals(fact.getOrganizationID(), criteria.getOrganizationID()))
+            .filter(fact -> Objects.equals(name(fact.getAccessMode()), name(criteria.getAccessMode())))
+            .filter(fact -> Objects.equals(fact.getValue(), criteria.getFactValue()))
+            .filter(fact -> criteria.getInReferenceTo() == null || criteria.getInReferenceTo().equals(fact.getInReferenceTo()))
+            .filter(fact -> objects.isEmpty() || objects.equals(SetUtils.set(fact.getObjects(), o -> Arrays.asList(o.getId(), name(o.getDirection())))))
+            .collect(Collectors.toList());
+
+    return SearchResult.<FactDocument>builder()
+            .setCount(result.size())
+            .setValues(result)
+            .build();
+  }
+
+  @Override
+  public SearchResult<FactDocument> searchFacts(FactSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<FactDocument>builder().build();
+
+    List<FactDocument> result = searchMatchingFacts(criteria).collect(Collectors.toList());
+    return SearchResult.<FactDocument>builder()
+            .setLimit(criteria.getLimit())
+            .setCount(result.size())
+            .setValues(result.subList(0, Math.min(result.size(), calculateMaximumSize(criteria))))
+            .build();
+  }
+
+  @Override
+  public SearchResult<ObjectDocument> searchObjects(FactSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<ObjectDocument>builder().build();
+
+    Map<UUID, ObjectDocument> result = new LinkedHashMap<>();
+    searchMatchingFacts(criteria)
+            .flatMap(fact -> SetUtils.set(fact.getObjects()).stream())
+            .filter(object -> matches(criteria.getObjectID(), object.getId()))
+            .filter(object -> matches(criteria.getObjectTypeID(), object.getTypeID()))
+            .filter(object -> matches(criteria.getObjectTypeName(), object.getTypeName()))
+            .filter(object -> matches(criteria.getObjectValue(), object.getValue()))
+            .forEach(object -> result.putIfAbsent(object.getId(), object));
+
+    return SearchResult.<ObjectDocument>builder()
+            .setLimit(criteria.getLimit())
+            .setCount(result.size())
+            .setValues(result.values().stream().limit(calculateMaximumSize(criteria)).collect(Collectors.toList()))
+            .build();
+  }
+
+  @Override
+  public ObjectStatisticsResult calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
+    if (criteria == null) return ObjectStatisticsResult.builder().build();
+
+    Predicate<FactDocument> accessControl = criteria.isAclAccessOnly()
+            ? fact -> hasAclAccessOnly(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID())
+            : fact -> hasAccess(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID());
+
+    ObjectStatisticsResult.Builder result = ObjectStatisticsResult.builder();
+    for (UUID objectID : SetUtils.set(criteria.getObjectID())) {
+      Map<UUID, List<FactDocument>> factsByType = candidates(SetUtils.set(objectID))
+              .filter(accessControl)
+              .collect(Collectors.groupingBy(FactDocument::getTypeID));
+      factsByType.forEach((typeID, typeFacts) -> result.addStatistic(objectID, new ObjectStatisticsResult.FactStatistic(typeID,
+              typeFacts.size(),
+              typeFacts.stream().mapToLong(FactDocument::getTimestamp).max().orElse(0),
+              typeFacts.stream().mapToLong(FactDocument::getLastSeenTimestamp).max().orElse(0))));
+    }
+
+    return result.build();
+  }
+
+  private Stream<FactDocument> searchMatchingFacts(FactSearchCriteria criteria) {
+    Set<UUID> objectID = criteria.getObjectID();
+    return candidates(objectID)
+            .filter(fact -> matches(criteria.getFactID(), fact.getId()))
+            .filter(fact -> matches(criteria.getFactTypeID(), fact.getTypeID()))
+            .filter(fact -> matches(criteria.getFactTypeName(), fact.getTypeName()))
+            .filter(fact -> matches(criteria.getFactValue(), fact.getValue()))
+            .filter(fact -> matches(criteria.getInReferenceTo(), fact.getInReferenceTo()))
+            .filter(fact -> matches(criteria.getOrganizationID(), fact.getOrganizationID()))
+            .filter(fact -> matches(criteria.getOrganizationName(), fact.getOrganizationName()))
+            .filter(fact -> matches(criteria.getSourceID(), fact.getSourceID()))
+            .filter(fact -> matches(criteria.getSourceName(), fact.getSourceName()))
+            .filter(fact -> matchesObjects(criteria.getObjectID(), fact, ObjectDocument::getId))
+            .filter(fact -> matchesObjects(criteria.getObjectTypeID(), fact, ObjectDocument::getTypeID))
+            .filter(fact -> matchesObjects(criteria.getObjectTypeName(), fact, ObjectDocument::getTypeName))
+            .filter(fact -> matchesObjects(criteria.getObjectValue(), fact, ObjectDocument::getValue))
+            .filter(fact -> criteria.getRetracted() == null || criteria.getRetracted() == fact.isRetracted())
+            .filter(fact -> matchesKeywords(criteria, fact))
+            .filter(fact -> matchesTimestamps(criteria, fact))
+            .filter(fact -> hasAccess(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID()));
+  }
+
+  private Stream<FactDocument> candidates(Set<UUID> objectID) {
+    // Use the index from Objects to Facts if possible, otherwise all Facts need to be filtered.
+    if (CollectionUtils.isEmpty(objectID)) return facts.values().stream();
+    return objectID.stream()
+            .flatMap(id -> factsByObject.getOrDefault(id, Collections.emptySet()).stream())
+            .distinct()
+            .map(facts::get)
+            .filter(Objects::nonNull);
+  }
+
+  private boolean matchesKeywords(FactSearchCriteria criteria, FactDocument fact) {
+    if (StringUtils.isBlank(criteria.getKeywords())) return true;
+
+    String[] keywords = criteria.getKeywords().toLowerCase().split("\\s+");
+    Set<String> fields = criteria.getKeywordFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            // Strip the suffix of the multi-fields, e.g. 'value.text' is matched against 'value'.
+            .map(field -> field.substring(0, field.lastIndexOf('.')))
+            .collect(Collectors.toSet());
+
+    Stream<Boolean> fieldMatches = fields.stream().map(field -> resolveValues(fact, field).stream()
+            .anyMatch(value -> value != null && Arrays.stream(keywords).anyMatch(value.toLowerCase()::contains)));
+    return criteria.getKeywordMatchStrategy() == FactSearchCriteria.MatchStrategy.all
+            ? fieldMatches.allMatch(Boolean::booleanValue)
+            : fieldMatches.anyMatch(Boolean::booleanValue);
+  }
+
+  private boolean matchesTimestamps(FactSearchCriteria criteria, FactDocument fact) {
+    if (criteria.getStartTimestamp() == null && criteria.getEndTimestamp() == null) return true;
+
+    long start = criteria.getStartTimestamp() != null && criteria.getStartTimestamp() > 0 ? criteria.getStartTimestamp() : Long.MIN_VALUE;
+    long end = criteria.getEndTimestamp() != null && criteria.getEndTimestamp() > 0 ? criteria.getEndTimestamp() : Long.MAX_VALUE;
+    Stream<Boolean> fieldMatches = criteria.getTimeFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            .distinct()
+            .map(field -> "timestamp".equals(field) ? fact.getTimestamp() : fact.getLastSeenTimestamp())
+            .map(timestamp -> timestamp >= start && timestamp <= end);
+    return criteria.getTimeMatchStrategy() == FactSearchCriteria.MatchStrategy.all
+            ? fieldMatches.allMatch(Boolean::booleanValue)
+            : fieldMatches.anyMatch(Boolean::booleanValue);
+  }
+
+  private Set<String> resolveValues(FactDocument fact, String field) {
+    switch (field) {
+      case "value":
+        return SetUtils.set(fact.getValue());
+      case "objects.value":
+        return SetUtils.set(fact.getObjects(), ObjectDocument::getValue);
+      case "organizationName":
+        return SetUtils.set(fact.getOrganizationName());
+      case "sourceName":
+        return SetUtils.set(fact.getSourceName());
+      default:
+        return Collections.emptySet();
+    }
+  }
+
+  private boolean hasAccess(FactDocument fact, UUID currentUserID, Set<UUID> availableOrganizationID) {
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) return true;
+    if (SetUtils.set(fact.getAcl()).contains(currentUserID)) return true;
+    return fact.getAccessMode() == FactDocument.AccessMode.RoleBased && SetUtils.set(availableOrganizationID).contains(fact.getOrganizationID());
+  }
+
+  private boolean hasAclAccessOnly(FactDocument fact, UUID currentUserID, Set<UUID> availableOrganizationID) {
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) return false;
+    if (fact.getAccessMode() == FactDocument.AccessMode.RoleBased && SetUtils.set(availableOrganizationID).contains(fact.getOrganizationID()))
+      return false;
+    return SetUtils.set(fact.getAcl()).contains(currentUserID);
+  }
+
+  private <T> boolean matches(Set<T> criteria, T value) {
+    return CollectionUtils.isEmpty(criteria) || criteria.contains(value);
+  }
+
+  private <T> boolean matchesObjects(Set<T> criteria, FactDocument fact, Function<ObjectDocument, T> field) {
+    return CollectionUtils.isEmpty(criteria) || SetUtils.set(fact.getObjects()).stream().map(field).anyMatch(criteria::contains);
+  }
+
+  private int calculateMaximumSize(FactSearchCriteria criteria) {
+    return criteria.getLimit() > 0 && criteria.getLimit() < MAX_RESULT_WINDOW ? criteria.getLimit() : MAX_RESULT_WINDOW;
+  }
+
+  private String name(Enum<?> value) {
+    return value != null ? value.name() : null;
+  }
+
+}
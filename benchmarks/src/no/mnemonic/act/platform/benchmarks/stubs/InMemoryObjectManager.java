@@ -0,0 +1,220 @@
+package no.mnemonic.act.platform.benchmarks.stubs;
+
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * ObjectManager which keeps all data in memory instead of Cassandra. It behaves like the Cassandra-backed
+ * implementation (including the validation of saved entities and the maintenance of Object statistics), but it
+ * doesn't persist anything.
+ */
+public class InMemoryObjectManager implements ObjectManager {
+
+  private final Map<UUID, ObjectTypeEntity> objectTypesById = new ConcurrentHashMap<>();
+  private final Map<String, ObjectTypeEntity> objectTypesByName = new ConcurrentHashMap<>();
+  private final Map<UUID, ObjectEntity> objects = new ConcurrentHashMap<>();
+  private final Map<List<Object>, UUID> objectsByTypeValue = new ConcurrentHashMap<>();
+  private final Map<UUID, List<ObjectFactBindingEntity>> bindings = new ConcurrentHashMap<>();
+  private final Map<UUID, Map<List<Object>, ObjectStatisticsEntity>> statistics = new ConcurrentHashMap<>();
+
+  /* ObjectTypeEntity-related methods */
+
+  @Override
+  public ObjectTypeEntity getObjectType(UUID id) {
+    return id != null ? objectTypesById.get(id) : null;
+  }
+
+  @Override
+  public ObjectTypeEntity getObjectType(String name) {
+    return !StringUtils.isBlank(name) ? objectTypesByName.get(name) : null;
+  }
+
+  @Override
+  public List<ObjectTypeEntity> fetchObjectTypes() {
+    return new ArrayList<>(objectTypesById.values());
+  }
+
+  @Override
+  public synchronized ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
+    if (type == null) return null;
+
+    ObjectTypeEntity existing = getObjectType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId())) {
+      throw new IllegalArgumentException(String.format("ObjectType with name = %s already exists.", type.getName()));
+    }
+
+    // Same as the type registry, publish a copy and remove the mapping of the previous name if the type was renamed.
+    ObjectTypeEntity copy = type.clone();
+    objectTypesByName.values().removeIf(t -> t.getId().equals(type.getId()));
+    objectTypesById.put(copy.getId(), copy);
+    objectTypesByName.put(copy.getName(), copy);
+
+    return type;
+  }
+
+  /* ObjectEntity-related methods */
+
+  @Override
+  public ObjectEntity getObject(UUID id) {
+    return id != null ? objects.get(id) : null;
+  }
+
+  @Override
+  public ObjectEntity getObject(String type, String value) {
+    if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
+
+    ObjectTypeEntity objectType = getObjectType(type);
+    if (objectType == null) throw new IllegalArgumentException(String.format("ObjectType with name = %s does not exist.", type));
+
+    return getObject(objectsByTypeValue.get(ListUtils.list(objectType.getId(), value)));
+  }
+
+  @Override
+  public Iterator<ObjectEntity> getObjects(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+
+    List<ObjectEntity> result = new ArrayList<>();
+    for (UUID objectID : new LinkedHashSet<>(id)) {
+      ObjectEntity object = getObject(objectID);
+      if (object != null) result.add(object);
+    }
+
+    return result.iterator();
+  }
+
+  @Override
+  public ObjectEntity saveObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+    if (insertObject(object) != null)
+      throw new ImmutableViolationException("Object already exists.");
+
+    return object;
+  }
+
+  @Override
+  public ObjectEntity getOrCreateObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+
+    UUID existingID = insertObject(object);
+    return existingID == null ? object : getObject(existingID);
+  }
+
+  /* ObjectFactBindingEntity-related methods */
+
+  @Override
+  public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+    if (id == null) return new ArrayList<>();
+    return new ArrayList<>(bindings.getOrDefault(id, Collections.emptyList()));
+  }
+
+  @Override
+  public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
+    if (binding == null) return null;
+    if (getObject(binding.getObjectID()) == null)
+      throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+
+    List<ObjectFactBindingEntity> partition = bindings.computeIfAbsent(binding.getObjectID(), id -> new CopyOnWriteArrayList<>());
+    synchronized (partition) {
+      if (partition.stream().anyMatch(b -> b.getFactID().equals(binding.getFactID())))
+        throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+      partition.add(binding);
+    }
+
+    return binding;
+  }
+
+  /* ObjectStatisticsEntity-related methods */
+
+  @Override
+  public List<ObjectStatisticsEntity> fetchObjectStatistics(UUID id) {
+    if (id == null) return new ArrayList<>();
+
+    Map<List<Object>, ObjectStatisticsEntity> partition = statistics.getOrDefault(id, Collections.emptyMap());
+    synchronized (partition) {
+      List<ObjectStatisticsEntity> result = new ArrayList<>();
+      for (ObjectStatisticsEntity entity : partition.values()) {
+        result.add(copy(entity));
+      }
+      return result;
+    }
+  }
+
+  @Override
+  public void incrementObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    updateObjectStatistics(fact, entity -> entity
+            .setFactCount(entity.getFactCount() + 1)
+            .setLastAddedTimestamp(Math.max(entity.getLastAddedTimestamp(), fact.getTimestamp()))
+            .setLastSeenTimestamp(Math.max(entity.getLastSeenTimestamp(), fact.getLastSeenTimestamp())));
+  }
+
+  @Override
+  public void refreshObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    updateObjectStatistics(fact, entity -> entity
+            .setLastSeenTimestamp(Math.max(entity.getLastSeenTimestamp(), fact.getLastSeenTimestamp())));
+  }
+
+  /* Private helper methods */
+
+  private UUID insertObject(ObjectEntity object) {
+    // Statistics are maintained for all Facts bound to the Object from now on.
+    object.setStatisticsTracked(true);
+    // Same as the Cassandra-backed implementation, never expose a type/value mapping to a non-existing Object.
+    objects.put(object.getId(), object);
+
+    UUID existingID = objectsByTypeValue.putIfAbsent(ListUtils.list(object.getTypeID(), object.getValue()), object.getId());
+    if (existingID == null) return null;
+
+    // Another Object with the same type and value exists. Remove the orphaned Object (unless it's the same Object).
+    if (!existingID.equals(object.getId())) objects.remove(object.getId());
+    return existingID;
+  }
+
+  private void updateObjectStatistics(FactEntity fact, Consumer<ObjectStatisticsEntity> update) {
+    // A Fact binding the same Object twice is only counted once (same as the Cassandra-backed implementation).
+    Set<UUID> objectID = new HashSet<>();
+    for (int i = 0; i < fact.getBindingCount(); i++) {
+      objectID.add(fact.getBindingObjectID(i));
+    }
+
+    for (UUID id : objectID) {
+      Map<List<Object>, ObjectStatisticsEntity> partition = statistics.computeIfAbsent(id, k -> new HashMap<>());
+      synchronized (partition) {
+        update.accept(partition.computeIfAbsent(ListUtils.list(fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID()),
+                k -> new ObjectStatisticsEntity()
+                        .setObjectID(id)
+                        .setFactTypeID(fact.getTypeID())
+                        .setAccessMode(fact.getAccessMode())
+                        .setOrganizationID(fact.getOrganizationID())));
+      }
+    }
+  }
+
+  private ObjectStatisticsEntity copy(ObjectStatisticsEntity entity) {
+    return new ObjectStatisticsEntity()
+            .setObjectID(entity.getObjectID())
+            .setFactTypeID(entity.getFactTypeID())
+            .setAccessMode(entity.getAccessMode())
+            .setOrganizationID(entity.getOrganizationID())
+            .setFactCount(entity.getFactCount())
+            .setLastAddedTimestamp(entity.getLastAddedTimestamp())
+            .setLastSeenTimestamp(entity.getLastSeenTimestamp());
+  }
+
+}
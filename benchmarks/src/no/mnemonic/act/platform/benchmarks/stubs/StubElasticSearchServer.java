@@ -0,0 +1,71 @@
+package no.mnemonic.act.platform.benchmarks.stubs;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP server standing in for ElasticSearch. It answers every request with the same canned JSON response,
+ * such that benchmarks measure request building and response decoding on the client side without depending on an
+ * ElasticSearch cluster. The server only listens on the loopback interface.
+ */
+public class StubElasticSearchServer implements AutoCloseable {
+
+  private final HttpServer server;
+  private volatile byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+
+  public StubElasticSearchServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  /**
+   * Set the response body returned for all following requests.
+   *
+   * @param json Response body in JSON format
+   * @return Server instance, i.e. 'this'
+   */
+  public StubElasticSearchServer setResponse(String json) {
+    this.response = json.getBytes(StandardCharsets.UTF_8);
+    return this;
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    // Consume the request body such that the connection can be reused.
+    try (InputStream request = exchange.getRequestBody()) {
+      byte[] buffer = new byte[8192];
+      //noinspection StatementWithEmptyBody
+      while (request.read(buffer) >= 0) ;
+    }
+
+    byte[] body = response;
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+      return;
+    }
+
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+
+}
@@ -1,27 +1,43 @@
 package no.mnemonic.act.platform.dao;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
+import no.mnemonic.act.platform.dao.api.EvidenceManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraEvidenceManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraFactManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManagerProvider;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.FactBindingsMigration;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.ClientFactoryProvider;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.ElasticFactSearchManager;
 
+/**
+ * Storage backed by Cassandra and ElasticSearch. See {@link no.mnemonic.act.platform.dao.embedded.EmbeddedDaoModule}
+ * for storage which runs inside the JVM.
+ */
 public class DaoModule extends AbstractModule {
 
   @Override
   protected void configure() {
+    // Metrics (shared with all other modules)
+    bind(MetricRegistry.class).in(Scopes.SINGLETON);
+
     // Cassandra
     bind(ClusterManager.class).toProvider(ClusterManagerProvider.class).in(Scopes.SINGLETON);
-    bind(FactManager.class);
-    bind(ObjectManager.class);
+    bind(FactManager.class).to(CassandraFactManager.class);
+    bind(ObjectManager.class).to(CassandraObjectManager.class);
+    bind(EvidenceManager.class).to(CassandraEvidenceManager.class);
+    bind(FactBindingsMigration.class).in(Scopes.SINGLETON);
 
     // ElasticSearch
     bind(ClientFactory.class).toProvider(ClientFactoryProvider.class).in(Scopes.SINGLETON);
-    bind(FactSearchManager.class);
+    bind(FactSearchManager.class).to(ElasticFactSearchManager.class);
   }
 
 }
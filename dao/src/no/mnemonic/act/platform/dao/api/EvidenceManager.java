@@ -0,0 +1,71 @@
+package no.mnemonic.act.platform.dao.api;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Content-addressed storage of Evidence. Evidence is identified by the SHA-256 checksum of its content and is split
+ * into fixed-size chunks which are themselves identified by their checksum, thus, identical content is only stored
+ * once. Content is streamed in and out chunk by chunk and is never held in memory completely.
+ */
+public interface EvidenceManager {
+
+  /**
+   * Retrieve the metadata of stored Evidence by its checksum.
+   *
+   * @param checksum SHA-256 checksum of the content
+   * @return Evidence or NULL if not available
+   */
+  EvidenceEntity getEvidence(String checksum);
+
+  /**
+   * Store Evidence by reading the given stream until its end. The stream is not closed. If the same content has
+   * been stored before the existing Evidence is returned.
+   *
+   * @param content Content of the Evidence
+   * @return Stored Evidence
+   * @throws IOException If reading the content or writing it to the storage fails
+   */
+  EvidenceEntity saveEvidence(InputStream content) throws IOException;
+
+  /**
+   * Open a stream to read the content of Evidence. Only the chunks overlapping with the requested range are fetched
+   * and only one chunk is held in memory at a time. The returned stream must be closed by the caller.
+   *
+   * @param evidence Evidence to read
+   * @param offset   Position of the first byte to read
+   * @param length   Maximum number of bytes to read, the range is cut at the end of the content
+   * @return Stream of the requested range of the content
+   * @throws IllegalArgumentException If the offset is outside of the content or the length is negative
+   */
+  InputStream readEvidence(EvidenceEntity evidence, long offset, long length);
+
+  /**
+   * Write a range of the content of Evidence into a channel. Chunks available as local files are transferred with
+   * {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}, thus, the data is not copied
+   * through the Java heap and can be sent by the operating system directly if the target is a socket.
+   *
+   * @param evidence Evidence to transfer
+   * @param offset   Position of the first byte to transfer
+   * @param length   Maximum number of bytes to transfer, the range is cut at the end of the content
+   * @param target   Channel the content is written to, it is not closed
+   * @return Number of transferred bytes
+   * @throws IOException              If reading the content or writing to the channel fails
+   * @throws IllegalArgumentException If the offset is outside of the content or the length is negative
+   */
+  long transferEvidence(EvidenceEntity evidence, long offset, long length, WritableByteChannel target) throws IOException;
+
+  /**
+   * Open a stream to read the complete content of Evidence.
+   *
+   * @param evidence Evidence to read
+   * @return Stream of the content
+   */
+  default InputStream readEvidence(EvidenceEntity evidence) {
+    return readEvidence(evidence, 0, evidence.getLength());
+  }
+
+}
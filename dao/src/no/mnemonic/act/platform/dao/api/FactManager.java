@@ -0,0 +1,149 @@
+package no.mnemonic.act.platform.dao.api;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage of FactTypes, Facts and all entities attached to Facts (ACL entries, comments and meta Fact bindings).
+ * <p>
+ * Facts and their attached entities are immutable, only the lastSeenTimestamp of a Fact can be updated using
+ * {@link #refreshFact(UUID)}. Saving an entity which already exists fails with an {@link ImmutableViolationException}.
+ */
+public interface FactManager {
+
+  /* FactTypeEntity-related methods */
+
+  /**
+   * Fetch a FactType by its UUID.
+   *
+   * @param id UUID of FactType
+   * @return FactType or NULL if it doesn't exist
+   */
+  FactTypeEntity getFactType(UUID id);
+
+  /**
+   * Fetch a FactType by its unique name.
+   *
+   * @param name Name of FactType
+   * @return FactType or NULL if it doesn't exist
+   */
+  FactTypeEntity getFactType(String name);
+
+  /**
+   * Fetch all FactTypes.
+   *
+   * @return All FactTypes
+   */
+  List<FactTypeEntity> fetchFactTypes();
+
+  /**
+   * Create a new FactType or update an existing FactType (identified by its UUID).
+   *
+   * @param type FactType to save
+   * @return Saved FactType
+   * @throws IllegalArgumentException If another FactType with the same name exists
+   */
+  FactTypeEntity saveFactType(FactTypeEntity type);
+
+  /* FactEntity-related methods */
+
+  /**
+   * Fetch a Fact by its UUID.
+   *
+   * @param id UUID of Fact
+   * @return Fact or NULL if it doesn't exist
+   */
+  FactEntity getFact(UUID id);
+
+  /**
+   * Fetch multiple Facts by their UUIDs. Facts which don't exist are skipped.
+   *
+   * @param id UUIDs of Facts
+   * @return Iterator over the existing Facts
+   */
+  Iterator<FactEntity> getFacts(List<UUID> id);
+
+  /**
+   * Create a new Fact.
+   *
+   * @param fact Fact to create
+   * @return Created Fact
+   * @throws IllegalArgumentException     If the FactType of the Fact doesn't exist
+   * @throws ImmutableViolationException If the Fact already exists
+   */
+  FactEntity saveFact(FactEntity fact);
+
+  /**
+   * Set the lastSeenTimestamp of an existing Fact to the current time.
+   *
+   * @param id UUID of Fact
+   * @return Refreshed Fact
+   * @throws IllegalArgumentException If the Fact doesn't exist
+   */
+  FactEntity refreshFact(UUID id);
+
+  /* FactAclEntity-related methods */
+
+  /**
+   * Fetch the ACL of a Fact.
+   *
+   * @param id UUID of Fact
+   * @return ACL entries of the Fact
+   */
+  List<FactAclEntity> fetchFactAcl(UUID id);
+
+  /**
+   * Add an entry to the ACL of an existing Fact.
+   *
+   * @param entry ACL entry to add
+   * @return Added ACL entry
+   * @throws IllegalArgumentException     If the Fact doesn't exist
+   * @throws ImmutableViolationException If the ACL entry already exists
+   */
+  FactAclEntity saveFactAclEntry(FactAclEntity entry);
+
+  /* FactCommentEntity-related methods */
+
+  /**
+   * Fetch the comments of a Fact.
+   *
+   * @param id UUID of Fact
+   * @return Comments of the Fact
+   */
+  List<FactCommentEntity> fetchFactComments(UUID id);
+
+  /**
+   * Add a comment to an existing Fact.
+   *
+   * @param comment Comment to add
+   * @return Added comment
+   * @throws IllegalArgumentException     If the Fact doesn't exist
+   * @throws ImmutableViolationException If the comment already exists
+   */
+  FactCommentEntity saveFactComment(FactCommentEntity comment);
+
+  /* MetaFactBindingEntity-related methods */
+
+  /**
+   * Fetch the bindings between a Fact and its meta Facts.
+   *
+   * @param id UUID of Fact
+   * @return Bindings to the meta Facts of the Fact
+   */
+  List<MetaFactBindingEntity> fetchMetaFactBindings(UUID id);
+
+  /**
+   * Bind a meta Fact to an existing Fact.
+   *
+   * @param binding Binding to add
+   * @return Added binding
+   * @throws IllegalArgumentException     If the Fact doesn't exist
+   * @throws ImmutableViolationException If the binding already exists
+   */
+  MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding);
+
+}
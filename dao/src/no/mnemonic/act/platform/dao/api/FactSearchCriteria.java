@@ -5,6 +5,7 @@ import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -17,6 +18,20 @@ public class FactSearchCriteria {
     all, any
   }
 
+  /**
+   * Defines which parts of the matching Facts are returned from a search.
+   */
+  public enum Projection {
+    /**
+     * Return the complete indexed documents.
+     */
+    document,
+    /**
+     * Only the IDs of the matching Facts are required. All other fields of the returned documents may be omitted.
+     */
+    id
+  }
+
   public interface FieldStrategy {
     Set<String> getFields();
   }
@@ -87,6 +102,7 @@ public class FactSearchCriteria {
 
   // Additional search options.
   private final int limit;
+  private final Projection projection;
 
   // Fields required for access control.
   private final UUID currentUserID;
@@ -99,7 +115,7 @@ public class FactSearchCriteria {
                              String keywords, Set<KeywordFieldStrategy> keywordFieldStrategy,
                              MatchStrategy keywordMatchStrategy, Long startTimestamp, Long endTimestamp,
                              Set<TimeFieldStrategy> timeFieldStrategy, MatchStrategy timeMatchStrategy,
-                             int limit, UUID currentUserID, Set<UUID> availableOrganizationID) {
+                             int limit, Projection projection, UUID currentUserID, Set<UUID> availableOrganizationID) {
     if (currentUserID == null) throw new IllegalArgumentException("Missing required field 'currentUserID'.");
     if (CollectionUtils.isEmpty(availableOrganizationID))
       throw new IllegalArgumentException("Missing required field 'availableOrganizationID'.");
@@ -132,6 +148,7 @@ public class FactSearchCriteria {
     this.timeFieldStrategy = !CollectionUtils.isEmpty(timeFieldStrategy) ? timeFieldStrategy :
             SetUtils.set(TimeFieldStrategy.all);
     this.timeMatchStrategy = ObjectUtils.ifNull(timeMatchStrategy, MatchStrategy.any);
+    this.projection = ObjectUtils.ifNull(projection, Projection.document);
   }
 
   /**
@@ -338,6 +355,15 @@ public class FactSearchCriteria {
     return limit;
   }
 
+  /**
+   * Specify which parts of the matching Facts are returned. Defaults to the complete documents.
+   *
+   * @return Projection of returned Facts
+   */
+  public Projection getProjection() {
+    return projection;
+  }
+
   /**
    * Specify the UUID of the calling user. This field is required.
    *
@@ -356,6 +382,46 @@ public class FactSearchCriteria {
     return availableOrganizationID;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    FactSearchCriteria that = (FactSearchCriteria) o;
+    return Objects.equals(factID, that.factID) &&
+            Objects.equals(factTypeID, that.factTypeID) &&
+            Objects.equals(factTypeName, that.factTypeName) &&
+            Objects.equals(factValue, that.factValue) &&
+            Objects.equals(inReferenceTo, that.inReferenceTo) &&
+            Objects.equals(organizationID, that.organizationID) &&
+            Objects.equals(organizationName, that.organizationName) &&
+            Objects.equals(sourceID, that.sourceID) &&
+            Objects.equals(sourceName, that.sourceName) &&
+            Objects.equals(objectID, that.objectID) &&
+            Objects.equals(objectTypeID, that.objectTypeID) &&
+            Objects.equals(objectTypeName, that.objectTypeName) &&
+            Objects.equals(objectValue, that.objectValue) &&
+            Objects.equals(retracted, that.retracted) &&
+            Objects.equals(keywords, that.keywords) &&
+            Objects.equals(keywordFieldStrategy, that.keywordFieldStrategy) &&
+            Objects.equals(keywordMatchStrategy, that.keywordMatchStrategy) &&
+            Objects.equals(startTimestamp, that.startTimestamp) &&
+            Objects.equals(endTimestamp, that.endTimestamp) &&
+            Objects.equals(timeFieldStrategy, that.timeFieldStrategy) &&
+            Objects.equals(timeMatchStrategy, that.timeMatchStrategy) &&
+            limit == that.limit &&
+            Objects.equals(projection, that.projection) &&
+            Objects.equals(currentUserID, that.currentUserID) &&
+            Objects.equals(availableOrganizationID, that.availableOrganizationID);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(factID, factTypeID, factTypeName, factValue, inReferenceTo, organizationID, organizationName, sourceID,
+            sourceName, objectID, objectTypeID, objectTypeName, objectValue, retracted, keywords, keywordFieldStrategy,
+            keywordMatchStrategy, startTimestamp, endTimestamp, timeFieldStrategy, timeMatchStrategy, limit, projection,
+            currentUserID, availableOrganizationID);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -390,6 +456,7 @@ public class FactSearchCriteria {
 
     // Additional search options.
     private int limit;
+    private Projection projection;
 
     // Fields required for access control.
     private UUID currentUserID;
@@ -402,7 +469,7 @@ public class FactSearchCriteria {
       return new FactSearchCriteria(factID, factTypeID, factTypeName, factValue, inReferenceTo, organizationID, organizationName,
               sourceID, sourceName, objectID, objectTypeID, objectTypeName, objectValue, retracted, keywords,
               keywordFieldStrategy, keywordMatchStrategy, startTimestamp, endTimestamp, timeFieldStrategy, timeMatchStrategy,
-              limit, currentUserID, availableOrganizationID);
+              limit, projection, currentUserID, availableOrganizationID);
     }
 
     public Builder setFactID(Set<UUID> factID) {
@@ -590,6 +657,11 @@ public class FactSearchCriteria {
       return this;
     }
 
+    public Builder setProjection(Projection projection) {
+      this.projection = projection;
+      return this;
+    }
+
     public Builder setCurrentUserID(UUID currentUserID) {
       this.currentUserID = currentUserID;
       return this;
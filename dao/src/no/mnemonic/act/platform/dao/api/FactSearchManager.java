@@ -0,0 +1,80 @@
+package no.mnemonic.act.platform.dao.api;
+
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+
+import java.util.UUID;
+
+/**
+ * Search index of Facts. Facts are indexed as denormalized {@link FactDocument}s which include the bound Objects and
+ * the Fact's ACL, such that searches and access control can be performed without consulting the {@link FactManager}.
+ */
+public interface FactSearchManager {
+
+  /**
+   * Retrieve an indexed Fact by its UUID.
+   *
+   * @param id UUID of indexed Fact
+   * @return Indexed Fact or NULL if not available
+   */
+  FactDocument getFact(UUID id);
+
+  /**
+   * Retrieve an indexed Fact by its UUID and timestamp. Implementations may use the timestamp to locate the Fact
+   * more efficiently.
+   *
+   * @param id        UUID of indexed Fact
+   * @param timestamp Timestamp of indexed Fact
+   * @return Indexed Fact or NULL if not available
+   */
+  FactDocument getFact(UUID id, long timestamp);
+
+  /**
+   * Index a Fact. Indexing a Fact which is already indexed replaces the existing document.
+   *
+   * @param fact Fact to index
+   * @return Indexed Fact
+   */
+  FactDocument indexFact(FactDocument fact);
+
+  /**
+   * Retrieve all Facts which are considered logically the same when matched against a given search criteria.
+   * No access control will be performed. This must be done by the caller.
+   *
+   * @param criteria Criteria to retrieve existing Facts
+   * @return All Facts satisfying search criteria wrapped inside a result container
+   */
+  SearchResult<FactDocument> retrieveExistingFacts(FactExistenceSearchCriteria criteria);
+
+  /**
+   * Search for Facts satisfying a given search criteria. Only Facts accessible to the user identified by
+   * 'currentUserID' and 'availableOrganizationID' of the search criteria will be returned.
+   * <p>
+   * If the criteria's projection is {@link FactSearchCriteria.Projection#id} only the IDs of the returned documents
+   * are guaranteed to be set.
+   *
+   * @param criteria Search criteria to match against Facts
+   * @return Facts satisfying search criteria wrapped inside a result container
+   */
+  SearchResult<FactDocument> searchFacts(FactSearchCriteria criteria);
+
+  /**
+   * Search for Objects bound to Facts satisfying a given search criteria. Only Objects bound to Facts accessible to
+   * the user identified by 'currentUserID' and 'availableOrganizationID' of the search criteria will be returned.
+   *
+   * @param criteria Search criteria to match against Facts and their bound Objects
+   * @return Objects satisfying search criteria wrapped inside a result container
+   */
+  SearchResult<ObjectDocument> searchObjects(FactSearchCriteria criteria);
+
+  /**
+   * Calculate statistics about the Facts bound to Objects. Only Facts accessible to the user identified by
+   * 'currentUserID' and 'availableOrganizationID' of the statistics criteria will be included.
+   *
+   * @param criteria Criteria to specify for which Objects statistics should be calculated
+   * @return Result container with the calculated statistics for each Object
+   */
+  ObjectStatisticsResult calculateObjectStatistics(ObjectStatisticsCriteria criteria);
+
+}
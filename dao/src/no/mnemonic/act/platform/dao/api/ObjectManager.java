@@ -0,0 +1,164 @@
+package no.mnemonic.act.platform.dao.api;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+
+import java.util.*;
+
+/**
+ * Storage of ObjectTypes, Objects, the bindings between Objects and Facts, and the pre-aggregated statistics about
+ * the Facts bound to Objects.
+ * <p>
+ * Objects are immutable and unique by their type and value. Saving an entity which already exists fails with an
+ * {@link ImmutableViolationException}.
+ */
+public interface ObjectManager {
+
+  /* ObjectTypeEntity-related methods */
+
+  /**
+   * Fetch an ObjectType by its UUID.
+   *
+   * @param id UUID of ObjectType
+   * @return ObjectType or NULL if it doesn't exist
+   */
+  ObjectTypeEntity getObjectType(UUID id);
+
+  /**
+   * Fetch an ObjectType by its unique name.
+   *
+   * @param name Name of ObjectType
+   * @return ObjectType or NULL if it doesn't exist
+   */
+  ObjectTypeEntity getObjectType(String name);
+
+  /**
+   * Fetch all ObjectTypes.
+   *
+   * @return All ObjectTypes
+   */
+  List<ObjectTypeEntity> fetchObjectTypes();
+
+  /**
+   * Create a new ObjectType or update an existing ObjectType (identified by its UUID).
+   *
+   * @param type ObjectType to save
+   * @return Saved ObjectType
+   * @throws IllegalArgumentException If another ObjectType with the same name exists
+   */
+  ObjectTypeEntity saveObjectType(ObjectTypeEntity type);
+
+  /* ObjectEntity-related methods */
+
+  /**
+   * Fetch an Object by its UUID.
+   *
+   * @param id UUID of Object
+   * @return Object or NULL if it doesn't exist
+   */
+  ObjectEntity getObject(UUID id);
+
+  /**
+   * Fetch an Object by its type and value.
+   *
+   * @param type  Name of ObjectType
+   * @param value Value of Object
+   * @return Object or NULL if it doesn't exist
+   * @throws IllegalArgumentException If the ObjectType doesn't exist
+   */
+  ObjectEntity getObject(String type, String value);
+
+  /**
+   * Fetch multiple Objects by their UUIDs. Objects which don't exist are skipped.
+   *
+   * @param id UUIDs of Objects
+   * @return Iterator over the existing Objects
+   */
+  Iterator<ObjectEntity> getObjects(List<UUID> id);
+
+  /**
+   * Create a new Object.
+   *
+   * @param object Object to create
+   * @return Created Object
+   * @throws IllegalArgumentException     If the ObjectType of the Object doesn't exist
+   * @throws ImmutableViolationException If an Object with the same type and value already exists
+   */
+  ObjectEntity saveObject(ObjectEntity object);
+
+  /**
+   * Atomically creates an Object unless an Object with the same type and value already exists. In contrast to
+   * {@link #saveObject(ObjectEntity)} concurrent callers creating the same Object will not fail, instead, all of
+   * them receive the Object which was created first.
+   *
+   * @param object Object to create
+   * @return Either the given Object or the already existing Object with the same type and value
+   * @throws IllegalArgumentException If the ObjectType of the Object doesn't exist
+   */
+  ObjectEntity getOrCreateObject(ObjectEntity object);
+
+  /* ObjectFactBindingEntity-related methods */
+
+  /**
+   * Fetch the bindings between an Object and the Facts bound to it.
+   *
+   * @param id UUID of Object
+   * @return Bindings to the Facts bound to the Object
+   */
+  List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id);
+
+  /**
+   * Bind a Fact to an existing Object.
+   *
+   * @param binding Binding to add
+   * @return Added binding
+   * @throws IllegalArgumentException     If the Object doesn't exist
+   * @throws ImmutableViolationException If the binding already exists
+   */
+  ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding);
+
+  /* ObjectStatisticsEntity-related methods */
+
+  /**
+   * Fetch the pre-aggregated statistics about Facts bound to an Object. One entry is returned for each combination
+   * of FactType, AccessMode and Organization of the bound Facts. Statistics are only complete for Objects which
+   * are marked with {@link ObjectEntity#isStatisticsTracked()}.
+   *
+   * @param id UUID of Object
+   * @return Statistics about Facts bound to the Object
+   */
+  List<ObjectStatisticsEntity> fetchObjectStatistics(UUID id);
+
+  /**
+   * Fetch the pre-aggregated statistics about Facts bound to multiple Objects. See {@link #fetchObjectStatistics(UUID)}.
+   * Implementations should fetch the statistics of multiple Objects in parallel.
+   *
+   * @param id UUIDs of Objects
+   * @return Statistics about Facts bound to the Objects, keyed by the Objects' UUIDs
+   */
+  default Map<UUID, List<ObjectStatisticsEntity>> fetchObjectStatisticsBatch(Collection<UUID> id) {
+    Map<UUID, List<ObjectStatisticsEntity>> statistics = new HashMap<>();
+    if (id == null) return statistics;
+
+    for (UUID objectID : id) {
+      statistics.put(objectID, fetchObjectStatistics(objectID));
+    }
+    return statistics;
+  }
+
+  /**
+   * Include a newly created Fact in the statistics of all Objects bound to the Fact. Must only be called once per Fact.
+   *
+   * @param fact Newly created Fact
+   */
+  void incrementObjectStatistics(FactEntity fact);
+
+  /**
+   * Update the statistics of all Objects bound to a Fact after the Fact has been refreshed, i.e. after its
+   * lastSeenTimestamp has been updated.
+   *
+   * @param fact Refreshed Fact
+   */
+  void refreshObjectStatistics(FactEntity fact);
+
+}
@@ -17,8 +17,9 @@ public class ObjectStatisticsCriteria {
   // Fields required for access control on related Facts.
   private final UUID currentUserID;
   private final Set<UUID> availableOrganizationID;
+  private final boolean aclAccessOnly;
 
-  private ObjectStatisticsCriteria(Set<UUID> objectID, UUID currentUserID, Set<UUID> availableOrganizationID) {
+  private ObjectStatisticsCriteria(Set<UUID> objectID, UUID currentUserID, Set<UUID> availableOrganizationID, boolean aclAccessOnly) {
     if (CollectionUtils.isEmpty(objectID)) throw new IllegalArgumentException("Missing required field 'objectID'.");
     if (currentUserID == null) throw new IllegalArgumentException("Missing required field 'currentUserID'.");
     if (CollectionUtils.isEmpty(availableOrganizationID))
@@ -27,6 +28,7 @@ public class ObjectStatisticsCriteria {
     this.objectID = objectID;
     this.currentUserID = currentUserID;
     this.availableOrganizationID = availableOrganizationID;
+    this.aclAccessOnly = aclAccessOnly;
   }
 
   /**
@@ -56,6 +58,16 @@ public class ObjectStatisticsCriteria {
     return availableOrganizationID;
   }
 
+  /**
+   * Specify whether statistics should only include Facts the calling user has access to exclusively via the Facts'
+   * ACLs, i.e. excluding public Facts and RoleBased Facts of available Organizations (defaults to false).
+   *
+   * @return Whether to only include Facts accessible via ACL
+   */
+  public boolean isAclAccessOnly() {
+    return aclAccessOnly;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -67,12 +79,13 @@ public class ObjectStatisticsCriteria {
     // Fields required for access control on related Facts.
     private UUID currentUserID;
     private Set<UUID> availableOrganizationID;
+    private boolean aclAccessOnly;
 
     private Builder() {
     }
 
     public ObjectStatisticsCriteria build() {
-      return new ObjectStatisticsCriteria(objectID, currentUserID, availableOrganizationID);
+      return new ObjectStatisticsCriteria(objectID, currentUserID, availableOrganizationID, aclAccessOnly);
     }
 
     public Builder setObjectID(Set<UUID> objectID) {
@@ -99,5 +112,10 @@ public class ObjectStatisticsCriteria {
       this.availableOrganizationID = SetUtils.addToSet(this.availableOrganizationID, availableOrganizationID);
       return this;
     }
+
+    public Builder setAclAccessOnly(boolean aclAccessOnly) {
+      this.aclAccessOnly = aclAccessOnly;
+      return this;
+    }
   }
 }
@@ -0,0 +1,221 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.mapping.Mapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import no.mnemonic.act.platform.dao.cassandra.accessors.EvidenceAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceChunkEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+import no.mnemonic.act.platform.dao.evidence.AbstractEvidenceManager;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.PointRead;
+
+/**
+ * EvidenceManager which stores each chunk as one row in Cassandra. The size of the chunks should be kept well below
+ * Cassandra's recommended maximum cell size.
+ * <p>
+ * If 'evidence.chunk.cache.directory' is configured fetched chunks are additionally kept in an {@link EvidenceChunkCache}
+ * on the local disk. Downloads are then served from the cached files without querying Cassandra again and while
+ * one chunk is downloaded the following chunks are fetched in the background. The metadata of Evidence is kept in an
+ * in-memory cache next to the chunks. It is addressed by the checksum of the content and never changes, thus, cached
+ * metadata never needs to be invalidated and downloads of cached Evidence don't query Cassandra at all.
+ */
+@Singleton
+public class CassandraEvidenceManager extends AbstractEvidenceManager implements LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(CassandraEvidenceManager.class);
+
+  @Dependency
+  private final ClusterManager clusterManager;
+
+  // Directory of the local chunk cache. Leaving it empty disables the cache.
+  @com.google.inject.Inject(optional = true)
+  @Named("evidence.chunk.cache.directory")
+  private String chunkCacheDirectory = "";
+
+  // Maximum total size (in bytes) of all chunks kept in the local chunk cache.
+  @com.google.inject.Inject(optional = true)
+  @Named("evidence.chunk.cache.size")
+  private String chunkCacheSize = "1073741824";
+
+  // Number of chunks fetched ahead into the local chunk cache while Evidence is downloaded (0 disables prefetching).
+  @com.google.inject.Inject(optional = true)
+  @Named("evidence.chunk.prefetch")
+  private String chunkPrefetch = "2";
+
+  // Maximum number of Evidence metadata entries kept in memory. Setting it to 0 disables caching of metadata.
+  @com.google.inject.Inject(optional = true)
+  @Named("evidence.metadata.cache.size")
+  private String metadataCacheSize = "10000";
+
+  private final Set<String> prefetching = ConcurrentHashMap.newKeySet();
+
+  private Cache<String, EvidenceEntity> metadataCache;
+  private EvidenceChunkCache chunkCache;
+  private ExecutorService prefetchExecutor;
+  private Mapper<EvidenceEntity> evidenceMapper;
+  private Mapper<EvidenceChunkEntity> evidenceChunkMapper;
+  private EvidenceAccessor evidenceAccessor;
+
+  @Inject
+  public CassandraEvidenceManager(ClusterManager clusterManager) {
+    this.clusterManager = clusterManager;
+  }
+
+  @Override
+  public void startComponent() {
+    evidenceMapper = clusterManager.getMapper(EvidenceEntity.class);
+    evidenceChunkMapper = clusterManager.getMapper(EvidenceChunkEntity.class);
+    evidenceAccessor = clusterManager.getAccessor(EvidenceAccessor.class);
+    metadataCache = CacheBuilder.newBuilder()
+            .maximumSize(Long.parseLong(metadataCacheSize))
+            .recordStats()
+            .build();
+
+    if (!StringUtils.isBlank(chunkCacheDirectory)) {
+      chunkCache = new EvidenceChunkCache(Paths.get(chunkCacheDirectory), Long.parseLong(chunkCacheSize));
+      chunkCache.open();
+      // Chunks are fetched asynchronously by the driver, this thread only writes them into the cache.
+      prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EvidenceChunkPrefetch");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  @Override
+  public void stopComponent() {
+    if (prefetchExecutor != null) prefetchExecutor.shutdownNow();
+  }
+
+  @Override
+  public EvidenceEntity getEvidence(String checksum) {
+    if (StringUtils.isBlank(checksum)) return null;
+
+    EvidenceEntity cached = metadataCache.getIfPresent(checksum);
+    if (cached != null) return cached.clone();
+
+    return cacheMetadata(clusterManager.get(evidenceMapper, checksum));
+  }
+
+  /**
+   * Returns the statistics of the Evidence metadata cache, e.g. hit and miss counts.
+   *
+   * @return Statistics of Evidence metadata cache or NULL if the EvidenceManager has not been started
+   */
+  public CacheStats getMetadataCacheStats() {
+    return ObjectUtils.ifNotNull(metadataCache, Cache::stats);
+  }
+
+  @Override
+  protected boolean chunkExists(String checksum) {
+    // Only select the key, the chunk's data doesn't need to be transferred.
+    return clusterManager.execute(evidenceAccessor.fetchChunkChecksum(checksum), PointRead).one() != null;
+  }
+
+  @Override
+  protected void saveChunk(String checksum, ByteBuffer data) {
+    // The write is executed synchronously, thus, the driver doesn't access the buffer anymore after it returns.
+    clusterManager.save(evidenceChunkMapper, new EvidenceChunkEntity().setChecksum(checksum).setData(data));
+  }
+
+  @Override
+  protected ByteBuffer getChunk(String checksum) throws IOException {
+    if (chunkCache != null) {
+      ByteBuffer cached = chunkCache.read(checksum);
+      if (cached != null) return cached;
+    }
+
+    EvidenceChunkEntity chunk = clusterManager.get(evidenceChunkMapper, checksum);
+    if (chunk == null) return null;
+
+    if (chunkCache != null) chunkCache.put(checksum, chunk.getData());
+    return chunk.getData();
+  }
+
+  @Override
+  protected FileChannel openChunk(String checksum) throws IOException {
+    return chunkCache != null ? chunkCache.open(checksum) : null;
+  }
+
+  @Override
+  protected void prefetchChunks(List<String> checksums) {
+    if (chunkCache == null) return;
+
+    checksums.stream()
+            .limit(Integer.parseInt(chunkPrefetch))
+            .filter(checksum -> !chunkCache.contains(checksum))
+            // Don't fetch the same chunk twice if multiple downloads request it at the same time.
+            .filter(prefetching::add)
+            .forEach(this::prefetchChunk);
+  }
+
+  @Override
+  protected void saveEvidenceMetadata(EvidenceEntity evidence) {
+    clusterManager.save(evidenceMapper, evidence);
+    cacheMetadata(evidence);
+  }
+
+  private EvidenceEntity cacheMetadata(EvidenceEntity evidence) {
+    // Store a copy such that callers modifying the returned entity don't affect the cache.
+    if (evidence != null) metadataCache.put(evidence.getChecksum(), evidence.clone());
+    return evidence;
+  }
+
+  private void prefetchChunk(String checksum) {
+    Futures.addCallback(clusterManager.getAsync(evidenceChunkMapper, checksum), new FutureCallback<EvidenceChunkEntity>() {
+      @Override
+      public void onSuccess(EvidenceChunkEntity chunk) {
+        try {
+          if (chunk != null) chunkCache.put(checksum, chunk.getData());
+        } catch (IOException ex) {
+          LOGGER.warning(ex, "Could not write prefetched chunk %s into Evidence chunk cache.", checksum);
+        } finally {
+          prefetching.remove(checksum);
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable ex) {
+        // Not critical, the chunk is fetched again when it is read.
+        LOGGER.warning(ex, "Could not prefetch chunk %s.", checksum);
+        prefetching.remove(checksum);
+      }
+    }, prefetchExecutor);
+  }
+
+  CassandraEvidenceManager withChunkSize(int chunkSize) {
+    setChunkSize(chunkSize);
+    return this;
+  }
+
+  CassandraEvidenceManager withChunkCache(String directory, long size) {
+    this.chunkCacheDirectory = directory;
+    this.chunkCacheSize = String.valueOf(size);
+    return this;
+  }
+
+}
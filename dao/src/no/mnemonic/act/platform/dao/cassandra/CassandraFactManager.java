@@ -0,0 +1,329 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.Mapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactAccessor;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactAclAccessor;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactCommentAccessor;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactTypeAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.PointRead;
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.Write;
+
+@Singleton
+public class CassandraFactManager implements FactManager, LifecycleAspect {
+
+  @Dependency
+  private final ClusterManager clusterManager;
+
+  // Interval (in ms) in which FactTypes are reloaded in the background. Setting it to 0 disables background reloads.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.type.refresh.interval")
+  private String typeRefreshInterval = "60000";
+
+  // Maximum number of Facts kept in the Fact cache. Setting it to 0 disables caching of Facts.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.fact.cache.size")
+  private String factCacheSize = "10000";
+
+  // Time (in ms) the lastSeenTimestamp of a cached Fact is used before it is read again from Cassandra.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.fact.lastseen.ttl")
+  private String lastSeenTtl = "10000";
+
+  private TypeRegistry<FactTypeEntity> factTypeRegistry;
+  // Facts are immutable except for their lastSeenTimestamp which might be updated by refreshFact() on any node.
+  // Thus, Facts are cached without expiry, but their lastSeenTimestamp is kept in a separate overlay which expires
+  // quickly and is re-read from Cassandra with a cheap single-column query.
+  private Cache<UUID, FactEntity> factCache;
+  private Cache<UUID, Long> lastSeenCache;
+
+  private Mapper<FactTypeEntity> factTypeMapper;
+  private Mapper<FactEntity> factMapper;
+  private Mapper<FactAclEntity> factAclMapper;
+  private Mapper<FactCommentEntity> factCommentMapper;
+  private Mapper<MetaFactBindingEntity> metaFactBindingMapper;
+  private FactTypeAccessor factTypeAccessor;
+  private FactAccessor factAccessor;
+  private FactAclAccessor factAclAccessor;
+  private FactCommentAccessor factCommentAccessor;
+
+  private Clock clock = Clock.systemUTC();
+
+  @Inject
+  public CassandraFactManager(ClusterManager clusterManager) {
+    this.clusterManager = clusterManager;
+  }
+
+  @Override
+  public void startComponent() {
+    factCache = CacheBuilder.newBuilder()
+            .maximumSize(Long.parseLong(factCacheSize))
+            .recordStats()
+            .build();
+    lastSeenCache = CacheBuilder.newBuilder()
+            .maximumSize(Long.parseLong(factCacheSize))
+            .expireAfterWrite(Long.parseLong(lastSeenTtl), TimeUnit.MILLISECONDS)
+            .build();
+
+    factTypeMapper = clusterManager.getMapper(FactTypeEntity.class);
+    factMapper = clusterManager.getMapper(FactEntity.class);
+    factAclMapper = clusterManager.getMapper(FactAclEntity.class);
+    factCommentMapper = clusterManager.getMapper(FactCommentEntity.class);
+    metaFactBindingMapper = clusterManager.getMapper(MetaFactBindingEntity.class);
+    factTypeAccessor = clusterManager.getAccessor(FactTypeAccessor.class);
+    factAccessor = clusterManager.getAccessor(FactAccessor.class);
+    factAclAccessor = clusterManager.getAccessor(FactAclAccessor.class);
+    factCommentAccessor = clusterManager.getAccessor(FactCommentAccessor.class);
+
+    factTypeRegistry = createFactTypeRegistry();
+    factTypeRegistry.start(Long.parseLong(typeRefreshInterval));
+  }
+
+  @Override
+  public void stopComponent() {
+    if (factTypeRegistry != null) factTypeRegistry.stop();
+  }
+
+  /* FactTypeEntity-related methods */
+
+  @Override
+  public FactTypeEntity getFactType(UUID id) {
+    return factTypeRegistry.get(id);
+  }
+
+  @Override
+  public FactTypeEntity getFactType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+    return factTypeRegistry.get(name);
+  }
+
+  @Override
+  public List<FactTypeEntity> fetchFactTypes() {
+    return factTypeRegistry.getAll();
+  }
+
+  @Override
+  public FactTypeEntity saveFactType(FactTypeEntity type) {
+    if (type == null) return null;
+
+    // It's not allowed to add a FactType with the same name, but if the IDs are equal this is updating an existing FactType.
+    FactTypeEntity existing = getFactType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId()) && existing.getName().equals(type.getName())) {
+      throw new IllegalArgumentException(String.format("FactType with name = %s already exists.", type.getName()));
+    }
+
+    clusterManager.save(factTypeMapper, type);
+    // Publish a copy such that modifications of the given entity are not visible in the registry.
+    factTypeRegistry.publish(type.clone());
+
+    return type;
+  }
+
+  /* FactEntity-related methods */
+
+  @Override
+  public FactEntity getFact(UUID id) {
+    if (id == null) return null;
+
+    FactEntity cached = factCache.getIfPresent(id);
+    if (cached != null) {
+      Long lastSeenTimestamp = lastSeenCache.getIfPresent(id);
+      if (lastSeenTimestamp != null) return cached.clone().setLastSeenTimestamp(lastSeenTimestamp);
+      return applyLastSeenTimestamp(cached, clusterManager.execute(factAccessor.fetchLastSeenTimestamp(id), PointRead).one());
+    }
+
+    return cacheFact(clusterManager.get(factMapper, id));
+  }
+
+  @Override
+  public Iterator<FactEntity> getFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    // Use single-partition reads instead of an IN query in order to allow token-aware routing.
+    return new PartitionKeyFetchIterator<>(id, this::getFactAsync);
+  }
+
+  @Override
+  public FactEntity saveFact(FactEntity fact) {
+    if (fact == null) return null;
+    if (getFactType(fact.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("FactType with id = %s does not exist.", fact.getTypeID()));
+    if (getFact(fact.getId()) != null)
+      throw new ImmutableViolationException("It is not allowed to update a Fact");
+
+    clusterManager.save(factMapper, fact);
+    cacheFact(fact);
+    return fact;
+  }
+
+  @Override
+  public FactEntity refreshFact(UUID id) {
+    FactEntity fact = getFact(id);
+    if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
+
+    long lastSeenTimestamp = Instant.now(clock).toEpochMilli();
+    clusterManager.execute(factAccessor.refreshLastSeenTimestamp(id, lastSeenTimestamp), Write);
+
+    // Write the new timestamp through to the cache instead of reading the Fact again.
+    return cacheFact(migrateBindings(fact).setLastSeenTimestamp(lastSeenTimestamp));
+  }
+
+  /**
+   * Returns the statistics of the Fact cache, e.g. hit and miss counts.
+   *
+   * @return Statistics of Fact cache or NULL if the FactManager has not been started
+   */
+  public CacheStats getFactCacheStats() {
+    return ObjectUtils.ifNotNull(factCache, Cache::stats);
+  }
+
+  private ListenableFuture<FactEntity> getFactAsync(UUID id) {
+    FactEntity cached = factCache.getIfPresent(id);
+    if (cached != null) {
+      Long lastSeenTimestamp = lastSeenCache.getIfPresent(id);
+      if (lastSeenTimestamp != null) return Futures.immediateFuture(cached.clone().setLastSeenTimestamp(lastSeenTimestamp));
+      return Futures.transform(clusterManager.executeAsync(factAccessor.fetchLastSeenTimestamp(id), PointRead),
+              (ResultSet rs) -> applyLastSeenTimestamp(cached, rs.one()), MoreExecutors.directExecutor());
+    }
+
+    return Futures.transform(clusterManager.getAsync(factMapper, id), this::cacheFact, MoreExecutors.directExecutor());
+  }
+
+  private FactEntity cacheFact(FactEntity fact) {
+    // Store a copy such that callers modifying the returned entity don't affect the cache.
+    if (fact != null) {
+      factCache.put(fact.getId(), fact.clone());
+      lastSeenCache.put(fact.getId(), fact.getLastSeenTimestamp());
+    }
+    return fact;
+  }
+
+  private FactEntity applyLastSeenTimestamp(FactEntity cached, Row row) {
+    // Keep the cached timestamp if the row cannot be read (which should not happen because Facts are never deleted).
+    long lastSeenTimestamp = row != null ? row.getLong("last_seen_timestamp") : cached.getLastSeenTimestamp();
+    lastSeenCache.put(cached.getId(), lastSeenTimestamp);
+    return cached.clone().setLastSeenTimestamp(lastSeenTimestamp);
+  }
+
+  private FactEntity migrateBindings(FactEntity fact) {
+    // Facts stored before the binary bindings format was introduced only have JSON bindings. They are backfilled by
+    // FactBindingsMigration. This is only a fallback for Facts not migrated yet which rewrites them in the binary
+    // format when they are touched anyway, all other Facts fall back to decoding the JSON bindings on read.
+    if (fact.getBindingsBinary() != null || fact.getBindingCount() == 0) return fact;
+    fact.setBindings(fact.getBindings());
+    clusterManager.execute(factAccessor.migrateBindings(fact.getId(), fact.getBindingsBinary()), Write);
+    return fact;
+  }
+
+  /* FactAclEntity-related methods */
+
+  @Override
+  public List<FactAclEntity> fetchFactAcl(UUID id) {
+    if (id == null) return ListUtils.list();
+    return clusterManager.search(factAclMapper, factAclAccessor.fetch(id)).all();
+  }
+
+  @Override
+  public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
+    if (entry == null) return null;
+    if (getFact(entry.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entry.getFactID()));
+    if (clusterManager.get(factAclMapper, entry.getFactID(), entry.getId()) != null)
+      throw new ImmutableViolationException("It is not allowed to update an ACL entry.");
+
+    clusterManager.save(factAclMapper, entry);
+
+    return entry;
+  }
+
+  /* FactCommentEntity-related methods */
+
+  @Override
+  public List<FactCommentEntity> fetchFactComments(UUID id) {
+    if (id == null) return ListUtils.list();
+    return clusterManager.search(factCommentMapper, factCommentAccessor.fetch(id)).all();
+  }
+
+  @Override
+  public FactCommentEntity saveFactComment(FactCommentEntity comment) {
+    if (comment == null) return null;
+    if (getFact(comment.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", comment.getFactID()));
+    if (clusterManager.get(factCommentMapper, comment.getFactID(), comment.getId()) != null)
+      throw new ImmutableViolationException("It is not allowed to update a comment.");
+
+    clusterManager.save(factCommentMapper, comment);
+
+    return comment;
+  }
+
+  /* MetaFactBindingEntity-related methods */
+
+  @Override
+  public List<MetaFactBindingEntity> fetchMetaFactBindings(UUID id) {
+    if (id == null) return ListUtils.list();
+    return clusterManager.search(metaFactBindingMapper, factAccessor.fetchMetaFactBindings(id)).all();
+  }
+
+  @Override
+  public MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding) {
+    if (binding == null) return null;
+    if (getFact(binding.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", binding.getFactID()));
+    if (clusterManager.get(metaFactBindingMapper, binding.getFactID(), binding.getMetaFactID()) != null)
+      throw new ImmutableViolationException("It is not allowed to update a MetaFactBinding.");
+
+    clusterManager.save(metaFactBindingMapper, binding);
+
+    return binding;
+  }
+
+  /* Setters used for unit testing */
+
+  CassandraFactManager withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  CassandraFactManager withLastSeenTtl(String lastSeenTtl) {
+    this.lastSeenTtl = lastSeenTtl;
+    return this;
+  }
+
+  /* Private helper methods */
+
+  private TypeRegistry<FactTypeEntity> createFactTypeRegistry() {
+    return new TypeRegistry<>(FactTypeEntity::getId, FactTypeEntity::getName, FactTypeEntity::clone,
+            () -> clusterManager.search(factTypeMapper, factTypeAccessor.fetch()).all(),
+            id -> clusterManager.get(factTypeMapper, id),
+            name -> clusterManager.search(factTypeMapper, factTypeAccessor.getByName(name)).one());
+  }
+
+}
@@ -0,0 +1,457 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.mapping.Mapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.accessors.ObjectAccessor;
+import no.mnemonic.act.platform.dao.cassandra.accessors.ObjectTypeAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.Search;
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.Write;
+
+@Singleton
+public class CassandraObjectManager implements ObjectManager, LifecycleAspect {
+
+  @Dependency
+  private final ClusterManager clusterManager;
+
+  // Interval (in ms) in which ObjectTypes are reloaded in the background. Setting it to 0 disables background reloads.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.type.refresh.interval")
+  private String typeRefreshInterval = "60000";
+
+  // Maximum number of Objects kept in each Object cache. Setting it to 0 disables caching of Objects.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.object.cache.size")
+  private String objectCacheSize = "10000";
+
+  private TypeRegistry<ObjectTypeEntity> objectTypeRegistry;
+  // Objects are immutable once created, thus, cached Objects never need to be invalidated. ObjectEntity itself is
+  // mutable, thus, only copies are put into and returned from the caches such that callers can't modify cached Objects.
+  private Cache<UUID, ObjectEntity> objectByIdCache;
+  private Cache<ObjectTypeValueKey, ObjectEntity> objectByTypeValueCache;
+
+  private Mapper<ObjectTypeEntity> objectTypeMapper;
+  private Mapper<ObjectEntity> objectMapper;
+  private Mapper<ObjectByTypeValueEntity> objectByTypeValueMapper;
+  private Mapper<ObjectFactBindingEntity> objectFactBindingMapper;
+  private Mapper<ObjectStatisticsEntity> objectStatisticsMapper;
+  private Mapper<ObjectStatisticsCountEntity> objectStatisticsCountMapper;
+  private ObjectTypeAccessor objectTypeAccessor;
+  private ObjectAccessor objectAccessor;
+
+  @Inject
+  public CassandraObjectManager(ClusterManager clusterManager) {
+    this.clusterManager = clusterManager;
+  }
+
+  @Override
+  public void startComponent() {
+    objectByIdCache = createObjectCache();
+    objectByTypeValueCache = createObjectCache();
+
+    objectTypeMapper = clusterManager.getMapper(ObjectTypeEntity.class);
+    objectMapper = clusterManager.getMapper(ObjectEntity.class);
+    objectByTypeValueMapper = clusterManager.getMapper(ObjectByTypeValueEntity.class);
+    objectFactBindingMapper = clusterManager.getMapper(ObjectFactBindingEntity.class);
+    objectStatisticsMapper = clusterManager.getMapper(ObjectStatisticsEntity.class);
+    objectStatisticsCountMapper = clusterManager.getMapper(ObjectStatisticsCountEntity.class);
+    objectTypeAccessor = clusterManager.getAccessor(ObjectTypeAccessor.class);
+    objectAccessor = clusterManager.getAccessor(ObjectAccessor.class);
+
+    objectTypeRegistry = createObjectTypeRegistry();
+    objectTypeRegistry.start(Long.parseLong(typeRefreshInterval));
+  }
+
+  @Override
+  public void stopComponent() {
+    if (objectTypeRegistry != null) objectTypeRegistry.stop();
+  }
+
+  /* ObjectTypeEntity-related methods */
+
+  @Override
+  public ObjectTypeEntity getObjectType(UUID id) {
+    return objectTypeRegistry.get(id);
+  }
+
+  @Override
+  public ObjectTypeEntity getObjectType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+    return objectTypeRegistry.get(name);
+  }
+
+  @Override
+  public List<ObjectTypeEntity> fetchObjectTypes() {
+    return objectTypeRegistry.getAll();
+  }
+
+  @Override
+  public ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
+    if (type == null) return null;
+
+    // It's not allowed to add an ObjectType with the same name, but if the IDs are equal this is updating an existing ObjectType.
+    ObjectTypeEntity existing = getObjectType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId()) && existing.getName().equals(type.getName())) {
+      throw new IllegalArgumentException(String.format("ObjectType with name = %s already exists.", type.getName()));
+    }
+
+    clusterManager.save(objectTypeMapper, type);
+    // Publish a copy such that modifications of the given entity are not visible in the registry.
+    objectTypeRegistry.publish(type.clone());
+
+    return type;
+  }
+
+  /* ObjectEntity-related methods */
+
+  @Override
+  public ObjectEntity getObject(UUID id) {
+    if (id == null) return null;
+
+    ObjectEntity cached = objectByIdCache.getIfPresent(id);
+    if (cached != null) return cached.clone();
+
+    return cacheObject(clusterManager.get(objectMapper, id));
+  }
+
+  @Override
+  public ObjectEntity getObject(String type, String value) {
+    if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
+
+    ObjectTypeEntity objectType = getObjectType(type);
+    if (objectType == null) throw new IllegalArgumentException(String.format("ObjectType with name = %s does not exist.", type));
+
+    ObjectTypeValueKey key = new ObjectTypeValueKey(objectType.getId(), value);
+    ObjectEntity cached = objectByTypeValueCache.getIfPresent(key);
+    if (cached != null) return cached.clone();
+
+    ObjectByTypeValueEntity objectByTypeValue = clusterManager.get(objectByTypeValueMapper, objectType.getId(), value);
+    return cacheObject(ObjectUtils.ifNotNull(objectByTypeValue, o -> getObject(o.getObjectID())));
+  }
+
+  @Override
+  public Iterator<ObjectEntity> getObjects(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    // Use single-partition reads instead of an IN query in order to allow token-aware routing.
+    return new PartitionKeyFetchIterator<>(id, this::getObjectAsync);
+  }
+
+  /**
+   * Returns the statistics of the cache of Objects by ID, e.g. hit and miss counts.
+   *
+   * @return Statistics of Object by ID cache or NULL if the ObjectManager has not been started
+   */
+  public CacheStats getObjectByIdCacheStats() {
+    return ObjectUtils.ifNotNull(objectByIdCache, Cache::stats);
+  }
+
+  /**
+   * Returns the statistics of the cache of Objects by type and value, e.g. hit and miss counts.
+   *
+   * @return Statistics of Object by type and value cache or NULL if the ObjectManager has not been started
+   */
+  public CacheStats getObjectByTypeValueCacheStats() {
+    return ObjectUtils.ifNotNull(objectByTypeValueCache, Cache::stats);
+  }
+
+  @Override
+  public ObjectEntity saveObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+
+    // It's not allowed to create the same object multiple times.
+    if (insertObject(object) != null) {
+      throw new ImmutableViolationException("Object already exists.");
+    }
+
+    return cacheObject(object);
+  }
+
+  /**
+   * Atomically creates an Object unless an Object with the same type and value already exists. In contrast to
+   * {@link #saveObject(ObjectEntity)} concurrent callers creating the same Object will not fail, instead, all of
+   * them receive the Object which was created first. This method always performs a conditional write, thus,
+   * callers should first check with {@link #getObject(String, String)} whether the Object already exists.
+   *
+   * @param object Object to create
+   * @return Either the given Object or the already existing Object with the same type and value
+   */
+  @Override
+  public ObjectEntity getOrCreateObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+
+    UUID existingID = insertObject(object);
+    if (existingID == null) return cacheObject(object);
+
+    ObjectEntity existing = getObject(existingID);
+    if (existing == null) {
+      // The mapping is written before the Object, thus, the creator hasn't saved the Object yet (or failed after
+      // writing the mapping). Save the Object with the same content the creator writes in order to not return null.
+      existing = new ObjectEntity()
+              .setId(existingID)
+              .setTypeID(object.getTypeID())
+              .setValue(object.getValue())
+              .setStatisticsTracked(true);
+      clusterManager.save(objectMapper, existing);
+    }
+    return cacheObject(existing);
+  }
+
+  /* ObjectFactBindingEntity-related methods */
+
+  @Override
+  public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+    if (id == null) return ListUtils.list();
+    return clusterManager.search(objectFactBindingMapper, objectAccessor.fetchObjectFactBindings(id)).all();
+  }
+
+  @Override
+  public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
+    if (binding == null) return null;
+    if (getObject(binding.getObjectID()) == null)
+      throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+    if (clusterManager.get(objectFactBindingMapper, binding.getObjectID(), binding.getFactID()) != null)
+      throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+
+    clusterManager.save(objectFactBindingMapper, binding);
+
+    return binding;
+  }
+
+  /* ObjectStatisticsEntity-related methods */
+
+  /**
+   * Fetch the pre-aggregated statistics about Facts bound to an Object. One entry is returned for each combination
+   * of FactType, AccessMode and Organization of the bound Facts. Statistics are only complete for Objects which
+   * are marked with {@link ObjectEntity#isStatisticsTracked()}.
+   *
+   * @param id UUID of Object
+   * @return Statistics about Facts bound to the Object
+   */
+  @Override
+  public List<ObjectStatisticsEntity> fetchObjectStatistics(UUID id) {
+    if (id == null) return ListUtils.list();
+    return getUninterruptibly(fetchObjectStatisticsAsync(id));
+  }
+
+  /**
+   * Fetch the pre-aggregated statistics about Facts bound to multiple Objects. The statistics are fetched with
+   * parallel single-partition reads in batches in order to bound the number of concurrent requests.
+   *
+   * @param id UUIDs of Objects
+   * @return Statistics about Facts bound to the Objects, keyed by the Objects' UUIDs
+   */
+  @Override
+  public Map<UUID, List<ObjectStatisticsEntity>> fetchObjectStatisticsBatch(Collection<UUID> id) {
+    Map<UUID, List<ObjectStatisticsEntity>> result = new HashMap<>();
+    if (CollectionUtils.isEmpty(id)) return result;
+
+    Iterator<UUID> keys = new LinkedHashSet<>(id).iterator();
+    while (keys.hasNext()) {
+      Map<UUID, ListenableFuture<List<ObjectStatisticsEntity>>> batch = new HashMap<>();
+      while (batch.size() < PartitionKeyFetchIterator.DEFAULT_BATCH_SIZE && keys.hasNext()) {
+        UUID key = keys.next();
+        if (key != null) batch.put(key, fetchObjectStatisticsAsync(key));
+      }
+      batch.forEach((key, future) -> result.put(key, getUninterruptibly(future)));
+    }
+
+    return result;
+  }
+
+  /**
+   * Include a newly created Fact in the statistics of all Objects bound to the Fact. Must only be called once per Fact.
+   *
+   * @param fact Newly created Fact
+   */
+  @Override
+  public void incrementObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    List<ResultSetFuture> futures = ListUtils.list();
+    for (UUID objectID : collectBoundObjects(fact)) {
+      futures.add(clusterManager.executeAsync(objectAccessor.incrementObjectStatisticsCount(objectID, fact.getTypeID(),
+              fact.getAccessMode(), fact.getOrganizationID()), Write));
+      futures.add(clusterManager.executeAsync(objectAccessor.updateObjectStatisticsLastAdded(objectID, fact.getTypeID(),
+              fact.getAccessMode(), fact.getOrganizationID(), fact.getTimestamp(), toWriteTimestamp(fact.getTimestamp())), Write));
+      futures.add(clusterManager.executeAsync(objectAccessor.updateObjectStatisticsLastSeen(objectID, fact.getTypeID(),
+              fact.getAccessMode(), fact.getOrganizationID(), fact.getLastSeenTimestamp(), toWriteTimestamp(fact.getLastSeenTimestamp())), Write));
+    }
+
+    futures.forEach(ResultSetFuture::getUninterruptibly);
+  }
+
+  /**
+   * Update the statistics of all Objects bound to a Fact after the Fact has been refreshed, i.e. after its
+   * lastSeenTimestamp has been updated.
+   *
+   * @param fact Refreshed Fact
+   */
+  @Override
+  public void refreshObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    List<ResultSetFuture> futures = ListUtils.list();
+    for (UUID objectID : collectBoundObjects(fact)) {
+      futures.add(clusterManager.executeAsync(objectAccessor.updateObjectStatisticsLastSeen(objectID, fact.getTypeID(),
+              fact.getAccessMode(), fact.getOrganizationID(), fact.getLastSeenTimestamp(), toWriteTimestamp(fact.getLastSeenTimestamp())), Write));
+    }
+
+    futures.forEach(ResultSetFuture::getUninterruptibly);
+  }
+
+  /* Private helper methods */
+
+  private UUID insertObject(ObjectEntity object) {
+    // The conditional insert of the mapping decides which Object wins if the same Object is created concurrently.
+    // Only the winner writes the Object itself, thus, an existing Object is never overwritten and a losing
+    // create doesn't leave any write behind.
+    ObjectByTypeValueEntity objectByTypeValue = new ObjectByTypeValueEntity()
+            .setObjectTypeID(object.getTypeID())
+            .setObjectValue(object.getValue())
+            .setObjectID(object.getId());
+    ResultSet result = clusterManager.saveIfNotExists(objectByTypeValueMapper, objectByTypeValue);
+    if (!result.wasApplied()) return result.one().getUUID("object_id");
+
+    // Statistics are maintained for all Facts bound to the Object from now on.
+    clusterManager.save(objectMapper, object.setStatisticsTracked(true));
+    return null;
+  }
+
+  private ListenableFuture<List<ObjectStatisticsEntity>> fetchObjectStatisticsAsync(UUID id) {
+    // Both partitions are independent of each other, thus, fetch them in parallel.
+    ResultSetFuture statisticsFuture = clusterManager.executeAsync(objectAccessor.fetchObjectStatistics(id), Search);
+    ResultSetFuture countFuture = clusterManager.executeAsync(objectAccessor.fetchObjectStatisticsCount(id), Search);
+    return Futures.whenAllSucceed(statisticsFuture, countFuture).call(
+            () -> mergeObjectStatistics(Futures.getDone(statisticsFuture), Futures.getDone(countFuture)),
+            MoreExecutors.directExecutor());
+  }
+
+  private List<ObjectStatisticsEntity> mergeObjectStatistics(ResultSet statisticsResult, ResultSet countResult) {
+    Map<List<Object>, ObjectStatisticsEntity> statistics = new HashMap<>();
+    for (ObjectStatisticsEntity entity : objectStatisticsMapper.map(statisticsResult)) {
+      statistics.put(ListUtils.list(entity.getFactTypeID(), entity.getAccessMode(), entity.getOrganizationID()), entity);
+    }
+
+    // The counters determine which statistics exist. Timestamps are only missing if a previous update failed half-way.
+    List<ObjectStatisticsEntity> result = ListUtils.list();
+    for (ObjectStatisticsCountEntity count : objectStatisticsCountMapper.map(countResult)) {
+      ObjectStatisticsEntity entity = statistics.get(ListUtils.list(count.getFactTypeID(), count.getAccessMode(), count.getOrganizationID()));
+      if (entity == null) {
+        entity = new ObjectStatisticsEntity()
+                .setObjectID(count.getObjectID())
+                .setFactTypeID(count.getFactTypeID())
+                .setAccessMode(count.getAccessMode())
+                .setOrganizationID(count.getOrganizationID());
+      }
+      result.add(entity.setFactCount(count.getFactCount()));
+    }
+
+    return result;
+  }
+
+  private <T> T getUninterruptibly(ListenableFuture<T> future) {
+    try {
+      return Uninterruptibles.getUninterruptibly(future);
+    } catch (ExecutionException ex) {
+      // Unwrap exceptions thrown by the driver in order to be consistent with synchronous queries.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw new IllegalStateException("Could not fetch entities from Cassandra.", ex.getCause());
+    }
+  }
+
+  private Set<UUID> collectBoundObjects(FactEntity fact) {
+    // A Fact binding the same Object twice is only counted once (same as when calculating statistics from ElasticSearch).
+    Set<UUID> objectID = new HashSet<>();
+    for (int i = 0; i < fact.getBindingCount(); i++) {
+      objectID.add(fact.getBindingObjectID(i));
+    }
+    return objectID;
+  }
+
+  private long toWriteTimestamp(long timestamp) {
+    // Cassandra write timestamps are in microseconds.
+    return timestamp * 1000;
+  }
+
+  private ListenableFuture<ObjectEntity> getObjectAsync(UUID id) {
+    ObjectEntity cached = objectByIdCache.getIfPresent(id);
+    if (cached != null) return Futures.immediateFuture(cached.clone());
+
+    return Futures.transform(clusterManager.getAsync(objectMapper, id), this::cacheObject, MoreExecutors.directExecutor());
+  }
+
+  private ObjectEntity cacheObject(ObjectEntity object) {
+    if (object != null) {
+      // Both caches can share one copy because cached Objects are never handed out.
+      ObjectEntity copy = object.clone();
+      objectByIdCache.put(copy.getId(), copy);
+      objectByTypeValueCache.put(new ObjectTypeValueKey(copy.getTypeID(), copy.getValue()), copy);
+    }
+    return object;
+  }
+
+  private TypeRegistry<ObjectTypeEntity> createObjectTypeRegistry() {
+    return new TypeRegistry<>(ObjectTypeEntity::getId, ObjectTypeEntity::getName, ObjectTypeEntity::clone,
+            () -> clusterManager.search(objectTypeMapper, objectTypeAccessor.fetch()).all(),
+            id -> clusterManager.get(objectTypeMapper, id),
+            name -> clusterManager.search(objectTypeMapper, objectTypeAccessor.getByName(name)).one());
+  }
+
+  private <K> Cache<K, ObjectEntity> createObjectCache() {
+    return CacheBuilder.newBuilder()
+            .maximumSize(Long.parseLong(objectCacheSize))
+            .recordStats()
+            .build();
+  }
+
+  private static class ObjectTypeValueKey {
+    private final UUID typeID;
+    private final String value;
+
+    private ObjectTypeValueKey(UUID typeID, String value) {
+      this.typeID = typeID;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ObjectTypeValueKey that = (ObjectTypeValueKey) o;
+      return Objects.equals(typeID, that.typeID) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(typeID, value);
+    }
+  }
+
+}
@@ -1,48 +1,121 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
-import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.policies.ConstantSpeculativeExecutionPolicy;
 import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
 import com.datastax.driver.core.policies.DefaultRetryPolicy;
 import com.datastax.driver.core.policies.TokenAwarePolicy;
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
+import com.datastax.driver.mapping.Result;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.CassandraEnumCodec;
 import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
 import no.mnemonic.act.platform.dao.cassandra.entity.SourceEntity;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Set;
 
+import static com.datastax.driver.mapping.Mapper.Option.ifNotExists;
+import static com.datastax.driver.mapping.Mapper.Option.saveNullFields;
+
 public class ClusterManager implements LifecycleAspect {
 
+  private static final String DRIVER_METRICS_PREFIX = "cassandra.driver";
+
+  /**
+   * Classes of queries which can be tuned individually (consistency level and timeout).
+   */
+  public enum QueryClass {
+    /**
+     * Reads of a single row by its primary key.
+     */
+    PointRead,
+    /**
+     * Reads potentially returning multiple rows, e.g. all rows of one partition or a full table scan.
+     */
+    Search,
+    /**
+     * Inserts and updates.
+     */
+    Write
+  }
+
   private Cluster cluster;
   private MappingManager manager;
 
   private final String clusterName;
   private final int port;
   private final Set<String> contactPoints;
+  private final int coreConnectionsPerHost;
+  private final int maxConnectionsPerHost;
+  private final int maxRequestsPerConnection;
+  private final int queryTimeout;
+  private final ConsistencyLevel readConsistencyLevel;
+  private final ConsistencyLevel writeConsistencyLevel;
+  private final Map<QueryClass, ConsistencyLevel> consistencyLevels;
+  private final Map<QueryClass, Integer> queryTimeouts;
+  private final long speculativeExecutionDelay;
+  private final int maxSpeculativeExecutions;
+  private final QueryMetrics queryMetrics;
 
-  private ClusterManager(String clusterName, int port, Set<String> contactPoints) {
+  private ClusterManager(String clusterName, int port, Set<String> contactPoints,
+                         int coreConnectionsPerHost, int maxConnectionsPerHost, int maxRequestsPerConnection,
+                         int queryTimeout, ConsistencyLevel readConsistencyLevel, ConsistencyLevel writeConsistencyLevel,
+                         Map<QueryClass, ConsistencyLevel> consistencyLevels, Map<QueryClass, Integer> queryTimeouts,
+                         long speculativeExecutionDelay, int maxSpeculativeExecutions, QueryMetrics queryMetrics) {
+    if (coreConnectionsPerHost > 0 && maxConnectionsPerHost > 0 && coreConnectionsPerHost > maxConnectionsPerHost)
+      throw new IllegalArgumentException("'coreConnectionsPerHost' must not be larger than 'maxConnectionsPerHost'!");
+    if (speculativeExecutionDelay > 0 && maxSpeculativeExecutions <= 0)
+      throw new IllegalArgumentException("'maxSpeculativeExecutions' is required when speculative execution is enabled!");
     this.clusterName = clusterName;
     this.port = port;
     this.contactPoints = contactPoints;
+    this.coreConnectionsPerHost = coreConnectionsPerHost;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.maxRequestsPerConnection = maxRequestsPerConnection;
+    this.queryTimeout = queryTimeout;
+    this.readConsistencyLevel = readConsistencyLevel;
+    this.writeConsistencyLevel = writeConsistencyLevel;
+    this.consistencyLevels = consistencyLevels;
+    this.queryTimeouts = queryTimeouts;
+    this.speculativeExecutionDelay = speculativeExecutionDelay;
+    this.maxSpeculativeExecutions = maxSpeculativeExecutions;
+    this.queryMetrics = queryMetrics;
   }
 
   @Override
   public void startComponent() {
     if (cluster == null) {
       // Configure and build up the Cassandra cluster.
-      cluster = Cluster.builder()
+      Cluster.Builder builder = Cluster.builder()
               .withClusterName(clusterName)
               .withPort(port)
               .withRetryPolicy(DefaultRetryPolicy.INSTANCE)
               // TokenAware requires query has routing info (e.g. BoundStatement with all PK value bound).
               .withLoadBalancingPolicy(new TokenAwarePolicy(DCAwareRoundRobinPolicy.builder().build()))
-              .addContactPoints(contactPoints.toArray(new String[contactPoints.size()]))
-              .build();
+              .withPoolingOptions(createPoolingOptions())
+              .addContactPoints(contactPoints.toArray(new String[contactPoints.size()]));
+
+      // The driver only uses a global timeout, individual timeouts per query class are applied on each statement.
+      if (queryTimeout > 0) {
+        builder.withSocketOptions(new SocketOptions().setReadTimeoutMillis(queryTimeout));
+      }
+
+      // Speculative executions are only performed for idempotent statements, see configure().
+      if (speculativeExecutionDelay > 0) {
+        builder.withSpeculativeExecutionPolicy(new ConstantSpeculativeExecutionPolicy(speculativeExecutionDelay, maxSpeculativeExecutions));
+      }
+
+      cluster = builder.build();
 
       // Register any codecs.
       cluster.getConfiguration().getCodecRegistry()
@@ -52,24 +125,176 @@ public class ClusterManager implements LifecycleAspect {
 
       // Create a session.
       manager = new MappingManager(cluster.connect());
+
+      // Expose the driver's own metrics (connections, request latencies, errors) together with the query timings.
+      ObjectUtils.ifNotNullDo(cluster.getMetrics(), metrics -> queryMetrics.getMetricRegistry()
+              .register(DRIVER_METRICS_PREFIX, metrics.getRegistry()));
     }
   }
 
   @Override
   public void stopComponent() {
+    queryMetrics.getMetricRegistry().removeMatching((name, metric) -> name.startsWith(DRIVER_METRICS_PREFIX + "."));
     // Close session and cluster to free up any resources.
     if (manager != null) manager.getSession().close();
     if (cluster != null) cluster.close();
   }
 
   public <T> Mapper<T> getMapper(Class<T> clazz) {
-    return ObjectUtils.ifNotNull(manager, m -> m.mapper(clazz));
+    return ObjectUtils.ifNotNull(manager, m -> {
+      Mapper<T> mapper = m.mapper(clazz);
+      // Avoid creating tombstones for null values.
+      mapper.setDefaultSaveOptions(saveNullFields(false));
+      return mapper;
+    });
   }
 
   public <T> T getAccessor(Class<T> clazz) {
     return ObjectUtils.ifNotNull(manager, m -> m.createAccessor(clazz));
   }
 
+  /**
+   * Execute a statement after applying the configuration of the given {@link QueryClass}.
+   *
+   * @param statement  Statement to execute
+   * @param queryClass Class of the statement
+   * @return Result of the execution
+   */
+  public ResultSet execute(Statement statement, QueryClass queryClass) {
+    long start = System.nanoTime();
+    try {
+      return manager.getSession().execute(configure(statement, queryClass));
+    } finally {
+      recordQuery(statement, queryClass, start);
+    }
+  }
+
+  /**
+   * Asynchronously execute a statement after applying the configuration of the given {@link QueryClass}.
+   *
+   * @param statement  Statement to execute
+   * @param queryClass Class of the statement
+   * @return Future of the execution result
+   */
+  public ResultSetFuture executeAsync(Statement statement, QueryClass queryClass) {
+    long start = System.nanoTime();
+    ResultSetFuture future = manager.getSession().executeAsync(configure(statement, queryClass));
+    future.addListener(() -> recordQuery(statement, queryClass, start), MoreExecutors.directExecutor());
+    return future;
+  }
+
+  /**
+   * Fetch one entity by its primary key. The query is prepared once by the mapper and binds the complete primary key,
+   * thus, it will be routed directly to a replica.
+   *
+   * @param mapper     Mapper of the entity
+   * @param primaryKey Primary key of the entity
+   * @param <T>        Type of the entity
+   * @return Fetched entity or null if it does not exist
+   */
+  public <T> T get(Mapper<T> mapper, Object... primaryKey) {
+    return mapper.map(execute(mapper.getQuery(primaryKey), QueryClass.PointRead)).one();
+  }
+
+  /**
+   * Same as {@link #get(Mapper, Object...)} but fetches the entity asynchronously.
+   *
+   * @param mapper     Mapper of the entity
+   * @param primaryKey Primary key of the entity
+   * @param <T>        Type of the entity
+   * @return Future of the fetched entity (resolves to null if it does not exist)
+   */
+  public <T> ListenableFuture<T> getAsync(Mapper<T> mapper, Object... primaryKey) {
+    return Futures.transform(executeAsync(mapper.getQuery(primaryKey), QueryClass.PointRead),
+            (ResultSet rs) -> mapper.map(rs).one(), MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Execute a search statement (usually created by an accessor) and map the returned rows to entities.
+   *
+   * @param mapper    Mapper of the entity
+   * @param statement Statement to execute
+   * @param <T>       Type of the entity
+   * @return Mapped result
+   */
+  public <T> Result<T> search(Mapper<T> mapper, Statement statement) {
+    return mapper.map(execute(statement, QueryClass.Search));
+  }
+
+  /**
+   * Save an entity using the mapper's default save options.
+   *
+   * @param mapper Mapper of the entity
+   * @param entity Entity to save
+   * @param <T>    Type of the entity
+   */
+  public <T> void save(Mapper<T> mapper, T entity) {
+    execute(mapper.saveQuery(entity), QueryClass.Write);
+  }
+
+  /**
+   * Save an entity only if no entity with the same primary key exists yet. This is a lightweight transaction,
+   * thus, it is considerably more expensive than {@link #save(Mapper, Object)} and should only be used where
+   * concurrent writers must agree on one winner.
+   *
+   * @param mapper Mapper of the entity
+   * @param entity Entity to save
+   * @param <T>    Type of the entity
+   * @return Result of the conditional insert. If it was not applied the result contains the existing row.
+   */
+  public <T> ResultSet saveIfNotExists(Mapper<T> mapper, T entity) {
+    return execute(mapper.saveQuery(entity, ifNotExists(true)), QueryClass.Write);
+  }
+
+  /**
+   * Apply the configuration of the given {@link QueryClass} to a statement. Consistency level and timeout are only
+   * overridden if they are configured, otherwise the statement's own settings (or the driver defaults) are kept.
+   *
+   * @param statement  Statement to configure
+   * @param queryClass Class of the statement
+   * @return Configured statement
+   */
+  Statement configure(Statement statement, QueryClass queryClass) {
+    ConsistencyLevel level = getConsistencyLevel(queryClass);
+    if (level != null) statement.setConsistencyLevel(level);
+
+    Integer timeout = queryTimeouts.get(queryClass);
+    if (timeout != null && timeout > 0) statement.setReadTimeoutMillis(timeout);
+
+    // Reads never modify any data, thus, they can safely be retried and speculatively executed.
+    if (queryClass != QueryClass.Write) statement.setIdempotent(true);
+
+    return statement;
+  }
+
+  ConsistencyLevel getConsistencyLevel(QueryClass queryClass) {
+    ConsistencyLevel level = consistencyLevels.get(queryClass);
+    if (level != null) return level;
+    return queryClass == QueryClass.Write ? writeConsistencyLevel : readConsistencyLevel;
+  }
+
+  private void recordQuery(Statement statement, QueryClass queryClass, long start) {
+    queryMetrics.recordCassandraQuery(queryClass.name(), System.nanoTime() - start, () -> statement instanceof BoundStatement
+            ? ((BoundStatement) statement).preparedStatement().getQueryString()
+            : statement.toString());
+  }
+
+  private PoolingOptions createPoolingOptions() {
+    // Only tune connections to the local datacenter, remote hosts are not used by DCAwareRoundRobinPolicy by default.
+    PoolingOptions options = new PoolingOptions();
+    if (coreConnectionsPerHost > 0 && maxConnectionsPerHost > 0) {
+      options.setConnectionsPerHost(HostDistance.LOCAL, coreConnectionsPerHost, maxConnectionsPerHost);
+    } else if (maxConnectionsPerHost > 0) {
+      options.setMaxConnectionsPerHost(HostDistance.LOCAL, maxConnectionsPerHost);
+    } else if (coreConnectionsPerHost > 0) {
+      options.setCoreConnectionsPerHost(HostDistance.LOCAL, coreConnectionsPerHost);
+    }
+    if (maxRequestsPerConnection > 0) {
+      options.setMaxRequestsPerConnection(HostDistance.LOCAL, maxRequestsPerConnection);
+    }
+    return options;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -78,12 +303,26 @@ public class ClusterManager implements LifecycleAspect {
     private String clusterName;
     private int port;
     private Set<String> contactPoints;
+    private int coreConnectionsPerHost;
+    private int maxConnectionsPerHost;
+    private int maxRequestsPerConnection;
+    private int queryTimeout;
+    private ConsistencyLevel readConsistencyLevel;
+    private ConsistencyLevel writeConsistencyLevel;
+    private Map<QueryClass, ConsistencyLevel> consistencyLevels = new EnumMap<>(QueryClass.class);
+    private Map<QueryClass, Integer> queryTimeouts = new EnumMap<>(QueryClass.class);
+    private long speculativeExecutionDelay;
+    private int maxSpeculativeExecutions = 2;
+    private QueryMetrics queryMetrics;
 
     private Builder() {
     }
 
     public ClusterManager build() {
-      return new ClusterManager(clusterName, port, contactPoints);
+      return new ClusterManager(clusterName, port, contactPoints, coreConnectionsPerHost, maxConnectionsPerHost,
+              maxRequestsPerConnection, queryTimeout, readConsistencyLevel, writeConsistencyLevel,
+              new EnumMap<>(consistencyLevels), new EnumMap<>(queryTimeouts), speculativeExecutionDelay, maxSpeculativeExecutions,
+              ObjectUtils.ifNull(queryMetrics, QueryMetrics::new));
     }
 
     public Builder setClusterName(String clusterName) {
@@ -105,6 +344,61 @@ public class ClusterManager implements LifecycleAspect {
       this.contactPoints = SetUtils.addToSet(this.contactPoints, contactPoint);
       return this;
     }
+
+    public Builder setCoreConnectionsPerHost(int coreConnectionsPerHost) {
+      this.coreConnectionsPerHost = coreConnectionsPerHost;
+      return this;
+    }
+
+    public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    public Builder setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+      this.maxRequestsPerConnection = maxRequestsPerConnection;
+      return this;
+    }
+
+    public Builder setQueryTimeout(int queryTimeout) {
+      this.queryTimeout = queryTimeout;
+      return this;
+    }
+
+    public Builder setQueryTimeout(QueryClass queryClass, int queryTimeout) {
+      this.queryTimeouts.put(queryClass, queryTimeout);
+      return this;
+    }
+
+    public Builder setReadConsistencyLevel(ConsistencyLevel readConsistencyLevel) {
+      this.readConsistencyLevel = readConsistencyLevel;
+      return this;
+    }
+
+    public Builder setWriteConsistencyLevel(ConsistencyLevel writeConsistencyLevel) {
+      this.writeConsistencyLevel = writeConsistencyLevel;
+      return this;
+    }
+
+    public Builder setConsistencyLevel(QueryClass queryClass, ConsistencyLevel consistencyLevel) {
+      this.consistencyLevels.put(queryClass, consistencyLevel);
+      return this;
+    }
+
+    public Builder setSpeculativeExecutionDelay(long speculativeExecutionDelay) {
+      this.speculativeExecutionDelay = speculativeExecutionDelay;
+      return this;
+    }
+
+    public Builder setMaxSpeculativeExecutions(int maxSpeculativeExecutions) {
+      this.maxSpeculativeExecutions = maxSpeculativeExecutions;
+      return this;
+    }
+
+    public Builder setQueryMetrics(QueryMetrics queryMetrics) {
+      this.queryMetrics = queryMetrics;
+      return this;
+    }
   }
 
 }
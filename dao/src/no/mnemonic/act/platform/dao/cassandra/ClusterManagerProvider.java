@@ -1,11 +1,16 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
+import com.datastax.driver.core.ConsistencyLevel;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
+import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.*;
+
 public class ClusterManagerProvider implements Provider<ClusterManager> {
 
   @Inject
@@ -17,6 +22,49 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
   @Inject
   @Named("cassandra.contact.points")
   private String contactPoints;
+  @Inject
+  private QueryMetrics queryMetrics;
+
+  // Tuning parameters are optional. If they are not specified the driver defaults are used.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.pool.core.connections.per.host")
+  private String coreConnectionsPerHost = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.pool.max.connections.per.host")
+  private String maxConnectionsPerHost = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.pool.max.requests.per.connection")
+  private String maxRequestsPerConnection = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.query.timeout")
+  private String queryTimeout = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.point.read.timeout")
+  private String pointReadTimeout = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.search.timeout")
+  private String searchTimeout = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.write.timeout")
+  private String writeTimeout = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.read.consistency")
+  private String readConsistency;
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.write.consistency")
+  private String writeConsistency;
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.point.read.consistency")
+  private String pointReadConsistency;
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.search.consistency")
+  private String searchConsistency;
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.speculative.execution.delay")
+  private String speculativeExecutionDelay = "0";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.speculative.execution.max")
+  private String maxSpeculativeExecutions = "2";
 
   @Override
   public ClusterManager get() {
@@ -24,7 +72,25 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
             .setClusterName(clusterName)
             .setPort(Integer.parseInt(port))
             .setContactPoints(SetUtils.set(contactPoints.split(",")))
+            .setCoreConnectionsPerHost(Integer.parseInt(coreConnectionsPerHost))
+            .setMaxConnectionsPerHost(Integer.parseInt(maxConnectionsPerHost))
+            .setMaxRequestsPerConnection(Integer.parseInt(maxRequestsPerConnection))
+            .setQueryTimeout(Integer.parseInt(queryTimeout))
+            .setQueryTimeout(PointRead, Integer.parseInt(pointReadTimeout))
+            .setQueryTimeout(Search, Integer.parseInt(searchTimeout))
+            .setQueryTimeout(Write, Integer.parseInt(writeTimeout))
+            .setReadConsistencyLevel(parseConsistencyLevel(readConsistency))
+            .setWriteConsistencyLevel(parseConsistencyLevel(writeConsistency))
+            .setConsistencyLevel(PointRead, parseConsistencyLevel(pointReadConsistency))
+            .setConsistencyLevel(Search, parseConsistencyLevel(searchConsistency))
+            .setSpeculativeExecutionDelay(Long.parseLong(speculativeExecutionDelay))
+            .setMaxSpeculativeExecutions(Integer.parseInt(maxSpeculativeExecutions))
+            .setQueryMetrics(queryMetrics)
             .build();
   }
 
+  private ConsistencyLevel parseConsistencyLevel(String level) {
+    return !StringUtils.isBlank(level) ? ConsistencyLevel.valueOf(level.trim().toUpperCase()) : null;
+  }
+
 }
@@ -0,0 +1,171 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Node-local cache of Evidence chunks on disk. Chunks are addressed by their checksum and never change, thus, cached
+ * chunks never need to be invalidated. The total size of the cached chunks is bounded, the least recently used
+ * chunks are evicted first. The cache survives restarts, on startup all existing chunk files are taken over in the
+ * order of their modification time.
+ */
+class EvidenceChunkCache {
+
+  private static final Logger LOGGER = Logging.getLogger(EvidenceChunkCache.class);
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final Path directory;
+  private final long maximumSize;
+  // Checksum -> size of chunk, iterated from least to most recently used.
+  private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  EvidenceChunkCache(Path directory, long maximumSize) {
+    this.directory = directory;
+    this.maximumSize = maximumSize;
+  }
+
+  synchronized void open() {
+    try {
+      Files.createDirectories(directory);
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : (Iterable<Path>) files.sorted(Comparator.comparing(this::lastModified))::iterator) {
+          String name = file.getFileName().toString();
+          if (name.endsWith(TEMPORARY_SUFFIX)) {
+            // Left over from a chunk which was written while the node crashed.
+            Files.delete(file);
+            continue;
+          }
+          long chunkSize = Files.size(file);
+          entries.put(name, chunkSize);
+          size += chunkSize;
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not open Evidence chunk cache in %s.", directory), ex);
+    }
+
+    evict();
+    LOGGER.info("Opened Evidence chunk cache in %s with %d chunks (%d bytes).", directory, entries.size(), size);
+  }
+
+  /**
+   * Check whether a chunk is cached without counting it as a use.
+   *
+   * @param checksum Checksum of the chunk
+   * @return True if the chunk is cached
+   */
+  synchronized boolean contains(String checksum) {
+    return entries.containsKey(checksum);
+  }
+
+  /**
+   * Open a cached chunk. Once opened the chunk can be read completely even if it is evicted concurrently.
+   *
+   * @param checksum Checksum of the chunk
+   * @return Channel of the chunk's file or NULL if the chunk is not cached
+   * @throws IOException If the file can't be opened
+   */
+  synchronized FileChannel open(String checksum) throws IOException {
+    if (entries.get(checksum) == null) return null;
+
+    try {
+      return FileChannel.open(directory.resolve(checksum), READ);
+    } catch (NoSuchFileException ex) {
+      // The file was removed from outside, forget about it.
+      size -= entries.remove(checksum);
+      return null;
+    }
+  }
+
+  /**
+   * Map a cached chunk into memory.
+   *
+   * @param checksum Checksum of the chunk
+   * @return Read-only buffer of the chunk's data or NULL if the chunk is not cached
+   * @throws IOException If the file can't be mapped
+   */
+  ByteBuffer read(String checksum) throws IOException {
+    try (FileChannel channel = open(checksum)) {
+      // The mapping stays valid after the channel is closed.
+      return channel != null ? channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()) : null;
+    }
+  }
+
+  /**
+   * Add a chunk to the cache. Chunks larger than the cache are ignored.
+   *
+   * @param checksum Checksum of the chunk
+   * @param data     Data of the chunk, it is not modified
+   * @throws IOException If the chunk can't be written
+   */
+  void put(String checksum, ByteBuffer data) throws IOException {
+    if (data.remaining() > maximumSize || contains(checksum)) return;
+
+    // Write the file outside of the lock, only publishing it must be atomic.
+    Path temporary = Files.createTempFile(directory, checksum, TEMPORARY_SUFFIX);
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, WRITE)) {
+        ByteBuffer source = data.duplicate();
+        while (source.hasRemaining()) {
+          channel.write(source);
+        }
+      }
+
+      synchronized (this) {
+        if (entries.containsKey(checksum)) return;
+        Files.move(temporary, directory.resolve(checksum), ATOMIC_MOVE);
+        entries.put(checksum, (long) data.remaining());
+        size += data.remaining();
+        evict();
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  synchronized long size() {
+    return size;
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (size > maximumSize && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      try {
+        // Readers which already opened the file can still read it completely.
+        Files.deleteIfExists(directory.resolve(eldest.getKey()));
+      } catch (IOException ex) {
+        LOGGER.warning(ex, "Could not evict chunk %s from Evidence chunk cache.", eldest.getKey());
+        continue;
+      }
+      size -= eldest.getValue();
+      iterator.remove();
+    }
+  }
+
+  private FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException ex) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.Row;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.Search;
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.Write;
+
+/**
+ * Backfills the binary bindings format ('bindings_binary') for all Facts stored before it was introduced, i.e. Facts
+ * which only have their bindings stored as JSON. Without the backfill those Facts are only converted when they are
+ * refreshed, and all other reads have to decode the JSON bindings.
+ * <p>
+ * The migration scans the whole fact table split into {@value #SEGMENTS} token range segments and is disabled by
+ * default. To run it set 'cassandra.fact.bindings.migration.enabled' to true on one node and restart that node. The
+ * migration runs in the background after startup and logs its progress after each segment. If it is interrupted it
+ * can be resumed by setting 'cassandra.fact.bindings.migration.start.segment' to the next segment to process. Facts
+ * which already have binary bindings are skipped, thus, running the migration multiple times is safe. Afterwards
+ * the properties should be removed again.
+ */
+@Singleton
+public class FactBindingsMigration implements LifecycleAspect {
+
+  static final int SEGMENTS = 256;
+
+  private static final Logger LOGGER = Logging.getLogger(FactBindingsMigration.class);
+
+  @Dependency
+  private final ClusterManager clusterManager;
+
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.fact.bindings.migration.enabled")
+  private String migrationEnabled = "false";
+
+  // First token range segment to process, used to resume an interrupted migration.
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.fact.bindings.migration.start.segment")
+  private String startSegment = "0";
+
+  private ExecutorService executor;
+
+  @Inject
+  public FactBindingsMigration(ClusterManager clusterManager) {
+    this.clusterManager = clusterManager;
+  }
+
+  @Override
+  public void startComponent() {
+    if (!Boolean.parseBoolean(migrationEnabled)) return;
+
+    executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "FactBindingsMigration");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.submit(() -> migrate(Integer.parseInt(startSegment)));
+  }
+
+  @Override
+  public void stopComponent() {
+    if (executor != null) executor.shutdownNow();
+  }
+
+  /**
+   * Rewrite the bindings of all Facts which only have JSON bindings into the binary format.
+   *
+   * @param startSegment First token range segment to process (0 to migrate the whole table)
+   * @return Number of migrated Facts
+   */
+  public long migrate(int startSegment) {
+    FactAccessor factAccessor = clusterManager.getAccessor(FactAccessor.class);
+    LOGGER.info("Start migrating bindings of Facts beginning with segment %d of %d.", startSegment, SEGMENTS);
+
+    long migrated = 0;
+    for (int segment = startSegment; segment < SEGMENTS; segment++) {
+      if (Thread.currentThread().isInterrupted()) {
+        LOGGER.warning("Migration of bindings interrupted. Resume with start segment %d.", segment);
+        return migrated;
+      }
+
+      for (Row row : clusterManager.execute(factAccessor.fetchBindingsByTokenRange(segmentStart(segment), segmentEnd(segment)), Search)) {
+        if (row.getBytes("bindings_binary") != null || row.getString("bindings") == null) continue;
+
+        // Let the entity convert the JSON bindings such that the binary format is encoded the same way as on refresh.
+        FactEntity fact = new FactEntity()
+                .setId(row.getUUID("id"))
+                .setBindingsStored(row.getString("bindings"));
+        if (fact.getBindingCount() == 0) continue;
+
+        fact.setBindings(fact.getBindings());
+        clusterManager.execute(factAccessor.migrateBindings(fact.getId(), fact.getBindingsBinary()), Write);
+        migrated++;
+      }
+
+      LOGGER.info("Migrated bindings of Facts in segment %d of %d (%d Facts migrated so far).", segment + 1, SEGMENTS, migrated);
+    }
+
+    LOGGER.info("Completed migrating bindings of %d Facts.", migrated);
+    return migrated;
+  }
+
+  /* Private helper methods */
+
+  private static long segmentStart(int segment) {
+    // Segments split the token range of the Murmur3Partitioner (all longs) into equal parts. The query excludes the
+    // start token, but Long.MIN_VALUE is never used as a token, thus, the first segment covers the whole beginning.
+    return segment == 0 ? Long.MIN_VALUE : segmentEnd(segment - 1);
+  }
+
+  private static long segmentEnd(int segment) {
+    if (segment == SEGMENTS - 1) return Long.MAX_VALUE;
+
+    BigInteger range = BigInteger.valueOf(Long.MAX_VALUE).subtract(BigInteger.valueOf(Long.MIN_VALUE));
+    return BigInteger.valueOf(Long.MIN_VALUE)
+            .add(range.multiply(BigInteger.valueOf(segment + 1)).divide(BigInteger.valueOf(SEGMENTS)))
+            .longValueExact();
+  }
+
+}
@@ -0,0 +1,78 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Iterator which fetches entities by their partition keys using parallel single-partition reads instead of one
+ * multi-partition IN query. Every read binds the complete partition key, thus, TokenAwarePolicy is able to route
+ * it directly to a replica owning the partition. Entities are fetched lazily in batches in order to bound the
+ * number of concurrent requests. Keys which don't exist in the database are skipped.
+ *
+ * @param <K> Type of the partition key
+ * @param <T> Type of the fetched entity
+ */
+class PartitionKeyFetchIterator<K, T> implements Iterator<T> {
+
+  static final int DEFAULT_BATCH_SIZE = 100;
+
+  private final Iterator<K> keys;
+  private final Function<K, ListenableFuture<T>> reader;
+  private final int batchSize;
+
+  private Iterator<T> currentBatch = Collections.emptyIterator();
+
+  PartitionKeyFetchIterator(Collection<K> keys, Function<K, ListenableFuture<T>> reader) {
+    this(keys, reader, DEFAULT_BATCH_SIZE);
+  }
+
+  PartitionKeyFetchIterator(Collection<K> keys, Function<K, ListenableFuture<T>> reader, int batchSize) {
+    if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive.");
+    // Remove duplicates (and keep order) in order to be consistent with IN queries which return every partition once.
+    this.keys = new LinkedHashSet<>(keys).iterator();
+    this.reader = reader;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    // Fetch the next batch if the current batch is exhausted. Loop because a batch can be empty if no key exists.
+    while (!currentBatch.hasNext() && keys.hasNext()) {
+      currentBatch = nextBatch();
+    }
+
+    return currentBatch.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    return currentBatch.next();
+  }
+
+  private Iterator<T> nextBatch() {
+    List<ListenableFuture<T>> futures = new ArrayList<>(batchSize);
+    while (futures.size() < batchSize && keys.hasNext()) {
+      K key = keys.next();
+      if (key != null) futures.add(reader.apply(key));
+    }
+
+    try {
+      List<T> result = new ArrayList<>(futures.size());
+      for (T entity : Uninterruptibles.getUninterruptibly(Futures.allAsList(futures))) {
+        if (entity != null) result.add(entity);
+      }
+      return result.iterator();
+    } catch (ExecutionException ex) {
+      // Unwrap exceptions thrown by the driver in order to be consistent with synchronous queries.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw new IllegalStateException("Could not fetch entities from Cassandra.", ex.getCause());
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory registry of types (FactTypes or ObjectTypes). Types are tiny and change rarely, thus, all of them are
+ * kept in immutable snapshots mapping id to type and name to type. Reading from the registry never blocks and
+ * never performs I/O as long as the requested type is known. The registry only hands out copies of its types, such
+ * that callers modifying a returned type (e.g. while updating it) never change the types seen by other readers. Writes are published by atomically replacing the
+ * current snapshot with a modified copy, and the registry is reloaded completely by {@link #refresh()}, either
+ * explicitly or periodically in the background after {@link #start(long)}.
+ * <p>
+ * Lookups of unknown types fall back to the given loaders (e.g. in order to see types created by another node
+ * before the next refresh). Types found this way are published to the registry.
+ *
+ * @param <T> Type of the registered entities
+ */
+class TypeRegistry<T> {
+
+  private static final Logger LOGGER = Logging.getLogger(TypeRegistry.class);
+
+  private final Function<T, UUID> idExtractor;
+  private final Function<T, String> nameExtractor;
+  private final UnaryOperator<T> copier;
+  private final Supplier<Collection<T>> allLoader;
+  private final Function<UUID, T> idLoader;
+  private final Function<String, T> nameLoader;
+
+  // Writers synchronize on this object, readers only access the volatile snapshot.
+  private final Object writeLock = new Object();
+  private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.emptyMap(), Collections.emptyMap());
+  private ScheduledExecutorService refreshExecutor;
+
+  TypeRegistry(Function<T, UUID> idExtractor, Function<T, String> nameExtractor, UnaryOperator<T> copier,
+               Supplier<Collection<T>> allLoader, Function<UUID, T> idLoader, Function<String, T> nameLoader) {
+    this.idExtractor = idExtractor;
+    this.nameExtractor = nameExtractor;
+    this.copier = copier;
+    this.allLoader = allLoader;
+    this.idLoader = idLoader;
+    this.nameLoader = nameLoader;
+  }
+
+  /**
+   * Load all types and periodically refresh them in the background.
+   *
+   * @param refreshInterval Interval between refreshes (in ms), 0 disables background refreshes
+   */
+  void start(long refreshInterval) {
+    refresh();
+    if (refreshInterval <= 0) return;
+
+    refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "TypeRegistryRefresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+  }
+
+  void stop() {
+    if (refreshExecutor != null) refreshExecutor.shutdownNow();
+  }
+
+  T get(UUID id) {
+    if (id == null) return null;
+
+    T type = snapshot.byId.get(id);
+    if (type != null) return copier.apply(type);
+
+    return publishLoaded(idLoader.apply(id));
+  }
+
+  T get(String name) {
+    if (name == null) return null;
+
+    T type = snapshot.byName.get(name);
+    if (type != null) return copier.apply(type);
+
+    return publishLoaded(nameLoader.apply(name));
+  }
+
+  List<T> getAll() {
+    // Return a new list of copies such that callers are free to modify it.
+    List<T> types = new ArrayList<>(snapshot.byId.size());
+    for (T type : snapshot.byId.values()) {
+      types.add(copier.apply(type));
+    }
+    return types;
+  }
+
+  /**
+   * Publish a new or updated type. If the type was renamed the mapping of the previous name is removed. The registry
+   * takes ownership of the given type, thus, callers must not modify it afterwards.
+   *
+   * @param type Type to publish
+   */
+  void publish(T type) {
+    if (type == null) return;
+
+    synchronized (writeLock) {
+      UUID id = idExtractor.apply(type);
+      Map<UUID, T> byId = new HashMap<>(snapshot.byId);
+      Map<String, T> byName = new HashMap<>(snapshot.byName);
+
+      T previous = byId.put(id, type);
+      if (previous != null) byName.remove(nameExtractor.apply(previous), previous);
+      byName.put(nameExtractor.apply(type), type);
+
+      snapshot = new Snapshot<>(byId, byName);
+    }
+  }
+
+  /**
+   * Reload all types and replace the current snapshot. If loading fails the current snapshot is kept.
+   */
+  void refresh() {
+    synchronized (writeLock) {
+      Collection<T> types;
+      try {
+        types = allLoader.get();
+      } catch (RuntimeException ex) {
+        LOGGER.warning(ex, "Could not refresh type registry. Keeping current types.");
+        return;
+      }
+
+      Map<UUID, T> byId = new HashMap<>();
+      Map<String, T> byName = new HashMap<>();
+      for (T type : types) {
+        byId.put(idExtractor.apply(type), type);
+        byName.put(nameExtractor.apply(type), type);
+      }
+
+      snapshot = new Snapshot<>(byId, byName);
+    }
+  }
+
+  private T publishLoaded(T type) {
+    if (type == null) return null;
+
+    publish(type);
+    return copier.apply(type);
+  }
+
+  private static class Snapshot<T> {
+    private final Map<UUID, T> byId;
+    private final Map<String, T> byName;
+
+    private Snapshot(Map<UUID, T> byId, Map<String, T> byName) {
+      this.byId = Collections.unmodifiableMap(byId);
+      this.byName = Collections.unmodifiableMap(byName);
+    }
+  }
+
+}
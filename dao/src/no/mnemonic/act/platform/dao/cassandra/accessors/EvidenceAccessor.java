@@ -0,0 +1,17 @@
+package no.mnemonic.act.platform.dao.cassandra.accessors;
+
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Param;
+import com.datastax.driver.mapping.annotations.Query;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceChunkEntity;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+
+@Accessor
+public interface EvidenceAccessor {
+
+  @Query("SELECT checksum FROM " + KEY_SPACE + "." + EvidenceChunkEntity.TABLE + " WHERE checksum = :checksum")
+  Statement fetchChunkChecksum(@Param("checksum") String checksum);
+
+}
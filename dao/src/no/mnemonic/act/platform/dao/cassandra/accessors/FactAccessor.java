@@ -1,13 +1,13 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
-import com.datastax.driver.mapping.Result;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.MetaFactBindingEntity;
 
-import java.util.List;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -15,13 +15,19 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_
 @Accessor
 public interface FactAccessor {
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + FactEntity.TABLE + " WHERE id IN :id")
-  Result<FactEntity> fetchByID(@Param("id") List<UUID> id);
+  @Query("SELECT last_seen_timestamp FROM " + KEY_SPACE + "." + FactEntity.TABLE + " WHERE id = :id")
+  Statement fetchLastSeenTimestamp(@Param("id") UUID id);
 
   @Query("UPDATE " + KEY_SPACE + "." + FactEntity.TABLE + " SET last_seen_timestamp = :timestamp WHERE id = :id")
-  void refreshLastSeenTimestamp(@Param("id") UUID id, @Param("timestamp") long timestamp);
+  Statement refreshLastSeenTimestamp(@Param("id") UUID id, @Param("timestamp") long timestamp);
+
+  @Query("SELECT id, bindings, bindings_binary FROM " + KEY_SPACE + "." + FactEntity.TABLE + " WHERE token(id) > :start AND token(id) <= :end")
+  Statement fetchBindingsByTokenRange(@Param("start") long start, @Param("end") long end);
+
+  @Query("UPDATE " + KEY_SPACE + "." + FactEntity.TABLE + " SET bindings_binary = :bindings WHERE id = :id")
+  Statement migrateBindings(@Param("id") UUID id, @Param("bindings") ByteBuffer bindings);
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + MetaFactBindingEntity.TABLE + " WHERE fact_id = :id")
-  Result<MetaFactBindingEntity> fetchMetaFactBindings(@Param("id") UUID id);
+  Statement fetchMetaFactBindings(@Param("id") UUID id);
 
 }
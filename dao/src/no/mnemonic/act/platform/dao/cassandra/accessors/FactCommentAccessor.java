@@ -1,6 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
-import com.datastax.driver.mapping.Result;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
@@ -15,6 +15,6 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.FactCommentEntity.TA
 public interface FactCommentAccessor {
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE fact_id = :id")
-  Result<FactCommentEntity> fetch(@Param("id") UUID id);
+  Statement fetch(@Param("id") UUID id);
 
 }
@@ -1,14 +1,14 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
-import com.datastax.driver.mapping.Result;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectStatisticsCountEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectStatisticsEntity;
 
-import java.util.List;
 import java.util.UUID;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -16,13 +16,32 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_
 @Accessor
 public interface ObjectAccessor {
 
-  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectEntity.TABLE + " WHERE id IN :id")
-  Result<ObjectEntity> fetchByID(@Param("id") List<UUID> id);
-
-  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectByTypeValueEntity.TABLE + " WHERE object_type_id = :type AND object_value = :value")
-  ObjectByTypeValueEntity getObjectByTypeValue(@Param("type") UUID objectTypeID, @Param("value") String objectValue);
-
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
-  Result<ObjectFactBindingEntity> fetchObjectFactBindings(@Param("id") UUID id);
+  Statement fetchObjectFactBindings(@Param("id") UUID id);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectStatisticsEntity.TABLE + " WHERE object_id = :id")
+  Statement fetchObjectStatistics(@Param("id") UUID id);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectStatisticsCountEntity.TABLE + " WHERE object_id = :id")
+  Statement fetchObjectStatisticsCount(@Param("id") UUID id);
+
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectStatisticsCountEntity.TABLE + " SET fact_count = fact_count + 1" +
+          " WHERE object_id = :id AND fact_type_id = :typeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  Statement incrementObjectStatisticsCount(@Param("id") UUID id, @Param("typeID") UUID typeID,
+                                           @Param("accessMode") AccessMode accessMode, @Param("organizationID") UUID organizationID);
+
+  // The write timestamp is derived from the written timestamp itself. Because Cassandra resolves concurrent writes
+  // by their write timestamp this keeps the maximum value without having to read the current value first.
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectStatisticsEntity.TABLE + " USING TIMESTAMP :writeTimestamp SET last_added_timestamp = :timestamp" +
+          " WHERE object_id = :id AND fact_type_id = :typeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  Statement updateObjectStatisticsLastAdded(@Param("id") UUID id, @Param("typeID") UUID typeID,
+                                            @Param("accessMode") AccessMode accessMode, @Param("organizationID") UUID organizationID,
+                                            @Param("timestamp") long timestamp, @Param("writeTimestamp") long writeTimestamp);
+
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectStatisticsEntity.TABLE + " USING TIMESTAMP :writeTimestamp SET last_seen_timestamp = :timestamp" +
+          " WHERE object_id = :id AND fact_type_id = :typeID AND access_mode = :accessMode AND organization_id = :organizationID")
+  Statement updateObjectStatisticsLastSeen(@Param("id") UUID id, @Param("typeID") UUID typeID,
+                                           @Param("accessMode") AccessMode accessMode, @Param("organizationID") UUID organizationID,
+                                           @Param("timestamp") long timestamp, @Param("writeTimestamp") long writeTimestamp);
 
 }
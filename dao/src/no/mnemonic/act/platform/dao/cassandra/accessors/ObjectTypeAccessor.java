@@ -1,6 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
-import com.datastax.driver.mapping.Result;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
@@ -13,9 +13,9 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity.TAB
 public interface ObjectTypeAccessor {
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE)
-  Result<ObjectTypeEntity> fetch();
+  Statement fetch();
 
   @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE name = :name")
-  ObjectTypeEntity getByName(@Param("name") String name);
+  Statement getByName(@Param("name") String name);
 
 }
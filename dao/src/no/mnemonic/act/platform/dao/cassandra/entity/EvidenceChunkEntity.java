@@ -0,0 +1,44 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.nio.ByteBuffer;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.EvidenceChunkEntity.TABLE;
+
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE,
+        readConsistency = READ_CONSISTENCY,
+        writeConsistency = WRITE_CONSISTENCY
+)
+public class EvidenceChunkEntity implements CassandraEntity {
+
+  public static final String TABLE = "evidence_chunk";
+
+  // SHA-256 checksum of the chunk's data. Identical chunks of different Evidence are only stored once.
+  @PartitionKey
+  private String checksum;
+  private ByteBuffer data;
+
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public EvidenceChunkEntity setChecksum(String checksum) {
+    this.checksum = checksum;
+    return this;
+  }
+
+  public ByteBuffer getData() {
+    return data;
+  }
+
+  public EvidenceChunkEntity setData(ByteBuffer data) {
+    this.data = data;
+    return this;
+  }
+
+}
@@ -1,7 +1,12 @@
 package no.mnemonic.act.platform.dao.cassandra.entity;
 
+import com.datastax.driver.mapping.annotations.Column;
 import com.datastax.driver.mapping.annotations.PartitionKey;
 import com.datastax.driver.mapping.annotations.Table;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
 import static no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity.TABLE;
@@ -16,11 +21,15 @@ public class EvidenceEntity implements CassandraEntity {
 
   public static final String TABLE = "evidence";
 
+  // SHA-256 checksum of the complete content.
   @PartitionKey
   private String checksum;
-  // Store data as a string first, because the Cassandra driver maps BLOB to a ByteBuffer.
-  // Keep it simple in the beginning, optimize later.
-  private String data;
+  private long length;
+  // The content is split into chunks of this size, only the last chunk may be smaller.
+  @Column(name = "chunk_size")
+  private int chunkSize;
+  // Checksums of all chunks in order, see EvidenceChunkEntity.
+  private List<String> chunks;
 
   public String getChecksum() {
     return checksum;
@@ -31,13 +40,40 @@ public class EvidenceEntity implements CassandraEntity {
     return this;
   }
 
-  public String getData() {
-    return data;
+  public long getLength() {
+    return length;
   }
 
-  public EvidenceEntity setData(String data) {
-    this.data = data;
+  public EvidenceEntity setLength(long length) {
+    this.length = length;
     return this;
   }
 
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public EvidenceEntity setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public List<String> getChunks() {
+    return chunks;
+  }
+
+  public EvidenceEntity setChunks(List<String> chunks) {
+    this.chunks = chunks;
+    return this;
+  }
+
+  @Override
+  public EvidenceEntity clone() {
+    return new EvidenceEntity()
+            .setChecksum(getChecksum())
+            .setLength(getLength())
+            .setChunkSize(getChunkSize())
+            .setChunks(ObjectUtils.ifNotNull(getChunks(), ArrayList::new));
+  }
+
 }
@@ -9,7 +9,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.StringUtils;
@@ -18,6 +17,9 @@ import no.mnemonic.commons.utilities.collections.ListUtils;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,9 +36,14 @@ public class FactEntity implements CassandraEntity {
 
   public static final String TABLE = "fact";
 
+  // Binary bindings format: one version byte followed by one record per binding consisting of the most and least
+  // significant bits of the Object's UUID plus the value of the binding's Direction.
+  private static final byte BINDINGS_FORMAT_VERSION = 1;
+  private static final int BINDINGS_HEADER_SIZE = 1;
+  private static final int BINDING_RECORD_SIZE = Long.BYTES * 2 + Byte.BYTES;
+
   private static final ObjectMapper mapper = new ObjectMapper();
   private static final ObjectReader reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, FactObjectBinding.class));
-  private static final ObjectWriter writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, FactObjectBinding.class));
   private static final Logger logger = Logging.getLogger(FactEntity.class);
 
   @PartitionKey
@@ -58,10 +65,13 @@ public class FactEntity implements CassandraEntity {
   private long timestamp;
   @Column(name = "last_seen_timestamp")
   private long lastSeenTimestamp;
-  // In order to not create another table bindings are stored as a JSON string.
+  // In order to not create another table bindings are stored in a compact binary format.
+  @Column(name = "bindings_binary")
+  private ByteBuffer bindingsBinary;
+  // Facts created before the binary format was introduced only have their bindings stored as a JSON string.
   @Column(name = "bindings")
   private String bindingsStored;
-  // But they are also available as objects.
+  // But they are also available as objects, decoded lazily on first access.
   @Transient
   private List<FactObjectBinding> bindings;
 
@@ -155,41 +165,140 @@ public class FactEntity implements CassandraEntity {
     return this;
   }
 
+  public ByteBuffer getBindingsBinary() {
+    // Return a duplicate in order to not leak the position of the internal buffer.
+    return bindingsBinary != null ? bindingsBinary.duplicate() : null;
+  }
+
+  public FactEntity setBindingsBinary(ByteBuffer bindingsBinary) {
+    if (bindingsBinary != null && bindingsBinary.remaining() > 0 && !isValidBindingsBinary(bindingsBinary)) {
+      String msg = String.format("Could not read 'bindings_binary' for Fact with id = %s.", getId());
+      logger.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+
+    this.bindingsBinary = bindingsBinary != null && bindingsBinary.remaining() > 0 ? bindingsBinary.slice() : null;
+    this.bindings = null;
+    return this;
+  }
+
+  /**
+   * Returns the bindings in the legacy JSON format. Only Facts stored before the binary format was introduced
+   * have this field set. It is read as a fallback if no binary bindings exist, but it is never written anymore.
+   *
+   * @return Bindings as JSON string
+   */
   public String getBindingsStored() {
     return bindingsStored;
   }
 
   public FactEntity setBindingsStored(String bindingsStored) {
     this.bindingsStored = bindingsStored;
+    this.bindings = null;
+    return this;
+  }
 
-    try {
-      this.bindings = !StringUtils.isBlank(bindingsStored) ? reader.readValue(bindingsStored) : null;
-    } catch (IOException ex) {
-      logAndRethrow(ex, String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
-    }
+  /**
+   * Returns the number of bindings without decoding them.
+   *
+   * @return Number of bindings
+   */
+  public int getBindingCount() {
+    if (bindingsBinary != null) return (bindingsBinary.remaining() - BINDINGS_HEADER_SIZE) / BINDING_RECORD_SIZE;
+    List<FactObjectBinding> decoded = getBindings();
+    return decoded != null ? decoded.size() : 0;
+  }
 
-    return this;
+  /**
+   * Returns the Object ID of the binding at a given index without materializing the whole list of bindings.
+   *
+   * @param index Index of binding
+   * @return Object ID of binding
+   */
+  public UUID getBindingObjectID(int index) {
+    if (bindingsBinary == null) return getBindings().get(index).getObjectID();
+    int offset = bindingOffset(index);
+    return new UUID(bindingsBinary.getLong(offset), bindingsBinary.getLong(offset + Long.BYTES));
+  }
+
+  /**
+   * Returns the Direction of the binding at a given index without materializing the whole list of bindings.
+   *
+   * @param index Index of binding
+   * @return Direction of binding
+   */
+  public Direction getBindingDirection(int index) {
+    if (bindingsBinary == null) return getBindings().get(index).getDirection();
+    return Direction.getValueMap().get((int) bindingsBinary.get(bindingOffset(index) + Long.BYTES * 2));
   }
 
   public List<FactObjectBinding> getBindings() {
+    if (bindings == null) {
+      bindings = bindingsBinary != null ? decodeBindingsBinary() : decodeBindingsStored();
+    }
+
     return bindings;
   }
 
   public FactEntity setBindings(List<FactObjectBinding> bindings) {
-    this.bindings = bindings;
+    this.bindings = bindings != null ? Collections.unmodifiableList(bindings) : null;
+    this.bindingsBinary = !CollectionUtils.isEmpty(bindings) ? encodeBindingsBinary(bindings) : null;
+    // Bindings are always written in the binary format, the legacy JSON representation becomes obsolete.
+    this.bindingsStored = null;
+    return this;
+  }
+
+  public FactEntity addBinding(FactObjectBinding binding) {
+    // Need to call setBindings() in order to store binary blob. Copy because the decoded list is unmodifiable.
+    List<FactObjectBinding> copy = new ArrayList<>(ListUtils.list(getBindings()));
+    copy.add(binding);
+    return setBindings(copy);
+  }
+
+  private int bindingOffset(int index) {
+    if (index < 0 || index >= getBindingCount()) throw new IndexOutOfBoundsException("Index: " + index);
+    return bindingsBinary.position() + BINDINGS_HEADER_SIZE + index * BINDING_RECORD_SIZE;
+  }
+
+  private List<FactObjectBinding> decodeBindingsBinary() {
+    int count = getBindingCount();
+    List<FactObjectBinding> decoded = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      decoded.add(new FactObjectBinding()
+              .setObjectID(getBindingObjectID(i))
+              .setDirection(getBindingDirection(i)));
+    }
+
+    return Collections.unmodifiableList(decoded);
+  }
+
+  private List<FactObjectBinding> decodeBindingsStored() {
+    if (StringUtils.isBlank(bindingsStored)) return null;
 
     try {
-      this.bindingsStored = !CollectionUtils.isEmpty(bindings) ? writer.writeValueAsString(bindings) : null;
+      return Collections.unmodifiableList(reader.readValue(bindingsStored));
     } catch (IOException ex) {
-      logAndRethrow(ex, String.format("Could not write 'bindings' for Fact with id = %s.", getId()));
+      logAndRethrow(ex, String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
+      return null;
     }
+  }
 
-    return this;
+  private static ByteBuffer encodeBindingsBinary(List<FactObjectBinding> bindings) {
+    ByteBuffer buffer = ByteBuffer.allocate(BINDINGS_HEADER_SIZE + bindings.size() * BINDING_RECORD_SIZE);
+    buffer.put(BINDINGS_FORMAT_VERSION);
+    for (FactObjectBinding binding : bindings) {
+      buffer.putLong(binding.getObjectID().getMostSignificantBits());
+      buffer.putLong(binding.getObjectID().getLeastSignificantBits());
+      buffer.put((byte) binding.getDirectionValue());
+    }
+
+    buffer.flip();
+    return buffer;
   }
 
-  public FactEntity addBinding(FactObjectBinding binding) {
-    // Need to call setBindings() in order to store JSON blob.
-    return setBindings(ListUtils.addToList(bindings, binding));
+  private static boolean isValidBindingsBinary(ByteBuffer buffer) {
+    return buffer.get(buffer.position()) == BINDINGS_FORMAT_VERSION
+            && (buffer.remaining() - BINDINGS_HEADER_SIZE) % BINDING_RECORD_SIZE == 0;
   }
 
   private void logAndRethrow(IOException ex, String msg) {
@@ -210,7 +319,16 @@ public class FactEntity implements CassandraEntity {
             .setConfidenceLevel(getConfidenceLevel())
             .setTimestamp(getTimestamp())
             .setLastSeenTimestamp(getLastSeenTimestamp())
-            .setBindingsStored(getBindingsStored());
+            .setBindingsBinary(getBindingsBinary())
+            .setBindingsStored(getBindingsStored())
+            .setDecodedBindings(bindings);
+  }
+
+  private FactEntity setDecodedBindings(List<FactObjectBinding> bindings) {
+    // Share the already decoded bindings with the clone such that they don't need to be decoded again.
+    // This is safe because the list is unmodifiable and replaced as a whole when the bindings change.
+    this.bindings = bindings;
+    return this;
   }
 
   public static class FactObjectBinding {
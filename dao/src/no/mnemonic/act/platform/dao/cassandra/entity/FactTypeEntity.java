@@ -9,12 +9,14 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -184,6 +186,22 @@ public class FactTypeEntity implements CassandraEntity {
     throw new UncheckedIOException(msg, ex);
   }
 
+  @Override
+  public FactTypeEntity clone() {
+    FactTypeEntity clone = new FactTypeEntity()
+            .setId(getId())
+            .setNamespaceID(getNamespaceID())
+            .setName(getName())
+            .setValidator(getValidator())
+            .setValidatorParameter(getValidatorParameter());
+    // FactTypes are cloned on every lookup, thus, copy the already decoded bindings instead of parsing the JSON again.
+    clone.relevantObjectBindingsStored = relevantObjectBindingsStored;
+    clone.relevantObjectBindings = ObjectUtils.ifNotNull(relevantObjectBindings, HashSet::new);
+    clone.relevantFactBindingsStored = relevantFactBindingsStored;
+    clone.relevantFactBindings = ObjectUtils.ifNotNull(relevantFactBindings, HashSet::new);
+    return clone;
+  }
+
   public static class FactObjectBindingDefinition {
 
     private UUID sourceObjectTypeID;
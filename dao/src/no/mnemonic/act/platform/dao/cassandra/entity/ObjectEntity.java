@@ -24,6 +24,9 @@ public class ObjectEntity implements CassandraEntity {
   @Column(name = "type_id")
   private UUID typeID;
   private String value;
+  // Set if statistics about bound Facts are maintained since the Object was created.
+  @Column(name = "statistics_tracked")
+  private boolean statisticsTracked;
 
   public UUID getId() {
     return id;
@@ -52,4 +55,22 @@ public class ObjectEntity implements CassandraEntity {
     return this;
   }
 
+  public boolean isStatisticsTracked() {
+    return statisticsTracked;
+  }
+
+  public ObjectEntity setStatisticsTracked(boolean statisticsTracked) {
+    this.statisticsTracked = statisticsTracked;
+    return this;
+  }
+
+  @Override
+  public ObjectEntity clone() {
+    return new ObjectEntity()
+            .setId(getId())
+            .setTypeID(getTypeID())
+            .setValue(getValue())
+            .setStatisticsTracked(isStatisticsTracked());
+  }
+
 }
@@ -0,0 +1,87 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectStatisticsCountEntity.TABLE;
+
+/**
+ * Number of Facts counted for one entry of {@link ObjectStatisticsEntity}. Cassandra requires counters to be stored
+ * in a dedicated table. Counters are only read through this entity, they are incremented by an accessor query.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE,
+        readConsistency = READ_CONSISTENCY,
+        writeConsistency = WRITE_CONSISTENCY
+)
+public class ObjectStatisticsCountEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_statistics_count";
+
+  @PartitionKey
+  @Column(name = "object_id")
+  private UUID objectID;
+  @ClusteringColumn(0)
+  @Column(name = "fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+  @ClusteringColumn(2)
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  @Column(name = "fact_count")
+  private long factCount;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectStatisticsCountEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectStatisticsCountEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectStatisticsCountEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectStatisticsCountEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public ObjectStatisticsCountEntity setFactCount(long factCount) {
+    this.factCount = factCount;
+    return this;
+  }
+
+}
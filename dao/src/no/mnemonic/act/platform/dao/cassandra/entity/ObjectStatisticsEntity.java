@@ -0,0 +1,114 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+import com.datastax.driver.mapping.annotations.Transient;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectStatisticsEntity.TABLE;
+
+/**
+ * Pre-aggregated statistics about the Facts of one FactType bound to an Object. Statistics are kept separately for
+ * each combination of AccessMode and Organization of the Facts such that access control can be applied on the
+ * aggregated values instead of on the Facts themselves.
+ * <p>
+ * The number of Facts is stored in a separate counter table (see {@link ObjectStatisticsCountEntity}) and is merged
+ * into this entity when statistics are fetched.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE,
+        readConsistency = READ_CONSISTENCY,
+        writeConsistency = WRITE_CONSISTENCY
+)
+public class ObjectStatisticsEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_statistics";
+
+  @PartitionKey
+  @Column(name = "object_id")
+  private UUID objectID;
+  @ClusteringColumn(0)
+  @Column(name = "fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+  @ClusteringColumn(2)
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  @Column(name = "last_added_timestamp")
+  private long lastAddedTimestamp;
+  @Column(name = "last_seen_timestamp")
+  private long lastSeenTimestamp;
+  @Transient
+  private long factCount;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectStatisticsEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectStatisticsEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectStatisticsEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectStatisticsEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public long getLastAddedTimestamp() {
+    return lastAddedTimestamp;
+  }
+
+  public ObjectStatisticsEntity setLastAddedTimestamp(long lastAddedTimestamp) {
+    this.lastAddedTimestamp = lastAddedTimestamp;
+    return this;
+  }
+
+  public long getLastSeenTimestamp() {
+    return lastSeenTimestamp;
+  }
+
+  public ObjectStatisticsEntity setLastSeenTimestamp(long lastSeenTimestamp) {
+    this.lastSeenTimestamp = lastSeenTimestamp;
+    return this;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public ObjectStatisticsEntity setFactCount(long factCount) {
+    this.factCount = factCount;
+    return this;
+  }
+
+}
@@ -73,4 +73,14 @@ public class ObjectTypeEntity implements CassandraEntity {
     return this;
   }
 
+  @Override
+  public ObjectTypeEntity clone() {
+    return new ObjectTypeEntity()
+            .setId(getId())
+            .setNamespaceID(getNamespaceID())
+            .setName(getName())
+            .setValidator(getValidator())
+            .setValidatorParameter(getValidatorParameter());
+  }
+
 }
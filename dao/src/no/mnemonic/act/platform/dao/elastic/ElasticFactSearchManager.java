@@ -3,26 +3,32 @@ package no.mnemonic.act.platform.dao.elastic;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.InputStreamEntity;
 import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
@@ -30,8 +36,12 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -50,26 +60,44 @@ import org.elasticsearch.search.aggregations.metrics.cardinality.Cardinality;
 import org.elasticsearch.search.aggregations.metrics.max.Max;
 import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.profile.SearchProfileShardResults;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static org.elasticsearch.common.bytes.BytesReference.toBytes;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.*;
 
 /**
  * Class for indexing Facts into ElasticSearch as well as for retrieving and searching indexed Facts.
+ * <p>
+ * Facts are partitioned into monthly indices based on their (immutable) timestamp, e.g. 'act-facts-2018.10'. All
+ * monthly indices are created from an index template which adds them to the read alias 'act-facts'. Searches which
+ * are restricted in time only target the relevant monthly indices, all other requests use the read alias.
  */
 @Singleton
-public class FactSearchManager implements LifecycleAspect {
-
-  private static final String INDEX_NAME = "act";
+public class ElasticFactSearchManager implements FactSearchManager, LifecycleAspect {
+
+  // Facts were stored in one single index before time-based indices were introduced.
+  private static final String LEGACY_INDEX_NAME = "act";
+  private static final String INDEX_PREFIX = "act-facts-";
+  private static final String INDEX_TEMPLATE_NAME = "act-facts";
+  private static final String READ_ALIAS = "act-facts";
+  private static final DateTimeFormatter INDEX_SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM").withZone(ZoneOffset.UTC);
+  // Fall back to the read alias if a search would span more monthly indices than this.
+  private static final int MAX_SEARCH_INDICES = 120;
   private static final String TYPE_NAME = "fact";
   private static final String MAPPINGS_JSON = "mappings.json";
   private static final int MAX_RESULT_WINDOW = 10_000; // Must be the same value as specified in mappings.json.
@@ -85,7 +113,7 @@ public class FactSearchManager implements LifecycleAspect {
   private static final String MAX_LAST_ADDED_TIMESTAMP_AGGREGATION_NAME = "MaxLastAddedTimestampAggregation";
   private static final String MAX_LAST_SEEN_TIMESTAMP_AGGREGATION_NAME = "MaxLastSeenTimestampAggregation";
 
-  private static final Logger LOGGER = Logging.getLogger(FactSearchManager.class);
+  private static final Logger LOGGER = Logging.getLogger(ElasticFactSearchManager.class);
 
   private static final ObjectMapper MAPPER = new ObjectMapper();
   private static final ObjectReader FACT_DOCUMENT_READER = MAPPER.readerFor(FactDocument.class);
@@ -94,19 +122,43 @@ public class FactSearchManager implements LifecycleAspect {
 
   @Dependency
   private final ClientFactory clientFactory;
+  private final QueryMetrics queryMetrics;
+
+  // Debug flag which makes ElasticSearch profile all searches. The profile output is added to the slow-query log.
+  @com.google.inject.Inject(optional = true)
+  @Named("elasticsearch.search.profile")
+  private String profileSearches = "false";
 
   private boolean isTestEnvironment = false;
+  private boolean legacyIndexExists = false;
+  private Clock clock = Clock.systemUTC();
 
   @Inject
-  public FactSearchManager(ClientFactory clientFactory) {
+  public ElasticFactSearchManager(ClientFactory clientFactory, QueryMetrics queryMetrics) {
     this.clientFactory = clientFactory;
+    this.queryMetrics = queryMetrics;
   }
 
   @Override
   public void startComponent() {
-    if (!indexExists()) {
-      LOGGER.info("Index '%s' does not exist, create it.", INDEX_NAME);
-      createIndex();
+    // Always (re-)create the index template in order to apply changes of the mappings to new indices.
+    putIndexTemplate();
+
+    if (indexExists(LEGACY_INDEX_NAME)) {
+      LOGGER.warning("Found legacy index '%s'. It is searched via alias '%s', but it should be reindexed into time-based indices.",
+              LEGACY_INDEX_NAME, READ_ALIAS);
+      addToReadAlias(LEGACY_INDEX_NAME);
+      legacyIndexExists = true;
+    }
+
+    // Roll over to the indices of the current and next month up front. Later indices are created from the template
+    // when the first Fact of a month is indexed.
+    Instant now = Instant.now(clock);
+    for (String index : SetUtils.set(resolveIndexName(now.toEpochMilli()), resolveIndexName(now.atZone(ZoneOffset.UTC).plusMonths(1).toInstant().toEpochMilli()))) {
+      if (!indexExists(index)) {
+        LOGGER.info("Index '%s' does not exist, create it.", index);
+        createIndex(index);
+      }
     }
   }
 
@@ -117,24 +169,35 @@ public class FactSearchManager implements LifecycleAspect {
 
   /**
    * Retrieve an indexed Fact by its UUID. Returns NULL if Fact cannot be fetched from ElasticSearch.
+   * <p>
+   * Because the index of the Fact is unknown this method searches all indices, thus, a Fact is only found after the
+   * indices have been refreshed. Use {@link #getFact(UUID, long)} if the Fact's timestamp is known.
    *
    * @param id UUID of indexed Fact
    * @return Indexed Fact or NULL if not available
    */
+  @Override
   public FactDocument getFact(UUID id) {
     if (id == null) return null;
-    GetResponse response;
 
+    SearchRequest request = new SearchRequest()
+            .indices(READ_ALIAS)
+            .types(TYPE_NAME)
+            .source(new SearchSourceBuilder().size(1).query(idsQuery(TYPE_NAME).addIds(id.toString())));
+    long start = System.nanoTime();
+    SearchResponse response;
     try {
-      GetRequest request = new GetRequest(INDEX_NAME, TYPE_NAME, id.toString());
-      response = clientFactory.getHighLevelClient().get(request);
+      response = search(request);
     } catch (IOException ex) {
       throw logAndExit(ex, String.format("Could not perform request to fetch Fact with id = %s.", id));
     }
 
-    if (response.isExists()) {
+    long requestEnd = System.nanoTime();
+    List<FactDocument> result = response.status() == RestStatus.OK ? retrieveFactDocuments(response) : ListUtils.list();
+    recordSearch("getFact", request, response, start, requestEnd);
+    if (!result.isEmpty()) {
       LOGGER.info("Successfully fetched Fact with id = %s.", id);
-      return decodeFactDocument(id, response.getSourceAsBytes());
+      return result.get(0);
     } else {
       // Fact isn't indexed in ElasticSearch, log warning and return null.
       LOGGER.warning("Could not fetch Fact with id = %s. Fact not indexed?", id);
@@ -143,23 +206,58 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   /**
-   * Index a Fact into ElasticSearch.
+   * Retrieve an indexed Fact by its UUID and timestamp. Returns NULL if Fact cannot be fetched from ElasticSearch.
+   * <p>
+   * The timestamp determines the index of the Fact, thus, the Fact is fetched directly from its index in real-time.
+   *
+   * @param id        UUID of indexed Fact
+   * @param timestamp Timestamp of indexed Fact
+   * @return Indexed Fact or NULL if not available
+   */
+  @Override
+  public FactDocument getFact(UUID id, long timestamp) {
+    if (id == null) return null;
+
+    FactDocument document = getFact(resolveIndexName(timestamp), id);
+    if (document == null && legacyIndexExists) {
+      // Fact might still be stored in the legacy index.
+      document = getFact(LEGACY_INDEX_NAME, id);
+    }
+
+    if (document != null) {
+      LOGGER.info("Successfully fetched Fact with id = %s.", id);
+    } else {
+      // Fact isn't indexed in ElasticSearch, log warning and return null.
+      LOGGER.warning("Could not fetch Fact with id = %s. Fact not indexed?", id);
+    }
+
+    return document;
+  }
+
+  /**
+   * Index a Fact into ElasticSearch. A new Fact is stored in the monthly index determined by its timestamp. A Fact
+   * previously fetched with {@link #getFact(UUID, long)} is written back to the index it was fetched from, such that
+   * updating a Fact stored in the legacy index doesn't create a second copy in a monthly index.
    *
    * @param fact Fact to index
    * @return Indexed Fact
    */
+  @Override
   public FactDocument indexFact(FactDocument fact) {
     if (fact == null || fact.getId() == null) return null;
     IndexResponse response;
 
+    long start = System.nanoTime();
     try {
-      IndexRequest request = new IndexRequest(INDEX_NAME, TYPE_NAME, fact.getId().toString())
+      String index = ObjectUtils.ifNull(fact.getIndex(), () -> resolveIndexName(fact.getTimestamp()));
+      IndexRequest request = new IndexRequest(index, TYPE_NAME, fact.getId().toString())
               .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE)
               .source(FACT_DOCUMENT_WRITER.writeValueAsBytes(fact), XContentType.JSON);
       response = clientFactory.getHighLevelClient().index(request);
     } catch (IOException ex) {
       throw logAndExit(ex, String.format("Could not perform request to index Fact with id = %s.", fact.getId()));
     }
+    queryMetrics.recordElasticRequest("indexFact", System.nanoTime() - start);
 
     if (response.status() != RestStatus.OK && response.status() != RestStatus.CREATED) {
       LOGGER.warning("Could not index Fact with id = %s.", fact.getId());
@@ -185,15 +283,19 @@ public class FactSearchManager implements LifecycleAspect {
    * @param criteria Criteria to retrieve existing Facts
    * @return All Facts satisfying search criteria wrapped inside a result container
    */
+  @Override
   public SearchResult<FactDocument> retrieveExistingFacts(FactExistenceSearchCriteria criteria) {
     if (criteria == null) return SearchResult.<FactDocument>builder().build();
 
+    SearchRequest request = buildFactExistenceSearchRequest(criteria);
+    long start = System.nanoTime();
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildFactExistenceSearchRequest(criteria));
+      response = search(request);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for existing Facts.");
     }
+    long requestEnd = System.nanoTime();
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not search for existing Facts (response code %s).", response.status());
@@ -201,6 +303,7 @@ public class FactSearchManager implements LifecycleAspect {
     }
 
     List<FactDocument> result = retrieveFactDocuments(response);
+    recordSearch("retrieveExistingFacts", request, response, start, requestEnd);
 
     LOGGER.info("Successfully retrieved %d existing Facts.", result.size());
     return SearchResult.<FactDocument>builder()
@@ -220,22 +323,29 @@ public class FactSearchManager implements LifecycleAspect {
    * @param criteria Search criteria to match against Facts
    * @return Facts satisfying search criteria wrapped inside a result container
    */
+  @Override
   public SearchResult<FactDocument> searchFacts(FactSearchCriteria criteria) {
     if (criteria == null) return SearchResult.<FactDocument>builder().build();
 
+    SearchRequest request = buildFactsSearchRequest(criteria);
+    long start = System.nanoTime();
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildFactsSearchRequest(criteria));
+      response = search(request);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for Facts.");
     }
+    long requestEnd = System.nanoTime();
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not search for Facts (response code %s).", response.status());
       return SearchResult.<FactDocument>builder().setLimit(criteria.getLimit()).build();
     }
 
-    List<FactDocument> result = retrieveFactDocuments(response);
+    List<FactDocument> result = criteria.getProjection() == FactSearchCriteria.Projection.id
+            ? retrieveFactIDs(response)
+            : retrieveFactDocuments(response);
+    recordSearch("searchFacts", request, response, start, requestEnd);
 
     LOGGER.info("Successfully retrieved %d Facts from a total of %d matching Facts.", result.size(), response.getHits().getTotalHits());
     return SearchResult.<FactDocument>builder()
@@ -259,15 +369,19 @@ public class FactSearchManager implements LifecycleAspect {
    * @param criteria Search criteria to match against Facts and their bound Objects
    * @return Objects satisfying search criteria wrapped inside a result container
    */
+  @Override
   public SearchResult<ObjectDocument> searchObjects(FactSearchCriteria criteria) {
     if (criteria == null) return SearchResult.<ObjectDocument>builder().build();
 
+    SearchRequest request = buildObjectsSearchRequest(criteria);
+    long start = System.nanoTime();
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildObjectsSearchRequest(criteria));
+      response = search(request);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for Objects.");
     }
+    long requestEnd = System.nanoTime();
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not search for Objects (response code %s).", response.status());
@@ -276,6 +390,7 @@ public class FactSearchManager implements LifecycleAspect {
 
     int count = retrieveSearchObjectsResultCount(response);
     List<ObjectDocument> result = retrieveSearchObjectsResultValues(response);
+    recordSearch("searchObjects", request, response, start, requestEnd);
 
     LOGGER.info("Successfully retrieved %d Objects from a total of %d matching Objects.", result.size(), count);
     return SearchResult.<ObjectDocument>builder()
@@ -298,15 +413,19 @@ public class FactSearchManager implements LifecycleAspect {
    * @param criteria Criteria to specify for which Objects statistics should be calculated
    * @return Result container with the calculated statistics for each Object
    */
+  @Override
   public ObjectStatisticsResult calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
     if (criteria == null) return ObjectStatisticsResult.builder().build();
 
+    SearchRequest request = buildObjectStatisticsSearchRequest(criteria);
+    long start = System.nanoTime();
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildObjectStatisticsSearchRequest(criteria));
+      response = search(request);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to calculate Object statistics.");
     }
+    long requestEnd = System.nanoTime();
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not calculate Object statistics (response code %s).", response.status());
@@ -314,6 +433,7 @@ public class FactSearchManager implements LifecycleAspect {
     }
 
     ObjectStatisticsResult result = retrieveObjectStatisticsResult(response);
+    recordSearch("calculateObjectStatistics", request, response, start, requestEnd);
 
     LOGGER.info("Successfully retrieved statistics for %d Objects.", result.getStatisticsCount());
     return result;
@@ -326,17 +446,132 @@ public class FactSearchManager implements LifecycleAspect {
    * @param testEnvironment Whether this class is executed during unit tests
    * @return Class instance, i.e. 'this'
    */
-  public FactSearchManager setTestEnvironment(boolean testEnvironment) {
+  public ElasticFactSearchManager setTestEnvironment(boolean testEnvironment) {
     this.isTestEnvironment = testEnvironment;
     return this;
   }
 
-  private boolean indexExists() {
+  ElasticFactSearchManager withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  /**
+   * Resolve the indices which need to be searched for a given search criteria.
+   * <p>
+   * Facts are stored in the index of the month of their timestamp and 'lastSeenTimestamp' is never before 'timestamp'.
+   * Thus, every time criteria gives an upper bound for 'timestamp' and newer indices can be omitted, but only if
+   * 'timestamp' itself must be after 'startTimestamp' older indices can be omitted. With both bounds the monthly
+   * indices in between are searched. With only an upper bound all monthly indices are searched except the ones after
+   * the month of 'endTimestamp'. Otherwise, all indices are searched using the read alias.
+   *
+   * @param criteria Search criteria
+   * @return Indices to search
+   */
+  String[] resolveSearchIndices(FactSearchCriteria criteria) {
+    Long start = criteria.getStartTimestamp() != null && criteria.getStartTimestamp() > 0 ? criteria.getStartTimestamp() : null;
+    Long end = criteria.getEndTimestamp() != null && criteria.getEndTimestamp() > 0 ? criteria.getEndTimestamp() : null;
+    if (start != null && isTimestampLowerBound(criteria)) return resolveSearchIndices(start, end);
+    if (end != null) return resolveSearchIndicesBefore(end);
+    return new String[]{READ_ALIAS};
+  }
+
+  private String[] resolveSearchIndices(long start, Long end) {
+    // Facts can't be created in the future, thus, the current time is always an upper bound.
+    long now = Instant.now(clock).toEpochMilli();
+    long upper = end != null ? Math.min(end, now) : now;
+
+    List<String> indices = ListUtils.list();
+    YearMonth month = toYearMonth(start);
+    YearMonth last = toYearMonth(Math.max(start, upper));
+    for (; !month.isAfter(last); month = month.plusMonths(1)) {
+      if (indices.size() >= MAX_SEARCH_INDICES) return new String[]{READ_ALIAS};
+      indices.add(resolveIndexName(month));
+    }
+
+    if (legacyIndexExists) indices.add(LEGACY_INDEX_NAME);
+    return indices.toArray(new String[0]);
+  }
+
+  private String[] resolveSearchIndicesBefore(long end) {
+    // Facts can't be created in the future, thus, nothing can be omitted if 'endTimestamp' is in the current month.
+    YearMonth current = toYearMonth(Instant.now(clock).toEpochMilli());
+    if (!toYearMonth(end).isBefore(current)) return new String[]{READ_ALIAS};
+
+    // Search all monthly indices using a wildcard, but exclude the indices after the month of 'endTimestamp' (up to
+    // the index of the next month which is created in advance).
+    List<String> indices = ListUtils.list(INDEX_PREFIX + "*");
+    if (legacyIndexExists) indices.add(LEGACY_INDEX_NAME);
+    for (YearMonth month = toYearMonth(end).plusMonths(1); !month.isAfter(current.plusMonths(1)); month = month.plusMonths(1)) {
+      if (indices.size() >= MAX_SEARCH_INDICES) return new String[]{READ_ALIAS};
+      indices.add("-" + resolveIndexName(month));
+    }
+
+    return indices.toArray(new String[0]);
+  }
+
+  private boolean isTimestampLowerBound(FactSearchCriteria criteria) {
+    Set<String> fields = criteria.getTimeFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            .collect(Collectors.toSet());
+    if (!fields.contains("timestamp")) return false;
+    // Either 'timestamp' is the only field queried, or all queried fields (including 'timestamp') must match.
+    return fields.size() == 1 || criteria.getTimeMatchStrategy() == FactSearchCriteria.MatchStrategy.all;
+  }
+
+  private String resolveIndexName(long timestamp) {
+    return INDEX_PREFIX + INDEX_SUFFIX_FORMATTER.format(Instant.ofEpochMilli(timestamp));
+  }
+
+  private String resolveIndexName(YearMonth month) {
+    return INDEX_PREFIX + INDEX_SUFFIX_FORMATTER.format(month.atDay(1).atStartOfDay(ZoneOffset.UTC));
+  }
+
+  private YearMonth toYearMonth(long timestamp) {
+    return YearMonth.from(Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC));
+  }
+
+  private FactDocument getFact(String index, UUID id) {
+    GetResponse response;
+
+    long start = System.nanoTime();
+    try {
+      response = clientFactory.getHighLevelClient().get(new GetRequest(index, TYPE_NAME, id.toString()));
+    } catch (ElasticsearchStatusException ex) {
+      // The index doesn't exist if no Fact has been indexed in the month of the given timestamp.
+      if (ex.status() == RestStatus.NOT_FOUND) return null;
+      throw logAndExit(ex, String.format("Could not perform request to fetch Fact with id = %s.", id));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to fetch Fact with id = %s.", id));
+    } finally {
+      queryMetrics.recordElasticRequest("getFactById", System.nanoTime() - start);
+    }
+
+    if (!response.isExists()) return null;
+
+    FactDocument document = decodeFactDocument(id, response.getSourceAsBytesRef());
+    return document != null ? document.setIndex(index) : null;
+  }
+
+  private SearchResponse search(SearchRequest request) throws IOException {
+    if (Boolean.parseBoolean(profileSearches)) request.source().profile(true);
+    return clientFactory.getHighLevelClient().search(request);
+  }
+
+  private void recordSearch(String searchType, SearchRequest request, SearchResponse response, long start, long requestEnd) {
+    Supplier<String> profile = response.getProfileResults() != null && !response.getProfileResults().isEmpty()
+            ? () -> Strings.toString(new SearchProfileShardResults(response.getProfileResults()))
+            : null;
+    queryMetrics.recordElasticSearch(searchType, response.getHits().getTotalHits(), response.getTookInMillis(),
+            requestEnd - start, System.nanoTime() - start, () -> String.valueOf(request.source()), profile);
+  }
+
+  private boolean indexExists(String index) {
     Response response;
 
     try {
       // Need to use low-level client here because the Index API is not yet supported by the high-level client.
-      response = clientFactory.getLowLevelClient().performRequest("HEAD", INDEX_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("HEAD", index);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to verify if index exists.");
     }
@@ -345,24 +580,76 @@ public class FactSearchManager implements LifecycleAspect {
     return response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
   }
 
-  private void createIndex() {
+  private void createIndex(String index) {
     Response response;
 
-    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream(MAPPINGS_JSON)) {
+    try {
       // Need to use low-level client here because the Index API is not yet supported by the high-level client.
-      HttpEntity body = new InputStreamEntity(payload, ContentType.APPLICATION_JSON);
-      response = clientFactory.getLowLevelClient().performRequest("PUT", INDEX_NAME, Collections.emptyMap(), body);
+      // Settings and mappings are applied from the index template.
+      response = clientFactory.getLowLevelClient().performRequest("PUT", index);
+    } catch (ResponseException ex) {
+      // Another node might have created the index concurrently.
+      if (indexExists(index)) return;
+      throw logAndExit(ex, String.format("Could not perform request to create index '%s'.", index));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to create index '%s'.", index));
+    }
+
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not create index '%s'.", index);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
+
+    LOGGER.info("Successfully created index '%s'.", index);
+  }
+
+  private void putIndexTemplate() {
+    Response response;
+
+    try (InputStream payload = ElasticFactSearchManager.class.getClassLoader().getResourceAsStream(MAPPINGS_JSON)) {
+      // The template consists of the settings and mappings from mappings.json plus the index pattern and read alias.
+      ObjectNode template = (ObjectNode) MAPPER.readTree(payload);
+      template.put("template", INDEX_PREFIX + "*");
+      template.putObject("aliases").putObject(READ_ALIAS);
+
+      // Need to use low-level client here because the Index Templates API is not yet supported by the high-level client.
+      HttpEntity body = new ByteArrayEntity(MAPPER.writeValueAsBytes(template), ContentType.APPLICATION_JSON);
+      response = clientFactory.getLowLevelClient().performRequest("PUT", "_template/" + INDEX_TEMPLATE_NAME, Collections.emptyMap(), body);
     } catch (IOException ex) {
-      throw logAndExit(ex, "Could not perform request to create index.");
+      throw logAndExit(ex, "Could not perform request to create index template.");
     }
 
     if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
-      String msg = String.format("Could not create index '%s'.", INDEX_NAME);
+      String msg = String.format("Could not create index template '%s'.", INDEX_TEMPLATE_NAME);
       LOGGER.error(msg);
       throw new IllegalStateException(msg);
     }
 
-    LOGGER.info("Successfully created index '%s'.", INDEX_NAME);
+    LOGGER.info("Successfully created index template '%s'.", INDEX_TEMPLATE_NAME);
+  }
+
+  private void addToReadAlias(String index) {
+    Response response;
+
+    try {
+      ObjectNode actions = MAPPER.createObjectNode();
+      actions.putArray("actions").addObject().putObject("add")
+              .put("index", index)
+              .put("alias", READ_ALIAS);
+
+      // Need to use low-level client here because the Index Aliases API is not yet supported by the high-level client.
+      HttpEntity body = new ByteArrayEntity(MAPPER.writeValueAsBytes(actions), ContentType.APPLICATION_JSON);
+      response = clientFactory.getLowLevelClient().performRequest("POST", "_aliases", Collections.emptyMap(), body);
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to add index '%s' to alias '%s'.", index, READ_ALIAS));
+    }
+
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not add index '%s' to alias '%s'.", index, READ_ALIAS);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
   }
 
   private SearchRequest buildFactExistenceSearchRequest(FactExistenceSearchCriteria criteria) {
@@ -370,7 +657,7 @@ public class FactSearchManager implements LifecycleAspect {
             .size(MAX_RESULT_WINDOW) // Always return all matching documents, but usually this should be zero or one.
             .query(buildFactExistenceQuery(criteria));
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(READ_ALIAS)
             .types(TYPE_NAME)
             .source(sourceBuilder);
   }
@@ -379,8 +666,14 @@ public class FactSearchManager implements LifecycleAspect {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(calculateMaximumSize(criteria))
             .query(buildFactsQuery(criteria));
+    if (criteria.getProjection() == FactSearchCriteria.Projection.id) {
+      // The ID is part of the hit's metadata, thus, the source documents don't need to be transferred at all.
+      sourceBuilder.fetchSource(false);
+    }
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(resolveSearchIndices(criteria))
+            // Ignore monthly indices which don't exist because no Facts were indexed in that month.
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
             .types(TYPE_NAME)
             .source(sourceBuilder);
   }
@@ -390,7 +683,9 @@ public class FactSearchManager implements LifecycleAspect {
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
             .aggregation(buildObjectsAggregation(criteria));
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(resolveSearchIndices(criteria))
+            // Ignore monthly indices which don't exist because no Facts were indexed in that month.
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
             .types(TYPE_NAME)
             .source(sourceBuilder);
   }
@@ -400,7 +695,7 @@ public class FactSearchManager implements LifecycleAspect {
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
             .aggregation(buildObjectStatisticsAggregation(criteria));
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(READ_ALIAS)
             .types(TYPE_NAME)
             .source(sourceBuilder);
   }
@@ -585,6 +880,19 @@ public class FactSearchManager implements LifecycleAspect {
             );
   }
 
+  private QueryBuilder createAclAccessOnlyQuery(UUID currentUserID, Set<UUID> availableOrganizationID) {
+    // Query to verify that user has access to Fact only because the user is in the ACL, i.e. ...
+    return boolQuery()
+            .filter(termQuery("acl", currentUserID))
+            // ... Fact is not public ...
+            .mustNot(termQuery("accessMode", FactDocument.AccessMode.Public))
+            // ... and Fact is not RoleBased with access to the owning Organization.
+            .mustNot(boolQuery()
+                    .filter(termQuery("accessMode", FactDocument.AccessMode.RoleBased))
+                    .filter(termsQuery("organizationID", availableOrganizationID))
+            );
+  }
+
   private AggregationBuilder buildObjectsAggregation(FactSearchCriteria criteria) {
     // 1. Reduce to Facts matching the search criteria.
     return filter(FILTER_FACTS_AGGREGATION_NAME, buildFactsQuery(criteria))
@@ -652,7 +960,9 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   private AggregationBuilder buildObjectStatisticsAggregation(ObjectStatisticsCriteria criteria) {
-    QueryBuilder accessControlQuery = createAccessControlQuery(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID());
+    QueryBuilder accessControlQuery = criteria.isAclAccessOnly()
+            ? createAclAccessOnlyQuery(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID())
+            : createAccessControlQuery(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID());
     QueryBuilder objectsQuery = termsQuery("objects.id", criteria.getObjectID());
 
     // 1. Reduce to only the Facts the user has access to. Non-accessible Facts won't be available in sub aggregations!
@@ -692,7 +1002,7 @@ public class FactSearchManager implements LifecycleAspect {
   private List<FactDocument> retrieveFactDocuments(SearchResponse response) {
     List<FactDocument> result = ListUtils.list();
     for (SearchHit hit : response.getHits()) {
-      FactDocument document = decodeFactDocument(UUID.fromString(hit.getId()), toBytes(hit.getSourceRef()));
+      FactDocument document = decodeFactDocument(UUID.fromString(hit.getId()), hit.getSourceRef());
       if (document != null) {
         result.add(document);
       }
@@ -700,6 +1010,14 @@ public class FactSearchManager implements LifecycleAspect {
     return result;
   }
 
+  private List<FactDocument> retrieveFactIDs(SearchResponse response) {
+    List<FactDocument> result = ListUtils.list();
+    for (SearchHit hit : response.getHits()) {
+      result.add(new FactDocument().setId(UUID.fromString(hit.getId())));
+    }
+    return result;
+  }
+
   private int retrieveSearchObjectsResultCount(SearchResponse response) {
     Aggregation objectsCountAggregation = resolveChildAggregation(response.getAggregations(), OBJECTS_COUNT_AGGREGATION_NAME);
     if (!(objectsCountAggregation instanceof Cardinality)) {
@@ -736,7 +1054,7 @@ public class FactSearchManager implements LifecycleAspect {
       if (hits.getHits().length < 1) continue;
 
       // Retrieve Object document from provided search hit.
-      ObjectDocument document = decodeObjectDocument(toBytes(hits.getAt(0).getSourceRef()));
+      ObjectDocument document = decodeObjectDocument(hits.getAt(0).getSourceRef());
       if (document != null) {
         result.add(document);
       }
@@ -815,9 +1133,16 @@ public class FactSearchManager implements LifecycleAspect {
     return null;
   }
 
-  private FactDocument decodeFactDocument(UUID factID, byte[] source) {
+  private FactDocument decodeFactDocument(UUID factID, BytesReference source) {
+    if (source == null) {
+      LOGGER.warning("Could not deserialize Fact with id = %s. Source document not stored?", factID);
+      return null;
+    }
+
     try {
-      FactDocument fact = FACT_DOCUMENT_READER.readValue(source);
+      // Bind directly from the response buffer without copying the source or building an intermediate tree.
+      BytesRef bytes = source.toBytesRef();
+      FactDocument fact = FACT_DOCUMENT_READER.readValue(bytes.bytes, bytes.offset, bytes.length);
       // Need to set ID manually because it's not indexed as an own field.
       return fact.setId(factID);
     } catch (IOException ex) {
@@ -826,9 +1151,15 @@ public class FactSearchManager implements LifecycleAspect {
     }
   }
 
-  private ObjectDocument decodeObjectDocument(byte[] source) {
+  private ObjectDocument decodeObjectDocument(BytesReference source) {
+    if (source == null) {
+      LOGGER.warning("Could not deserialize Object. Source of nested document not returned?");
+      return null;
+    }
+
     try {
-      return OBJECT_DOCUMENT_READER.readValue(source);
+      BytesRef bytes = source.toBytesRef();
+      return OBJECT_DOCUMENT_READER.readValue(bytes.bytes, bytes.offset, bytes.length);
     } catch (IOException ex) {
       LOGGER.warning(ex, "Could not deserialize Object. Source of nested document not returned?");
       return null;
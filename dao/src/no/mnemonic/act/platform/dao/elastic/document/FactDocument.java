@@ -14,6 +14,8 @@ public class FactDocument implements ElasticDocument {
 
   @JsonIgnore // 'id' won't be indexed separately, '_id' is used instead.
   private UUID id;
+  @JsonIgnore // Index the document was fetched from, used to write updates back to the same index.
+  private String index;
   private boolean retracted;
   private UUID typeID;
   private String typeName;
@@ -38,6 +40,15 @@ public class FactDocument implements ElasticDocument {
     return this;
   }
 
+  public String getIndex() {
+    return index;
+  }
+
+  public FactDocument setIndex(String index) {
+    this.index = index;
+    return this;
+  }
+
   public boolean isRetracted() {
     return retracted;
   }
@@ -0,0 +1,29 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.AbstractModule;
+import com.google.inject.Scopes;
+import no.mnemonic.act.platform.dao.api.EvidenceManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+
+/**
+ * Storage which runs inside the JVM without any external services. All data is kept in memory-mapped files inside
+ * the directory specified by the 'embedded.storage.directory' property. Intended for small single-node deployments
+ * and testing, see {@link no.mnemonic.act.platform.dao.DaoModule} for storage backed by Cassandra and ElasticSearch.
+ */
+public class EmbeddedDaoModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    // Metrics (shared with all other modules)
+    bind(MetricRegistry.class).in(Scopes.SINGLETON);
+
+    bind(FactManager.class).to(EmbeddedFactManager.class);
+    bind(ObjectManager.class).to(EmbeddedObjectManager.class);
+    bind(FactSearchManager.class).to(EmbeddedFactSearchManager.class);
+    bind(EvidenceManager.class).to(EmbeddedEvidenceManager.class);
+  }
+
+}
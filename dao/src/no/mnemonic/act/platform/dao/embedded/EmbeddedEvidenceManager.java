@@ -0,0 +1,155 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+import no.mnemonic.act.platform.dao.evidence.AbstractEvidenceManager;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * EvidenceManager which stores each chunk as one file inside the 'evidence' sub-directory of the local storage
+ * directory. Chunk files are named by their checksum and spread over sub-directories named by the first two
+ * characters of the checksum. Downloads are transferred directly from these files. The metadata of Evidence is
+ * stored in a {@link SegmentLog} and indexed in memory.
+ */
+@Singleton
+public class EmbeddedEvidenceManager extends AbstractEvidenceManager implements LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(EmbeddedEvidenceManager.class);
+
+  private static final String LOG_NAME = "evidence";
+  private static final String CHUNK_DIRECTORY = "evidence";
+  private static final byte EVIDENCE_RECORD = 1;
+
+  private final String directory;
+
+  // Size (in bytes) of each segment file. A single record can't be larger than one segment.
+  @com.google.inject.Inject(optional = true)
+  @Named("embedded.storage.segment.size")
+  private String segmentSize = "67108864";
+
+  private final Map<String, Long> evidenceIndex = new ConcurrentHashMap<>();
+
+  private SegmentLog log;
+  private Path chunkDirectory;
+
+  @Inject
+  public EmbeddedEvidenceManager(@Named("embedded.storage.directory") String directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void startComponent() {
+    chunkDirectory = Paths.get(directory, CHUNK_DIRECTORY);
+    try {
+      Files.createDirectories(chunkDirectory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not create directory %s.", chunkDirectory), ex);
+    }
+
+    log = new SegmentLog(Paths.get(directory), LOG_NAME, Integer.parseInt(segmentSize));
+    log.open(this::replay);
+    LOGGER.info("Opened Evidence storage in %s with %d Evidence.", directory, evidenceIndex.size());
+  }
+
+  @Override
+  public void stopComponent() {
+    if (log != null) log.close();
+  }
+
+  @Override
+  public EvidenceEntity getEvidence(String checksum) {
+    if (StringUtils.isBlank(checksum)) return null;
+
+    Long address = evidenceIndex.get(checksum);
+    return address != null ? EntityCodec.decodeEvidence(log.read(address)) : null;
+  }
+
+  @Override
+  protected boolean chunkExists(String checksum) {
+    return Files.exists(resolveChunk(checksum));
+  }
+
+  @Override
+  protected void saveChunk(String checksum, ByteBuffer data) throws IOException {
+    Path chunk = resolveChunk(checksum);
+    Files.createDirectories(chunk.getParent());
+
+    // Write into a temporary file first such that readers never see a partially written chunk.
+    Path temporary = Files.createTempFile(chunk.getParent(), checksum, ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, WRITE)) {
+        ByteBuffer source = data.duplicate();
+        while (source.hasRemaining()) {
+          channel.write(source);
+        }
+      }
+      Files.move(temporary, chunk, ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException ignored) {
+      // Another upload stored the same chunk concurrently.
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @Override
+  protected ByteBuffer getChunk(String checksum) throws IOException {
+    Path chunk = resolveChunk(checksum);
+    return Files.exists(chunk) ? ByteBuffer.wrap(Files.readAllBytes(chunk)) : null;
+  }
+
+  @Override
+  protected FileChannel openChunk(String checksum) throws IOException {
+    try {
+      return FileChannel.open(resolveChunk(checksum), READ);
+    } catch (NoSuchFileException ignored) {
+      // Fall back to getChunk() which reports the missing chunk.
+      return null;
+    }
+  }
+
+  @Override
+  protected synchronized void saveEvidenceMetadata(EvidenceEntity evidence) {
+    // Concurrent uploads of the same content only need to be recorded once.
+    if (evidenceIndex.containsKey(evidence.getChecksum())) return;
+    evidenceIndex.put(evidence.getChecksum(), log.append(EVIDENCE_RECORD, EntityCodec.encodeEvidence(evidence)));
+  }
+
+  /* Private helper methods */
+
+  private void replay(long address, byte type, ByteBuffer payload) {
+    if (type != EVIDENCE_RECORD)
+      throw new IllegalStateException(String.format("Unknown record type %d in log %s.", type, LOG_NAME));
+    evidenceIndex.put(EntityCodec.decodeEvidence(payload).getChecksum(), address);
+  }
+
+  private Path resolveChunk(String checksum) {
+    return chunkDirectory.resolve(checksum.substring(0, 2)).resolve(checksum);
+  }
+
+  EmbeddedEvidenceManager withChunkSize(int chunkSize) {
+    setChunkSize(chunkSize);
+    return this;
+  }
+
+}
@@ -0,0 +1,274 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * FactManager which stores all entities in a {@link SegmentLog} inside the local storage directory. Facts are
+ * located through a primitive hash index from their UUID to their address in the log, thus, fetching a Fact only
+ * requires decoding it from the memory-mapped segment. ACL entries, comments and meta Fact bindings are indexed by
+ * the UUID of the Fact they belong to. FactTypes are few and kept in memory.
+ * <p>
+ * Refreshing a Fact appends the updated Fact to the log and points the index to the new record. The indices are
+ * rebuilt by replaying the log on startup.
+ */
+@Singleton
+public class EmbeddedFactManager implements FactManager, LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(EmbeddedFactManager.class);
+
+  private static final String LOG_NAME = "facts";
+  private static final byte FACT_TYPE_RECORD = 1;
+  private static final byte FACT_RECORD = 2;
+  private static final byte FACT_ACL_RECORD = 3;
+  private static final byte FACT_COMMENT_RECORD = 4;
+  private static final byte META_FACT_BINDING_RECORD = 5;
+
+  private final String directory;
+
+  // Size (in bytes) of each segment file. A single record can't be larger than one segment.
+  @com.google.inject.Inject(optional = true)
+  @Named("embedded.storage.segment.size")
+  private String segmentSize = "67108864";
+
+  private final Map<UUID, FactTypeEntity> factTypesByID = new ConcurrentHashMap<>();
+  private final Map<String, FactTypeEntity> factTypesByName = new ConcurrentHashMap<>();
+  private final UuidLongMap factIndex = new UuidLongMap();
+  private final UuidLongMultiMap factAclIndex = new UuidLongMultiMap();
+  private final UuidLongMultiMap factCommentIndex = new UuidLongMultiMap();
+  private final UuidLongMultiMap metaFactBindingIndex = new UuidLongMultiMap();
+
+  private SegmentLog log;
+  private Clock clock = Clock.systemUTC();
+
+  @Inject
+  public EmbeddedFactManager(@Named("embedded.storage.directory") String directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void startComponent() {
+    log = new SegmentLog(Paths.get(directory), LOG_NAME, Integer.parseInt(segmentSize));
+    log.open(this::replay);
+    LOGGER.info("Opened Fact storage in %s with %d FactTypes and %d Facts.", directory, factTypesByID.size(), factIndex.size());
+  }
+
+  @Override
+  public void stopComponent() {
+    if (log != null) log.close();
+  }
+
+  /* FactTypeEntity-related methods */
+
+  @Override
+  public FactTypeEntity getFactType(UUID id) {
+    if (id == null) return null;
+    // Hand out copies such that callers modifying a FactType don't change the published FactType.
+    return ObjectUtils.ifNotNull(factTypesByID.get(id), FactTypeEntity::clone);
+  }
+
+  @Override
+  public FactTypeEntity getFactType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+    return ObjectUtils.ifNotNull(factTypesByName.get(name), FactTypeEntity::clone);
+  }
+
+  @Override
+  public List<FactTypeEntity> fetchFactTypes() {
+    return factTypesByID.values().stream()
+            .map(FactTypeEntity::clone)
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public synchronized FactTypeEntity saveFactType(FactTypeEntity type) {
+    if (type == null) return null;
+
+    // It's not allowed to add a FactType with the same name, but if the IDs are equal this is updating an existing FactType.
+    FactTypeEntity existing = getFactType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId())) {
+      throw new IllegalArgumentException(String.format("FactType with name = %s already exists.", type.getName()));
+    }
+
+    log.append(FACT_TYPE_RECORD, EntityCodec.encodeFactType(type));
+    // Publish a copy such that modifications of the given entity are not visible to other callers.
+    publishFactType(type.clone());
+
+    return type;
+  }
+
+  /* FactEntity-related methods */
+
+  @Override
+  public FactEntity getFact(UUID id) {
+    if (id == null) return null;
+
+    long address = factIndex.get(id);
+    return address != UuidLongMap.NO_VALUE ? EntityCodec.decodeFact(log.read(address)) : null;
+  }
+
+  @Override
+  public Iterator<FactEntity> getFacts(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return id.stream()
+            .map(this::getFact)
+            .filter(Objects::nonNull)
+            .iterator();
+  }
+
+  @Override
+  public synchronized FactEntity saveFact(FactEntity fact) {
+    if (fact == null) return null;
+    if (getFactType(fact.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("FactType with id = %s does not exist.", fact.getTypeID()));
+    if (factIndex.get(fact.getId()) != UuidLongMap.NO_VALUE)
+      throw new ImmutableViolationException("It is not allowed to update a Fact");
+
+    factIndex.put(fact.getId(), log.append(FACT_RECORD, EntityCodec.encodeFact(fact)));
+    return fact;
+  }
+
+  @Override
+  public synchronized FactEntity refreshFact(UUID id) {
+    FactEntity fact = getFact(id);
+    if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
+
+    fact.setLastSeenTimestamp(Instant.now(clock).toEpochMilli());
+    factIndex.put(id, log.append(FACT_RECORD, EntityCodec.encodeFact(fact)));
+    return fact;
+  }
+
+  /* FactAclEntity-related methods */
+
+  @Override
+  public List<FactAclEntity> fetchFactAcl(UUID id) {
+    if (id == null) return ListUtils.list();
+    return readAll(factAclIndex.get(id), EntityCodec::decodeFactAcl);
+  }
+
+  @Override
+  public synchronized FactAclEntity saveFactAclEntry(FactAclEntity entry) {
+    if (entry == null) return null;
+    if (getFact(entry.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entry.getFactID()));
+    if (fetchFactAcl(entry.getFactID()).stream().anyMatch(e -> Objects.equals(e.getId(), entry.getId())))
+      throw new ImmutableViolationException("It is not allowed to update an ACL entry.");
+
+    factAclIndex.add(entry.getFactID(), log.append(FACT_ACL_RECORD, EntityCodec.encodeFactAcl(entry)));
+
+    return entry;
+  }
+
+  /* FactCommentEntity-related methods */
+
+  @Override
+  public List<FactCommentEntity> fetchFactComments(UUID id) {
+    if (id == null) return ListUtils.list();
+    return readAll(factCommentIndex.get(id), EntityCodec::decodeFactComment);
+  }
+
+  @Override
+  public synchronized FactCommentEntity saveFactComment(FactCommentEntity comment) {
+    if (comment == null) return null;
+    if (getFact(comment.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", comment.getFactID()));
+    if (fetchFactComments(comment.getFactID()).stream().anyMatch(c -> Objects.equals(c.getId(), comment.getId())))
+      throw new ImmutableViolationException("It is not allowed to update a comment.");
+
+    factCommentIndex.add(comment.getFactID(), log.append(FACT_COMMENT_RECORD, EntityCodec.encodeFactComment(comment)));
+
+    return comment;
+  }
+
+  /* MetaFactBindingEntity-related methods */
+
+  @Override
+  public List<MetaFactBindingEntity> fetchMetaFactBindings(UUID id) {
+    if (id == null) return ListUtils.list();
+    return readAll(metaFactBindingIndex.get(id), EntityCodec::decodeMetaFactBinding);
+  }
+
+  @Override
+  public synchronized MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding) {
+    if (binding == null) return null;
+    if (getFact(binding.getFactID()) == null)
+      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", binding.getFactID()));
+    if (fetchMetaFactBindings(binding.getFactID()).stream().anyMatch(b -> Objects.equals(b.getMetaFactID(), binding.getMetaFactID())))
+      throw new ImmutableViolationException("It is not allowed to update a MetaFactBinding.");
+
+    metaFactBindingIndex.add(binding.getFactID(), log.append(META_FACT_BINDING_RECORD, EntityCodec.encodeMetaFactBinding(binding)));
+
+    return binding;
+  }
+
+  /* Private helper methods */
+
+  private void replay(long address, byte type, ByteBuffer payload) {
+    switch (type) {
+      case FACT_TYPE_RECORD:
+        publishFactType(EntityCodec.decodeFactType(payload));
+        break;
+      case FACT_RECORD:
+        // A refreshed Fact is appended again, the last record always wins.
+        factIndex.put(EntityCodec.decodeFact(payload).getId(), address);
+        break;
+      case FACT_ACL_RECORD:
+        factAclIndex.add(EntityCodec.decodeFactAcl(payload).getFactID(), address);
+        break;
+      case FACT_COMMENT_RECORD:
+        factCommentIndex.add(EntityCodec.decodeFactComment(payload).getFactID(), address);
+        break;
+      case META_FACT_BINDING_RECORD:
+        metaFactBindingIndex.add(EntityCodec.decodeMetaFactBinding(payload).getFactID(), address);
+        break;
+      default:
+        throw new IllegalStateException(String.format("Unknown record type %d in log %s.", type, LOG_NAME));
+    }
+  }
+
+  private void publishFactType(FactTypeEntity type) {
+    FactTypeEntity previous = factTypesByID.put(type.getId(), type);
+    // Remove the old name if an existing FactType was renamed.
+    if (previous != null && !Objects.equals(previous.getName(), type.getName())) {
+      factTypesByName.remove(previous.getName());
+    }
+    factTypesByName.put(type.getName(), type);
+  }
+
+  private <T> List<T> readAll(long[] addresses, Function<ByteBuffer, T> decoder) {
+    return Arrays.stream(addresses)
+            .mapToObj(address -> decoder.apply(log.read(address)))
+            .collect(Collectors.toList());
+  }
+
+  EmbeddedFactManager withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  EmbeddedFactManager withSegmentSize(int segmentSize) {
+    this.segmentSize = String.valueOf(segmentSize);
+    return this;
+  }
+
+}
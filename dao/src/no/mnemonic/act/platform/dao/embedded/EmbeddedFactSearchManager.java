@@ -0,0 +1,447 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import no.mnemonic.act.platform.dao.api.*;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * FactSearchManager which stores the indexed {@link FactDocument}s in a {@link SegmentLog} inside the local storage
+ * directory and searches them with an in-process {@link InvertedIndex}.
+ * <p>
+ * All exact-match criteria (IDs, names and values) as well as the tokens of the fields used for keyword searches are
+ * indexed. A search intersects the posting lists of the specified criteria and only decodes the remaining candidates
+ * which are verified against the complete criteria, including access control and timestamps. Keyword searches match
+ * whole tokens of the searched fields, similar to the 'simple_query_string' query used with ElasticSearch (but
+ * without support for its query syntax). Search results are returned with the most recently indexed Facts first.
+ * <p>
+ * Indexing an already indexed Fact appends the new document to the log and points the index to it, old postings
+ * are skipped during searches. The index is rebuilt by replaying the log on startup.
+ */
+@Singleton
+public class EmbeddedFactSearchManager implements FactSearchManager, LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(EmbeddedFactSearchManager.class);
+
+  private static final String LOG_NAME = "documents";
+  private static final byte FACT_DOCUMENT_RECORD = 1;
+  private static final int MAX_RESULT_WINDOW = 10_000; // Same value as used with ElasticSearch.
+  private static final String ALL_DOCUMENTS = "*";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectReader FACT_DOCUMENT_READER = MAPPER.readerFor(FactDocument.class);
+  private static final ObjectWriter FACT_DOCUMENT_WRITER = MAPPER.writerFor(FactDocument.class);
+
+  private final String directory;
+
+  // Size (in bytes) of each segment file. A single record can't be larger than one segment.
+  @com.google.inject.Inject(optional = true)
+  @Named("embedded.storage.segment.size")
+  private String segmentSize = "67108864";
+
+  private final UuidLongMap documentIndex = new UuidLongMap();
+  private final InvertedIndex invertedIndex = new InvertedIndex();
+
+  private SegmentLog log;
+
+  @Inject
+  public EmbeddedFactSearchManager(@Named("embedded.storage.directory") String directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void startComponent() {
+    log = new SegmentLog(Paths.get(directory), LOG_NAME, Integer.parseInt(segmentSize));
+    log.open((address, type, payload) -> {
+      if (type != FACT_DOCUMENT_RECORD) {
+        throw new IllegalStateException(String.format("Unknown record type %d in log %s.", type, LOG_NAME));
+      }
+      indexDocument(decodeDocument(payload), address);
+    });
+    LOGGER.info("Opened search index in %s with %d Facts.", directory, documentIndex.size());
+  }
+
+  @Override
+  public void stopComponent() {
+    if (log != null) log.close();
+  }
+
+  @Override
+  public FactDocument getFact(UUID id) {
+    if (id == null) return null;
+
+    long address = documentIndex.get(id);
+    return address != UuidLongMap.NO_VALUE ? decodeDocument(log.read(address)) : null;
+  }
+
+  @Override
+  public FactDocument getFact(UUID id, long timestamp) {
+    // All Facts are stored in the same log, the timestamp isn't required to locate them.
+    return getFact(id);
+  }
+
+  @Override
+  public synchronized FactDocument indexFact(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return null;
+
+    indexDocument(fact, log.append(FACT_DOCUMENT_RECORD, encodeDocument(fact)));
+    return fact;
+  }
+
+  @Override
+  public SearchResult<FactDocument> retrieveExistingFacts(FactExistenceSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<FactDocument>builder().build();
+
+    long[] candidates = invertedIndex.get(term("typeID", criteria.getFactTypeID()));
+    for (FactExistenceSearchCriteria.ObjectExistence object : SetUtils.set(criteria.getObjects())) {
+      candidates = InvertedIndex.intersect(candidates, invertedIndex.get(term("objectID", object.getObjectID())));
+    }
+
+    Set<List<Object>> objects = SetUtils.set(criteria.getObjects(), o -> Arrays.asList(o.getObjectID(), o.getDirection().name()));
+    List<FactDocument> result = decodeCandidates(candidates)
+            .filter(fact -> Objects.equals(fact.getTypeID(), criteria.getFactTypeID()))
+            .filter(fact -> Objects.equals(fact.getSourceID(), criteria.getSourceID()))
+            .filter(fact -> Objects.equals(fact.getOrganizationID(), criteria.getOrganizationID()))
+            .filter(fact -> Objects.equals(name(fact.getAccessMode()), name(criteria.getAccessMode())))
+            .filter(fact -> Objects.equals(fact.getValue(), criteria.getFactValue()))
+            .filter(fact -> criteria.getInReferenceTo() == null || criteria.getInReferenceTo().equals(fact.getInReferenceTo()))
+            .filter(fact -> objects.isEmpty() || objects.equals(SetUtils.set(fact.getObjects(), o -> Arrays.asList(o.getId(), name(o.getDirection())))))
+            .collect(Collectors.toList());
+
+    return SearchResult.<FactDocument>builder()
+            .setCount(result.size())
+            .setValues(result)
+            .build();
+  }
+
+  @Override
+  public SearchResult<FactDocument> searchFacts(FactSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<FactDocument>builder().build();
+
+    List<FactDocument> result = searchMatchingFacts(criteria).collect(Collectors.toList());
+    return SearchResult.<FactDocument>builder()
+            .setLimit(criteria.getLimit())
+            .setCount(result.size())
+            .setValues(result.subList(0, Math.min(result.size(), calculateMaximumSize(criteria))))
+            .build();
+  }
+
+  @Override
+  public SearchResult<ObjectDocument> searchObjects(FactSearchCriteria criteria) {
+    if (criteria == null) return SearchResult.<ObjectDocument>builder().build();
+
+    Map<UUID, ObjectDocument> result = new LinkedHashMap<>();
+    searchMatchingFacts(criteria)
+            .flatMap(fact -> SetUtils.set(fact.getObjects()).stream())
+            .filter(object -> matches(criteria.getObjectID(), object.getId()))
+            .filter(object -> matches(criteria.getObjectTypeID(), object.getTypeID()))
+            .filter(object -> matches(criteria.getObjectTypeName(), object.getTypeName()))
+            .filter(object -> matches(criteria.getObjectValue(), object.getValue()))
+            .forEach(object -> result.putIfAbsent(object.getId(), object));
+
+    return SearchResult.<ObjectDocument>builder()
+            .setLimit(criteria.getLimit())
+            .setCount(result.size())
+            .setValues(result.values().stream().limit(calculateMaximumSize(criteria)).collect(Collectors.toList()))
+            .build();
+  }
+
+  @Override
+  public ObjectStatisticsResult calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
+    if (criteria == null) return ObjectStatisticsResult.builder().build();
+
+    Predicate<FactDocument> accessControl = criteria.isAclAccessOnly()
+            ? fact -> hasAclAccessOnly(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID())
+            : fact -> hasAccess(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID());
+
+    ObjectStatisticsResult.Builder result = ObjectStatisticsResult.builder();
+    for (UUID objectID : SetUtils.set(criteria.getObjectID())) {
+      Map<UUID, List<FactDocument>> factsByType = decodeCandidates(invertedIndex.get(term("objectID", objectID)))
+              .filter(accessControl)
+              .collect(Collectors.groupingBy(FactDocument::getTypeID));
+      factsByType.forEach((typeID, typeFacts) -> result.addStatistic(objectID, new ObjectStatisticsResult.FactStatistic(typeID,
+              typeFacts.size(),
+              typeFacts.stream().mapToLong(FactDocument::getTimestamp).max().orElse(0),
+              typeFacts.stream().mapToLong(FactDocument::getLastSeenTimestamp).max().orElse(0))));
+    }
+
+    return result.build();
+  }
+
+  /* Indexing */
+
+  private void indexDocument(FactDocument fact, long address) {
+    // Publish the postings before the document such that a search never sees a document without postings.
+    invertedIndex.add(address, collectTerms(fact));
+    documentIndex.put(fact.getId(), address);
+  }
+
+  private Set<String> collectTerms(FactDocument fact) {
+    Set<String> terms = new HashSet<>();
+    terms.add(ALL_DOCUMENTS);
+    terms.add(term("typeID", fact.getTypeID()));
+    terms.add(term("typeName", fact.getTypeName()));
+    terms.add(term("value", fact.getValue()));
+    terms.add(term("inReferenceTo", fact.getInReferenceTo()));
+    terms.add(term("organizationID", fact.getOrganizationID()));
+    terms.add(term("organizationName", fact.getOrganizationName()));
+    terms.add(term("sourceID", fact.getSourceID()));
+    terms.add(term("sourceName", fact.getSourceName()));
+    addTokens(terms, "value", fact.getValue());
+    addTokens(terms, "organizationName", fact.getOrganizationName());
+    addTokens(terms, "sourceName", fact.getSourceName());
+
+    for (ObjectDocument object : SetUtils.set(fact.getObjects())) {
+      terms.add(term("objectID", object.getId()));
+      terms.add(term("objectTypeID", object.getTypeID()));
+      terms.add(term("objectTypeName", object.getTypeName()));
+      terms.add(term("objectValue", object.getValue()));
+      addTokens(terms, "objects.value", object.getValue());
+    }
+
+    return terms;
+  }
+
+  private void addTokens(Set<String> terms, String field, String text) {
+    for (String token : InvertedIndex.tokenize(text)) {
+      terms.add(token(field, token));
+    }
+  }
+
+  /* Searching */
+
+  private Stream<FactDocument> searchMatchingFacts(FactSearchCriteria criteria) {
+    return decodeCandidates(selectCandidates(criteria))
+            .filter(fact -> matches(criteria.getFactID(), fact.getId()))
+            .filter(fact -> matches(criteria.getFactTypeID(), fact.getTypeID()))
+            .filter(fact -> matches(criteria.getFactTypeName(), fact.getTypeName()))
+            .filter(fact -> matches(criteria.getFactValue(), fact.getValue()))
+            .filter(fact -> matches(criteria.getInReferenceTo(), fact.getInReferenceTo()))
+            .filter(fact -> matches(criteria.getOrganizationID(), fact.getOrganizationID()))
+            .filter(fact -> matches(criteria.getOrganizationName(), fact.getOrganizationName()))
+            .filter(fact -> matches(criteria.getSourceID(), fact.getSourceID()))
+            .filter(fact -> matches(criteria.getSourceName(), fact.getSourceName()))
+            .filter(fact -> matchesObjects(criteria.getObjectID(), fact, ObjectDocument::getId))
+            .filter(fact -> matchesObjects(criteria.getObjectTypeID(), fact, ObjectDocument::getTypeID))
+            .filter(fact -> matchesObjects(criteria.getObjectTypeName(), fact, ObjectDocument::getTypeName))
+            .filter(fact -> matchesObjects(criteria.getObjectValue(), fact, ObjectDocument::getValue))
+            .filter(fact -> criteria.getRetracted() == null || criteria.getRetracted() == fact.isRetracted())
+            .filter(fact -> matchesKeywords(criteria, fact))
+            .filter(fact -> matchesTimestamps(criteria, fact))
+            .filter(fact -> hasAccess(fact, criteria.getCurrentUserID(), criteria.getAvailableOrganizationID()));
+  }
+
+  private long[] selectCandidates(FactSearchCriteria criteria) {
+    List<long[]> postings = new ArrayList<>();
+    addPostings(postings, "typeID", criteria.getFactTypeID());
+    addPostings(postings, "typeName", criteria.getFactTypeName());
+    addPostings(postings, "value", criteria.getFactValue());
+    addPostings(postings, "inReferenceTo", criteria.getInReferenceTo());
+    addPostings(postings, "organizationID", criteria.getOrganizationID());
+    addPostings(postings, "organizationName", criteria.getOrganizationName());
+    addPostings(postings, "sourceID", criteria.getSourceID());
+    addPostings(postings, "sourceName", criteria.getSourceName());
+    addPostings(postings, "objectID", criteria.getObjectID());
+    addPostings(postings, "objectTypeID", criteria.getObjectTypeID());
+    addPostings(postings, "objectTypeName", criteria.getObjectTypeName());
+    addPostings(postings, "objectValue", criteria.getObjectValue());
+    addKeywordPostings(postings, criteria);
+
+    if (!CollectionUtils.isEmpty(criteria.getFactID())) {
+      postings.add(criteria.getFactID().stream()
+              .mapToLong(documentIndex::get)
+              .filter(address -> address != UuidLongMap.NO_VALUE)
+              .sorted()
+              .toArray());
+    }
+
+    // Without any indexed criteria all documents need to be verified.
+    if (postings.isEmpty()) return invertedIndex.get(ALL_DOCUMENTS);
+
+    // Start with the shortest list, the intersection can only become shorter.
+    postings.sort(Comparator.comparingInt(list -> list.length));
+    long[] candidates = postings.get(0);
+    for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+      candidates = InvertedIndex.intersect(candidates, postings.get(i));
+    }
+
+    return candidates;
+  }
+
+  private void addPostings(List<long[]> postings, String field, Set<?> values) {
+    if (CollectionUtils.isEmpty(values)) return;
+    postings.add(invertedIndex.getAny(values.stream().map(value -> term(field, value)).collect(Collectors.toList())));
+  }
+
+  private void addKeywordPostings(List<long[]> postings, FactSearchCriteria criteria) {
+    if (StringUtils.isBlank(criteria.getKeywords())) return;
+
+    Set<String> keywords = InvertedIndex.tokenize(criteria.getKeywords());
+    List<long[]> fieldPostings = resolveKeywordFields(criteria).stream()
+            .map(field -> invertedIndex.getAny(keywords.stream().map(keyword -> token(field, keyword)).collect(Collectors.toList())))
+            .collect(Collectors.toList());
+    if (fieldPostings.isEmpty()) return;
+
+    long[] result = fieldPostings.get(0);
+    for (int i = 1; i < fieldPostings.size(); i++) {
+      result = criteria.getKeywordMatchStrategy() == FactSearchCriteria.MatchStrategy.all
+              ? InvertedIndex.intersect(result, fieldPostings.get(i))
+              : InvertedIndex.union(result, fieldPostings.get(i));
+    }
+    postings.add(result);
+  }
+
+  private Stream<FactDocument> decodeCandidates(long[] candidates) {
+    // Iterate backwards in order to return the most recently indexed Facts first.
+    return LongStream.range(0, candidates.length)
+            .map(i -> candidates[candidates.length - 1 - (int) i])
+            .mapToObj(address -> {
+              FactDocument fact = decodeDocument(log.read(address));
+              // Skip stale postings of Facts which have been indexed again.
+              return documentIndex.get(fact.getId()) == address ? fact : null;
+            })
+            .filter(Objects::nonNull);
+  }
+
+  private boolean matchesKeywords(FactSearchCriteria criteria, FactDocument fact) {
+    if (StringUtils.isBlank(criteria.getKeywords())) return true;
+
+    Set<String> keywords = InvertedIndex.tokenize(criteria.getKeywords());
+    Stream<Boolean> fieldMatches = resolveKeywordFields(criteria).stream().map(field -> resolveValues(fact, field).stream()
+            .anyMatch(value -> InvertedIndex.tokenize(value).stream().anyMatch(keywords::contains)));
+    return criteria.getKeywordMatchStrategy() == FactSearchCriteria.MatchStrategy.all
+            ? fieldMatches.allMatch(Boolean::booleanValue)
+            : fieldMatches.anyMatch(Boolean::booleanValue);
+  }
+
+  private boolean matchesTimestamps(FactSearchCriteria criteria, FactDocument fact) {
+    if (criteria.getStartTimestamp() == null && criteria.getEndTimestamp() == null) return true;
+
+    long start = criteria.getStartTimestamp() != null && criteria.getStartTimestamp() > 0 ? criteria.getStartTimestamp() : Long.MIN_VALUE;
+    long end = criteria.getEndTimestamp() != null && criteria.getEndTimestamp() > 0 ? criteria.getEndTimestamp() : Long.MAX_VALUE;
+    Stream<Boolean> fieldMatches = criteria.getTimeFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            .distinct()
+            .map(field -> "timestamp".equals(field) ? fact.getTimestamp() : fact.getLastSeenTimestamp())
+            .map(timestamp -> timestamp >= start && timestamp <= end);
+    return criteria.getTimeMatchStrategy() == FactSearchCriteria.MatchStrategy.all
+            ? fieldMatches.allMatch(Boolean::booleanValue)
+            : fieldMatches.anyMatch(Boolean::booleanValue);
+  }
+
+  private Set<String> resolveKeywordFields(FactSearchCriteria criteria) {
+    return criteria.getKeywordFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            // Strip the suffix of the multi-fields, e.g. 'value.text' is matched against 'value'.
+            .map(field -> field.substring(0, field.lastIndexOf('.')))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private Set<String> resolveValues(FactDocument fact, String field) {
+    switch (field) {
+      case "value":
+        return SetUtils.set(fact.getValue());
+      case "objects.value":
+        return SetUtils.set(fact.getObjects(), ObjectDocument::getValue);
+      case "organizationName":
+        return SetUtils.set(fact.getOrganizationName());
+      case "sourceName":
+        return SetUtils.set(fact.getSourceName());
+      default:
+        return Collections.emptySet();
+    }
+  }
+
+  private boolean hasAccess(FactDocument fact, UUID currentUserID, Set<UUID> availableOrganizationID) {
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) return true;
+    if (SetUtils.set(fact.getAcl()).contains(currentUserID)) return true;
+    return fact.getAccessMode() == FactDocument.AccessMode.RoleBased && SetUtils.set(availableOrganizationID).contains(fact.getOrganizationID());
+  }
+
+  private boolean hasAclAccessOnly(FactDocument fact, UUID currentUserID, Set<UUID> availableOrganizationID) {
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) return false;
+    if (fact.getAccessMode() == FactDocument.AccessMode.RoleBased && SetUtils.set(availableOrganizationID).contains(fact.getOrganizationID()))
+      return false;
+    return SetUtils.set(fact.getAcl()).contains(currentUserID);
+  }
+
+  private <T> boolean matches(Set<T> criteria, T value) {
+    return CollectionUtils.isEmpty(criteria) || criteria.contains(value);
+  }
+
+  private <T> boolean matchesObjects(Set<T> criteria, FactDocument fact, Function<ObjectDocument, T> field) {
+    return CollectionUtils.isEmpty(criteria) || SetUtils.set(fact.getObjects()).stream().map(field).anyMatch(criteria::contains);
+  }
+
+  private int calculateMaximumSize(FactSearchCriteria criteria) {
+    return criteria.getLimit() > 0 && criteria.getLimit() < MAX_RESULT_WINDOW ? criteria.getLimit() : MAX_RESULT_WINDOW;
+  }
+
+  /* Encoding */
+
+  private byte[] encodeDocument(FactDocument fact) {
+    try {
+      // The ID isn't part of the JSON representation, store it in front of it.
+      byte[] json = FACT_DOCUMENT_WRITER.writeValueAsBytes(fact);
+      return ByteBuffer.allocate(Long.BYTES * 2 + json.length)
+              .putLong(fact.getId().getMostSignificantBits())
+              .putLong(fact.getId().getLeastSignificantBits())
+              .put(json)
+              .array();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not encode Fact with id = %s.", fact.getId()), ex);
+    }
+  }
+
+  private FactDocument decodeDocument(ByteBuffer payload) {
+    UUID id = new UUID(payload.getLong(), payload.getLong());
+    try {
+      FactDocument fact = FACT_DOCUMENT_READER.readValue(new ByteBufferBackedInputStream(payload));
+      return fact.setId(id);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not decode Fact with id = %s.", id), ex);
+    }
+  }
+
+  private static String term(String field, Object value) {
+    return field + "=" + value;
+  }
+
+  private static String token(String field, String token) {
+    return field + "~" + token;
+  }
+
+  private static String name(Enum<?> value) {
+    return value != null ? value.name() : null;
+  }
+
+  EmbeddedFactSearchManager withSegmentSize(int segmentSize) {
+    this.segmentSize = String.valueOf(segmentSize);
+    return this;
+  }
+
+}
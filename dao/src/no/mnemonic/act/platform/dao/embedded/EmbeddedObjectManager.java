@@ -0,0 +1,388 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * ObjectManager which stores all entities in a {@link SegmentLog} inside the local storage directory. Objects are
+ * located through primitive hash indices from their UUID and from their type and value to their address in the log.
+ * The bindings between Objects and Facts are indexed by the UUID of the Object. ObjectTypes are few and kept in memory.
+ * <p>
+ * The statistics about Facts bound to Objects are kept in memory. Every update of the statistics is appended to the
+ * log, thus, the statistics are restored by replaying the log on startup.
+ */
+@Singleton
+public class EmbeddedObjectManager implements ObjectManager, LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(EmbeddedObjectManager.class);
+
+  private static final String LOG_NAME = "objects";
+  private static final byte OBJECT_TYPE_RECORD = 1;
+  private static final byte OBJECT_RECORD = 2;
+  private static final byte OBJECT_FACT_BINDING_RECORD = 3;
+  private static final byte STATISTICS_INCREMENT_RECORD = 4;
+  private static final byte STATISTICS_REFRESH_RECORD = 5;
+
+  private final String directory;
+
+  // Size (in bytes) of each segment file. A single record can't be larger than one segment.
+  @com.google.inject.Inject(optional = true)
+  @Named("embedded.storage.segment.size")
+  private String segmentSize = "67108864";
+
+  private final Map<UUID, ObjectTypeEntity> objectTypesByID = new ConcurrentHashMap<>();
+  private final Map<String, ObjectTypeEntity> objectTypesByName = new ConcurrentHashMap<>();
+  private final UuidLongMap objectIndex = new UuidLongMap();
+  // Keyed by a name-based UUID computed from type and value. Collisions are resolved by comparing the decoded Objects.
+  private final UuidLongMultiMap objectByTypeValueIndex = new UuidLongMultiMap();
+  private final UuidLongMultiMap objectFactBindingIndex = new UuidLongMultiMap();
+  private final Map<UUID, Map<StatisticsKey, Statistics>> statistics = new ConcurrentHashMap<>();
+
+  private SegmentLog log;
+
+  @Inject
+  public EmbeddedObjectManager(@Named("embedded.storage.directory") String directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public void startComponent() {
+    log = new SegmentLog(Paths.get(directory), LOG_NAME, Integer.parseInt(segmentSize));
+    log.open(this::replay);
+    LOGGER.info("Opened Object storage in %s with %d ObjectTypes and %d Objects.", directory, objectTypesByID.size(), objectIndex.size());
+  }
+
+  @Override
+  public void stopComponent() {
+    if (log != null) log.close();
+  }
+
+  /* ObjectTypeEntity-related methods */
+
+  @Override
+  public ObjectTypeEntity getObjectType(UUID id) {
+    if (id == null) return null;
+    // Hand out copies such that callers modifying a ObjectType don't change the published ObjectType.
+    return ObjectUtils.ifNotNull(objectTypesByID.get(id), ObjectTypeEntity::clone);
+  }
+
+  @Override
+  public ObjectTypeEntity getObjectType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+    return ObjectUtils.ifNotNull(objectTypesByName.get(name), ObjectTypeEntity::clone);
+  }
+
+  @Override
+  public List<ObjectTypeEntity> fetchObjectTypes() {
+    return objectTypesByID.values().stream()
+            .map(ObjectTypeEntity::clone)
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public synchronized ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
+    if (type == null) return null;
+
+    // It's not allowed to add an ObjectType with the same name, but if the IDs are equal this is updating an existing ObjectType.
+    ObjectTypeEntity existing = getObjectType(type.getName());
+    if (existing != null && !existing.getId().equals(type.getId())) {
+      throw new IllegalArgumentException(String.format("ObjectType with name = %s already exists.", type.getName()));
+    }
+
+    log.append(OBJECT_TYPE_RECORD, EntityCodec.encodeObjectType(type));
+    // Publish a copy such that modifications of the given entity are not visible to other callers.
+    publishObjectType(type.clone());
+
+    return type;
+  }
+
+  /* ObjectEntity-related methods */
+
+  @Override
+  public ObjectEntity getObject(UUID id) {
+    if (id == null) return null;
+
+    long address = objectIndex.get(id);
+    return address != UuidLongMap.NO_VALUE ? EntityCodec.decodeObject(log.read(address)) : null;
+  }
+
+  @Override
+  public ObjectEntity getObject(String type, String value) {
+    if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
+
+    ObjectTypeEntity objectType = getObjectType(type);
+    if (objectType == null) throw new IllegalArgumentException(String.format("ObjectType with name = %s does not exist.", type));
+
+    return findObject(objectType.getId(), value);
+  }
+
+  @Override
+  public Iterator<ObjectEntity> getObjects(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return id.stream()
+            .map(this::getObject)
+            .filter(Objects::nonNull)
+            .iterator();
+  }
+
+  @Override
+  public synchronized ObjectEntity saveObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+
+    // It's not allowed to create the same object multiple times.
+    if (objectIndex.get(object.getId()) != UuidLongMap.NO_VALUE || findObject(object.getTypeID(), object.getValue()) != null) {
+      throw new ImmutableViolationException("Object already exists.");
+    }
+
+    return insertObject(object);
+  }
+
+  @Override
+  public synchronized ObjectEntity getOrCreateObject(ObjectEntity object) {
+    if (object == null) return null;
+    if (getObjectType(object.getTypeID()) == null)
+      throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
+
+    // All writes are serialized, thus, checking and inserting is atomic.
+    ObjectEntity existing = findObject(object.getTypeID(), object.getValue());
+    return existing != null ? existing : insertObject(object);
+  }
+
+  /* ObjectFactBindingEntity-related methods */
+
+  @Override
+  public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+    if (id == null) return ListUtils.list();
+    return Arrays.stream(objectFactBindingIndex.get(id))
+            .mapToObj(address -> EntityCodec.decodeObjectFactBinding(log.read(address)))
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public synchronized ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
+    if (binding == null) return null;
+    if (getObject(binding.getObjectID()) == null)
+      throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+    if (fetchObjectFactBindings(binding.getObjectID()).stream().anyMatch(b -> Objects.equals(b.getFactID(), binding.getFactID())))
+      throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+
+    objectFactBindingIndex.add(binding.getObjectID(), log.append(OBJECT_FACT_BINDING_RECORD, EntityCodec.encodeObjectFactBinding(binding)));
+
+    return binding;
+  }
+
+  /* ObjectStatisticsEntity-related methods */
+
+  @Override
+  public List<ObjectStatisticsEntity> fetchObjectStatistics(UUID id) {
+    if (id == null) return ListUtils.list();
+
+    Map<StatisticsKey, Statistics> objectStatistics = statistics.get(id);
+    if (objectStatistics == null) return ListUtils.list();
+
+    // Copy the statistics while holding the lock such that every entry is consistent.
+    synchronized (this) {
+      return objectStatistics.entrySet().stream()
+              .map(entry -> new ObjectStatisticsEntity()
+                      .setObjectID(id)
+                      .setFactTypeID(entry.getKey().factTypeID)
+                      .setAccessMode(entry.getKey().accessMode)
+                      .setOrganizationID(entry.getKey().organizationID)
+                      .setFactCount(entry.getValue().factCount)
+                      .setLastAddedTimestamp(entry.getValue().lastAddedTimestamp)
+                      .setLastSeenTimestamp(entry.getValue().lastSeenTimestamp))
+              .collect(Collectors.toList());
+    }
+  }
+
+  @Override
+  public synchronized void incrementObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    log.append(STATISTICS_INCREMENT_RECORD, encodeStatisticsUpdate(fact));
+    updateStatistics(fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID(), fact.getTimestamp(),
+            fact.getLastSeenTimestamp(), collectBoundObjects(fact), true);
+  }
+
+  @Override
+  public synchronized void refreshObjectStatistics(FactEntity fact) {
+    if (fact == null) return;
+
+    log.append(STATISTICS_REFRESH_RECORD, encodeStatisticsUpdate(fact));
+    updateStatistics(fact.getTypeID(), fact.getAccessMode(), fact.getOrganizationID(), fact.getTimestamp(),
+            fact.getLastSeenTimestamp(), collectBoundObjects(fact), false);
+  }
+
+  /* Private helper methods */
+
+  private void replay(long address, byte type, ByteBuffer payload) {
+    switch (type) {
+      case OBJECT_TYPE_RECORD:
+        publishObjectType(EntityCodec.decodeObjectType(payload));
+        break;
+      case OBJECT_RECORD:
+        indexObject(EntityCodec.decodeObject(payload), address);
+        break;
+      case OBJECT_FACT_BINDING_RECORD:
+        objectFactBindingIndex.add(EntityCodec.decodeObjectFactBinding(payload).getObjectID(), address);
+        break;
+      case STATISTICS_INCREMENT_RECORD:
+        replayStatisticsUpdate(payload, true);
+        break;
+      case STATISTICS_REFRESH_RECORD:
+        replayStatisticsUpdate(payload, false);
+        break;
+      default:
+        throw new IllegalStateException(String.format("Unknown record type %d in log %s.", type, LOG_NAME));
+    }
+  }
+
+  private ObjectEntity insertObject(ObjectEntity object) {
+    // Statistics are maintained for all Facts bound to the Object from the beginning.
+    object.setStatisticsTracked(true);
+    indexObject(object, log.append(OBJECT_RECORD, EntityCodec.encodeObject(object)));
+    return object;
+  }
+
+  private void indexObject(ObjectEntity object, long address) {
+    objectIndex.put(object.getId(), address);
+    objectByTypeValueIndex.add(toTypeValueKey(object.getTypeID(), object.getValue()), address);
+  }
+
+  private ObjectEntity findObject(UUID typeID, String value) {
+    for (long address : objectByTypeValueIndex.get(toTypeValueKey(typeID, value))) {
+      ObjectEntity candidate = EntityCodec.decodeObject(log.read(address));
+      if (Objects.equals(candidate.getTypeID(), typeID) && Objects.equals(candidate.getValue(), value)) {
+        return candidate;
+      }
+    }
+
+    return null;
+  }
+
+  private void publishObjectType(ObjectTypeEntity type) {
+    ObjectTypeEntity previous = objectTypesByID.put(type.getId(), type);
+    // Remove the old name if an existing ObjectType was renamed.
+    if (previous != null && !Objects.equals(previous.getName(), type.getName())) {
+      objectTypesByName.remove(previous.getName());
+    }
+    objectTypesByName.put(type.getName(), type);
+  }
+
+  private byte[] encodeStatisticsUpdate(FactEntity fact) {
+    Set<UUID> objectID = collectBoundObjects(fact);
+    return EntityCodec.encode(out -> {
+      EntityCodec.writeUUID(out, fact.getTypeID());
+      out.writeInt(fact.getAccessMode() != null ? fact.getAccessMode().value() : -1);
+      EntityCodec.writeUUID(out, fact.getOrganizationID());
+      out.writeLong(fact.getTimestamp());
+      out.writeLong(fact.getLastSeenTimestamp());
+      out.writeInt(objectID.size());
+      for (UUID id : objectID) {
+        EntityCodec.writeUUID(out, id);
+      }
+    });
+  }
+
+  private void replayStatisticsUpdate(ByteBuffer payload, boolean increment) {
+    EntityCodec.verifyVersion(payload);
+    UUID factTypeID = EntityCodec.readUUID(payload);
+    AccessMode accessMode = AccessMode.getValueMap().get(payload.getInt());
+    UUID organizationID = EntityCodec.readUUID(payload);
+    long timestamp = payload.getLong();
+    long lastSeenTimestamp = payload.getLong();
+    Set<UUID> objectID = new HashSet<>();
+    for (int count = payload.getInt(); count > 0; count--) {
+      objectID.add(EntityCodec.readUUID(payload));
+    }
+
+    updateStatistics(factTypeID, accessMode, organizationID, timestamp, lastSeenTimestamp, objectID, increment);
+  }
+
+  private void updateStatistics(UUID factTypeID, AccessMode accessMode, UUID organizationID, long timestamp,
+                                long lastSeenTimestamp, Set<UUID> objectID, boolean increment) {
+    StatisticsKey key = new StatisticsKey(factTypeID, accessMode, organizationID);
+    for (UUID id : objectID) {
+      Statistics entry = statistics.computeIfAbsent(id, i -> new ConcurrentHashMap<>())
+              .computeIfAbsent(key, k -> new Statistics());
+      if (increment) {
+        entry.factCount++;
+        entry.lastAddedTimestamp = Math.max(entry.lastAddedTimestamp, timestamp);
+      }
+      entry.lastSeenTimestamp = Math.max(entry.lastSeenTimestamp, lastSeenTimestamp);
+    }
+  }
+
+  private Set<UUID> collectBoundObjects(FactEntity fact) {
+    // A Fact binding the same Object twice is only counted once (same as when calculating statistics from ElasticSearch).
+    Set<UUID> objectID = new HashSet<>();
+    for (int i = 0; i < fact.getBindingCount(); i++) {
+      objectID.add(fact.getBindingObjectID(i));
+    }
+    return objectID;
+  }
+
+  private static UUID toTypeValueKey(UUID typeID, String value) {
+    return UUID.nameUUIDFromBytes((typeID + value).getBytes(StandardCharsets.UTF_8));
+  }
+
+  EmbeddedObjectManager withSegmentSize(int segmentSize) {
+    this.segmentSize = String.valueOf(segmentSize);
+    return this;
+  }
+
+  private static class StatisticsKey {
+    private final UUID factTypeID;
+    private final AccessMode accessMode;
+    private final UUID organizationID;
+
+    private StatisticsKey(UUID factTypeID, AccessMode accessMode, UUID organizationID) {
+      this.factTypeID = factTypeID;
+      this.accessMode = accessMode;
+      this.organizationID = organizationID;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      StatisticsKey that = (StatisticsKey) o;
+      return Objects.equals(factTypeID, that.factTypeID) &&
+              accessMode == that.accessMode &&
+              Objects.equals(organizationID, that.organizationID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(factTypeID, accessMode, organizationID);
+    }
+  }
+
+  private static class Statistics {
+    // Only modified while holding the lock on the EmbeddedObjectManager.
+    private long factCount;
+    private long lastAddedTimestamp;
+    private long lastSeenTimestamp;
+  }
+
+}
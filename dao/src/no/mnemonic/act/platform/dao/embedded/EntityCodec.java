@@ -0,0 +1,340 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the entities stored in a {@link SegmentLog}. Fields are written in a fixed order
+ * without any field names, UUIDs as two longs and Strings as UTF-8 prefixed by their length.
+ * <p>
+ * The encoding of each entity starts with a format version. When an entity changes a new version must be added
+ * while the old versions must still be decodable, otherwise existing logs can't be replayed anymore.
+ */
+class EntityCodec {
+
+  private static final byte FORMAT_VERSION = 1;
+  private static final int NULL_LENGTH = -1;
+
+  private EntityCodec() {
+  }
+
+  /* FactTypeEntity */
+
+  static byte[] encodeFactType(FactTypeEntity type) {
+    return encode(out -> {
+      writeUUID(out, type.getId());
+      writeUUID(out, type.getNamespaceID());
+      writeString(out, type.getName());
+      writeString(out, type.getValidator());
+      writeString(out, type.getValidatorParameter());
+      writeString(out, type.getRelevantObjectBindingsStored());
+      writeString(out, type.getRelevantFactBindingsStored());
+    });
+  }
+
+  static FactTypeEntity decodeFactType(ByteBuffer in) {
+    verifyVersion(in);
+    return new FactTypeEntity()
+            .setId(readUUID(in))
+            .setNamespaceID(readUUID(in))
+            .setName(readString(in))
+            .setValidator(readString(in))
+            .setValidatorParameter(readString(in))
+            .setRelevantObjectBindingsStored(readString(in))
+            .setRelevantFactBindingsStored(readString(in));
+  }
+
+  /* ObjectTypeEntity */
+
+  static byte[] encodeObjectType(ObjectTypeEntity type) {
+    return encode(out -> {
+      writeUUID(out, type.getId());
+      writeUUID(out, type.getNamespaceID());
+      writeString(out, type.getName());
+      writeString(out, type.getValidator());
+      writeString(out, type.getValidatorParameter());
+    });
+  }
+
+  static ObjectTypeEntity decodeObjectType(ByteBuffer in) {
+    verifyVersion(in);
+    return new ObjectTypeEntity()
+            .setId(readUUID(in))
+            .setNamespaceID(readUUID(in))
+            .setName(readString(in))
+            .setValidator(readString(in))
+            .setValidatorParameter(readString(in));
+  }
+
+  /* FactEntity */
+
+  static byte[] encodeFact(FactEntity fact) {
+    return encode(out -> {
+      writeUUID(out, fact.getId());
+      writeUUID(out, fact.getTypeID());
+      writeString(out, fact.getValue());
+      writeUUID(out, fact.getInReferenceToID());
+      writeUUID(out, fact.getOrganizationID());
+      writeUUID(out, fact.getSourceID());
+      writeEnum(out, fact.getAccessMode());
+      out.writeInt(fact.getConfidenceLevel());
+      out.writeLong(fact.getTimestamp());
+      out.writeLong(fact.getLastSeenTimestamp());
+      // Facts created through the FactManager always have their bindings in the binary format.
+      writeBytes(out, fact.getBindingsBinary());
+    });
+  }
+
+  static FactEntity decodeFact(ByteBuffer in) {
+    verifyVersion(in);
+    return new FactEntity()
+            .setId(readUUID(in))
+            .setTypeID(readUUID(in))
+            .setValue(readString(in))
+            .setInReferenceToID(readUUID(in))
+            .setOrganizationID(readUUID(in))
+            .setSourceID(readUUID(in))
+            .setAccessMode(readEnum(in, AccessMode.getValueMap()))
+            .setConfidenceLevel(in.getInt())
+            .setTimestamp(in.getLong())
+            .setLastSeenTimestamp(in.getLong())
+            // The bindings are not copied, they point directly into the mapped segment.
+            .setBindingsBinary(readBytes(in));
+  }
+
+  /* ObjectEntity */
+
+  static byte[] encodeObject(ObjectEntity object) {
+    return encode(out -> {
+      writeUUID(out, object.getId());
+      writeUUID(out, object.getTypeID());
+      writeString(out, object.getValue());
+      out.writeBoolean(object.isStatisticsTracked());
+    });
+  }
+
+  static ObjectEntity decodeObject(ByteBuffer in) {
+    verifyVersion(in);
+    return new ObjectEntity()
+            .setId(readUUID(in))
+            .setTypeID(readUUID(in))
+            .setValue(readString(in))
+            .setStatisticsTracked(in.get() != 0);
+  }
+
+  /* FactAclEntity */
+
+  static byte[] encodeFactAcl(FactAclEntity entry) {
+    return encode(out -> {
+      writeUUID(out, entry.getFactID());
+      writeUUID(out, entry.getId());
+      writeUUID(out, entry.getSubjectID());
+      writeUUID(out, entry.getSourceID());
+      out.writeLong(entry.getTimestamp());
+    });
+  }
+
+  static FactAclEntity decodeFactAcl(ByteBuffer in) {
+    verifyVersion(in);
+    return new FactAclEntity()
+            .setFactID(readUUID(in))
+            .setId(readUUID(in))
+            .setSubjectID(readUUID(in))
+            .setSourceID(readUUID(in))
+            .setTimestamp(in.getLong());
+  }
+
+  /* FactCommentEntity */
+
+  static byte[] encodeFactComment(FactCommentEntity comment) {
+    return encode(out -> {
+      writeUUID(out, comment.getFactID());
+      writeUUID(out, comment.getId());
+      writeUUID(out, comment.getReplyToID());
+      writeUUID(out, comment.getSourceID());
+      writeString(out, comment.getComment());
+      out.writeLong(comment.getTimestamp());
+    });
+  }
+
+  static FactCommentEntity decodeFactComment(ByteBuffer in) {
+    verifyVersion(in);
+    return new FactCommentEntity()
+            .setFactID(readUUID(in))
+            .setId(readUUID(in))
+            .setReplyToID(readUUID(in))
+            .setSourceID(readUUID(in))
+            .setComment(readString(in))
+            .setTimestamp(in.getLong());
+  }
+
+  /* MetaFactBindingEntity */
+
+  static byte[] encodeMetaFactBinding(MetaFactBindingEntity binding) {
+    return encode(out -> {
+      writeUUID(out, binding.getFactID());
+      writeUUID(out, binding.getMetaFactID());
+    });
+  }
+
+  static MetaFactBindingEntity decodeMetaFactBinding(ByteBuffer in) {
+    verifyVersion(in);
+    return new MetaFactBindingEntity()
+            .setFactID(readUUID(in))
+            .setMetaFactID(readUUID(in));
+  }
+
+  /* ObjectFactBindingEntity */
+
+  static byte[] encodeObjectFactBinding(ObjectFactBindingEntity binding) {
+    return encode(out -> {
+      writeUUID(out, binding.getObjectID());
+      writeUUID(out, binding.getFactID());
+      writeEnum(out, binding.getDirection());
+    });
+  }
+
+  static ObjectFactBindingEntity decodeObjectFactBinding(ByteBuffer in) {
+    verifyVersion(in);
+    return new ObjectFactBindingEntity()
+            .setObjectID(readUUID(in))
+            .setFactID(readUUID(in))
+            .setDirection(readEnum(in, Direction.getValueMap()));
+  }
+
+  /* EvidenceEntity */
+
+  static byte[] encodeEvidence(EvidenceEntity evidence) {
+    return encode(out -> {
+      writeString(out, evidence.getChecksum());
+      out.writeLong(evidence.getLength());
+      out.writeInt(evidence.getChunkSize());
+      out.writeInt(evidence.getChunks().size());
+      for (String chunk : evidence.getChunks()) {
+        writeString(out, chunk);
+      }
+    });
+  }
+
+  static EvidenceEntity decodeEvidence(ByteBuffer in) {
+    verifyVersion(in);
+    EvidenceEntity evidence = new EvidenceEntity()
+            .setChecksum(readString(in))
+            .setLength(in.getLong())
+            .setChunkSize(in.getInt());
+    int count = in.getInt();
+    List<String> chunks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      chunks.add(readString(in));
+    }
+    return evidence.setChunks(chunks);
+  }
+
+  /* Primitives */
+
+  static void writeUUID(DataOutputStream out, UUID value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value == null) return;
+    out.writeLong(value.getMostSignificantBits());
+    out.writeLong(value.getLeastSignificantBits());
+  }
+
+  static UUID readUUID(ByteBuffer in) {
+    if (in.get() == 0) return null;
+    return new UUID(in.getLong(), in.getLong());
+  }
+
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length == NULL_LENGTH) return null;
+
+    String value;
+    if (in.hasArray()) {
+      value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[length];
+      in.duplicate().get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    in.position(in.position() + length);
+    return value;
+  }
+
+  private static void writeBytes(DataOutputStream out, ByteBuffer value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+      return;
+    }
+
+    byte[] bytes = new byte[value.remaining()];
+    value.duplicate().get(bytes);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static ByteBuffer readBytes(ByteBuffer in) {
+    int length = in.getInt();
+    if (length == NULL_LENGTH) return null;
+
+    ByteBuffer value = in.duplicate();
+    value.limit(value.position() + length);
+    in.position(in.position() + length);
+    return value.slice();
+  }
+
+  private static void writeEnum(DataOutputStream out, CassandraEnum<?> value) throws IOException {
+    out.writeInt(value != null ? value.value() : NULL_LENGTH);
+  }
+
+  private static <E> E readEnum(ByteBuffer in, Map<Integer, E> values) {
+    int value = in.getInt();
+    return value != NULL_LENGTH ? values.get(value) : null;
+  }
+
+  static void verifyVersion(ByteBuffer in) {
+    byte version = in.get();
+    if (version != FORMAT_VERSION) throw new IllegalStateException("Unsupported format version: " + version);
+  }
+
+  static byte[] encode(Encoder encoder) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeByte(FORMAT_VERSION);
+      encoder.encode(out);
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException ex) {
+      // Cannot happen when writing into memory.
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @FunctionalInterface
+  interface Encoder {
+    void encode(DataOutputStream out) throws IOException;
+  }
+
+}
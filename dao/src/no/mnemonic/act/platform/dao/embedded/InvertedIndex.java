@@ -0,0 +1,162 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index from terms to the documents containing them. Documents are identified by a long which
+ * must increase with every added document (e.g. the address of the document inside a {@link SegmentLog}), thus,
+ * all posting lists are sorted and can be intersected and merged in linear time.
+ * <p>
+ * Documents can't be removed. Replacing a document means adding it again under a new identifier, callers must
+ * filter out the stale identifiers. The index is safe to use from multiple threads.
+ */
+class InvertedIndex {
+
+  // Similar to the standard analyzer of ElasticSearch: IP addresses and domains are kept as one token.
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}._:-]+");
+  private static final String TOKEN_TRIM = "._:-";
+  private static final long[] EMPTY = new long[0];
+  private static final int INITIAL_POSTINGS_SIZE = 4;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Postings> postings = new HashMap<>();
+
+  /**
+   * Add a document to the index.
+   *
+   * @param document Identifier of the document, must be larger than the identifiers of all previous documents
+   * @param terms    All terms of the document
+   */
+  void add(long document, Collection<String> terms) {
+    lock.writeLock().lock();
+    try {
+      for (String term : terms) {
+        postings.computeIfAbsent(term, t -> new Postings()).add(document);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Fetch the documents containing a term.
+   *
+   * @param term Term to look up
+   * @return Sorted identifiers of the documents containing the term
+   */
+  long[] get(String term) {
+    lock.readLock().lock();
+    try {
+      Postings list = postings.get(term);
+      return list != null ? Arrays.copyOf(list.documents, list.size) : EMPTY;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Fetch the documents containing any of the given terms.
+   *
+   * @param terms Terms to look up
+   * @return Sorted identifiers of the documents containing at least one term
+   */
+  long[] getAny(Collection<String> terms) {
+    long[] result = EMPTY;
+    for (String term : terms) {
+      result = union(result, get(term));
+    }
+    return result;
+  }
+
+  /**
+   * Split a text into lower-case tokens.
+   *
+   * @param text Text to tokenize
+   * @return Distinct tokens of the text
+   */
+  static Set<String> tokenize(String text) {
+    if (text == null) return Collections.emptySet();
+
+    Set<String> tokens = new HashSet<>();
+    for (String token : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+      int start = 0;
+      int end = token.length();
+      while (start < end && TOKEN_TRIM.indexOf(token.charAt(start)) >= 0) start++;
+      while (end > start && TOKEN_TRIM.indexOf(token.charAt(end - 1)) >= 0) end--;
+      if (start < end) tokens.add(token.substring(start, end));
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Merge two sorted lists of document identifiers.
+   *
+   * @param a First sorted list
+   * @param b Second sorted list
+   * @return Sorted list of the documents contained in either list
+   */
+  static long[] union(long[] a, long[] b) {
+    if (a.length == 0) return b;
+    if (b.length == 0) return a;
+
+    long[] result = new long[a.length + b.length];
+    int i = 0, j = 0, size = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        result[size++] = a[i++];
+      } else if (a[i] > b[j]) {
+        result[size++] = b[j++];
+      } else {
+        result[size++] = a[i++];
+        j++;
+      }
+    }
+    while (i < a.length) result[size++] = a[i++];
+    while (j < b.length) result[size++] = b[j++];
+
+    return Arrays.copyOf(result, size);
+  }
+
+  /**
+   * Intersect two sorted lists of document identifiers.
+   *
+   * @param a First sorted list
+   * @param b Second sorted list
+   * @return Sorted list of the documents contained in both lists
+   */
+  static long[] intersect(long[] a, long[] b) {
+    long[] result = new long[Math.min(a.length, b.length)];
+    int i = 0, j = 0, size = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[size++] = a[i++];
+        j++;
+      }
+    }
+
+    return Arrays.copyOf(result, size);
+  }
+
+  private static class Postings {
+    private long[] documents = new long[INITIAL_POSTINGS_SIZE];
+    private int size;
+
+    private void add(long document) {
+      // A document containing the same term multiple times is only added once.
+      if (size > 0 && documents[size - 1] == document) return;
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, documents.length * 2);
+      }
+      documents[size++] = document;
+    }
+  }
+
+}
@@ -0,0 +1,262 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of binary records stored in memory-mapped segment files of a fixed size.
+ * <p>
+ * Each record consists of a header (payload length, CRC32 checksum of the payload and a type byte) followed by the
+ * payload. Records are addressed by the segment number and the offset inside the segment, thus, reading a record
+ * doesn't require any lookup and is served directly from the page cache. A length of zero marks the end of a segment.
+ * When the log is opened all existing records are replayed in the order they were appended. A record which was only
+ * partially written (e.g. because the process crashed) fails the checksum verification and is discarded together
+ * with everything appended after it.
+ * <p>
+ * Appending records is serialized, reading records is safe from any number of threads as long as the address of a
+ * record is published to readers after {@link #append(byte, byte[])} returned.
+ */
+class SegmentLog implements AutoCloseable {
+
+  private static final Logger LOGGER = Logging.getLogger(SegmentLog.class);
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+  private final Path directory;
+  private final String name;
+  private final int segmentSize;
+  // Segments are added rarely, but read from all threads without locking.
+  private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+
+  // Both are only accessed while holding the lock on 'this'.
+  private MappedByteBuffer currentSegment;
+  private int currentOffset;
+
+  @FunctionalInterface
+  interface RecordHandler {
+    /**
+     * Called once for each record when the log is opened.
+     *
+     * @param address Address of the record
+     * @param type    Type of the record as given when it was appended
+     * @param payload Read-only payload of the record
+     */
+    void handle(long address, byte type, ByteBuffer payload);
+  }
+
+  /**
+   * Create a new SegmentLog. The log must be opened with {@link #open(RecordHandler)} before it can be used.
+   *
+   * @param directory   Directory where the segment files are stored
+   * @param name        Name of the log, used as prefix for the segment files
+   * @param segmentSize Size of each segment file in bytes
+   */
+  SegmentLog(Path directory, String name, int segmentSize) {
+    if (segmentSize <= HEADER_SIZE) throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+    this.directory = directory;
+    this.name = name;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Open the log by mapping all existing segment files and replaying their records. Creates the first segment if
+   * the log is empty.
+   *
+   * @param handler Handler which is called for each existing record
+   */
+  synchronized void open(RecordHandler handler) {
+    try {
+      Files.createDirectories(directory);
+      List<Path> files = listSegmentFiles();
+      for (int i = 0; i < files.size(); i++) {
+        segments.add(map(files.get(i)));
+        if (!replaySegment(i, handler)) {
+          // Everything after a torn record is unreachable, drop the remaining segments.
+          discardSegmentsAfter(files, i);
+          break;
+        }
+      }
+
+      if (segments.isEmpty()) {
+        addSegment();
+      } else {
+        currentSegment = segments.get(segments.size() - 1);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not open log %s in %s.", name, directory), ex);
+    }
+  }
+
+  /**
+   * Append a record to the log.
+   *
+   * @param type    Type of the record
+   * @param payload Payload of the record
+   * @return Address of the appended record
+   * @throws IllegalArgumentException If the payload is empty or the record is larger than a segment
+   */
+  synchronized long append(byte type, byte[] payload) {
+    if (currentSegment == null) throw new IllegalStateException(String.format("Log %s is not open.", name));
+    // A length of zero is reserved for the end marker.
+    if (payload.length == 0) throw new IllegalArgumentException("Records without payload are not allowed.");
+    int recordSize = HEADER_SIZE + payload.length;
+    // Always keep space for the end marker after the record.
+    if (recordSize + Integer.BYTES > segmentSize) {
+      throw new IllegalArgumentException(String.format("Record of %d bytes exceeds the segment size of log %s.", payload.length, name));
+    }
+
+    if (currentOffset + recordSize + Integer.BYTES > segmentSize) {
+      addSegment();
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+
+    int offset = currentOffset;
+    ByteBuffer buffer = currentSegment.duplicate();
+    buffer.position(offset + Integer.BYTES);
+    buffer.putInt((int) crc.getValue());
+    buffer.put(type);
+    buffer.put(payload);
+    // Write the length last, it marks the record as complete.
+    buffer.putInt(offset, payload.length);
+    currentOffset += recordSize;
+
+    return toAddress(segments.size() - 1, offset);
+  }
+
+  /**
+   * Read the payload of a record.
+   *
+   * @param address Address of the record as returned by {@link #append(byte, byte[])}
+   * @return Read-only payload of the record
+   */
+  ByteBuffer read(long address) {
+    int segment = (int) (address >>> 32);
+    int offset = (int) address;
+    // The mapped segments are never modified at the position of an existing record, thus, no locking is required.
+    ByteBuffer buffer = segments.get(segment).duplicate();
+    int length = buffer.getInt(offset);
+    buffer.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + length);
+    return buffer.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Flush all appended records to disk.
+   */
+  synchronized void force() {
+    segments.forEach(MappedByteBuffer::force);
+  }
+
+  /**
+   * Returns the number of bytes occupied by the log, including the unused space of the current segment.
+   *
+   * @return Size of the log in bytes
+   */
+  synchronized long size() {
+    return (long) segments.size() * segmentSize;
+  }
+
+  @Override
+  public synchronized void close() {
+    force();
+    segments.clear();
+    currentSegment = null;
+  }
+
+  /* Private helper methods */
+
+  private boolean replaySegment(int segment, RecordHandler handler) {
+    ByteBuffer buffer = segments.get(segment).duplicate();
+    int offset = 0;
+
+    while (offset + HEADER_SIZE <= segmentSize) {
+      int length = buffer.getInt(offset);
+      if (length == 0) break;
+
+      if (length < 0 || offset + HEADER_SIZE + length > segmentSize || !verifyChecksum(buffer, offset, length)) {
+        LOGGER.warning("Discarding torn record at offset %d in segment %d of log %s.", offset, segment, name);
+        truncate(buffer, offset);
+        currentOffset = offset;
+        return false;
+      }
+
+      buffer.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + length);
+      handler.handle(toAddress(segment, offset), buffer.get(offset + Integer.BYTES + Integer.BYTES), buffer.slice().asReadOnlyBuffer());
+      buffer.clear();
+      offset += HEADER_SIZE + length;
+    }
+
+    currentOffset = offset;
+    return true;
+  }
+
+  private boolean verifyChecksum(ByteBuffer buffer, int offset, int length) {
+    byte[] payload = new byte[length];
+    ByteBuffer source = buffer.duplicate();
+    source.position(offset + HEADER_SIZE);
+    source.get(payload);
+
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, length);
+    return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES);
+  }
+
+  private void truncate(ByteBuffer buffer, int offset) {
+    for (int i = offset; i < segmentSize; i++) {
+      buffer.put(i, (byte) 0);
+    }
+  }
+
+  private void discardSegmentsAfter(List<Path> files, int segment) throws IOException {
+    for (int i = segment + 1; i < files.size(); i++) {
+      Files.delete(files.get(i));
+    }
+  }
+
+  private void addSegment() {
+    try {
+      currentSegment = map(directory.resolve(String.format("%s-%05d%s", name, segments.size(), SEGMENT_SUFFIX)));
+      segments.add(currentSegment);
+      currentOffset = 0;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not create new segment for log %s in %s.", name, directory), ex);
+    }
+  }
+
+  private MappedByteBuffer map(Path file) throws IOException {
+    // The mapping stays valid after the channel is closed.
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+  }
+
+  private List<Path> listSegmentFiles() throws IOException {
+    // Segment numbers are zero-padded, thus, sorting by name yields the order in which they were created.
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> {
+        String fileName = file.getFileName().toString();
+        return fileName.startsWith(name + "-") && fileName.endsWith(SEGMENT_SUFFIX);
+      }).sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static long toAddress(int segment, int offset) {
+    return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+}
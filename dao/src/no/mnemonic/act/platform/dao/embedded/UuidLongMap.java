@@ -0,0 +1,164 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hash map from UUIDs to long values using open addressing over primitive arrays. In contrast to a
+ * {@code Map<UUID, Long>} it doesn't allocate any objects per entry, thus, it can hold millions of entries with
+ * a small memory footprint and without putting pressure on the garbage collector.
+ * <p>
+ * Entries can't be removed. The map is safe to use from multiple threads.
+ */
+class UuidLongMap {
+
+  static final long NO_VALUE = -1;
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final double LOAD_FACTOR = 0.6;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private long[] mostSignificantBits;
+  private long[] leastSignificantBits;
+  private long[] values;
+  private boolean[] used;
+  private int size;
+
+  UuidLongMap() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Fetch the value of a key.
+   *
+   * @param key Key to look up
+   * @return Value of key or {@link #NO_VALUE} if the key doesn't exist
+   */
+  long get(UUID key) {
+    lock.readLock().lock();
+    try {
+      int slot = findSlot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+      return used[slot] ? values[slot] : NO_VALUE;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Set the value of a key, replacing the existing value.
+   *
+   * @param key   Key to set
+   * @param value Value to set, must not be negative
+   * @return Previous value of key or {@link #NO_VALUE} if the key didn't exist
+   */
+  long put(UUID key, long value) {
+    if (value < 0) throw new IllegalArgumentException("Value must not be negative: " + value);
+
+    lock.writeLock().lock();
+    try {
+      int slot = findSlot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+      if (used[slot]) {
+        long previous = values[slot];
+        values[slot] = value;
+        return previous;
+      }
+
+      insert(slot, key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+      return NO_VALUE;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Set the value of a key unless the key already exists.
+   *
+   * @param key   Key to set
+   * @param value Value to set, must not be negative
+   * @return Existing value of key or {@link #NO_VALUE} if the key didn't exist and the value was set
+   */
+  long putIfAbsent(UUID key, long value) {
+    if (value < 0) throw new IllegalArgumentException("Value must not be negative: " + value);
+
+    lock.writeLock().lock();
+    try {
+      int slot = findSlot(key.getMostSignificantBits(), key.getLeastSignificantBits());
+      if (used[slot]) return values[slot];
+
+      insert(slot, key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+      return NO_VALUE;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return Number of keys
+   */
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /* Private helper methods */
+
+  private void insert(int slot, long msb, long lsb, long value) {
+    mostSignificantBits[slot] = msb;
+    leastSignificantBits[slot] = lsb;
+    values[slot] = value;
+    used[slot] = true;
+
+    if (++size > used.length * LOAD_FACTOR) {
+      resize();
+    }
+  }
+
+  private int findSlot(long msb, long lsb) {
+    // Linear probing, the capacity is always a power of two and the load factor guarantees a free slot.
+    int mask = used.length - 1;
+    int slot = hash(msb, lsb) & mask;
+    while (used[slot] && (mostSignificantBits[slot] != msb || leastSignificantBits[slot] != lsb)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resize() {
+    long[] oldMostSignificantBits = mostSignificantBits;
+    long[] oldLeastSignificantBits = leastSignificantBits;
+    long[] oldValues = values;
+    boolean[] oldUsed = used;
+
+    allocate(oldUsed.length * 2);
+    for (int i = 0; i < oldUsed.length; i++) {
+      if (!oldUsed[i]) continue;
+      int slot = findSlot(oldMostSignificantBits[i], oldLeastSignificantBits[i]);
+      mostSignificantBits[slot] = oldMostSignificantBits[i];
+      leastSignificantBits[slot] = oldLeastSignificantBits[i];
+      values[slot] = oldValues[i];
+      used[slot] = true;
+    }
+  }
+
+  private void allocate(int capacity) {
+    mostSignificantBits = new long[capacity];
+    leastSignificantBits = new long[capacity];
+    values = new long[capacity];
+    used = new boolean[capacity];
+  }
+
+  static int hash(long msb, long lsb) {
+    // Random UUIDs are already well distributed, but time-based or name-based UUIDs are not in all bits.
+    long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+}
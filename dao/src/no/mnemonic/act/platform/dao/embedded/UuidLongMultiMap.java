@@ -0,0 +1,89 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hash map from UUIDs to lists of long values, e.g. from an Object to the addresses of all its bindings. The values
+ * of each key are kept in a primitive array in insertion order.
+ * <p>
+ * Values can't be removed. The map is safe to use from multiple threads.
+ */
+class UuidLongMultiMap {
+
+  private static final long[] EMPTY = new long[0];
+  private static final int INITIAL_LISTS = 1024;
+  private static final int INITIAL_LIST_SIZE = 2;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Maps each key to the index of its list of values.
+  private final UuidLongMap index = new UuidLongMap();
+
+  private long[][] lists = new long[INITIAL_LISTS][];
+  private int[] sizes = new int[INITIAL_LISTS];
+  private int listCount;
+
+  /**
+   * Fetch all values of a key.
+   *
+   * @param key Key to look up
+   * @return Copy of the values in insertion order, empty if the key doesn't exist
+   */
+  long[] get(UUID key) {
+    lock.readLock().lock();
+    try {
+      long list = index.get(key);
+      if (list == UuidLongMap.NO_VALUE) return EMPTY;
+      return Arrays.copyOf(lists[(int) list], sizes[(int) list]);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Add a value to the values of a key.
+   *
+   * @param key   Key to add value to
+   * @param value Value to add
+   */
+  void add(UUID key, long value) {
+    lock.writeLock().lock();
+    try {
+      long list = index.get(key);
+      if (list == UuidLongMap.NO_VALUE) {
+        list = createList();
+        index.put(key, list);
+      }
+
+      int position = (int) list;
+      if (sizes[position] == lists[position].length) {
+        lists[position] = Arrays.copyOf(lists[position], lists[position].length * 2);
+      }
+      lists[position][sizes[position]++] = value;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return Number of keys
+   */
+  int size() {
+    return index.size();
+  }
+
+  private int createList() {
+    if (listCount == lists.length) {
+      lists = Arrays.copyOf(lists, lists.length * 2);
+      sizes = Arrays.copyOf(sizes, sizes.length * 2);
+    }
+
+    lists[listCount] = new long[INITIAL_LIST_SIZE];
+    return listCount++;
+  }
+
+}
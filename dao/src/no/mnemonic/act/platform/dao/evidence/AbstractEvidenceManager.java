@@ -0,0 +1,285 @@
+package no.mnemonic.act.platform.dao.evidence;
+
+import com.google.common.io.BaseEncoding;
+import no.mnemonic.act.platform.dao.api.EvidenceManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implements the chunking of Evidence on top of a simple chunk storage. Uploads are read into one reusable buffer of
+ * the chunk size while the checksums of the chunk and of the complete content are calculated in the same pass. Only
+ * chunks not already stored are written. Implementations only need to store chunks and Evidence metadata.
+ */
+public abstract class AbstractEvidenceManager implements EvidenceManager {
+
+  private static final String CHECKSUM_ALGORITHM = "SHA-256";
+  private static final BaseEncoding CHECKSUM_ENCODING = BaseEncoding.base16().lowerCase();
+
+  // Size (in bytes) of the chunks new Evidence is split into. Stored Evidence keeps the chunk size it was saved with.
+  @com.google.inject.Inject(optional = true)
+  @Named("evidence.chunk.size")
+  private String chunkSize = "1048576";
+
+  @Override
+  public EvidenceEntity saveEvidence(InputStream content) throws IOException {
+    if (content == null) return null;
+
+    MessageDigest contentDigest = createDigest();
+    MessageDigest chunkDigest = createDigest();
+    byte[] buffer = new byte[Integer.parseInt(chunkSize)];
+    List<String> chunks = new ArrayList<>();
+    long length = 0;
+
+    int read;
+    while ((read = readChunk(content, buffer)) > 0) {
+      contentDigest.update(buffer, 0, read);
+      chunkDigest.update(buffer, 0, read);
+      String chunkChecksum = CHECKSUM_ENCODING.encode(chunkDigest.digest());
+
+      if (!chunkExists(chunkChecksum)) {
+        saveChunk(chunkChecksum, ByteBuffer.wrap(buffer, 0, read));
+      }
+
+      chunks.add(chunkChecksum);
+      length += read;
+    }
+
+    String checksum = CHECKSUM_ENCODING.encode(contentDigest.digest());
+    EvidenceEntity existing = getEvidence(checksum);
+    if (existing != null) return existing;
+
+    EvidenceEntity evidence = new EvidenceEntity()
+            .setChecksum(checksum)
+            .setLength(length)
+            .setChunkSize(buffer.length)
+            .setChunks(chunks);
+    saveEvidenceMetadata(evidence);
+
+    return evidence;
+  }
+
+  @Override
+  public InputStream readEvidence(EvidenceEntity evidence, long offset, long length) {
+    return new ChunkedInputStream(evidence, offset, calculateEnd(evidence, offset, length));
+  }
+
+  @Override
+  public long transferEvidence(EvidenceEntity evidence, long offset, long length, WritableByteChannel target) throws IOException {
+    long end = calculateEnd(evidence, offset, length);
+    long position = offset;
+
+    while (position < end) {
+      int index = (int) (position / evidence.getChunkSize());
+      long offsetInChunk = position % evidence.getChunkSize();
+      long count = Math.min(calculateChunkLength(evidence, index) - offsetInChunk, end - position);
+      prefetchChunks(evidence.getChunks().subList(index + 1, evidence.getChunks().size()));
+
+      try (FileChannel channel = openChunk(evidence.getChunks().get(index))) {
+        if (channel != null) {
+          transferFromFile(evidence, index, channel, offsetInChunk, count, target);
+        } else {
+          ByteBuffer source = fetchChunk(evidence, index).duplicate();
+          source.position(source.position() + (int) offsetInChunk);
+          source.limit(source.position() + (int) count);
+          while (source.hasRemaining()) {
+            target.write(source);
+          }
+        }
+      }
+
+      position += count;
+    }
+
+    return end - offset;
+  }
+
+  /**
+   * Check whether a chunk is already stored.
+   *
+   * @param checksum Checksum of the chunk
+   * @return True if the chunk exists
+   * @throws IOException If the storage can't be accessed
+   */
+  protected abstract boolean chunkExists(String checksum) throws IOException;
+
+  /**
+   * Store a chunk. The buffer is reused after this method returns, thus, implementations must not keep it.
+   *
+   * @param checksum Checksum of the chunk
+   * @param data     Data of the chunk
+   * @throws IOException If the storage can't be accessed
+   */
+  protected abstract void saveChunk(String checksum, ByteBuffer data) throws IOException;
+
+  /**
+   * Fetch the data of a chunk.
+   *
+   * @param checksum Checksum of the chunk
+   * @return Data of the chunk or NULL if the chunk doesn't exist
+   * @throws IOException If the storage can't be accessed
+   */
+  protected abstract ByteBuffer getChunk(String checksum) throws IOException;
+
+  /**
+   * Store the metadata of Evidence after all of its chunks have been stored.
+   *
+   * @param evidence Evidence to store
+   * @throws IOException If the storage can't be accessed
+   */
+  protected abstract void saveEvidenceMetadata(EvidenceEntity evidence) throws IOException;
+
+  /**
+   * Open a chunk which is available as a local file, such that it can be transferred without copying it through the
+   * Java heap. If NULL is returned the chunk is fetched with {@link #getChunk(String)} instead.
+   *
+   * @param checksum Checksum of the chunk
+   * @return Channel of the chunk's file or NULL if the chunk is not available locally
+   * @throws IOException If the storage can't be accessed
+   */
+  protected FileChannel openChunk(String checksum) throws IOException {
+    return null;
+  }
+
+  /**
+   * Called before a chunk is read with the checksums of all following chunks of the same Evidence. Implementations
+   * fetching chunks from a remote storage can start fetching the following chunks in the background.
+   *
+   * @param checksums Checksums of the following chunks in order
+   */
+  protected void prefetchChunks(List<String> checksums) {
+    // Nothing to prefetch by default.
+  }
+
+  protected void setChunkSize(int chunkSize) {
+    this.chunkSize = String.valueOf(chunkSize);
+  }
+
+  private static long calculateEnd(EvidenceEntity evidence, long offset, long length) {
+    if (evidence == null) throw new IllegalArgumentException("Missing Evidence.");
+    if (offset < 0 || offset > evidence.getLength())
+      throw new IllegalArgumentException(String.format("Offset %d is outside of Evidence with length %d.", offset, evidence.getLength()));
+    if (length < 0) throw new IllegalArgumentException("Length must not be negative.");
+
+    return offset + Math.min(length, evidence.getLength() - offset);
+  }
+
+  private static long calculateChunkLength(EvidenceEntity evidence, int index) {
+    return Math.min(evidence.getChunkSize(), evidence.getLength() - (long) index * evidence.getChunkSize());
+  }
+
+  private ByteBuffer fetchChunk(EvidenceEntity evidence, int index) throws IOException {
+    String checksum = evidence.getChunks().get(index);
+    ByteBuffer chunk = getChunk(checksum);
+    if (chunk == null || chunk.remaining() != calculateChunkLength(evidence, index)) {
+      throw new IOException(String.format("Chunk %s of Evidence %s is missing or incomplete.", checksum, evidence.getChecksum()));
+    }
+    return chunk;
+  }
+
+  private static void transferFromFile(EvidenceEntity evidence, int index, FileChannel channel, long position, long count,
+                                       WritableByteChannel target) throws IOException {
+    if (channel.size() != calculateChunkLength(evidence, index)) {
+      throw new IOException(String.format("Chunk %s of Evidence %s is incomplete.", evidence.getChunks().get(index), evidence.getChecksum()));
+    }
+
+    // transferTo() may transfer less than requested, e.g. if the target's socket buffer is full.
+    while (count > 0) {
+      long transferred = channel.transferTo(position, count, target);
+      position += transferred;
+      count -= transferred;
+    }
+  }
+
+  private static int readChunk(InputStream content, byte[] buffer) throws IOException {
+    // A single read() may return less than requested long before the end of the stream, thus, fill the whole buffer.
+    int total = 0;
+    while (total < buffer.length) {
+      int read = content.read(buffer, total, buffer.length - total);
+      if (read < 0) break;
+      total += read;
+    }
+    return total;
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+    } catch (NoSuchAlgorithmException ex) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private class ChunkedInputStream extends InputStream {
+    private final EvidenceEntity evidence;
+    private final long end;
+    private long position;
+    private int currentIndex = -1;
+    private ByteBuffer current;
+
+    private ChunkedInputStream(EvidenceEntity evidence, long start, long end) {
+      this.evidence = evidence;
+      this.position = start;
+      this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) return 0;
+      if (position >= end) return -1;
+
+      ByteBuffer chunk = fetchChunk((int) (position / evidence.getChunkSize()));
+      int offsetInChunk = (int) (position % evidence.getChunkSize());
+      int count = (int) Math.min(Math.min(len, chunk.remaining() - offsetInChunk), end - position);
+
+      ByteBuffer source = chunk.duplicate();
+      source.position(source.position() + offsetInChunk);
+      source.get(b, off, count);
+      position += count;
+
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      // Skipping doesn't need to fetch the skipped chunks.
+      long skipped = Math.max(0, Math.min(n, end - position));
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      if (current == null || position >= end) return 0;
+      // Bytes which can be read without fetching another chunk.
+      long chunkEnd = (long) (currentIndex + 1) * evidence.getChunkSize();
+      return (int) Math.max(0, Math.min(chunkEnd, end) - position);
+    }
+
+    private ByteBuffer fetchChunk(int index) throws IOException {
+      if (index == currentIndex) return current;
+
+      prefetchChunks(evidence.getChunks().subList(index + 1, evidence.getChunks().size()));
+      current = AbstractEvidenceManager.this.fetchChunk(evidence, index);
+      currentIndex = index;
+      return current;
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+package no.mnemonic.act.platform.dao.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.google.common.cache.CacheStats;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Exposes the statistics of a Guava cache as a set of gauges. The statistics are read from the given supplier every
+ * time the gauges are reported, thus, the supplier must be cheap (e.g. Cache::stats).
+ */
+public class CacheMetrics implements MetricSet {
+
+  private static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+  private final Supplier<CacheStats> stats;
+
+  public CacheMetrics(Supplier<CacheStats> stats) {
+    this.stats = ObjectUtils.notNull(stats, "'stats' is null!");
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("hits", (Gauge<Long>) () -> getStats().hitCount());
+    metrics.put("misses", (Gauge<Long>) () -> getStats().missCount());
+    metrics.put("hit.ratio", (Gauge<Double>) () -> getStats().hitRate());
+    metrics.put("evictions", (Gauge<Long>) () -> getStats().evictionCount());
+    metrics.put("load.failures", (Gauge<Long>) () -> getStats().loadExceptionCount());
+    metrics.put("load.average", (Gauge<Double>) () -> getStats().averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1));
+    return metrics;
+  }
+
+  private CacheStats getStats() {
+    // The cache might not have been initialized yet, e.g. before the owning component has been started.
+    return ObjectUtils.ifNull(stats.get(), EMPTY_STATS);
+  }
+
+}
@@ -0,0 +1,126 @@
+package no.mnemonic.act.platform.dao.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records timing information about all queries sent to ElasticSearch and Cassandra. Timings are kept as histograms
+ * (in milliseconds) in a {@link MetricRegistry}, and queries taking longer than a configurable threshold are written
+ * to a slow-query log together with the executed query.
+ * <p>
+ * Slow queries are logged with a dedicated logger ({@value SLOW_QUERY_LOGGER_NAME}) such that they can be routed to
+ * a separate log file.
+ */
+@Singleton
+public class QueryMetrics {
+
+  public static final String SLOW_QUERY_LOGGER_NAME = "no.mnemonic.act.platform.dao.SlowQueryLog";
+
+  private static final Logger SLOW_QUERY_LOGGER = Logging.getLogger(SLOW_QUERY_LOGGER_NAME);
+
+  // Thresholds (in ms) above which queries are written to the slow-query log. Setting them to 0 disables the log.
+  @com.google.inject.Inject(optional = true)
+  @Named("elasticsearch.slow.query.threshold")
+  private String elasticSlowQueryThreshold = "1000";
+  @com.google.inject.Inject(optional = true)
+  @Named("cassandra.slow.query.threshold")
+  private String cassandraSlowQueryThreshold = "500";
+
+  private final MetricRegistry metricRegistry;
+
+  @Inject
+  public QueryMetrics(MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+  }
+
+  public QueryMetrics() {
+    this(new MetricRegistry());
+  }
+
+  /**
+   * Returns the registry holding all recorded histograms.
+   *
+   * @return Registry of recorded metrics
+   */
+  public MetricRegistry getMetricRegistry() {
+    return metricRegistry;
+  }
+
+  /**
+   * Record the execution of a search request against ElasticSearch.
+   *
+   * @param searchType   Type of the search, e.g. the name of the calling method
+   * @param hits         Number of matching documents
+   * @param tookMillis   Time spent inside ElasticSearch as reported in the response
+   * @param requestNanos Time spent executing the request including network round trip
+   * @param totalNanos   Total time including decoding of the response
+   * @param query        Supplies the executed query (only invoked for slow queries)
+   * @param profile      Supplies the profile output of the query or NULL if profiling was disabled
+   */
+  public void recordElasticSearch(String searchType, long hits, long tookMillis, long requestNanos, long totalNanos,
+                                  Supplier<String> query, Supplier<String> profile) {
+    long requestMillis = TimeUnit.NANOSECONDS.toMillis(requestNanos);
+    long totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+
+    metricRegistry.histogram(MetricRegistry.name("elasticsearch", searchType, "hits")).update(hits);
+    metricRegistry.histogram(MetricRegistry.name("elasticsearch", searchType, "took")).update(tookMillis);
+    metricRegistry.histogram(MetricRegistry.name("elasticsearch", searchType, "request")).update(requestMillis);
+    metricRegistry.histogram(MetricRegistry.name("elasticsearch", searchType, "total")).update(totalMillis);
+
+    if (isSlow(totalMillis, elasticSlowQueryThreshold)) {
+      SLOW_QUERY_LOGGER.warning("Slow ElasticSearch query '%s' (hits = %d, took = %dms, request = %dms, total = %dms): %s%s",
+              searchType, hits, tookMillis, requestMillis, totalMillis, query.get(), formatProfile(profile));
+    } else if (profile != null && SLOW_QUERY_LOGGER.isDebug()) {
+      SLOW_QUERY_LOGGER.debug("ElasticSearch query '%s' (hits = %d, took = %dms, request = %dms, total = %dms): %s%s",
+              searchType, hits, tookMillis, requestMillis, totalMillis, query.get(), formatProfile(profile));
+    }
+  }
+
+  /**
+   * Record the execution of any other request against ElasticSearch, e.g. fetching or indexing a single document.
+   *
+   * @param requestType Type of the request, e.g. the name of the calling method
+   * @param totalNanos  Time spent executing the request including network round trip
+   */
+  public void recordElasticRequest(String requestType, long totalNanos) {
+    long totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    metricRegistry.histogram(MetricRegistry.name("elasticsearch", requestType, "total")).update(totalMillis);
+
+    if (isSlow(totalMillis, elasticSlowQueryThreshold)) {
+      SLOW_QUERY_LOGGER.warning("Slow ElasticSearch request '%s' (total = %dms).", requestType, totalMillis);
+    }
+  }
+
+  /**
+   * Record the execution of a query against Cassandra.
+   *
+   * @param queryClass   Class of the executed query
+   * @param totalNanos   Time spent executing the query including network round trip
+   * @param query        Supplies the executed query (only invoked for slow queries)
+   */
+  public void recordCassandraQuery(String queryClass, long totalNanos, Supplier<String> query) {
+    long totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    metricRegistry.histogram(MetricRegistry.name("cassandra", queryClass, "total")).update(totalMillis);
+
+    if (isSlow(totalMillis, cassandraSlowQueryThreshold)) {
+      SLOW_QUERY_LOGGER.warning("Slow Cassandra query '%s' (total = %dms): %s", queryClass, totalMillis, query.get());
+    }
+  }
+
+  private boolean isSlow(long millis, String threshold) {
+    long limit = Long.parseLong(threshold);
+    return limit > 0 && millis >= limit;
+  }
+
+  private String formatProfile(Supplier<String> profile) {
+    return profile != null ? "\nProfile: " + profile.get() : "";
+  }
+
+}
@@ -1,7 +1,7 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.tinkerpop.exceptions.GraphOperationException;
 import no.mnemonic.act.platform.dao.tinkerpop.utils.ElementFactory;
@@ -15,6 +15,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 
 import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
@@ -27,16 +28,20 @@ import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
 public class ActGraph implements Graph {
 
   private static final Features SUPPORTED_FEATURES = new ActGraphFeatures();
+  private static final BooleanSupplier NEVER_CANCELLED = () -> false;
 
   private final ObjectManager objectManager;
   private final FactManager factManager;
   private final Predicate<FactEntity> hasFactAccess;
+  private final BooleanSupplier isCancelled;
   private final ElementFactory elementFactory;
 
-  private ActGraph(ObjectManager objectManager, FactManager factManager, Predicate<FactEntity> hasFactAccess) {
+  private ActGraph(ObjectManager objectManager, FactManager factManager, Predicate<FactEntity> hasFactAccess,
+                   BooleanSupplier isCancelled) {
     this.objectManager = ObjectUtils.notNull(objectManager, "'objectManager' is null!");
     this.factManager = ObjectUtils.notNull(factManager, "'factManager' is null!");
     this.hasFactAccess = ObjectUtils.notNull(hasFactAccess, "'hasFactAccess' is null!");
+    this.isCancelled = ObjectUtils.ifNull(isCancelled, NEVER_CANCELLED);
     this.elementFactory = ElementFactory.builder().setOwner(this).build();
   }
 
@@ -101,6 +106,16 @@ public class ActGraph implements Graph {
     return hasFactAccess.test(fact);
   }
 
+  /**
+   * Abort the current operation if the traversal on this graph has been cancelled. This is checked before elements are
+   * fetched from the storage layer, such that a cancelled traversal stops issuing further reads.
+   *
+   * @throws GraphOperationException If the traversal has been cancelled
+   */
+  public void checkCancelled() {
+    if (isCancelled.getAsBoolean()) throw new GraphOperationException("Graph traversal has been cancelled!");
+  }
+
   public ObjectManager getObjectManager() {
     return objectManager;
   }
@@ -155,12 +170,13 @@ public class ActGraph implements Graph {
     private ObjectManager objectManager;
     private FactManager factManager;
     private Predicate<FactEntity> hasFactAccess;
+    private BooleanSupplier isCancelled;
 
     private Builder() {
     }
 
     public ActGraph build() {
-      return new ActGraph(objectManager, factManager, hasFactAccess);
+      return new ActGraph(objectManager, factManager, hasFactAccess, isCancelled);
     }
 
     public Builder setObjectManager(ObjectManager objectManager) {
@@ -177,6 +193,11 @@ public class ActGraph implements Graph {
       this.hasFactAccess = hasFactAccess;
       return this;
     }
+
+    public Builder setIsCancelled(BooleanSupplier isCancelled) {
+      this.isCancelled = isCancelled;
+      return this;
+    }
   }
 
   private static class ActGraphFeatures implements Features {
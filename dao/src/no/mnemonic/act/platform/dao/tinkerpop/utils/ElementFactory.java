@@ -54,6 +54,7 @@ public class ElementFactory {
    */
   public Set<Edge> createEdges(ObjectFactBindingEntity inBinding) {
     ObjectUtils.notNull(inBinding, "'inBinding' is null!");
+    owner.checkCancelled();
 
     FactEntity fact = owner.getFactManager().getFact(inBinding.getFactID());
     // Only create edges if user has access to Fact.
@@ -103,13 +104,19 @@ public class ElementFactory {
   /**
    * Retrieve a vertex from the cache by its ID.
    * <p>
-   * This will automatically create the vertex if it was not already cached.
+   * This will automatically create the vertex if it was not already cached. Creating a vertex fails if the traversal
+   * has been cancelled, see {@link ActGraph#checkCancelled()}.
    *
    * @param id ID of vertex, i.e. {@link Vertex#id()}.
    * @return Cached vertex.
    */
   public Vertex getVertex(UUID id) {
     if (id == null) return null;
+    Vertex vertex = vertexCache.getIfPresent(id);
+    if (vertex != null) return vertex;
+
+    // Check before loading the vertex because exceptions thrown while loading are swallowed below.
+    owner.checkCancelled();
     try {
       return vertexCache.get(id);
     } catch (Exception ignored) {
@@ -6,8 +6,8 @@ import org.junit.*;
 public abstract class AbstractManagerTest {
 
   private static ClusterManager clusterManager;
-  private FactManager factManager;
-  private ObjectManager objectManager;
+  private CassandraFactManager factManager;
+  private CassandraObjectManager objectManager;
 
   @ClassRule
   public static CassandraDockerResource cassandra = CassandraDockerResource.builder()
@@ -29,8 +29,8 @@ public abstract class AbstractManagerTest {
 
   @Before
   public void initialize() {
-    factManager = new FactManager(clusterManager);
-    objectManager = new ObjectManager(clusterManager);
+    factManager = new CassandraFactManager(clusterManager);
+    objectManager = new CassandraObjectManager(clusterManager);
 
     factManager.startComponent();
     objectManager.startComponent();
@@ -38,6 +38,8 @@ public abstract class AbstractManagerTest {
 
   @After
   public void cleanup() {
+    factManager.stopComponent();
+    objectManager.stopComponent();
     // Truncate database.
     cassandra.truncate();
   }
@@ -47,11 +49,15 @@ public abstract class AbstractManagerTest {
     clusterManager.stopComponent();
   }
 
-  protected FactManager getFactManager() {
+  protected ClusterManager getClusterManager() {
+    return clusterManager;
+  }
+
+  protected CassandraFactManager getFactManager() {
     return factManager;
   }
 
-  protected ObjectManager getObjectManager() {
+  protected CassandraObjectManager getObjectManager() {
     return objectManager;
   }
 
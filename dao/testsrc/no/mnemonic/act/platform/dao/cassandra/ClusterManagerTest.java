@@ -0,0 +1,87 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import org.junit.Test;
+
+import static no.mnemonic.act.platform.dao.cassandra.ClusterManager.QueryClass.*;
+import static org.junit.Assert.*;
+
+public class ClusterManagerTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateWithCoreConnectionsLargerThanMaxConnectionsThrowsException() {
+    ClusterManager.builder()
+            .setCoreConnectionsPerHost(8)
+            .setMaxConnectionsPerHost(4)
+            .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateWithSpeculativeExecutionWithoutMaxExecutionsThrowsException() {
+    ClusterManager.builder()
+            .setSpeculativeExecutionDelay(100)
+            .setMaxSpeculativeExecutions(0)
+            .build();
+  }
+
+  @Test
+  public void testConfigureWithoutConfigurationKeepsStatement() {
+    ClusterManager manager = ClusterManager.builder().build();
+    Statement statement = manager.configure(createStatement(), Write);
+
+    assertNull(statement.getConsistencyLevel());
+    assertEquals(Integer.MIN_VALUE, statement.getReadTimeoutMillis());
+    assertNull(statement.isIdempotent());
+  }
+
+  @Test
+  public void testConfigureMarksReadsAsIdempotent() {
+    ClusterManager manager = ClusterManager.builder().build();
+    assertTrue(manager.configure(createStatement(), PointRead).isIdempotent());
+    assertTrue(manager.configure(createStatement(), Search).isIdempotent());
+  }
+
+  @Test
+  public void testConfigureAppliesReadAndWriteConsistencyLevel() {
+    ClusterManager manager = ClusterManager.builder()
+            .setReadConsistencyLevel(ConsistencyLevel.LOCAL_ONE)
+            .setWriteConsistencyLevel(ConsistencyLevel.EACH_QUORUM)
+            .build();
+
+    assertEquals(ConsistencyLevel.LOCAL_ONE, manager.configure(createStatement(), PointRead).getConsistencyLevel());
+    assertEquals(ConsistencyLevel.LOCAL_ONE, manager.configure(createStatement(), Search).getConsistencyLevel());
+    assertEquals(ConsistencyLevel.EACH_QUORUM, manager.configure(createStatement(), Write).getConsistencyLevel());
+  }
+
+  @Test
+  public void testConfigureAppliesConsistencyLevelOverride() {
+    ClusterManager manager = ClusterManager.builder()
+            .setReadConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM)
+            .setConsistencyLevel(PointRead, ConsistencyLevel.LOCAL_ONE)
+            .build();
+
+    assertEquals(ConsistencyLevel.LOCAL_ONE, manager.configure(createStatement(), PointRead).getConsistencyLevel());
+    assertEquals(ConsistencyLevel.LOCAL_QUORUM, manager.configure(createStatement(), Search).getConsistencyLevel());
+  }
+
+  @Test
+  public void testConfigureAppliesQueryTimeout() {
+    ClusterManager manager = ClusterManager.builder()
+            .setQueryTimeout(5000)
+            .setQueryTimeout(PointRead, 100)
+            .setQueryTimeout(Search, 0)
+            .build();
+
+    assertEquals(100, manager.configure(createStatement(), PointRead).getReadTimeoutMillis());
+    // The global timeout is handled by the driver itself.
+    assertEquals(Integer.MIN_VALUE, manager.configure(createStatement(), Search).getReadTimeoutMillis());
+    assertEquals(Integer.MIN_VALUE, manager.configure(createStatement(), Write).getReadTimeoutMillis());
+  }
+
+  private Statement createStatement() {
+    return new SimpleStatement("SELECT * FROM act.fact");
+  }
+
+}
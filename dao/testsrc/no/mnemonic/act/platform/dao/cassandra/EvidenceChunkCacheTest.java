@@ -0,0 +1,127 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class EvidenceChunkCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path directory;
+  private EvidenceChunkCache cache;
+
+  @Before
+  public void setUp() {
+    directory = folder.getRoot().toPath().resolve("cache");
+    cache = new EvidenceChunkCache(directory, 8);
+    cache.open();
+  }
+
+  @Test
+  public void testPutAndReadChunk() throws IOException {
+    cache.put("a", buffer("abcd"));
+    assertTrue(cache.contains("a"));
+    assertEquals("abcd", string(cache.read("a")));
+    assertEquals(4, cache.size());
+  }
+
+  @Test
+  public void testOpenChunk() throws IOException {
+    cache.put("a", buffer("abcd"));
+    try (FileChannel channel = cache.open("a")) {
+      assertEquals(4, channel.size());
+    }
+  }
+
+  @Test
+  public void testReadUnknownChunkReturnsNull() throws IOException {
+    assertFalse(cache.contains("a"));
+    assertNull(cache.read("a"));
+    assertNull(cache.open("a"));
+  }
+
+  @Test
+  public void testPutDoesNotModifyData() throws IOException {
+    ByteBuffer data = buffer("abcd");
+    cache.put("a", data);
+    assertEquals(0, data.position());
+    assertEquals(4, data.remaining());
+  }
+
+  @Test
+  public void testPutChunkLargerThanCacheIsIgnored() throws IOException {
+    cache.put("a", buffer("abcdefghi"));
+    assertFalse(cache.contains("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsedChunk() throws IOException {
+    cache.put("a", buffer("aaaa"));
+    cache.put("b", buffer("bbbb"));
+    // Reading 'a' makes 'b' the least recently used chunk.
+    cache.read("a");
+    cache.put("c", buffer("cccc"));
+
+    assertTrue(cache.contains("a"));
+    assertFalse(cache.contains("b"));
+    assertTrue(cache.contains("c"));
+    assertFalse(Files.exists(directory.resolve("b")));
+    assertEquals(8, cache.size());
+  }
+
+  @Test
+  public void testOpenedChunkCanBeReadAfterEviction() throws IOException {
+    cache.put("a", buffer("aaaa"));
+    ByteBuffer mapped = cache.read("a");
+    cache.put("b", buffer("bbbb"));
+    cache.put("c", buffer("cccc"));
+
+    assertFalse(cache.contains("a"));
+    assertEquals("aaaa", string(mapped));
+  }
+
+  @Test
+  public void testChunksAreRestoredOnOpen() throws IOException {
+    cache.put("a", buffer("aaaa"));
+    Files.write(directory.resolve("b.tmp"), "partial".getBytes(StandardCharsets.UTF_8));
+
+    EvidenceChunkCache reopened = new EvidenceChunkCache(directory, 8);
+    reopened.open();
+    assertTrue(reopened.contains("a"));
+    assertEquals(4, reopened.size());
+    assertFalse(Files.exists(directory.resolve("b.tmp")));
+  }
+
+  @Test
+  public void testChunkRemovedFromOutsideIsForgotten() throws IOException {
+    cache.put("a", buffer("aaaa"));
+    Files.delete(directory.resolve("a"));
+    assertNull(cache.open("a"));
+    assertFalse(cache.contains("a"));
+    assertEquals(0, cache.size());
+  }
+
+  private ByteBuffer buffer(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String string(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,104 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.io.ByteStreams;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class EvidenceManagerTest extends AbstractManagerTest {
+
+  private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+  @Rule
+  public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+  private CassandraEvidenceManager evidenceManager;
+
+  @Before
+  public void setUpEvidenceManager() {
+    evidenceManager = new CassandraEvidenceManager(getClusterManager()).withChunkSize(4);
+    evidenceManager.startComponent();
+  }
+
+  @After
+  public void tearDownEvidenceManager() {
+    evidenceManager.stopComponent();
+  }
+
+  @Test
+  public void testSaveAndGetEvidence() throws IOException {
+    EvidenceEntity evidence = evidenceManager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    EvidenceEntity fetched = evidenceManager.getEvidence(evidence.getChecksum());
+    assertEquals(evidence.getChecksum(), fetched.getChecksum());
+    assertEquals(10, fetched.getLength());
+    assertEquals(4, fetched.getChunkSize());
+    assertEquals(evidence.getChunks(), fetched.getChunks());
+  }
+
+  @Test
+  public void testGetEvidenceIsAnsweredFromMetadataCache() throws IOException {
+    EvidenceEntity evidence = evidenceManager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    evidenceManager.getEvidence(evidence.getChecksum()).getChunks().clear();
+    // Cached metadata is returned even after it has been removed from Cassandra, and it isn't affected by modifications.
+    cassandra.truncate();
+    assertEquals(evidence.getChunks(), evidenceManager.getEvidence(evidence.getChecksum()).getChunks());
+    assertEquals(2, evidenceManager.getMetadataCacheStats().hitCount());
+  }
+
+  @Test
+  public void testGetEvidenceWithUnknownChecksumReturnsNull() {
+    assertNull(evidenceManager.getEvidence(null));
+    assertNull(evidenceManager.getEvidence("unknown"));
+  }
+
+  @Test
+  public void testSaveEvidenceStoresIdenticalChunksOnce() throws IOException {
+    EvidenceEntity evidence = evidenceManager.saveEvidence(new ByteArrayInputStream("abcdabcd".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(2, evidence.getChunks().size());
+    assertEquals(evidence.getChunks().get(0), evidence.getChunks().get(1));
+    assertArrayEquals("abcdabcd".getBytes(StandardCharsets.UTF_8), read(evidence, 0, evidence.getLength()));
+  }
+
+  @Test
+  public void testReadEvidenceRange() throws IOException {
+    EvidenceEntity evidence = evidenceManager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertArrayEquals(CONTENT, read(evidence, 0, evidence.getLength()));
+    assertArrayEquals("3456".getBytes(StandardCharsets.UTF_8), read(evidence, 3, 4));
+    assertArrayEquals("89".getBytes(StandardCharsets.UTF_8), read(evidence, 8, 100));
+  }
+
+  @Test
+  public void testDownloadEvidenceFromChunkCache() throws IOException {
+    EvidenceEntity evidence = evidenceManager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    evidenceManager.stopComponent();
+    evidenceManager = new CassandraEvidenceManager(getClusterManager())
+            .withChunkCache(cacheFolder.getRoot().getAbsolutePath(), 1024);
+    evidenceManager.startComponent();
+
+    // The first download fills the cache, the second download is served from the cache only.
+    assertArrayEquals(CONTENT, read(evidence, 0, evidence.getLength()));
+    cassandra.truncate();
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+    evidenceManager.transferEvidence(evidence, 0, evidence.getLength(), Channels.newChannel(target));
+    assertArrayEquals(CONTENT, target.toByteArray());
+  }
+
+  private byte[] read(EvidenceEntity evidence, long offset, long length) throws IOException {
+    try (InputStream stream = evidenceManager.readEvidence(evidence, offset, length)) {
+      return ByteStreams.toByteArray(stream);
+    }
+  }
+
+}
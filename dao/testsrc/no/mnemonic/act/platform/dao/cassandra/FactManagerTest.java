@@ -29,11 +29,13 @@ public class FactManagerTest extends AbstractManagerTest {
   }
 
   @Test
-  public void testGetFactTypeByIdTwiceReturnsSameInstance() {
+  public void testGetFactTypeByIdTwiceReturnsCopies() {
     FactTypeEntity entity = createAndSaveFactType();
     FactTypeEntity type1 = getFactManager().getFactType(entity.getId());
     FactTypeEntity type2 = getFactManager().getFactType(entity.getId());
-    assertSame(type1, type2);
+    // Modifying a returned FactType must not change the FactType seen by other callers.
+    assertNotSame(type1, type2);
+    assertFactType(type1, type2);
   }
 
   @Test
@@ -60,11 +62,13 @@ public class FactManagerTest extends AbstractManagerTest {
   }
 
   @Test
-  public void testGetFactTypeByNameTwiceReturnsSameInstance() {
+  public void testGetFactTypeByNameTwiceReturnsCopies() {
     FactTypeEntity entity = createAndSaveFactType();
     FactTypeEntity type1 = getFactManager().getFactType(entity.getName());
     FactTypeEntity type2 = getFactManager().getFactType(entity.getName());
-    assertSame(type1, type2);
+    // Modifying a returned FactType must not change the FactType seen by other callers.
+    assertNotSame(type1, type2);
+    assertFactType(type1, type2);
   }
 
   @Test
@@ -188,7 +192,7 @@ public class FactManagerTest extends AbstractManagerTest {
   @Test
   public void testRefreshFact() {
     long timestamp = 123456789;
-    FactManager manager = getFactManagerWithMockedClock(timestamp);
+    CassandraFactManager manager = getFactManagerWithMockedClock(timestamp);
     FactEntity fact = createAndSaveFact();
 
     assertEquals(fact.getLastSeenTimestamp(), manager.getFact(fact.getId()).getLastSeenTimestamp());
@@ -198,6 +202,81 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(timestamp, manager.getFact(fact.getId()).getLastSeenTimestamp());
   }
 
+  @Test
+  public void testGetFactIsAnsweredFromCache() {
+    FactEntity fact = createAndSaveFact();
+    CassandraFactManager manager = createFactManagerWithEmptyCache();
+
+    assertFact(fact, manager.getFact(fact.getId()));
+    assertFact(fact, manager.getFact(fact.getId()));
+    assertFact(fact, ListUtils.list(manager.getFacts(ListUtils.list(fact.getId()))).get(0));
+    assertEquals(1, manager.getFactCacheStats().missCount());
+    assertEquals(2, manager.getFactCacheStats().hitCount());
+  }
+
+  @Test
+  public void testGetFactReturnsCopyOfCachedFact() {
+    FactEntity fact = createAndSaveFact();
+    getFactManager().getFact(fact.getId()).setValue("modified");
+    assertEquals(fact.getValue(), getFactManager().getFact(fact.getId()).getValue());
+  }
+
+  @Test
+  public void testRefreshFactWritesThroughToCache() {
+    long timestamp = 123456789;
+    CassandraFactManager manager = getFactManagerWithMockedClock(timestamp);
+    FactEntity fact = createAndSaveFact();
+
+    manager.refreshFact(fact.getId());
+    long misses = manager.getFactCacheStats().missCount();
+    assertEquals(timestamp, manager.getFact(fact.getId()).getLastSeenTimestamp());
+    assertEquals(misses, manager.getFactCacheStats().missCount());
+    // The new timestamp must also be stored in Cassandra.
+    assertEquals(timestamp, createFactManagerWithEmptyCache().getFact(fact.getId()).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testGetCachedFactReadsLastSeenTimestampRefreshedByOtherNode() {
+    long timestamp = 123456789;
+    FactEntity fact = createAndSaveFact();
+    CassandraFactManager manager = new CassandraFactManager(getClusterManager()).withLastSeenTtl("0");
+    manager.startComponent();
+
+    manager.getFact(fact.getId());
+    // Simulate refreshing the Fact on another node which doesn't update the cache of 'manager'.
+    getFactManagerWithMockedClock(timestamp).refreshFact(fact.getId());
+
+    assertEquals(timestamp, manager.getFact(fact.getId()).getLastSeenTimestamp());
+    assertEquals(timestamp, ListUtils.list(manager.getFacts(ListUtils.list(fact.getId()))).get(0).getLastSeenTimestamp());
+    assertEquals(1, manager.getFactCacheStats().missCount());
+  }
+
+  @Test
+  public void testRefreshFactMigratesLegacyBindings() {
+    FactEntity fact = createFact(createAndSaveFactType().getId());
+    String legacyBindings = String.format("[{\"objectID\":\"%s\",\"direction\":3}]", fact.getBindings().get(0).getObjectID());
+    getFactManager().saveFact(fact.clone().setBindingsBinary(null).setBindingsStored(legacyBindings));
+    assertNull(getFactManager().getFact(fact.getId()).getBindingsBinary());
+
+    FactEntity refreshedFact = getFactManager().refreshFact(fact.getId());
+    assertEquals(fact.getBindingsBinary(), refreshedFact.getBindingsBinary());
+    assertEquals(fact.getBindings().get(0).getObjectID(), refreshedFact.getBindingObjectID(0));
+    assertEquals(fact.getBindingsBinary(), createFactManagerWithEmptyCache().getFact(fact.getId()).getBindingsBinary());
+  }
+
+  @Test
+  public void testBindingsMigrationBackfillsLegacyBindings() {
+    FactEntity fact = createFact(createAndSaveFactType().getId());
+    String legacyBindings = String.format("[{\"objectID\":\"%s\",\"direction\":3}]", fact.getBindings().get(0).getObjectID());
+    getFactManager().saveFact(fact.clone().setBindingsBinary(null).setBindingsStored(legacyBindings));
+    // Facts which already have binary bindings are skipped.
+    createAndSaveFact();
+
+    assertEquals(1, new FactBindingsMigration(getClusterManager()).migrate(0));
+    assertEquals(fact.getBindingsBinary(), createFactManagerWithEmptyCache().getFact(fact.getId()).getBindingsBinary());
+    assertEquals(0, new FactBindingsMigration(getClusterManager()).migrate(0));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testRefreshFactWithNonExistingFact() {
     getFactManager().refreshFact(UUID.randomUUID());
@@ -451,7 +530,7 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(expected.getConfidenceLevel(), actual.getConfidenceLevel());
     assertEquals(expected.getTimestamp(), actual.getTimestamp());
     assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
-    assertEquals(expected.getBindingsStored(), actual.getBindingsStored());
+    assertEquals(expected.getBindingsBinary(), actual.getBindingsBinary());
   }
 
   private void assertFactAclEntry(FactAclEntity expected, FactAclEntity actual) {
@@ -476,7 +555,13 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(expected.getMetaFactID(), actual.getMetaFactID());
   }
 
-  private FactManager getFactManagerWithMockedClock(long timestamp) {
+  private CassandraFactManager createFactManagerWithEmptyCache() {
+    CassandraFactManager manager = new CassandraFactManager(getClusterManager());
+    manager.startComponent();
+    return manager;
+  }
+
+  private CassandraFactManager getFactManagerWithMockedClock(long timestamp) {
     Clock clock = mock(Clock.class);
     when(clock.instant()).thenReturn(Instant.ofEpochMilli(timestamp));
     return getFactManager().withClock(clock);
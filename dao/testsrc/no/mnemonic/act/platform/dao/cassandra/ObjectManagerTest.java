@@ -1,9 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
-import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
@@ -11,6 +8,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -30,11 +28,13 @@ public class ObjectManagerTest extends AbstractManagerTest {
   }
 
   @Test
-  public void testGetObjectTypeByIdTwiceReturnsSameInstance() {
+  public void testGetObjectTypeByIdTwiceReturnsCopies() {
     ObjectTypeEntity entity = createAndSaveObjectType();
     ObjectTypeEntity type1 = getObjectManager().getObjectType(entity.getId());
     ObjectTypeEntity type2 = getObjectManager().getObjectType(entity.getId());
-    assertSame(type1, type2);
+    // Modifying a returned ObjectType must not change the ObjectType seen by other callers.
+    assertNotSame(type1, type2);
+    assertObjectType(type1, type2);
   }
 
   @Test
@@ -61,11 +61,13 @@ public class ObjectManagerTest extends AbstractManagerTest {
   }
 
   @Test
-  public void testGetObjectTypeByNameTwiceReturnsSameInstance() {
+  public void testGetObjectTypeByNameTwiceReturnsCopies() {
     ObjectTypeEntity entity = createAndSaveObjectType();
     ObjectTypeEntity type1 = getObjectManager().getObjectType(entity.getName());
     ObjectTypeEntity type2 = getObjectManager().getObjectType(entity.getName());
-    assertSame(type1, type2);
+    // Modifying a returned ObjectType must not change the ObjectType seen by other callers.
+    assertNotSame(type1, type2);
+    assertObjectType(type1, type2);
   }
 
   @Test
@@ -112,6 +114,57 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertObject(object, getObjectManager().getObject(object.getId()));
   }
 
+  @Test
+  public void testGetObjectByIdTwiceReturnsCachedObject() {
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    // Saving the Object already populates the cache.
+    assertObject(object, getObjectManager().getObject(object.getId()));
+    assertObject(object, getObjectManager().getObject(object.getId()));
+    assertEquals(2, getObjectManager().getObjectByIdCacheStats().hitCount());
+  }
+
+  @Test
+  public void testGetObjectReturnsCopyOfCachedObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createAndSaveObject(type.getId());
+    String value = object.getValue();
+
+    // Neither modifying the saved nor a fetched Object must change the cached Object.
+    object.setValue("modified");
+    getObjectManager().getObject(object.getId()).setValue("modified");
+    getObjectManager().getObject(type.getName(), value).setValue("modified");
+    getObjectManager().getObjects(ListUtils.list(object.getId())).next().setValue("modified");
+
+    assertEquals(value, getObjectManager().getObject(object.getId()).getValue());
+    assertEquals(value, getObjectManager().getObject(type.getName(), value).getValue());
+    assertEquals(value, getObjectManager().getObjects(ListUtils.list(object.getId())).next().getValue());
+  }
+
+  @Test
+  public void testGetObjectByIdPopulatesCacheOnMiss() {
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    CassandraObjectManager manager = createObjectManagerWithEmptyCache();
+
+    ObjectEntity first = manager.getObject(object.getId());
+    assertObject(first, manager.getObject(object.getId()));
+    assertEquals(1, manager.getObjectByIdCacheStats().missCount());
+    assertEquals(1, manager.getObjectByIdCacheStats().hitCount());
+  }
+
+  @Test
+  public void testGetObjectByTypeValuePopulatesCacheOnMiss() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createAndSaveObject(type.getId());
+    CassandraObjectManager manager = createObjectManagerWithEmptyCache();
+
+    ObjectEntity first = manager.getObject(type.getName(), object.getValue());
+    assertObject(first, manager.getObject(type.getName(), object.getValue()));
+    // Also fetching the Object by ID is answered from the cache.
+    assertObject(first, manager.getObject(object.getId()));
+    assertEquals(1, manager.getObjectByTypeValueCacheStats().missCount());
+    assertEquals(1, manager.getObjectByTypeValueCacheStats().hitCount());
+  }
+
   @Test
   public void testGetObjectWithNonExistingObject() {
     assertNull(getObjectManager().getObject(null));
@@ -179,6 +232,69 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertSame(entity, getObjectManager().saveObject(entity));
   }
 
+  @Test
+  public void testSaveObjectWithSameTypeValueKeepsExistingObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity existing = createAndSaveObject(type.getId());
+    ObjectEntity duplicate = createObject(type.getId());
+
+    try {
+      getObjectManager().saveObject(duplicate);
+      fail();
+    } catch (ImmutableViolationException ignored) {
+      assertObject(existing, getObjectManager().getObject(type.getName(), existing.getValue()));
+      assertNull(getObjectManager().getObject(duplicate.getId()));
+    }
+  }
+
+  @Test
+  public void testGetOrCreateObjectCreatesNewObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createObject(type.getId());
+
+    assertSame(object, getObjectManager().getOrCreateObject(object));
+    assertObject(object, getObjectManager().getObject(object.getId()));
+    assertObject(object, getObjectManager().getObject(type.getName(), object.getValue()));
+  }
+
+  @Test
+  public void testGetOrCreateObjectReturnsExistingObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity existing = createAndSaveObject(type.getId());
+    ObjectEntity duplicate = createObject(type.getId());
+
+    assertObject(existing, getObjectManager().getOrCreateObject(duplicate));
+    assertNull(getObjectManager().getObject(duplicate.getId()));
+  }
+
+  @Test
+  public void testGetOrCreateObjectSavesObjectOfUnfinishedCreate() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createObject(type.getId());
+    // Simulate a concurrent create which has written the mapping but not yet the Object itself.
+    UUID creatorID = UUID.randomUUID();
+    getClusterManager().getMapper(ObjectByTypeValueEntity.class).save(new ObjectByTypeValueEntity()
+            .setObjectTypeID(type.getId())
+            .setObjectValue(object.getValue())
+            .setObjectID(creatorID));
+
+    ObjectEntity created = getObjectManager().getOrCreateObject(object);
+    assertEquals(creatorID, created.getId());
+    assertTrue(created.isStatisticsTracked());
+    assertObject(created, getObjectManager().getObject(creatorID));
+    assertNull(getObjectManager().getObject(object.getId()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetOrCreateObjectWithNonExistingObjectType() {
+    getObjectManager().getOrCreateObject(createObject());
+  }
+
+  @Test
+  public void testGetOrCreateObjectReturnsNullOnNullInput() {
+    assertNull(getObjectManager().getOrCreateObject(null));
+  }
+
   @Test
   public void testSaveObjectReturnsNullOnNullInput() {
     assertNull(getObjectManager().saveObject(null));
@@ -223,6 +339,78 @@ public class ObjectManagerTest extends AbstractManagerTest {
     getObjectManager().saveObjectFactBinding(binding);
   }
 
+  @Test
+  public void testSaveObjectTracksStatistics() {
+    ObjectEntity entity = createAndSaveObject();
+    assertTrue(entity.isStatisticsTracked());
+    assertTrue(createObjectManagerWithEmptyCache().getObject(entity.getId()).isStatisticsTracked());
+  }
+
+  @Test
+  public void testFetchObjectStatisticsWithUnknownObject() {
+    assertEquals(0, getObjectManager().fetchObjectStatistics(null).size());
+    assertEquals(0, getObjectManager().fetchObjectStatistics(UUID.randomUUID()).size());
+  }
+
+  @Test
+  public void testIncrementAndFetchObjectStatistics() {
+    ObjectEntity object = createAndSaveObject();
+    FactEntity fact1 = createFact(object.getId(), 1000, 2000);
+    FactEntity fact2 = createFact(object.getId(), 3000, 3000).setTypeID(fact1.getTypeID()).setOrganizationID(fact1.getOrganizationID());
+    getObjectManager().incrementObjectStatistics(fact1);
+    getObjectManager().incrementObjectStatistics(fact2);
+
+    List<ObjectStatisticsEntity> statistics = getObjectManager().fetchObjectStatistics(object.getId());
+    assertEquals(1, statistics.size());
+    assertEquals(fact1.getTypeID(), statistics.get(0).getFactTypeID());
+    assertEquals(fact1.getAccessMode(), statistics.get(0).getAccessMode());
+    assertEquals(fact1.getOrganizationID(), statistics.get(0).getOrganizationID());
+    assertEquals(2, statistics.get(0).getFactCount());
+    assertEquals(3000, statistics.get(0).getLastAddedTimestamp());
+    assertEquals(3000, statistics.get(0).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testFetchObjectStatisticsBatch() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object1 = getObjectManager().saveObject(createObject(type.getId()).setValue("value1"));
+    ObjectEntity object2 = getObjectManager().saveObject(createObject(type.getId()).setValue("value2"));
+    getObjectManager().incrementObjectStatistics(createFact(object1.getId(), 1000, 1000));
+    getObjectManager().incrementObjectStatistics(createFact(object1.getId(), 1000, 1000));
+    getObjectManager().incrementObjectStatistics(createFact(object2.getId(), 1000, 1000));
+
+    Map<UUID, List<ObjectStatisticsEntity>> statistics = getObjectManager()
+            .fetchObjectStatisticsBatch(ListUtils.list(object1.getId(), object2.getId(), UUID.randomUUID()));
+    assertEquals(3, statistics.size());
+    assertEquals(2, statistics.get(object1.getId()).size());
+    assertEquals(1, statistics.get(object2.getId()).size());
+    assertEquals(0, getObjectManager().fetchObjectStatisticsBatch(null).size());
+  }
+
+  @Test
+  public void testIncrementObjectStatisticsSeparatesOrganizations() {
+    ObjectEntity object = createAndSaveObject();
+    getObjectManager().incrementObjectStatistics(createFact(object.getId(), 1000, 1000));
+    getObjectManager().incrementObjectStatistics(createFact(object.getId(), 1000, 1000));
+    assertEquals(2, getObjectManager().fetchObjectStatistics(object.getId()).size());
+  }
+
+  @Test
+  public void testRefreshObjectStatisticsKeepsMaximumLastSeenTimestamp() {
+    ObjectEntity object = createAndSaveObject();
+    FactEntity fact = createFact(object.getId(), 1000, 5000);
+    getObjectManager().incrementObjectStatistics(fact);
+    getObjectManager().refreshObjectStatistics(fact.setLastSeenTimestamp(4000));
+
+    List<ObjectStatisticsEntity> statistics = getObjectManager().fetchObjectStatistics(object.getId());
+    assertEquals(1, statistics.size());
+    assertEquals(1, statistics.get(0).getFactCount());
+    assertEquals(5000, statistics.get(0).getLastSeenTimestamp());
+
+    getObjectManager().refreshObjectStatistics(fact.setLastSeenTimestamp(6000));
+    assertEquals(6000, getObjectManager().fetchObjectStatistics(object.getId()).get(0).getLastSeenTimestamp());
+  }
+
   private ObjectTypeEntity createObjectType() {
     return createObjectType("objectType");
   }
@@ -254,6 +442,18 @@ public class ObjectManagerTest extends AbstractManagerTest {
             .setDirection(Direction.BiDirectional);
   }
 
+  private FactEntity createFact(UUID objectID, long timestamp, long lastSeenTimestamp) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("value")
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased)
+            .setTimestamp(timestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.BiDirectional)));
+  }
+
   private ObjectTypeEntity createAndSaveObjectType() {
     return createAndSaveObjectTypes(1).get(0);
   }
@@ -322,4 +522,10 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertEquals(expected.getDirection(), actual.getDirection());
   }
 
+  private CassandraObjectManager createObjectManagerWithEmptyCache() {
+    CassandraObjectManager manager = new CassandraObjectManager(getClusterManager());
+    manager.startComponent();
+    return manager;
+  }
+
 }
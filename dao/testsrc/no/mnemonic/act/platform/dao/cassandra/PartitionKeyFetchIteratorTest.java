@@ -0,0 +1,65 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.util.concurrent.Futures;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class PartitionKeyFetchIteratorTest {
+
+  @Test
+  public void testFetchWithoutKeys() {
+    PartitionKeyFetchIterator<Integer, String> iterator = new PartitionKeyFetchIterator<>(Collections.emptyList(), k -> Futures.immediateFuture(String.valueOf(k)));
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testNextWithoutKeysThrowsException() {
+    new PartitionKeyFetchIterator<Integer, String>(Collections.emptyList(), k -> Futures.immediateFuture(String.valueOf(k))).next();
+  }
+
+  @Test
+  public void testFetchKeepsOrderAndRemovesDuplicates() {
+    PartitionKeyFetchIterator<Integer, String> iterator = new PartitionKeyFetchIterator<>(ListUtils.list(3, 1, 3, 2), k -> Futures.immediateFuture(String.valueOf(k)));
+    assertEquals(ListUtils.list("3", "1", "2"), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testFetchSkipsNonExistingEntities() {
+    PartitionKeyFetchIterator<Integer, String> iterator = new PartitionKeyFetchIterator<>(ListUtils.list(1, 2, 3, 4), k -> Futures.immediateFuture(k % 2 == 0 ? String.valueOf(k) : null), 1);
+    assertEquals(ListUtils.list("2", "4"), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testFetchLazilyInBatches() {
+    List<Integer> requested = new ArrayList<>();
+    PartitionKeyFetchIterator<Integer, String> iterator = new PartitionKeyFetchIterator<>(ListUtils.list(1, 2, 3, 4, 5), k -> {
+      requested.add(k);
+      return Futures.immediateFuture(String.valueOf(k));
+    }, 2);
+
+    assertTrue(requested.isEmpty());
+    assertEquals("1", iterator.next());
+    assertEquals(ListUtils.list(1, 2), requested);
+    assertEquals("2", iterator.next());
+    assertEquals("3", iterator.next());
+    assertEquals(ListUtils.list(1, 2, 3, 4), requested);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFetchRethrowsRuntimeException() {
+    new PartitionKeyFetchIterator<Integer, String>(ListUtils.list(1), k -> Futures.immediateFailedFuture(new IllegalStateException())).hasNext();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateWithInvalidBatchSizeThrowsException() {
+    new PartitionKeyFetchIterator<Integer, String>(ListUtils.list(1), k -> Futures.immediateFuture(String.valueOf(k)), 0);
+  }
+
+}
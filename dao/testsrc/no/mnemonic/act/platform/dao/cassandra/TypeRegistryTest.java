@@ -0,0 +1,134 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TypeRegistryTest {
+
+  private final List<ObjectTypeEntity> stored = new ArrayList<>();
+  private final AtomicInteger loaderCalls = new AtomicInteger();
+  private TypeRegistry<ObjectTypeEntity> registry;
+
+  @Before
+  public void setUp() {
+    registry = new TypeRegistry<>(ObjectTypeEntity::getId, ObjectTypeEntity::getName, ObjectTypeEntity::clone,
+            () -> new ArrayList<>(stored),
+            id -> {
+              loaderCalls.incrementAndGet();
+              return stored.stream().filter(t -> t.getId().equals(id)).findFirst().orElse(null);
+            },
+            name -> {
+              loaderCalls.incrementAndGet();
+              return stored.stream().filter(t -> t.getName().equals(name)).findFirst().orElse(null);
+            });
+  }
+
+  @Test
+  public void testGetAfterRefreshDoesNotCallLoaders() {
+    ObjectTypeEntity type = createType("type");
+    stored.add(type);
+    registry.refresh();
+
+    assertType(type, registry.get(type.getId()));
+    assertType(type, registry.get(type.getName()));
+    assertEquals(1, registry.getAll().size());
+    assertType(type, registry.getAll().get(0));
+    assertEquals(0, loaderCalls.get());
+  }
+
+  @Test
+  public void testGetUnknownTypeFallsBackToLoaderAndPublishesType() {
+    ObjectTypeEntity type = createType("type");
+    stored.add(type);
+
+    assertType(type, registry.get(type.getId()));
+    assertType(type, registry.get(type.getName()));
+    assertEquals(1, loaderCalls.get());
+  }
+
+  @Test
+  public void testGetNonExistingTypeReturnsNull() {
+    assertNull(registry.get((UUID) null));
+    assertNull(registry.get((String) null));
+    assertNull(registry.get(UUID.randomUUID()));
+    assertNull(registry.get("unknown"));
+    assertTrue(registry.getAll().isEmpty());
+  }
+
+  @Test
+  public void testPublishReplacesExistingTypeAndRemovesPreviousName() {
+    ObjectTypeEntity type = createType("before");
+    registry.publish(type);
+    ObjectTypeEntity renamed = type.clone().setName("after");
+    registry.publish(renamed);
+
+    assertType(renamed, registry.get(type.getId()));
+    assertType(renamed, registry.get("after"));
+    assertNull(registry.get("before"));
+    assertEquals(1, registry.getAll().size());
+  }
+
+  @Test
+  public void testModifyingReturnedTypeDoesNotChangeRegistry() {
+    registry.publish(createType("before"));
+    ObjectTypeEntity type = registry.get("before");
+    type.setName("after");
+    registry.getAll().get(0).setName("after");
+
+    assertNotSame(type, registry.get(type.getId()));
+    assertEquals("before", registry.get(type.getId()).getName());
+    assertEquals("before", registry.get("before").getName());
+    assertNull(registry.get("after"));
+  }
+
+  @Test
+  public void testRefreshReplacesPublishedTypes() {
+    registry.publish(createType("removed"));
+    ObjectTypeEntity type = createType("type");
+    stored.add(type);
+    registry.refresh();
+
+    assertEquals(1, registry.getAll().size());
+    assertType(type, registry.getAll().get(0));
+  }
+
+  @Test
+  public void testRefreshKeepsTypesIfLoadingFails() {
+    ObjectTypeEntity type = createType("type");
+    TypeRegistry<ObjectTypeEntity> failing = new TypeRegistry<>(ObjectTypeEntity::getId, ObjectTypeEntity::getName, ObjectTypeEntity::clone,
+            () -> {
+              throw new IllegalStateException();
+            }, id -> null, name -> null);
+    failing.publish(type);
+    failing.refresh();
+
+    assertType(type, failing.get(type.getId()));
+  }
+
+  @Test
+  public void testGetAllReturnsModifiableCopy() {
+    registry.publish(createType("type"));
+    registry.getAll().clear();
+    assertEquals(1, registry.getAll().size());
+  }
+
+  private void assertType(ObjectTypeEntity expected, ObjectTypeEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getName(), actual.getName());
+  }
+
+  private ObjectTypeEntity createType(String name) {
+    return new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setName(name);
+  }
+
+}
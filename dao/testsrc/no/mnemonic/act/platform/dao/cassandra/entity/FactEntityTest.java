@@ -6,36 +6,50 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.*;
 
 public class FactEntityTest {
   private static final ObjectMapper mapper = new ObjectMapper();
   private static final ObjectReader reader = mapper.reader();
 
   @Test
-  public void setBindingsFromObjects() throws IOException {
+  public void setBindingsFromObjects() {
     List<FactEntity.FactObjectBinding> bindings = Arrays.asList(
             createFactObjectBinding(Direction.FactIsSource),
             createFactObjectBinding(Direction.BiDirectional)
     );
     FactEntity entity = new FactEntity().setBindings(bindings);
 
-    assertFactObjectBindings(bindings, entity.getBindingsStored());
+    assertNull(entity.getBindingsStored());
+    assertEquals(1 + 2 * 17, entity.getBindingsBinary().remaining());
+    assertFactObjectBindings(bindings, new FactEntity().setBindingsBinary(entity.getBindingsBinary()));
   }
 
   @Test
-  public void addBindingFromObject() throws IOException {
+  public void addBindingFromObject() {
     FactEntity entity = new FactEntity()
             .addBinding(createFactObjectBinding(Direction.FactIsSource))
             .addBinding(createFactObjectBinding(Direction.BiDirectional));
 
-    assertFactObjectBindings(entity.getBindings(), entity.getBindingsStored());
+    assertFactObjectBindings(entity.getBindings(), new FactEntity().setBindingsBinary(entity.getBindingsBinary()));
+  }
+
+  @Test
+  public void addBindingToDecodedBindings() {
+    FactEntity stored = new FactEntity().addBinding(createFactObjectBinding(Direction.FactIsSource));
+    FactEntity entity = new FactEntity()
+            .setBindingsBinary(stored.getBindingsBinary())
+            .addBinding(createFactObjectBinding(Direction.FactIsDestination));
+
+    assertEquals(2, entity.getBindingCount());
+    assertEquals(Direction.FactIsSource, entity.getBindingDirection(0));
+    assertEquals(Direction.FactIsDestination, entity.getBindingDirection(1));
   }
 
   @Test
@@ -43,7 +57,40 @@ public class FactEntityTest {
     String bindings = "[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":1},{\"objectID\":\"95959968-f2fb-4913-9c0b-fc1b9144b60f\",\"direction\":3}]";
     FactEntity entity = new FactEntity().setBindingsStored(bindings);
 
+    assertNull(entity.getBindingsBinary());
     assertFactObjectBindings(entity.getBindings(), bindings);
+    assertFactObjectBindings(entity.getBindings(), entity);
+  }
+
+  @Test
+  public void setBindingsBinaryPrefersBinaryOverString() {
+    FactEntity stored = new FactEntity().addBinding(createFactObjectBinding(Direction.FactIsSource));
+    FactEntity entity = new FactEntity()
+            .setBindingsBinary(stored.getBindingsBinary())
+            .setBindingsStored("[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":3}]");
+
+    assertFactObjectBindings(stored.getBindings(), entity);
+  }
+
+  @Test
+  public void setBindingsBinaryWithEmptyBuffer() {
+    FactEntity entity = new FactEntity().setBindingsBinary(ByteBuffer.allocate(0));
+
+    assertNull(entity.getBindingsBinary());
+    assertNull(entity.getBindings());
+    assertEquals(0, entity.getBindingCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setBindingsBinaryWithInvalidBufferThrowsException() {
+    new FactEntity().setBindingsBinary(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getBindingObjectIDWithInvalidIndexThrowsException() {
+    new FactEntity()
+            .addBinding(createFactObjectBinding(Direction.FactIsSource))
+            .getBindingObjectID(1);
   }
 
   @Test
@@ -55,6 +102,18 @@ public class FactEntityTest {
     assertFact(original, clone);
   }
 
+  @Test
+  public void testCloneEntityKeepsDecodedBindings() {
+    FactEntity original = createFact().setBindingsBinary(createFact().getBindingsBinary());
+    List<FactEntity.FactObjectBinding> decoded = original.getBindings();
+    FactEntity clone = original.clone();
+
+    assertSame(decoded, clone.getBindings());
+    // Changing the bindings of the clone doesn't affect the original.
+    clone.addBinding(createFactObjectBinding(Direction.FactIsSource));
+    assertEquals(original.getBindingCount() + 1, clone.getBindingCount());
+  }
+
   private FactEntity createFact() {
     return new FactEntity()
             .setId(UUID.randomUUID())
@@ -87,9 +146,21 @@ public class FactEntityTest {
     assertEquals(expected.getConfidenceLevel(), actual.getConfidenceLevel());
     assertEquals(expected.getTimestamp(), actual.getTimestamp());
     assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getBindingsBinary(), actual.getBindingsBinary());
     assertEquals(expected.getBindingsStored(), actual.getBindingsStored());
   }
 
+  private void assertFactObjectBindings(List<FactEntity.FactObjectBinding> expected, FactEntity actual) {
+    assertEquals(expected.size(), actual.getBindingCount());
+    assertEquals(expected.size(), actual.getBindings().size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getObjectID(), actual.getBindingObjectID(i));
+      assertEquals(expected.get(i).getDirection(), actual.getBindingDirection(i));
+      assertEquals(expected.get(i).getObjectID(), actual.getBindings().get(i).getObjectID());
+      assertEquals(expected.get(i).getDirection(), actual.getBindings().get(i).getDirection());
+    }
+  }
+
   private void assertFactObjectBindings(List<FactEntity.FactObjectBinding> bindings, String json) throws IOException {
     JsonNode node = reader.readTree(json);
 
@@ -12,11 +12,30 @@ import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 public class FactTypeEntityTest {
   private static final ObjectMapper mapper = new ObjectMapper();
   private static final ObjectReader reader = mapper.reader();
 
+  @Test
+  public void cloneEntityCopiesBindings() {
+    FactTypeEntity entity = new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setName("type")
+            .addRelevantObjectBinding(createFactObjectBindingDefinition(false))
+            .addRelevantFactBinding(new FactTypeEntity.MetaFactBindingDefinition().setFactTypeID(UUID.randomUUID()));
+    FactTypeEntity clone = entity.clone();
+
+    assertEquals(entity.getRelevantObjectBindings(), clone.getRelevantObjectBindings());
+    assertEquals(entity.getRelevantObjectBindingsStored(), clone.getRelevantObjectBindingsStored());
+    assertEquals(entity.getRelevantFactBindings(), clone.getRelevantFactBindings());
+    assertEquals(entity.getRelevantFactBindingsStored(), clone.getRelevantFactBindingsStored());
+    // The clone must not share the binding sets with the original entity.
+    assertNotSame(entity.getRelevantObjectBindings(), clone.getRelevantObjectBindings());
+    assertNotSame(entity.getRelevantFactBindings(), clone.getRelevantFactBindings());
+  }
+
   @Test
   public void setRelevantObjectBindingsFromObjects() throws IOException {
     Set<FactTypeEntity.FactObjectBindingDefinition> bindings = SetUtils.set(
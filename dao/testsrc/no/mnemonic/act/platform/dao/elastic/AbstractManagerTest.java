@@ -2,6 +2,7 @@ package no.mnemonic.act.platform.dao.elastic;
 
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
 import no.mnemonic.commons.junit.docker.ElasticSearchDockerResource;
 import org.junit.*;
 
@@ -12,7 +13,7 @@ import static no.mnemonic.act.platform.dao.elastic.DocumentTestUtils.createFactD
 public abstract class AbstractManagerTest {
 
   private static ClientFactory clientFactory;
-  private FactSearchManager factSearchManager;
+  private ElasticFactSearchManager factSearchManager;
 
   @ClassRule
   public static ElasticSearchDockerResource elastic = ElasticSearchDockerResource.builder()
@@ -38,7 +39,7 @@ public abstract class AbstractManagerTest {
 
   @Before
   public void initialize() {
-    factSearchManager = new FactSearchManager(clientFactory);
+    factSearchManager = new ElasticFactSearchManager(clientFactory, new QueryMetrics());
     factSearchManager.setTestEnvironment(true);
     factSearchManager.startComponent();
   }
@@ -53,7 +54,7 @@ public abstract class AbstractManagerTest {
     clientFactory.stopComponent();
   }
 
-  protected FactSearchManager getFactSearchManager() {
+  protected ElasticFactSearchManager getFactSearchManager() {
     return factSearchManager;
   }
 
@@ -21,6 +21,23 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     assertNull(getFactSearchManager().getFact(UUID.randomUUID()));
   }
 
+  @Test
+  public void testGetFactByTimestampNonIndexedFact() {
+    assertNull(getFactSearchManager().getFact(null, 0));
+    // The index of the given timestamp doesn't exist.
+    assertNull(getFactSearchManager().getFact(UUID.randomUUID(), 0));
+  }
+
+  @Test
+  public void testIndexAndGetFactByTimestamp() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    assertFactDocument(fact, getFactSearchManager().getFact(fact.getId(), fact.getTimestamp()));
+    // Using a timestamp of another month targets another index.
+    assertNull(getFactSearchManager().getFact(fact.getId(), fact.getTimestamp() + 100L * 24 * 60 * 60 * 1000));
+  }
+
   @Test
   public void testIndexFactNullFact() {
     assertNull(getFactSearchManager().indexFact(null));
@@ -61,4 +78,21 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     assertEquals("updatedValue", indexedFact2.getValue());
   }
 
+  @Test
+  public void testReindexFactStoredInLegacyIndex() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact.setIndex("act"));
+    // Restart in order to detect the legacy index.
+    getFactSearchManager().startComponent();
+
+    FactDocument legacyFact = getFactSearchManager().getFact(fact.getId(), fact.getTimestamp());
+    assertEquals("act", legacyFact.getIndex());
+    getFactSearchManager().indexFact(legacyFact.setRetracted(true));
+
+    // The Fact is updated in the legacy index and no copy is created in the monthly index.
+    FactDocument retractedFact = getFactSearchManager().getFact(fact.getId(), fact.getTimestamp());
+    assertEquals("act", retractedFact.getIndex());
+    assertTrue(retractedFact.isRetracted());
+  }
+
 }
@@ -0,0 +1,119 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.metrics.QueryMetrics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class FactSearchManagerResolveIndicesTest {
+
+  private static final long NOW = Instant.parse("2018-10-15T12:00:00Z").toEpochMilli();
+
+  private ElasticFactSearchManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new ElasticFactSearchManager(null, new QueryMetrics()).withClock(Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+  }
+
+  @Test
+  public void testResolveIndicesWithoutTimestamps() {
+    assertArrayEquals(new String[]{"act-facts"}, manager.resolveSearchIndices(createCriteria(null, null, null, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithoutStartTimestamp() {
+    long end = Instant.parse("2018-08-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-*", "-act-facts-2018.09", "-act-facts-2018.10", "-act-facts-2018.11"},
+            manager.resolveSearchIndices(createCriteria(null, end, FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithoutStartTimestampOmitsNewerIndicesForAllTimeFields() {
+    // 'lastSeenTimestamp' is never before 'timestamp', thus, it gives an upper bound for 'timestamp' as well.
+    long end = Instant.parse("2018-09-30T23:59:59Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-*", "-act-facts-2018.10", "-act-facts-2018.11"},
+            manager.resolveSearchIndices(createCriteria(null, end, null, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithoutStartTimestampAndEndTimestampInCurrentMonth() {
+    long end = Instant.parse("2018-10-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts"}, manager.resolveSearchIndices(createCriteria(null, end,
+            FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithLastSeenTimestampOmitsNewerIndices() {
+    long start = Instant.parse("2018-01-01T00:00:00Z").toEpochMilli();
+    long end = Instant.parse("2018-09-15T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-*", "-act-facts-2018.10", "-act-facts-2018.11"},
+            manager.resolveSearchIndices(createCriteria(start, end, FactSearchCriteria.TimeFieldStrategy.lastSeenTimestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithStartTimestampOnly() {
+    long start = Instant.parse("2018-08-20T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-2018.08", "act-facts-2018.09", "act-facts-2018.10"},
+            manager.resolveSearchIndices(createCriteria(start, null, FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithStartAndEndTimestamp() {
+    long start = Instant.parse("2017-12-31T23:59:59Z").toEpochMilli();
+    long end = Instant.parse("2018-01-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-2017.12", "act-facts-2018.01"},
+            manager.resolveSearchIndices(createCriteria(start, end, FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithEndTimestampInFuture() {
+    long start = Instant.parse("2018-10-01T00:00:00Z").toEpochMilli();
+    long end = Instant.parse("2019-10-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-2018.10"},
+            manager.resolveSearchIndices(createCriteria(start, end, FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithLastSeenTimestampSearchesAllIndices() {
+    long start = Instant.parse("2018-10-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts"}, manager.resolveSearchIndices(createCriteria(start, null,
+            FactSearchCriteria.TimeFieldStrategy.lastSeenTimestamp, null)));
+    // By default it's enough if either timestamp or lastSeenTimestamp match.
+    assertArrayEquals(new String[]{"act-facts"}, manager.resolveSearchIndices(createCriteria(start, null, null, null)));
+  }
+
+  @Test
+  public void testResolveIndicesWithAllTimestampsMatching() {
+    long start = Instant.parse("2018-10-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts-2018.10"}, manager.resolveSearchIndices(createCriteria(start, null,
+            FactSearchCriteria.TimeFieldStrategy.all, FactSearchCriteria.MatchStrategy.all)));
+  }
+
+  @Test
+  public void testResolveIndicesWithTooManyMonthsSearchesAllIndices() {
+    long start = Instant.parse("2000-01-01T00:00:00Z").toEpochMilli();
+    assertArrayEquals(new String[]{"act-facts"}, manager.resolveSearchIndices(createCriteria(start, null,
+            FactSearchCriteria.TimeFieldStrategy.timestamp, null)));
+  }
+
+  private FactSearchCriteria createCriteria(Long start, Long end, FactSearchCriteria.TimeFieldStrategy field,
+                                            FactSearchCriteria.MatchStrategy match) {
+    FactSearchCriteria.Builder builder = FactSearchCriteria.builder()
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .setStartTimestamp(start)
+            .setEndTimestamp(end)
+            .setTimeMatchStrategy(match);
+    if (field != null) builder.addTimeFieldStrategy(field);
+    return builder.build();
+  }
+
+}
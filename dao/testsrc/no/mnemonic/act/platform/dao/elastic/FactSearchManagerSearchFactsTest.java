@@ -14,6 +14,7 @@ import static no.mnemonic.act.platform.dao.elastic.DocumentTestUtils.createObjec
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
 
@@ -511,6 +512,18 @@ public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
     assertEquals(2, result.getValues().size());
   }
 
+  @Test
+  public void testSearchFactsWithIdProjection() {
+    FactDocument accessibleFact = indexFact(d -> d);
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setProjection(FactSearchCriteria.Projection.id));
+    List<FactDocument> result = getFactSearchManager().searchFacts(criteria).getValues();
+    assertEquals(1, result.size());
+    assertEquals(accessibleFact.getId(), result.get(0).getId());
+    assertNull(result.get(0).getTypeID());
+    assertNull(result.get(0).getObjects());
+  }
+
   private void testSearchFacts(FactSearchCriteria criteria, FactDocument accessibleFact) {
     List<FactDocument> result = getFactSearchManager().searchFacts(criteria).getValues();
     assertEquals(1, result.size());
@@ -0,0 +1,227 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import com.google.common.io.ByteStreams;
+import no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class EmbeddedEvidenceManagerTest {
+
+  private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private EmbeddedEvidenceManager manager;
+
+  @Before
+  public void setUp() {
+    manager = createManager();
+  }
+
+  @After
+  public void tearDown() {
+    manager.stopComponent();
+  }
+
+  @Test
+  public void testSaveEvidenceSplitsContentIntoChunks() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertEquals("84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882", evidence.getChecksum());
+    assertEquals(10, evidence.getLength());
+    assertEquals(4, evidence.getChunkSize());
+    assertEquals(3, evidence.getChunks().size());
+    assertEquals(3, countChunkFiles());
+  }
+
+  @Test
+  public void testSaveEvidenceFromSlowStream() throws IOException {
+    // A stream returning one byte per read() must still result in full chunks.
+    InputStream slow = new ByteArrayInputStream(CONTENT) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, 1));
+      }
+    };
+
+    EvidenceEntity evidence = manager.saveEvidence(slow);
+    assertEquals(3, evidence.getChunks().size());
+    assertArrayEquals(CONTENT, read(evidence, 0, evidence.getLength()));
+  }
+
+  @Test
+  public void testSaveEvidenceStoresIdenticalChunksOnce() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream("abcdabcdabcd".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(3, evidence.getChunks().size());
+    assertEquals(1, countChunkFiles());
+  }
+
+  @Test
+  public void testSaveSameEvidenceTwiceReturnsExistingEvidence() throws IOException {
+    EvidenceEntity first = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    EvidenceEntity second = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertEquals(first.getChecksum(), second.getChecksum());
+    assertEquals(first.getChunks(), second.getChunks());
+    assertEquals(3, countChunkFiles());
+  }
+
+  @Test
+  public void testSaveEmptyEvidence() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(new byte[0]));
+    assertEquals(0, evidence.getLength());
+    assertTrue(evidence.getChunks().isEmpty());
+    assertArrayEquals(new byte[0], read(evidence, 0, 0));
+  }
+
+  @Test
+  public void testSaveNullEvidence() throws IOException {
+    assertNull(manager.saveEvidence(null));
+  }
+
+  @Test
+  public void testGetEvidence() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertEvidence(evidence, manager.getEvidence(evidence.getChecksum()));
+    assertNull(manager.getEvidence(null));
+    assertNull(manager.getEvidence("unknown"));
+  }
+
+  @Test
+  public void testReadCompleteEvidence() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    try (InputStream stream = manager.readEvidence(evidence)) {
+      assertArrayEquals(CONTENT, ByteStreams.toByteArray(stream));
+    }
+  }
+
+  @Test
+  public void testReadEvidenceRange() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertArrayEquals(bytes("0123"), read(evidence, 0, 4));
+    assertArrayEquals(bytes("3456"), read(evidence, 3, 4));
+    assertArrayEquals(bytes("56789"), read(evidence, 5, 5));
+    assertArrayEquals(bytes("9"), read(evidence, 9, 1));
+  }
+
+  @Test
+  public void testReadEvidenceRangeIsCutAtEnd() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertArrayEquals(bytes("789"), read(evidence, 7, Long.MAX_VALUE));
+    assertArrayEquals(new byte[0], read(evidence, 10, 5));
+  }
+
+  @Test
+  public void testSkipEvidence() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    try (InputStream stream = manager.readEvidence(evidence)) {
+      assertEquals(6, stream.skip(6));
+      assertEquals('6', stream.read());
+      assertEquals(3, stream.skip(100));
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  @Test
+  public void testTransferEvidence() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    assertArrayEquals(CONTENT, transfer(evidence, 0, evidence.getLength()));
+    assertArrayEquals(bytes("3456"), transfer(evidence, 3, 4));
+    assertArrayEquals(bytes("89"), transfer(evidence, 8, 100));
+    assertArrayEquals(new byte[0], transfer(evidence, 10, 1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTransferEvidenceWithMissingChunk() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    try (Stream<Path> files = Files.walk(folder.getRoot().toPath().resolve("evidence"))) {
+      for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+        Files.delete(file);
+      }
+    }
+    transfer(evidence, 0, evidence.getLength());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadEvidenceWithOffsetOutsideContent() throws IOException {
+    manager.readEvidence(manager.saveEvidence(new ByteArrayInputStream(CONTENT)), 11, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadEvidenceWithNegativeLength() throws IOException {
+    manager.readEvidence(manager.saveEvidence(new ByteArrayInputStream(CONTENT)), 0, -1);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadEvidenceWithMissingChunk() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+    try (Stream<Path> files = Files.walk(folder.getRoot().toPath().resolve("evidence"))) {
+      for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+        Files.delete(file);
+      }
+    }
+    read(evidence, 0, evidence.getLength());
+  }
+
+  @Test
+  public void testEvidenceIsRestoredAfterRestart() throws IOException {
+    EvidenceEntity evidence = manager.saveEvidence(new ByteArrayInputStream(CONTENT));
+
+    manager.stopComponent();
+    manager = createManager();
+
+    assertEvidence(evidence, manager.getEvidence(evidence.getChecksum()));
+    assertArrayEquals(CONTENT, read(evidence, 0, evidence.getLength()));
+  }
+
+  private EmbeddedEvidenceManager createManager() {
+    EmbeddedEvidenceManager manager = new EmbeddedEvidenceManager(folder.getRoot().getAbsolutePath()).withChunkSize(4);
+    manager.startComponent();
+    return manager;
+  }
+
+  private byte[] read(EvidenceEntity evidence, long offset, long length) throws IOException {
+    try (InputStream stream = manager.readEvidence(evidence, offset, length)) {
+      return ByteStreams.toByteArray(stream);
+    }
+  }
+
+  private byte[] transfer(EvidenceEntity evidence, long offset, long length) throws IOException {
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+    long transferred = manager.transferEvidence(evidence, offset, length, Channels.newChannel(target));
+    assertEquals(target.size(), transferred);
+    return target.toByteArray();
+  }
+
+  private long countChunkFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(folder.getRoot().toPath().resolve("evidence"))) {
+      return files.filter(Files::isRegularFile).count();
+    }
+  }
+
+  private byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void assertEvidence(EvidenceEntity expected, EvidenceEntity actual) {
+    assertEquals(expected.getChecksum(), actual.getChecksum());
+    assertEquals(expected.getLength(), actual.getLength());
+    assertEquals(expected.getChunkSize(), actual.getChunkSize());
+    assertEquals(expected.getChunks(), actual.getChunks());
+  }
+
+}
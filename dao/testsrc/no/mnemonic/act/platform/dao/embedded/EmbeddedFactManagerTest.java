@@ -0,0 +1,289 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class EmbeddedFactManagerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private EmbeddedFactManager manager;
+
+  @Before
+  public void setUp() {
+    manager = createManager();
+  }
+
+  @After
+  public void tearDown() {
+    manager.stopComponent();
+  }
+
+  @Test
+  public void testSaveAndGetFactType() {
+    FactTypeEntity type = createAndSaveFactType("type");
+    assertFactType(type, manager.getFactType(type.getId()));
+    assertFactType(type, manager.getFactType(type.getName()));
+    assertEquals(1, manager.fetchFactTypes().size());
+  }
+
+  @Test
+  public void testGetFactTypeWithUnknownTypeReturnsNull() {
+    assertNull(manager.getFactType((UUID) null));
+    assertNull(manager.getFactType(UUID.randomUUID()));
+    assertNull(manager.getFactType((String) null));
+    assertNull(manager.getFactType("unknown"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveFactTypeWithSameNameThrowsException() {
+    createAndSaveFactType("type");
+    createAndSaveFactType("type");
+  }
+
+  @Test
+  public void testUpdateFactTypeName() {
+    FactTypeEntity type = createAndSaveFactType("type");
+    manager.saveFactType(type.clone().setName("renamed"));
+
+    assertNull(manager.getFactType("type"));
+    assertEquals(type.getId(), manager.getFactType("renamed").getId());
+  }
+
+  @Test
+  public void testModifyingReturnedFactTypeDoesNotChangeFactType() {
+    FactTypeEntity type = createAndSaveFactType("type");
+    manager.getFactType(type.getId()).setName("renamed");
+    manager.getFactType("type").setName("renamed");
+    manager.fetchFactTypes().get(0).setName("renamed");
+
+    assertEquals("type", manager.getFactType(type.getId()).getName());
+    assertNull(manager.getFactType("renamed"));
+  }
+
+  @Test
+  public void testSaveAndGetFact() {
+    FactEntity fact = createAndSaveFact();
+    assertFact(fact, manager.getFact(fact.getId()));
+  }
+
+  @Test
+  public void testGetFactWithUnknownFactReturnsNull() {
+    assertNull(manager.getFact(null));
+    assertNull(manager.getFact(UUID.randomUUID()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveFactWithNonExistingFactType() {
+    manager.saveFact(createFact(UUID.randomUUID()));
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveFactTwiceThrowsException() {
+    FactEntity fact = createAndSaveFact();
+    manager.saveFact(fact);
+  }
+
+  @Test
+  public void testFetchFactsById() {
+    FactEntity fact = createAndSaveFact();
+    List<FactEntity> facts = ListUtils.list(manager.getFacts(ListUtils.list(fact.getId(), UUID.randomUUID())));
+    assertEquals(1, facts.size());
+    assertFact(fact, facts.get(0));
+  }
+
+  @Test
+  public void testRefreshFact() {
+    long timestamp = 123456789;
+    manager.withClock(Clock.fixed(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC));
+    FactEntity fact = createAndSaveFact();
+
+    assertEquals(timestamp, manager.refreshFact(fact.getId()).getLastSeenTimestamp());
+    assertEquals(timestamp, manager.getFact(fact.getId()).getLastSeenTimestamp());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRefreshNonExistingFact() {
+    manager.refreshFact(UUID.randomUUID());
+  }
+
+  @Test
+  public void testSaveAndFetchFactAcl() {
+    FactEntity fact = createAndSaveFact();
+    FactAclEntity entry = manager.saveFactAclEntry(createFactAclEntry(fact.getId()));
+
+    List<FactAclEntity> acl = manager.fetchFactAcl(fact.getId());
+    assertEquals(1, acl.size());
+    assertEquals(entry.getId(), acl.get(0).getId());
+    assertEquals(entry.getSubjectID(), acl.get(0).getSubjectID());
+    assertTrue(manager.fetchFactAcl(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveFactAclEntryTwiceThrowsException() {
+    FactAclEntity entry = createFactAclEntry(createAndSaveFact().getId());
+    manager.saveFactAclEntry(entry);
+    manager.saveFactAclEntry(entry);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveFactAclEntryForNonExistingFact() {
+    manager.saveFactAclEntry(createFactAclEntry(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testSaveAndFetchFactComments() {
+    FactEntity fact = createAndSaveFact();
+    FactCommentEntity comment = manager.saveFactComment(createFactComment(fact.getId()));
+
+    List<FactCommentEntity> comments = manager.fetchFactComments(fact.getId());
+    assertEquals(1, comments.size());
+    assertEquals(comment.getId(), comments.get(0).getId());
+    assertEquals(comment.getComment(), comments.get(0).getComment());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveFactCommentTwiceThrowsException() {
+    FactCommentEntity comment = createFactComment(createAndSaveFact().getId());
+    manager.saveFactComment(comment);
+    manager.saveFactComment(comment);
+  }
+
+  @Test
+  public void testSaveAndFetchMetaFactBindings() {
+    FactEntity fact = createAndSaveFact();
+    MetaFactBindingEntity binding = manager.saveMetaFactBinding(new MetaFactBindingEntity()
+            .setFactID(fact.getId())
+            .setMetaFactID(UUID.randomUUID()));
+
+    List<MetaFactBindingEntity> bindings = manager.fetchMetaFactBindings(fact.getId());
+    assertEquals(1, bindings.size());
+    assertEquals(binding.getMetaFactID(), bindings.get(0).getMetaFactID());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveMetaFactBindingTwiceThrowsException() {
+    MetaFactBindingEntity binding = new MetaFactBindingEntity()
+            .setFactID(createAndSaveFact().getId())
+            .setMetaFactID(UUID.randomUUID());
+    manager.saveMetaFactBinding(binding);
+    manager.saveMetaFactBinding(binding);
+  }
+
+  @Test
+  public void testRestartRestoresAllEntities() {
+    manager.withClock(Clock.fixed(Instant.ofEpochMilli(123456789), ZoneOffset.UTC));
+    FactEntity fact = createAndSaveFact();
+    manager.refreshFact(fact.getId());
+    manager.saveFactAclEntry(createFactAclEntry(fact.getId()));
+    manager.saveFactComment(createFactComment(fact.getId()));
+    manager.stopComponent();
+
+    manager = createManager();
+    assertNotNull(manager.getFactType(fact.getTypeID()));
+    assertEquals(123456789, manager.getFact(fact.getId()).getLastSeenTimestamp());
+    assertEquals(fact.getBindings().get(0).getObjectID(), manager.getFact(fact.getId()).getBindingObjectID(0));
+    assertEquals(1, manager.fetchFactAcl(fact.getId()).size());
+    assertEquals(1, manager.fetchFactComments(fact.getId()).size());
+  }
+
+  private EmbeddedFactManager createManager() {
+    EmbeddedFactManager manager = new EmbeddedFactManager(folder.getRoot().getAbsolutePath()).withSegmentSize(1024);
+    manager.startComponent();
+    return manager;
+  }
+
+  private FactTypeEntity createAndSaveFactType(String name) {
+    return manager.saveFactType(new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName(name)
+            .setValidator("validator")
+            .setValidatorParameter("validatorParameter")
+            .addRelevantObjectBinding(new FactTypeEntity.FactObjectBindingDefinition()
+                    .setSourceObjectTypeID(UUID.randomUUID())
+                    .setDestinationObjectTypeID(UUID.randomUUID())
+                    .setBidirectionalBinding(true)));
+  }
+
+  private FactEntity createAndSaveFact() {
+    return manager.saveFact(createFact(createAndSaveFactType("type" + UUID.randomUUID()).getId()));
+  }
+
+  private FactEntity createFact(UUID typeID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(typeID)
+            .setValue("value")
+            .setInReferenceToID(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased)
+            .setConfidenceLevel(1)
+            .setTimestamp(1)
+            .setLastSeenTimestamp(2)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding()
+                    .setObjectID(UUID.randomUUID())
+                    .setDirection(Direction.BiDirectional)));
+  }
+
+  private FactAclEntity createFactAclEntry(UUID factID) {
+    return new FactAclEntity()
+            .setFactID(factID)
+            .setId(UUID.randomUUID())
+            .setSubjectID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setTimestamp(123);
+  }
+
+  private FactCommentEntity createFactComment(UUID factID) {
+    return new FactCommentEntity()
+            .setFactID(factID)
+            .setId(UUID.randomUUID())
+            .setReplyToID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setComment("comment")
+            .setTimestamp(123);
+  }
+
+  private void assertFactType(FactTypeEntity expected, FactTypeEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getNamespaceID(), actual.getNamespaceID());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getValidator(), actual.getValidator());
+    assertEquals(expected.getValidatorParameter(), actual.getValidatorParameter());
+    assertEquals(expected.getRelevantObjectBindingsStored(), actual.getRelevantObjectBindingsStored());
+  }
+
+  private void assertFact(FactEntity expected, FactEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.getInReferenceToID(), actual.getInReferenceToID());
+    assertEquals(expected.getOrganizationID(), actual.getOrganizationID());
+    assertEquals(expected.getSourceID(), actual.getSourceID());
+    assertEquals(expected.getAccessMode(), actual.getAccessMode());
+    assertEquals(expected.getConfidenceLevel(), actual.getConfidenceLevel());
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getBindingCount(), actual.getBindingCount());
+    assertEquals(expected.getBindingObjectID(0), actual.getBindingObjectID(0));
+    assertEquals(expected.getBindingDirection(0), actual.getBindingDirection(0));
+  }
+
+}
@@ -0,0 +1,232 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class EmbeddedFactSearchManagerTest {
+
+  private static final UUID CURRENT_USER = UUID.randomUUID();
+  private static final UUID ORGANIZATION = UUID.randomUUID();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private EmbeddedFactSearchManager manager;
+
+  @Before
+  public void setUp() {
+    manager = createManager();
+  }
+
+  @After
+  public void tearDown() {
+    manager.stopComponent();
+  }
+
+  @Test
+  public void testIndexAndGetFact() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    assertFact(fact, manager.getFact(fact.getId()));
+    assertFact(fact, manager.getFact(fact.getId(), fact.getTimestamp()));
+    assertNull(manager.getFact(UUID.randomUUID()));
+    assertNull(manager.getFact(null));
+  }
+
+  @Test
+  public void testIndexFactTwiceReplacesDocument() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    manager.indexFact(fact.setRetracted(true));
+
+    assertTrue(manager.getFact(fact.getId()).isRetracted());
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().build());
+    assertEquals(1, result.getCount());
+    assertTrue(result.getValues().get(0).isRetracted());
+  }
+
+  @Test
+  public void testSearchFactsByFactType() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    manager.indexFact(createFact("value"));
+
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().addFactTypeID(fact.getTypeID()).build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchFactsByObjectValue() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    manager.indexFact(createFact("value"));
+
+    String objectValue = fact.getObjects().iterator().next().getValue();
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().addObjectValue(objectValue).build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchFactsByKeywords() {
+    FactDocument fact = manager.indexFact(createFact("Some malicious domain"));
+    manager.indexFact(createFact("Something else"));
+
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria()
+            .setKeywords("MALICIOUS")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.factValue)
+            .build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchFactsByTimestamp() {
+    FactDocument fact = manager.indexFact(createFact("value").setTimestamp(200));
+    manager.indexFact(createFact("value").setTimestamp(100));
+
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria()
+            .setStartTimestamp(150L)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
+            .build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchFactsFiltersInaccessibleFacts() {
+    manager.indexFact(createFact("value").setAccessMode(FactDocument.AccessMode.Explicit));
+    FactDocument fact = manager.indexFact(createFact("value").setAccessMode(FactDocument.AccessMode.RoleBased));
+
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchFactsReturnsNewestFactsFirstAndAppliesLimit() {
+    manager.indexFact(createFact("first"));
+    manager.indexFact(createFact("second"));
+    FactDocument third = manager.indexFact(createFact("third"));
+
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().setLimit(1).build());
+    assertEquals(3, result.getCount());
+    assertEquals(1, result.getValues().size());
+    assertEquals(third.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testSearchObjects() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    ObjectDocument object = fact.getObjects().iterator().next();
+
+    SearchResult<ObjectDocument> result = manager.searchObjects(createCriteria().addFactTypeID(fact.getTypeID()).build());
+    assertEquals(1, result.getCount());
+    assertEquals(object.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testRetrieveExistingFacts() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    manager.indexFact(createFact("other"));
+
+    ObjectDocument object = fact.getObjects().iterator().next();
+    SearchResult<FactDocument> result = manager.retrieveExistingFacts(FactExistenceSearchCriteria.builder()
+            .setFactValue(fact.getValue())
+            .setFactTypeID(fact.getTypeID())
+            .setSourceID(fact.getSourceID())
+            .setOrganizationID(fact.getOrganizationID())
+            .setAccessMode(fact.getAccessMode().name())
+            .addObject(object.getId(), object.getDirection().name())
+            .build());
+    assertEquals(1, result.getCount());
+    assertEquals(fact.getId(), result.getValues().get(0).getId());
+  }
+
+  @Test
+  public void testCalculateObjectStatistics() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    UUID objectID = fact.getObjects().iterator().next().getId();
+    manager.indexFact(createFact("other").setTypeID(fact.getTypeID()).setObjects(fact.getObjects()).setLastSeenTimestamp(999999999999L));
+
+    ObjectStatisticsResult result = manager.calculateObjectStatistics(ObjectStatisticsCriteria.builder()
+            .addObjectID(objectID)
+            .setCurrentUserID(CURRENT_USER)
+            .addAvailableOrganizationID(ORGANIZATION)
+            .build());
+    assertEquals(1, result.getStatisticsCount());
+    ObjectStatisticsResult.FactStatistic statistic = result.getStatistics(objectID).iterator().next();
+    assertEquals(fact.getTypeID(), statistic.getFactTypeID());
+    assertEquals(2, statistic.getFactCount());
+    assertEquals(999999999999L, statistic.getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testRestartRestoresIndex() {
+    FactDocument fact = manager.indexFact(createFact("value"));
+    manager.indexFact(fact.setRetracted(true));
+    manager.stopComponent();
+
+    manager = createManager();
+    assertFact(fact, manager.getFact(fact.getId()));
+    SearchResult<FactDocument> result = manager.searchFacts(createCriteria().addFactTypeID(fact.getTypeID()).build());
+    assertEquals(1, result.getCount());
+  }
+
+  private EmbeddedFactSearchManager createManager() {
+    EmbeddedFactSearchManager manager = new EmbeddedFactSearchManager(folder.getRoot().getAbsolutePath()).withSegmentSize(4096);
+    manager.startComponent();
+    return manager;
+  }
+
+  private FactSearchCriteria.Builder createCriteria() {
+    return FactSearchCriteria.builder()
+            .setCurrentUserID(CURRENT_USER)
+            .addAvailableOrganizationID(ORGANIZATION);
+  }
+
+  private FactDocument createFact(String value) {
+    return new FactDocument()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setTypeName("factType")
+            .setValue(value)
+            .setOrganizationID(ORGANIZATION)
+            .setOrganizationName("organization")
+            .setSourceID(UUID.randomUUID())
+            .setSourceName("source")
+            .setAccessMode(FactDocument.AccessMode.Public)
+            .setTimestamp(123456789)
+            .setLastSeenTimestamp(987654321)
+            .addObject(new ObjectDocument()
+                    .setId(UUID.randomUUID())
+                    .setTypeID(UUID.randomUUID())
+                    .setTypeName("objectType")
+                    .setValue(UUID.randomUUID().toString())
+                    .setDirection(ObjectDocument.Direction.BiDirectional));
+  }
+
+  private void assertFact(FactDocument expected, FactDocument actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.isRetracted(), actual.isRetracted());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.getOrganizationID(), actual.getOrganizationID());
+    assertEquals(expected.getAccessMode(), actual.getAccessMode());
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getObjects().iterator().next().getId(), actual.getObjects().iterator().next().getId());
+  }
+
+}
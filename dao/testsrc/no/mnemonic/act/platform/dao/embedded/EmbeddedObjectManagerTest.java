@@ -0,0 +1,209 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class EmbeddedObjectManagerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private EmbeddedObjectManager manager;
+  private ObjectTypeEntity type;
+
+  @Before
+  public void setUp() {
+    manager = createManager();
+    type = manager.saveObjectType(new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("ip")
+            .setValidator("validator")
+            .setValidatorParameter("validatorParameter"));
+  }
+
+  @After
+  public void tearDown() {
+    manager.stopComponent();
+  }
+
+  @Test
+  public void testSaveAndGetObjectType() {
+    assertEquals(type.getName(), manager.getObjectType(type.getId()).getName());
+    assertEquals(type.getId(), manager.getObjectType(type.getName()).getId());
+    assertEquals(1, manager.fetchObjectTypes().size());
+    assertNull(manager.getObjectType(UUID.randomUUID()));
+    assertNull(manager.getObjectType("unknown"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveObjectTypeWithSameNameThrowsException() {
+    manager.saveObjectType(new ObjectTypeEntity().setId(UUID.randomUUID()).setName(type.getName()));
+  }
+
+  @Test
+  public void testSaveAndGetObject() {
+    ObjectEntity object = manager.saveObject(createObject("1.1.1.1"));
+    assertTrue(object.isStatisticsTracked());
+    assertObject(object, manager.getObject(object.getId()));
+    assertObject(object, manager.getObject(type.getName(), object.getValue()));
+  }
+
+  @Test
+  public void testGetObjectWithUnknownObjectReturnsNull() {
+    assertNull(manager.getObject(null));
+    assertNull(manager.getObject(UUID.randomUUID()));
+    assertNull(manager.getObject(type.getName(), "unknown"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetObjectWithUnknownObjectTypeThrowsException() {
+    manager.getObject("unknown", "value");
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectWithSameTypeAndValueThrowsException() {
+    manager.saveObject(createObject("1.1.1.1"));
+    manager.saveObject(createObject("1.1.1.1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveObjectWithNonExistingObjectType() {
+    manager.saveObject(createObject("1.1.1.1").setTypeID(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testGetOrCreateObjectReturnsExistingObject() {
+    ObjectEntity created = manager.getOrCreateObject(createObject("1.1.1.1"));
+    ObjectEntity existing = manager.getOrCreateObject(createObject("1.1.1.1"));
+    assertEquals(created.getId(), existing.getId());
+  }
+
+  @Test
+  public void testFetchObjectsById() {
+    ObjectEntity object = manager.saveObject(createObject("1.1.1.1"));
+    List<ObjectEntity> objects = ListUtils.list(manager.getObjects(ListUtils.list(object.getId(), UUID.randomUUID())));
+    assertEquals(1, objects.size());
+    assertObject(object, objects.get(0));
+  }
+
+  @Test
+  public void testSaveAndFetchObjectFactBindings() {
+    ObjectEntity object = manager.saveObject(createObject("1.1.1.1"));
+    ObjectFactBindingEntity binding = manager.saveObjectFactBinding(createBinding(object.getId()));
+
+    List<ObjectFactBindingEntity> bindings = manager.fetchObjectFactBindings(object.getId());
+    assertEquals(1, bindings.size());
+    assertEquals(binding.getFactID(), bindings.get(0).getFactID());
+    assertEquals(binding.getDirection(), bindings.get(0).getDirection());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectFactBindingTwiceThrowsException() {
+    ObjectFactBindingEntity binding = createBinding(manager.saveObject(createObject("1.1.1.1")).getId());
+    manager.saveObjectFactBinding(binding);
+    manager.saveObjectFactBinding(binding);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveObjectFactBindingForNonExistingObject() {
+    manager.saveObjectFactBinding(createBinding(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testIncrementAndRefreshObjectStatistics() {
+    ObjectEntity object = manager.saveObject(createObject("1.1.1.1"));
+    FactEntity fact = createFact(object.getId());
+    manager.incrementObjectStatistics(fact);
+    manager.incrementObjectStatistics(createFact(object.getId()));
+    manager.refreshObjectStatistics(fact.setLastSeenTimestamp(500));
+
+    List<ObjectStatisticsEntity> statistics = manager.fetchObjectStatistics(object.getId());
+    assertEquals(1, statistics.size());
+    assertStatistics(statistics.get(0), fact, 2, 500);
+  }
+
+  @Test
+  public void testFetchObjectStatisticsWithUnknownObject() {
+    assertTrue(manager.fetchObjectStatistics(null).isEmpty());
+    assertTrue(manager.fetchObjectStatistics(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testRestartRestoresAllEntities() {
+    ObjectEntity object = manager.saveObject(createObject("1.1.1.1"));
+    manager.saveObjectFactBinding(createBinding(object.getId()));
+    FactEntity fact = createFact(object.getId());
+    manager.incrementObjectStatistics(fact);
+    manager.refreshObjectStatistics(fact.setLastSeenTimestamp(500));
+    manager.stopComponent();
+
+    manager = createManager();
+    assertNotNull(manager.getObjectType(type.getId()));
+    assertObject(object, manager.getObject(type.getName(), object.getValue()));
+    assertEquals(1, manager.fetchObjectFactBindings(object.getId()).size());
+    assertStatistics(manager.fetchObjectStatistics(object.getId()).get(0), fact, 1, 500);
+  }
+
+  private EmbeddedObjectManager createManager() {
+    EmbeddedObjectManager manager = new EmbeddedObjectManager(folder.getRoot().getAbsolutePath()).withSegmentSize(1024);
+    manager.startComponent();
+    return manager;
+  }
+
+  private ObjectEntity createObject(String value) {
+    return new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(type.getId())
+            .setValue(value);
+  }
+
+  private ObjectFactBindingEntity createBinding(UUID objectID) {
+    return new ObjectFactBindingEntity()
+            .setObjectID(objectID)
+            .setFactID(UUID.randomUUID())
+            .setDirection(Direction.FactIsDestination);
+  }
+
+  private FactEntity createFact(UUID objectID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.fromString("00000000-0000-0000-0000-000000000001"))
+            .setOrganizationID(UUID.fromString("00000000-0000-0000-0000-000000000002"))
+            .setAccessMode(AccessMode.Public)
+            .setTimestamp(100)
+            .setLastSeenTimestamp(200)
+            // Binding the same Object twice must only be counted once.
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.FactIsSource),
+                    new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.FactIsDestination)));
+  }
+
+  private void assertObject(ObjectEntity expected, ObjectEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.isStatisticsTracked(), actual.isStatisticsTracked());
+  }
+
+  private void assertStatistics(ObjectStatisticsEntity statistics, FactEntity fact, long count, long lastSeenTimestamp) {
+    assertEquals(fact.getTypeID(), statistics.getFactTypeID());
+    assertEquals(fact.getAccessMode(), statistics.getAccessMode());
+    assertEquals(fact.getOrganizationID(), statistics.getOrganizationID());
+    assertEquals(count, statistics.getFactCount());
+    assertEquals(fact.getTimestamp(), statistics.getLastAddedTimestamp());
+    assertEquals(lastSeenTimestamp, statistics.getLastSeenTimestamp());
+  }
+
+}
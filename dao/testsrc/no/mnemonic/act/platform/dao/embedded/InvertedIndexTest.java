@@ -0,0 +1,53 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InvertedIndexTest {
+
+  private final InvertedIndex index = new InvertedIndex();
+
+  @Test
+  public void testGetReturnsDocumentsContainingTerm() {
+    index.add(1, ListUtils.list("a", "b"));
+    index.add(2, ListUtils.list("b"));
+    index.add(3, ListUtils.list("a"));
+
+    assertArrayEquals(new long[]{1, 3}, index.get("a"));
+    assertArrayEquals(new long[]{1, 2}, index.get("b"));
+    assertArrayEquals(new long[0], index.get("c"));
+  }
+
+  @Test
+  public void testGetAnyReturnsDocumentsContainingAnyTerm() {
+    index.add(1, ListUtils.list("a"));
+    index.add(2, ListUtils.list("b"));
+    index.add(3, ListUtils.list("c"));
+
+    assertArrayEquals(new long[]{1, 2}, index.getAny(ListUtils.list("a", "b")));
+  }
+
+  @Test
+  public void testUnion() {
+    assertArrayEquals(new long[]{1, 2, 3, 5}, InvertedIndex.union(new long[]{1, 3, 5}, new long[]{2, 3}));
+    assertArrayEquals(new long[]{1}, InvertedIndex.union(new long[]{1}, new long[0]));
+  }
+
+  @Test
+  public void testIntersect() {
+    assertArrayEquals(new long[]{3}, InvertedIndex.intersect(new long[]{1, 3, 5}, new long[]{2, 3}));
+    assertArrayEquals(new long[0], InvertedIndex.intersect(new long[]{1}, new long[0]));
+  }
+
+  @Test
+  public void testTokenize() {
+    assertEquals(SetUtils.set("hello", "world"), InvertedIndex.tokenize("Hello, World!"));
+    // IP addresses and domains are kept as one token, trailing punctuation is removed.
+    assertEquals(SetUtils.set("1.1.1.1", "resolves", "to", "www.example.org"), InvertedIndex.tokenize("1.1.1.1 resolves to www.example.org."));
+    assertTrue(InvertedIndex.tokenize(null).isEmpty());
+  }
+
+}
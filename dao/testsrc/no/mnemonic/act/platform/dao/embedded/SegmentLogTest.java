@@ -0,0 +1,168 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SegmentLogTest {
+
+  private static final int SEGMENT_SIZE = 64;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path directory;
+  private SegmentLog log;
+
+  @Before
+  public void setUp() {
+    directory = folder.getRoot().toPath();
+    log = new SegmentLog(directory, "test", SEGMENT_SIZE);
+    log.open((address, type, payload) -> fail("Log should be empty."));
+  }
+
+  @After
+  public void tearDown() {
+    log.close();
+  }
+
+  @Test
+  public void testAppendAndRead() {
+    long address1 = log.append((byte) 1, bytes("first"));
+    long address2 = log.append((byte) 2, bytes("second"));
+
+    assertEquals("first", string(log.read(address1)));
+    assertEquals("second", string(log.read(address2)));
+  }
+
+  @Test
+  public void testReadReturnsReadOnlyBuffer() {
+    long address = log.append((byte) 1, bytes("first"));
+    assertTrue(log.read(address).isReadOnly());
+  }
+
+  @Test
+  public void testAppendCreatesNewSegmentWhenFull() {
+    List<Long> addresses = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      addresses.add(log.append((byte) 1, bytes("record" + i)));
+    }
+
+    assertTrue(log.size() > SEGMENT_SIZE);
+    for (int i = 0; i < 10; i++) {
+      assertEquals("record" + i, string(log.read(addresses.get(i))));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAppendRecordLargerThanSegmentFails() {
+    log.append((byte) 1, new byte[SEGMENT_SIZE]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAppendEmptyRecordFails() {
+    log.append((byte) 1, new byte[0]);
+  }
+
+  @Test
+  public void testReopenReplaysRecordsInOrder() {
+    List<Long> addresses = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      addresses.add(log.append((byte) i, bytes("record" + i)));
+    }
+    log.close();
+
+    List<String> replayed = new ArrayList<>();
+    List<Long> replayedAddresses = new ArrayList<>();
+    log = new SegmentLog(directory, "test", SEGMENT_SIZE);
+    log.open((address, type, payload) -> {
+      replayed.add(type + ":" + string(payload));
+      replayedAddresses.add(address);
+    });
+
+    assertEquals(10, replayed.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i + ":record" + i, replayed.get(i));
+    }
+    assertEquals(addresses, replayedAddresses);
+  }
+
+  @Test
+  public void testAppendAfterReopenContinuesLog() {
+    long address1 = log.append((byte) 1, bytes("first"));
+    log.close();
+
+    log = new SegmentLog(directory, "test", SEGMENT_SIZE);
+    log.open((address, type, payload) -> {
+    });
+    long address2 = log.append((byte) 1, bytes("second"));
+
+    assertNotEquals(address1, address2);
+    assertEquals("first", string(log.read(address1)));
+    assertEquals("second", string(log.read(address2)));
+  }
+
+  @Test
+  public void testReopenDiscardsTornRecord() throws IOException {
+    log.append((byte) 1, bytes("first"));
+    log.append((byte) 1, bytes("second"));
+    log.close();
+
+    // Corrupt the payload of the second record such that its checksum doesn't match anymore.
+    try (FileChannel channel = FileChannel.open(directory.resolve("test-00000.seg"), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(bytes("X")), 9 + 5 + 9);
+    }
+
+    List<String> replayed = new ArrayList<>();
+    log = new SegmentLog(directory, "test", SEGMENT_SIZE);
+    log.open((address, type, payload) -> replayed.add(string(payload)));
+    assertEquals(1, replayed.size());
+    assertEquals("first", replayed.get(0));
+
+    // The space of the torn record is reused.
+    long address = log.append((byte) 1, bytes("third"));
+    assertEquals("third", string(log.read(address)));
+  }
+
+  @Test
+  public void testReopenDiscardsSegmentsAfterTornRecord() throws IOException {
+    for (int i = 0; i < 10; i++) {
+      log.append((byte) 1, bytes("record" + i));
+    }
+    log.close();
+
+    try (FileChannel channel = FileChannel.open(directory.resolve("test-00000.seg"), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(bytes("X")), 9);
+    }
+
+    List<String> replayed = new ArrayList<>();
+    log = new SegmentLog(directory, "test", SEGMENT_SIZE);
+    log.open((address, type, payload) -> replayed.add(string(payload)));
+    assertTrue(replayed.isEmpty());
+    assertFalse(Files.exists(directory.resolve("test-00001.seg")));
+  }
+
+  private byte[] bytes(String value) {
+    return value.getBytes();
+  }
+
+  private String string(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new String(bytes);
+  }
+
+}
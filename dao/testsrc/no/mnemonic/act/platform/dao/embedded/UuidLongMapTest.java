@@ -0,0 +1,106 @@
+package no.mnemonic.act.platform.dao.embedded;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UuidLongMapTest {
+
+  private final UuidLongMap map = new UuidLongMap();
+
+  @Test
+  public void testGetUnknownKeyReturnsNoValue() {
+    assertEquals(UuidLongMap.NO_VALUE, map.get(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testPutAndGet() {
+    UUID key = UUID.randomUUID();
+    assertEquals(UuidLongMap.NO_VALUE, map.put(key, 42));
+    assertEquals(42, map.get(key));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void testPutReplacesValue() {
+    UUID key = UUID.randomUUID();
+    map.put(key, 1);
+    assertEquals(1, map.put(key, 2));
+    assertEquals(2, map.get(key));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void testPutIfAbsentKeepsExistingValue() {
+    UUID key = UUID.randomUUID();
+    assertEquals(UuidLongMap.NO_VALUE, map.putIfAbsent(key, 1));
+    assertEquals(1, map.putIfAbsent(key, 2));
+    assertEquals(1, map.get(key));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutNegativeValueFails() {
+    map.put(UUID.randomUUID(), -1);
+  }
+
+  @Test
+  public void testPutManyKeysResizesMap() {
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      map.put(key, i);
+    }
+
+    assertEquals(10_000, map.size());
+    for (int i = 0; i < keys.size(); i++) {
+      assertEquals(i, map.get(keys.get(i)));
+    }
+  }
+
+  @Test
+  public void testKeysWithSameHashAreDistinguished() {
+    // Both keys have the same hash because only the XOR of both halves is hashed.
+    UUID key1 = new UUID(1, 2);
+    UUID key2 = new UUID(2, 1);
+    map.put(key1, 1);
+    map.put(key2, 2);
+
+    assertEquals(1, map.get(key1));
+    assertEquals(2, map.get(key2));
+  }
+
+  @Test
+  public void testMultiMapReturnsValuesInInsertionOrder() {
+    UuidLongMultiMap multiMap = new UuidLongMultiMap();
+    UUID key = UUID.randomUUID();
+    for (int i = 0; i < 5; i++) {
+      multiMap.add(key, i);
+    }
+
+    assertArrayEquals(new long[]{0, 1, 2, 3, 4}, multiMap.get(key));
+    assertArrayEquals(new long[0], multiMap.get(UUID.randomUUID()));
+    assertEquals(1, multiMap.size());
+  }
+
+  @Test
+  public void testMultiMapWithManyKeys() {
+    UuidLongMultiMap multiMap = new UuidLongMultiMap();
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      multiMap.add(key, i);
+      multiMap.add(key, i + 1);
+    }
+
+    for (int i = 0; i < keys.size(); i++) {
+      assertArrayEquals(new long[]{i, i + 1}, multiMap.get(keys.get(i)));
+    }
+  }
+
+}
@@ -0,0 +1,46 @@
+package no.mnemonic.act.platform.dao.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CacheMetricsTest {
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateWithoutStatsThrowsException() {
+    new CacheMetrics(null);
+  }
+
+  @Test
+  public void testReportCacheStats() {
+    Cache<String, String> cache = CacheBuilder.newBuilder().recordStats().build();
+    Map<String, Metric> metrics = new CacheMetrics(cache::stats).getMetrics();
+
+    cache.put("key", "value");
+    cache.getIfPresent("key");
+    cache.getIfPresent("unknown");
+
+    assertEquals(1L, value(metrics, "hits"));
+    assertEquals(1L, value(metrics, "misses"));
+    assertEquals(0.5, value(metrics, "hit.ratio"));
+    assertEquals(0L, value(metrics, "evictions"));
+  }
+
+  @Test
+  public void testReportEmptyStatsForUninitializedCache() {
+    Map<String, Metric> metrics = new CacheMetrics(() -> null).getMetrics();
+    assertEquals(0L, value(metrics, "hits"));
+    assertEquals(1.0, value(metrics, "hit.ratio"));
+  }
+
+  private Object value(Map<String, Metric> metrics, String name) {
+    return ((Gauge) metrics.get(name)).getValue();
+  }
+
+}
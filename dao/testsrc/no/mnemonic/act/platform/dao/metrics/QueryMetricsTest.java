@@ -0,0 +1,70 @@
+package no.mnemonic.act.platform.dao.metrics;
+
+import com.codahale.metrics.Histogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class QueryMetricsTest {
+
+  private final QueryMetrics metrics = new QueryMetrics();
+
+  @Test
+  public void testRecordElasticSearchUpdatesHistograms() {
+    metrics.recordElasticSearch("searchFacts", 42, 5, TimeUnit.MILLISECONDS.toNanos(7), TimeUnit.MILLISECONDS.toNanos(9), () -> "query", null);
+
+    assertHistogram("elasticsearch.searchFacts.hits", 42);
+    assertHistogram("elasticsearch.searchFacts.took", 5);
+    assertHistogram("elasticsearch.searchFacts.request", 7);
+    assertHistogram("elasticsearch.searchFacts.total", 9);
+  }
+
+  @Test
+  public void testRecordElasticRequestUpdatesHistogram() {
+    metrics.recordElasticRequest("indexFact", TimeUnit.MILLISECONDS.toNanos(3));
+    assertHistogram("elasticsearch.indexFact.total", 3);
+  }
+
+  @Test
+  public void testRecordCassandraQueryUpdatesHistogram() {
+    metrics.recordCassandraQuery("PointRead", TimeUnit.MILLISECONDS.toNanos(2), () -> "query");
+    assertHistogram("cassandra.PointRead.total", 2);
+  }
+
+  @Test
+  public void testFastQueryDoesNotRenderQuery() {
+    AtomicBoolean rendered = new AtomicBoolean();
+    Supplier<String> query = () -> {
+      rendered.set(true);
+      return "query";
+    };
+
+    metrics.recordElasticSearch("searchFacts", 1, 1, 1, 1, query, null);
+    metrics.recordCassandraQuery("Search", 1, query);
+    assertFalse(rendered.get());
+  }
+
+  @Test
+  public void testSlowQueryRendersQuery() {
+    AtomicBoolean rendered = new AtomicBoolean();
+    Supplier<String> query = () -> {
+      rendered.set(true);
+      return "query";
+    };
+
+    metrics.recordElasticSearch("searchFacts", 1, 1, 1, TimeUnit.SECONDS.toNanos(10), query, null);
+    assertTrue(rendered.get());
+  }
+
+  private void assertHistogram(String name, long value) {
+    Histogram histogram = metrics.getMetricRegistry().getHistograms().get(name);
+    assertNotNull(histogram);
+    assertEquals(1, histogram.getCount());
+    assertEquals(value, histogram.getSnapshot().getMax());
+  }
+
+}
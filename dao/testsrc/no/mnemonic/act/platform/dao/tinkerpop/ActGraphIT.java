@@ -1,8 +1,8 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
+import no.mnemonic.act.platform.dao.cassandra.CassandraFactManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.commons.junit.docker.CassandraDockerResource;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -24,8 +24,8 @@ import static org.junit.Assert.*;
 public class ActGraphIT {
 
   private static ClusterManager clusterManager;
-  private static FactManager factManager;
-  private static ObjectManager objectManager;
+  private static CassandraFactManager factManager;
+  private static CassandraObjectManager objectManager;
   private static ObjectEntity ip;
   private static ObjectEntity domain;
   private static ObjectEntity attack;
@@ -45,8 +45,8 @@ public class ActGraphIT {
             .setPort(cassandra.getExposedHostPort(9042))
             .addContactPoint("127.0.0.1")
             .build();
-    objectManager = new ObjectManager(clusterManager);
-    factManager = new FactManager(clusterManager);
+    objectManager = new CassandraObjectManager(clusterManager);
+    factManager = new CassandraFactManager(clusterManager);
     clusterManager.startComponent();
     objectManager.startComponent();
     factManager.startComponent();
@@ -101,8 +101,8 @@ public class ActGraphIT {
 
   @AfterClass
   public static void teardown() {
-    ObjectUtils.ifNotNullDo(factManager, FactManager::stopComponent);
-    ObjectUtils.ifNotNullDo(objectManager, ObjectManager::stopComponent);
+    ObjectUtils.ifNotNullDo(factManager, CassandraFactManager::stopComponent);
+    ObjectUtils.ifNotNullDo(objectManager, CassandraObjectManager::stopComponent);
     ObjectUtils.ifNotNullDo(clusterManager, ClusterManager::stopComponent);
   }
 
@@ -50,6 +50,22 @@ public class ActGraphTest extends AbstractGraphTest {
             .build();
   }
 
+  @Test
+  public void testCheckCancelledWithoutCancellation() {
+    getActGraph().checkCancelled();
+  }
+
+  @Test(expected = GraphOperationException.class)
+  public void testCheckCancelledAfterCancellation() {
+    ActGraph.builder()
+            .setObjectManager(getObjectManager())
+            .setFactManager(getFactManager())
+            .setHasFactAccess(b -> true)
+            .setIsCancelled(() -> true)
+            .build()
+            .checkCancelled();
+  }
+
   @Test(expected = GraphOperationException.class)
   public void testFetchingAllVerticesNotAllowed() {
     getActGraph().vertices();
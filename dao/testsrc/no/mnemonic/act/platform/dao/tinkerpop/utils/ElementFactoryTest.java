@@ -1,9 +1,10 @@
 package no.mnemonic.act.platform.dao.tinkerpop.utils;
 
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
+import no.mnemonic.act.platform.dao.tinkerpop.exceptions.GraphOperationException;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -12,9 +13,11 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class ElementFactoryTest {
@@ -176,6 +179,52 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testCreateEdgesAfterCancellation() {
+    ObjectFactBindingEntity inBinding = createInBinding(Direction.BiDirectional);
+    FactEntity.FactObjectBinding outBinding = createOutBinding(Direction.BiDirectional);
+    mockObject(inBinding);
+    mockFact(inBinding.getFactID(), outBinding);
+
+    AtomicBoolean cancelled = new AtomicBoolean(true);
+    try {
+      createCancellableElementFactory(cancelled).createEdges(inBinding);
+      fail();
+    } catch (GraphOperationException ignored) {
+      verify(factManager, never()).getFact(any());
+    }
+  }
+
+  @Test
+  public void testGetVertexAfterCancellation() {
+    UUID cachedID = mockObject(UUID.randomUUID());
+    UUID otherID = mockObject(UUID.randomUUID());
+
+    AtomicBoolean cancelled = new AtomicBoolean();
+    ElementFactory factory = createCancellableElementFactory(cancelled);
+    Vertex cached = factory.getVertex(cachedID);
+
+    cancelled.set(true);
+    // Already loaded vertices are still returned, but nothing new is fetched.
+    assertSame(cached, factory.getVertex(cachedID));
+    try {
+      factory.getVertex(otherID);
+      fail();
+    } catch (GraphOperationException ignored) {
+      verify(objectManager, never()).getObject(otherID);
+    }
+  }
+
+  private ElementFactory createCancellableElementFactory(AtomicBoolean cancelled) {
+    ActGraph graph = ActGraph.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setHasFactAccess(f -> true)
+            .setIsCancelled(cancelled::get)
+            .build();
+    return ElementFactory.builder().setOwner(graph).build();
+  }
+
   private Edge mockAndRunCreateEdges(ObjectFactBindingEntity inBinding, FactEntity.FactObjectBinding outBinding) {
     mockObject(inBinding);
     mockObject(outBinding.getObjectID());
@@ -9,24 +9,24 @@ import com.google.inject.Injector;
 import com.google.inject.name.Names;
 import no.mnemonic.act.platform.api.request.ValidatingRequest;
 import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.dao.cassandra.CassandraFactManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.ElasticFactSearchManager;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.rest.RestModule;
 import no.mnemonic.act.platform.rest.container.ApiServer;
 import no.mnemonic.act.platform.service.ServiceModule;
+import no.mnemonic.act.platform.service.triggers.TriggerEventDispatcher;
 import no.mnemonic.commons.junit.docker.CassandraDockerResource;
 import no.mnemonic.commons.junit.docker.ElasticSearchDockerResource;
 import no.mnemonic.commons.testtools.AvailablePortFinder;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.common.auth.AccessController;
-import no.mnemonic.services.triggers.pipeline.api.TriggerEventConsumer;
 import no.mnemonic.services.triggers.pipeline.worker.InMemoryQueueWorker;
 import org.junit.After;
 import org.junit.Before;
@@ -51,11 +51,12 @@ public abstract class AbstractIT {
 
   private static PropertiesBasedAccessController accessController;
   private static InMemoryQueueWorker triggerEventConsumer;
+  private static TriggerEventDispatcher triggerEventDispatcher;
   private static ClusterManager clusterManager;
-  private static ObjectManager objectManager;
-  private static FactManager factManager;
+  private static CassandraObjectManager objectManager;
+  private static CassandraFactManager factManager;
   private static ClientFactory clientFactory;
-  private static FactSearchManager factSearchManager;
+  private static ElasticFactSearchManager factSearchManager;
   private static ApiServer apiServer;
 
   @ClassRule
@@ -83,12 +84,13 @@ public abstract class AbstractIT {
   public void setup() {
     Injector injector = Guice.createInjector(new ModuleIT());
     accessController = (PropertiesBasedAccessController) injector.getInstance(AccessController.class);
-    triggerEventConsumer = (InMemoryQueueWorker) injector.getInstance(TriggerEventConsumer.class);
+    triggerEventConsumer = injector.getInstance(InMemoryQueueWorker.class);
+    triggerEventDispatcher = injector.getInstance(TriggerEventDispatcher.class);
     clusterManager = injector.getInstance(ClusterManager.class);
-    objectManager = injector.getInstance(ObjectManager.class);
-    factManager = injector.getInstance(FactManager.class);
+    objectManager = injector.getInstance(CassandraObjectManager.class);
+    factManager = injector.getInstance(CassandraFactManager.class);
     clientFactory = injector.getInstance(ClientFactory.class);
-    factSearchManager = injector.getInstance(FactSearchManager.class);
+    factSearchManager = injector.getInstance(ElasticFactSearchManager.class);
     apiServer = injector.getInstance(ApiServer.class);
 
     factSearchManager.setTestEnvironment(true);
@@ -96,6 +98,7 @@ public abstract class AbstractIT {
     // Start up everything in correct order.
     accessController.startComponent();
     triggerEventConsumer.startComponent();
+    triggerEventDispatcher.startComponent();
     clusterManager.startComponent();
     objectManager.startComponent();
     factManager.startComponent();
@@ -113,6 +116,7 @@ public abstract class AbstractIT {
     factManager.stopComponent();
     objectManager.stopComponent();
     clusterManager.stopComponent();
+    triggerEventDispatcher.stopComponent();
     triggerEventConsumer.stopComponent();
     accessController.stopComponent();
     // Truncate database.
@@ -123,15 +127,15 @@ public abstract class AbstractIT {
 
   /* Getters */
 
-  ObjectManager getObjectManager() {
+  CassandraObjectManager getObjectManager() {
     return objectManager;
   }
 
-  FactManager getFactManager() {
+  CassandraFactManager getFactManager() {
     return factManager;
   }
 
-  FactSearchManager getFactSearchManager() {
+  ElasticFactSearchManager getFactSearchManager() {
     return factSearchManager;
   }
 
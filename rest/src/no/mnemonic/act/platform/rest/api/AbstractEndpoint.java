@@ -3,9 +3,14 @@ package no.mnemonic.act.platform.rest.api;
 import no.mnemonic.act.platform.api.service.v1.RequestHeader;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
+import no.mnemonic.act.platform.rest.container.WorkloadExecutor;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 
+import javax.inject.Inject;
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
@@ -14,16 +19,39 @@ import java.util.Collection;
 public abstract class AbstractEndpoint {
 
   private static final String ACT_USER_ID_HEADER = "ACT-User-ID";
+  private static final String NO_CACHE = "no-cache";
 
   @Context
   private HttpHeaders headers;
 
+  @Context
+  private HttpServletRequest servletRequest;
+
+  @Inject
+  private WorkloadExecutor executor;
+
   protected RequestHeader getHeader() {
     return RequestHeader.builder()
             .setCredentials(resolveSubjectCredentials())
+            .setBypassCache(isNoCacheRequested())
             .build();
   }
 
+  /**
+   * Execute a service call asynchronously with the executor of the given workload and resume the response with its result.
+   * The RequestHeader is resolved before the call is dispatched because the request's headers are only accessible from
+   * the thread which received the request. The service sets up its own contexts on the executing thread. The service call
+   * is interrupted if the request is cancelled before it has finished, e.g. because the client disconnected.
+   *
+   * @param workload Workload class of the service call
+   * @param response Suspended response of the request
+   * @param call     Service call producing the response
+   */
+  protected void execute(WorkloadExecutor.Workload workload, AsyncResponse response, ServiceCall call) {
+    RequestHeader header = getHeader();
+    executor.execute(workload, response, resolveAsyncContext(), () -> call.execute(header));
+  }
+
   protected <T> Response buildResponse(T model) {
     return ResultStash.builder()
             .setData(model)
@@ -39,6 +67,11 @@ public abstract class AbstractEndpoint {
             .buildResponse();
   }
 
+  @FunctionalInterface
+  protected interface ServiceCall {
+    Response execute(RequestHeader header) throws Exception;
+  }
+
   private SubjectCredentials resolveSubjectCredentials() {
     String header = headers.getHeaderString(ACT_USER_ID_HEADER);
     if (StringUtils.isBlank(header) || parseUserID(header) == -1) {
@@ -51,6 +84,22 @@ public abstract class AbstractEndpoint {
             .build();
   }
 
+  private boolean isNoCacheRequested() {
+    // Clients request fresh results with either 'Cache-Control: no-cache' or the legacy 'Pragma: no-cache'.
+    return containsNoCache(headers.getHeaderString(HttpHeaders.CACHE_CONTROL)) ||
+            containsNoCache(headers.getHeaderString("Pragma"));
+  }
+
+  private boolean containsNoCache(String header) {
+    return !StringUtils.isBlank(header) && header.toLowerCase().contains(NO_CACHE);
+  }
+
+  private AsyncContext resolveAsyncContext() {
+    // The request is put into asynchronous mode when the response is suspended, i.e. before the endpoint is invoked.
+    if (servletRequest == null || !servletRequest.isAsyncStarted()) return null;
+    return servletRequest.getAsyncContext();
+  }
+
   private long parseUserID(String userID) {
     try {
       return Long.parseUnsignedLong(userID);
@@ -0,0 +1,38 @@
+package no.mnemonic.act.platform.rest.api;
+
+import com.codahale.metrics.MetricRegistry;
+import no.mnemonic.act.platform.rest.metrics.PrometheusFormatter;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exposes all metrics of the platform in the Prometheus text format. This endpoint is intended to be scraped by
+ * monitoring systems and is therefore not part of the documented API.
+ */
+@Path("/metrics")
+public class MetricsEndpoint {
+
+  private final MetricRegistry metricRegistry;
+
+  @Inject
+  public MetricsEndpoint(MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+  }
+
+  @GET
+  @Produces(PrometheusFormatter.CONTENT_TYPE)
+  public Response getMetrics() {
+    StreamingOutput output = stream -> new PrometheusFormatter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)))
+            .write(metricRegistry);
+    return Response.ok(output, PrometheusFormatter.CONTENT_TYPE).build();
+  }
+
+}
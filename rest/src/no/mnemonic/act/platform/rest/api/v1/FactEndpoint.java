@@ -1,10 +1,7 @@
 package no.mnemonic.act.platform.rest.api.v1;
 
 import io.swagger.annotations.*;
-import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
-import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.api.exceptions.ObjectNotFoundException;
 import no.mnemonic.act.platform.api.model.v1.AclEntry;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.FactComment;
@@ -12,6 +9,7 @@ import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.rest.api.AbstractEndpoint;
 import no.mnemonic.act.platform.rest.api.ResultStash;
+import no.mnemonic.act.platform.rest.container.WorkloadExecutor.Workload;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 
@@ -19,6 +17,8 @@ import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.time.Instant;
@@ -56,10 +56,11 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Requested Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getFactById(
-          @PathParam("id") @ApiParam(value = "UUID of the requested Fact.") @NotNull @Valid UUID id
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return buildResponse(service.getFact(getHeader(), new GetFactByIdRequest().setId(id)));
+  public void getFactById(
+          @PathParam("id") @ApiParam(value = "UUID of the requested Fact.") @NotNull @Valid UUID id,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.read, response, header -> buildResponse(service.getFact(header, new GetFactByIdRequest().setId(id))));
   }
 
   @POST
@@ -90,10 +91,11 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response searchFacts(
-          @ApiParam(value = "Request to search for Facts.") @NotNull @Valid SearchFactRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchFacts(getHeader(), request));
+  public void searchFacts(
+          @ApiParam(value = "Request to search for Facts.") @NotNull @Valid SearchFactRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.search, response, header -> buildResponse(service.searchFacts(header, request)));
   }
 
   @POST
@@ -116,13 +118,14 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response createFact(
-          @ApiParam(value = "Request to create Fact.") @NotNull @Valid CreateFactRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return ResultStash.builder()
+  public void createFact(
+          @ApiParam(value = "Request to create Fact.") @NotNull @Valid CreateFactRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.write, response, header -> ResultStash.builder()
             .setStatus(Response.Status.CREATED)
-            .setData(service.createFact(getHeader(), request))
-            .buildResponse();
+            .setData(service.createFact(header, request))
+            .buildResponse());
   }
 
   @GET
@@ -141,20 +144,21 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Referenced Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getMetaFacts(
+  public void getMetaFacts(
           @PathParam("fact") @ApiParam(value = "UUID of referenced Fact.") @NotNull @Valid UUID fact,
           @QueryParam("includeRetracted") @ApiParam(value = "Include retracted meta Facts (default false)") Boolean includeRetracted,
           @QueryParam("before") @ApiParam(value = "Only return meta Facts added before a specific timestamp.") String before,
           @QueryParam("after") @ApiParam(value = "Only return meta Facts added after a specific timestamp.") String after,
-          @QueryParam("limit") @ApiParam(value = "Limit the number of returned meta Facts (default 25, 0 means all)") Integer limit
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return buildResponse(service.searchMetaFacts(getHeader(), new SearchMetaFactsRequest()
+          @QueryParam("limit") @ApiParam(value = "Limit the number of returned meta Facts (default 25, 0 means all)") Integer limit,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.search, response, header -> buildResponse(service.searchMetaFacts(header, new SearchMetaFactsRequest()
             .setFact(fact)
             .setIncludeRetracted(includeRetracted)
             .setBefore(parseTimestamp("before", before))
             .setAfter(parseTimestamp("after", after))
             .setLimit(limit)
-    ));
+    )));
   }
 
   @POST
@@ -179,14 +183,15 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Referenced Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response createMetaFact(
+  public void createMetaFact(
           @PathParam("fact") @ApiParam(value = "UUID of referenced Fact.") @NotNull @Valid UUID fact,
-          @ApiParam(value = "Request to create meta Fact.") @NotNull @Valid CreateMetaFactRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return ResultStash.builder()
+          @ApiParam(value = "Request to create meta Fact.") @NotNull @Valid CreateMetaFactRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.write, response, header -> ResultStash.builder()
             .setStatus(Response.Status.CREATED)
-            .setData(service.createMetaFact(getHeader(), request.setFact(fact)))
-            .buildResponse();
+            .setData(service.createMetaFact(header, request.setFact(fact)))
+            .buildResponse());
   }
 
   @POST
@@ -207,14 +212,15 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Fact to retract does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response retractFact(
+  public void retractFact(
           @PathParam("fact") @ApiParam(value = "UUID of Fact to retract.") @NotNull @Valid UUID fact,
-          @ApiParam(value = "Request to retract a Fact.") @NotNull @Valid RetractFactRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return ResultStash.builder()
+          @ApiParam(value = "Request to retract a Fact.") @NotNull @Valid RetractFactRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.write, response, header -> ResultStash.builder()
             .setStatus(Response.Status.CREATED)
-            .setData(service.retractFact(getHeader(), request.setFact(fact)))
-            .buildResponse();
+            .setData(service.retractFact(header, request.setFact(fact)))
+            .buildResponse());
   }
 
   @GET
@@ -233,10 +239,11 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getFactAcl(
-          @PathParam("fact") @ApiParam(value = "UUID of Fact.") @NotNull @Valid UUID fact
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return buildResponse(service.getFactAcl(getHeader(), new GetFactAclRequest().setFact(fact)));
+  public void getFactAcl(
+          @PathParam("fact") @ApiParam(value = "UUID of Fact.") @NotNull @Valid UUID fact,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.read, response, header -> buildResponse(service.getFactAcl(header, new GetFactAclRequest().setFact(fact))));
   }
 
   @POST
@@ -256,18 +263,19 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response grantFactAccess(
+  public void grantFactAccess(
           @PathParam("fact") @ApiParam(value = "UUID of Fact.") @NotNull @Valid UUID fact,
           @PathParam("subject") @ApiParam(value = "UUID of Subject.") @NotNull @Valid UUID subject,
-          @ApiParam(hidden = true) @Valid GrantFactAccessRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
+          @ApiParam(hidden = true) @Valid GrantFactAccessRequest request,
+          @Suspended AsyncResponse response
+  ) {
     // Swagger won't send a request object because it's hidden from the API, thus, make sure that it's initialized.
-    request = ObjectUtils.ifNull(request, new GrantFactAccessRequest());
+    GrantFactAccessRequest grantRequest = ObjectUtils.ifNull(request, new GrantFactAccessRequest());
 
-    return ResultStash.builder()
+    execute(Workload.write, response, header -> ResultStash.builder()
             .setStatus(Response.Status.CREATED)
-            .setData(service.grantFactAccess(getHeader(), request.setFact(fact).setSubject(subject)))
-            .buildResponse();
+            .setData(service.grantFactAccess(header, grantRequest.setFact(fact).setSubject(subject)))
+            .buildResponse());
   }
 
   @GET
@@ -286,16 +294,17 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getFactComments(
+  public void getFactComments(
           @PathParam("fact") @ApiParam(value = "UUID of Fact.") @NotNull @Valid UUID fact,
           @QueryParam("before") @ApiParam(value = "Only return comments added before the given timestamp.") String before,
-          @QueryParam("after") @ApiParam(value = "Only return comments added after the given timestamp.") String after
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return buildResponse(service.getFactComments(getHeader(), new GetFactCommentsRequest()
+          @QueryParam("after") @ApiParam(value = "Only return comments added after the given timestamp.") String after,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.read, response, header -> buildResponse(service.getFactComments(header, new GetFactCommentsRequest()
             .setFact(fact)
             .setBefore(parseTimestamp("before", before))
             .setAfter(parseTimestamp("after", after))
-    ));
+    )));
   }
 
   @POST
@@ -315,14 +324,15 @@ public class FactEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 404, message = "Fact does not exist."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response createFactComment(
+  public void createFactComment(
           @PathParam("fact") @ApiParam(value = "UUID of Fact.") @NotNull @Valid UUID fact,
-          @ApiParam(value = "Request to add comment.") @NotNull @Valid CreateFactCommentRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
-    return ResultStash.builder()
+          @ApiParam(value = "Request to add comment.") @NotNull @Valid CreateFactCommentRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.write, response, header -> ResultStash.builder()
             .setStatus(Response.Status.CREATED)
-            .setData(service.createFactComment(getHeader(), request.setFact(fact)))
-            .buildResponse();
+            .setData(service.createFactComment(header, request.setFact(fact)))
+            .buildResponse());
   }
 
   private Long parseTimestamp(String parameter, String timestamp) throws InvalidArgumentException {
@@ -1,15 +1,12 @@
 package no.mnemonic.act.platform.rest.api.v1;
 
 import io.swagger.annotations.*;
-import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
-import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
-import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.rest.api.AbstractEndpoint;
+import no.mnemonic.act.platform.rest.container.WorkloadExecutor.Workload;
 import no.mnemonic.act.platform.rest.api.ResultStash;
 
 import javax.inject.Inject;
@@ -17,6 +14,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.UUID;
@@ -47,10 +46,11 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getObjectById(
-          @PathParam("id") @ApiParam(value = "UUID of the requested Object.") @NotNull @Valid UUID id
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.getObject(getHeader(), new GetObjectByIdRequest().setId(id)));
+  public void getObjectById(
+          @PathParam("id") @ApiParam(value = "UUID of the requested Object.") @NotNull @Valid UUID id,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.read, response, header -> buildResponse(service.getObject(header, new GetObjectByIdRequest().setId(id))));
   }
 
   @GET
@@ -69,11 +69,12 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response getObjectByTypeValue(
+  public void getObjectByTypeValue(
           @PathParam("type") @ApiParam(value = "Type name of the requested Object.") @NotBlank String type,
-          @PathParam("value") @ApiParam(value = "Value of the requested Object.") @NotBlank String value
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.getObject(getHeader(), new GetObjectByTypeValueRequest().setType(type).setValue(value)));
+          @PathParam("value") @ApiParam(value = "Value of the requested Object.") @NotBlank String value,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.read, response, header -> buildResponse(service.getObject(header, new GetObjectByTypeValueRequest().setType(type).setValue(value))));
   }
 
   @POST
@@ -104,11 +105,12 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response searchObjectFactsById(
+  public void searchObjectFactsById(
           @PathParam("id") @ApiParam(value = "UUID of Object.") @NotNull @Valid UUID id,
-          @ApiParam(value = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjectFacts(getHeader(), request.setObjectID(id)));
+          @ApiParam(value = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.search, response, header -> buildResponse(service.searchObjectFacts(header, request.setObjectID(id))));
   }
 
   @POST
@@ -139,12 +141,13 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response searchObjectFactsByTypeValue(
+  public void searchObjectFactsByTypeValue(
           @PathParam("type") @ApiParam(value = "Type name of Object.") @NotBlank String type,
           @PathParam("value") @ApiParam(value = "Value of Object.") @NotBlank String value,
-          @ApiParam(value = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjectFacts(getHeader(), request.setObjectType(type).setObjectValue(value)));
+          @ApiParam(value = "Request to limit the returned Facts.") @NotNull @Valid SearchObjectFactsRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.search, response, header -> buildResponse(service.searchObjectFacts(header, request.setObjectType(type).setObjectValue(value))));
   }
 
   @POST
@@ -172,13 +175,15 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 401, message = "User could not be authenticated."),
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 408, message = "Execution of this operation timed out."),
-          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format."),
+          @ApiResponse(code = 503, message = "Too many graph traversals are executed, retry later.")
   })
-  public Response traverseObjectById(
+  public void traverseObjectById(
           @PathParam("id") @ApiParam(value = "UUID of Object.") @NotNull @Valid UUID id,
-          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectIdRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
-    return buildResponse(service.traverseGraph(getHeader(), request.setId(id)));
+          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectIdRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.traverse, response, header -> buildResponse(service.traverseGraph(header, request.setId(id))));
   }
 
   @POST
@@ -206,14 +211,16 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 401, message = "User could not be authenticated."),
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 408, message = "Execution of this operation timed out."),
-          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format."),
+          @ApiResponse(code = 503, message = "Too many graph traversals are executed, retry later.")
   })
-  public Response traverseObjectByTypeValue(
+  public void traverseObjectByTypeValue(
           @PathParam("type") @ApiParam(value = "Type name of Object.") @NotBlank String type,
           @PathParam("value") @ApiParam(value = "Value of Object.") @NotBlank String value,
-          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectTypeValueRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
-    return buildResponse(service.traverseGraph(getHeader(), request.setType(type).setValue(value)));
+          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectTypeValueRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.traverse, response, header -> buildResponse(service.traverseGraph(header, request.setType(type).setValue(value))));
   }
 
   @POST
@@ -246,10 +253,11 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
   })
-  public Response searchObjects(
-          @ApiParam(value = "Request to search for Objects.") @NotNull @Valid SearchObjectRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return buildResponse(service.searchObjects(getHeader(), request));
+  public void searchObjects(
+          @ApiParam(value = "Request to search for Objects.") @NotNull @Valid SearchObjectRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.search, response, header -> buildResponse(service.searchObjects(header, request)));
   }
 
   @POST
@@ -270,12 +278,14 @@ public class ObjectEndpoint extends AbstractEndpoint {
           @ApiResponse(code = 401, message = "User could not be authenticated."),
           @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
           @ApiResponse(code = 408, message = "Execution of this operation timed out."),
-          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format."),
+          @ApiResponse(code = 503, message = "Too many graph traversals are executed, retry later.")
   })
-  public Response traverseObjects(
-          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectSearchRequest request
-  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
-    return buildResponse(service.traverseGraph(getHeader(), request));
+  public void traverseObjects(
+          @ApiParam(value = "Request to traverse graph.") @NotNull @Valid TraverseByObjectSearchRequest request,
+          @Suspended AsyncResponse response
+  ) {
+    execute(Workload.traverse, response, header -> buildResponse(service.traverseGraph(header, request)));
   }
 
 }
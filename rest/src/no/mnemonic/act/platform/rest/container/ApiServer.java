@@ -1,51 +1,141 @@
 package no.mnemonic.act.platform.rest.container;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.lambda.LambdaUtils;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.jboss.resteasy.plugins.guice.GuiceResteasyBootstrapServletContextListener;
-import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
+import org.jboss.resteasy.plugins.server.servlet.HttpServlet30Dispatcher;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.concurrent.BlockingQueue;
 
 public class ApiServer implements LifecycleAspect {
 
   private static final Logger logger = Logging.getLogger(ApiServer.class);
+  private static final String METRICS_PREFIX = "api.server";
 
   private final int port;
   private final GuiceResteasyBootstrapServletContextListener listener;
-  private final Server server = new Server();
+  private final MetricRegistry metricRegistry;
+  private final WorkloadExecutor workloadExecutor;
+  private Server server;
+
+  // Minimum and maximum number of threads handling requests. Acceptor and selector threads are taken from the same pool.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.threads.min")
+  private String minThreads = "8";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.threads.max")
+  private String maxThreads = "200";
+
+  // Time (in ms) after which idle threads above the minimum are stopped.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.threads.idle.timeout")
+  private String threadIdleTimeout = "60000";
+
+  // Maximum number of jobs waiting for a free thread, 0 means unbounded. Connections are closed if the queue is full.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.threads.queue.size")
+  private String threadQueueSize = "0";
+
+  // Number of acceptor and selector threads of the connector, -1 lets Jetty choose based on the number of CPUs.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.acceptors")
+  private String acceptors = "-1";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.selectors")
+  private String selectors = "-1";
+
+  // Time (in ms) after which idle (keep-alive) connections are closed.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.idle.timeout")
+  private String idleTimeout = "30000";
+
+  // Maximum number of requests handled concurrently, 0 means unlimited. Additional requests are rejected with 503.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.requests.max.active")
+  private String maxActiveRequests = "0";
+
+  // Compress responses with gzip if the client accepts it.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.compression.enabled")
+  private String compressionEnabled = "true";
+
+  // Minimum size (in bytes) of a response before it is compressed. Smaller responses don't benefit from compression.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.compression.min.size")
+  private String compressionMinSize = "1024";
+
+  // Compression level between 1 (fastest) and 9 (smallest), -1 selects the default level.
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.compression.level")
+  private String compressionLevel = "-1";
 
   @Inject
-  public ApiServer(@Named("api.server.port") String port, GuiceResteasyBootstrapServletContextListener listener) {
+  public ApiServer(@Named("api.server.port") String port, GuiceResteasyBootstrapServletContextListener listener,
+                   MetricRegistry metricRegistry, WorkloadExecutor workloadExecutor) {
     this.port = Integer.parseInt(port);
     this.listener = listener;
+    this.metricRegistry = metricRegistry;
+    this.workloadExecutor = workloadExecutor;
   }
 
   @Override
   public void startComponent() {
+    server = new Server(createThreadPool());
+    // Asynchronous endpoints must be able to execute requests before the server accepts them.
+    workloadExecutor.start();
+
     // Initialize servlet using RESTEasy and it's Guice bridge.
     // The listener must be injected by the same Guice module which also binds the REST endpoints.
     ServletContextHandler servletHandler = new ServletContextHandler();
     servletHandler.addEventListener(listener);
-    servletHandler.addServlet(HttpServletDispatcher.class, "/*");
+    // Use the Servlet 3.0 dispatcher which supports asynchronous endpoints.
+    servletHandler.addServlet(HttpServlet30Dispatcher.class, "/*").setAsyncSupported(true);
 
     // Configure Jetty: Remove 'server' header from response and set listen port.
     HttpConfiguration httpConfig = new HttpConfiguration();
     httpConfig.setSendServerVersion(false);
-    ServerConnector connector = new ServerConnector(server, new HttpConnectionFactory(httpConfig));
+    ServerConnector connector = new ServerConnector(server, Integer.parseInt(acceptors), Integer.parseInt(selectors),
+            new HttpConnectionFactory(httpConfig));
     connector.setPort(port);
+    connector.setIdleTimeout(Long.parseLong(idleTimeout));
+
+    Handler handler = Boolean.parseBoolean(compressionEnabled) ? createGzipHandler(servletHandler) : servletHandler;
+
+    // Reject requests early if too many requests are handled already.
+    RequestLimitHandler requestLimitHandler = null;
+    if (Integer.parseInt(maxActiveRequests) > 0) {
+      requestLimitHandler = new RequestLimitHandler(Integer.parseInt(maxActiveRequests));
+      requestLimitHandler.setHandler(handler);
+      handler = requestLimitHandler;
+    }
+
+    // Collect statistics about all handled requests.
+    StatisticsHandler statisticsHandler = new StatisticsHandler();
+    statisticsHandler.setHandler(handler);
+    registerMetrics(statisticsHandler, requestLimitHandler);
 
     // Starting up Jetty to serve the REST API.
     server.addConnector(connector);
-    server.setHandler(servletHandler);
+    server.setHandler(statisticsHandler);
 
     if (!LambdaUtils.tryTo(server::start, ex -> logger.error(ex, "Failed to start REST API."))) {
       throw new IllegalStateException("Failed to start REST API.");
@@ -55,7 +145,54 @@ public class ApiServer implements LifecycleAspect {
   @Override
   public void stopComponent() {
     // Stop server to free up any resources.
-    LambdaUtils.tryTo(server::stop, ex -> logger.error(ex, "Failed to cleanly shutdown REST API."));
+    if (server != null) LambdaUtils.tryTo(server::stop, ex -> logger.error(ex, "Failed to cleanly shutdown REST API."));
+    workloadExecutor.stop();
+    metricRegistry.removeMatching((name, metric) -> name.startsWith(METRICS_PREFIX + "."));
+  }
+
+  private QueuedThreadPool createThreadPool() {
+    int queueSize = Integer.parseInt(threadQueueSize);
+    // Without a bounded queue Jetty uses a queue which grows as needed.
+    BlockingQueue<Runnable> queue = queueSize > 0 ? new BlockingArrayQueue<>(queueSize, 0, queueSize) : null;
+    QueuedThreadPool threadPool = new QueuedThreadPool(Integer.parseInt(maxThreads), Integer.parseInt(minThreads),
+            Integer.parseInt(threadIdleTimeout), queue);
+    threadPool.setName("ApiServer");
+    return threadPool;
+  }
+
+  private GzipHandler createGzipHandler(Handler handler) {
+    GzipHandler gzipHandler = new GzipHandler();
+    // By default only responses to GET requests are compressed, but search requests are sent with POST.
+    gzipHandler.setIncludedMethods(HttpMethod.GET.asString(), HttpMethod.POST.asString());
+    gzipHandler.setMinGzipSize(Integer.parseInt(compressionMinSize));
+    gzipHandler.setCompressionLevel(Integer.parseInt(compressionLevel));
+    gzipHandler.setHandler(handler);
+    return gzipHandler;
+  }
+
+  private void registerMetrics(StatisticsHandler statistics, RequestLimitHandler requestLimit) {
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "requests"), (Gauge<Integer>) statistics::getRequests);
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "requests", "active"), (Gauge<Integer>) statistics::getRequestsActive);
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "requests", "time", "mean"), (Gauge<Double>) statistics::getRequestTimeMean);
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "requests", "time", "max"), (Gauge<Long>) statistics::getRequestTimeMax);
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "responses", "4xx"), (Gauge<Integer>) statistics::getResponses4xx);
+    metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "responses", "5xx"), (Gauge<Integer>) statistics::getResponses5xx);
+
+    if (requestLimit != null) {
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "requests", "rejected"), (Gauge<Long>) requestLimit::getRejectedRequests);
+    }
+
+    for (WorkloadExecutor.Workload workload : WorkloadExecutor.Workload.values()) {
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "executor", workload.name(), "active"), (Gauge<Integer>) () -> workloadExecutor.getActiveThreads(workload));
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "executor", workload.name(), "queued"), (Gauge<Integer>) () -> workloadExecutor.getQueueSize(workload));
+    }
+
+    if (server.getThreadPool() instanceof QueuedThreadPool) {
+      QueuedThreadPool threadPool = (QueuedThreadPool) server.getThreadPool();
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "threads"), (Gauge<Integer>) threadPool::getThreads);
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "threads", "idle"), (Gauge<Integer>) threadPool::getIdleThreads);
+      metricRegistry.register(MetricRegistry.name(METRICS_PREFIX, "threads", "queued"), (Gauge<Integer>) threadPool::getQueueSize);
+    }
   }
 
 }
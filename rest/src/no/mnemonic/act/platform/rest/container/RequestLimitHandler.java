@@ -0,0 +1,115 @@
+package no.mnemonic.act.platform.rest.container;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import no.mnemonic.act.platform.rest.api.ResultStash;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of requests handled concurrently. Requests exceeding the limit are rejected immediately with
+ * '503 Service Unavailable' instead of waiting for a free thread, such that an overloaded server still answers fast
+ * and clients can back off or retry on another node.
+ */
+class RequestLimitHandler extends HandlerWrapper {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final int maxActiveRequests;
+  private final AtomicInteger activeRequests = new AtomicInteger();
+  private final LongAdder rejectedRequests = new LongAdder();
+
+  RequestLimitHandler(int maxActiveRequests) {
+    this.maxActiveRequests = maxActiveRequests;
+  }
+
+  @Override
+  public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+          throws IOException, ServletException {
+    if (baseRequest.getDispatcherType() != DispatcherType.REQUEST) {
+      // Asynchronous dispatches of an admitted request are already counted.
+      super.handle(target, baseRequest, request, response);
+      return;
+    }
+
+    if (activeRequests.incrementAndGet() > maxActiveRequests) {
+      activeRequests.decrementAndGet();
+      rejectedRequests.increment();
+      reject(baseRequest, response);
+      return;
+    }
+
+    boolean async = false;
+    try {
+      super.handle(target, baseRequest, request, response);
+      async = request.isAsyncStarted();
+    } finally {
+      // Asynchronous requests are still active after handle() returned until they are completed.
+      if (async) {
+        request.getAsyncContext().addListener(new CompletionListener());
+      } else {
+        activeRequests.decrementAndGet();
+      }
+    }
+  }
+
+  int getActiveRequests() {
+    return activeRequests.get();
+  }
+
+  long getRejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  static Response createOverloadedResponse() {
+    return ResultStash.builder()
+            .setStatus(Response.Status.SERVICE_UNAVAILABLE)
+            .addActionError("The server is overloaded, retry the request later.", "server.overloaded")
+            .buildResponse();
+  }
+
+  private void reject(Request baseRequest, HttpServletResponse response) throws IOException {
+    response.setStatus(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+    response.setHeader(HttpHeader.RETRY_AFTER.asString(), RETRY_AFTER_SECONDS);
+    response.setContentType(MediaType.APPLICATION_JSON);
+    MAPPER.writeValue(response.getOutputStream(), createOverloadedResponse().getEntity());
+    baseRequest.setHandled(true);
+  }
+
+  private class CompletionListener implements AsyncListener {
+    @Override
+    public void onComplete(AsyncEvent event) {
+      activeRequests.decrementAndGet();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      // onComplete() is called afterwards.
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      // onComplete() is called afterwards.
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // Listeners are removed when asynchronous processing is started again, thus, register again.
+      event.getAsyncContext().addListener(this);
+    }
+  }
+
+}
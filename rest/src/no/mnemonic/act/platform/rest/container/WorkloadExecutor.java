@@ -0,0 +1,289 @@
+package no.mnemonic.act.platform.rest.container;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.core.Response;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes requests of asynchronous endpoints outside of Jetty's threads. Every {@link Workload} has its own bounded
+ * thread pool and queue, such that slow requests (e.g. graph traversals) can't starve fast requests (e.g. fetching
+ * a single Fact). Requests are rejected with '503 Service Unavailable' if the queue of their workload is full.
+ * <p>
+ * A read-only request which is cancelled before it has finished (e.g. because the client disconnected or the response
+ * has been cancelled) is removed from the queue or its executing thread is interrupted, such that abandoned requests
+ * don't occupy the thread pools. Write requests are never cancelled because interrupting them in the middle of a write
+ * would leave partially stored data behind (e.g. a Fact stored in Cassandra but not indexed in ElasticSearch).
+ * <p>
+ * The executor is started and stopped together with the {@link ApiServer}.
+ */
+@Singleton
+public class WorkloadExecutor {
+
+  private static final Logger logger = Logging.getLogger(WorkloadExecutor.class);
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  /**
+   * Classes of requests which are executed in separate thread pools.
+   */
+  public enum Workload {
+    read(true), search(true), traverse(true), write(false);
+
+    private final boolean cancellable;
+
+    Workload(boolean cancellable) {
+      this.cancellable = cancellable;
+    }
+
+    /**
+     * Returns whether requests of this workload are cancelled if their response is completed before they have finished.
+     *
+     * @return True if requests are cancellable
+     */
+    public boolean isCancellable() {
+      return cancellable;
+    }
+  }
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.read.threads")
+  private String readThreads = "32";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.read.queue.size")
+  private String readQueueSize = "1000";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.search.threads")
+  private String searchThreads = "16";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.search.queue.size")
+  private String searchQueueSize = "500";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.traverse.threads")
+  private String traverseThreads = "4";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.traverse.queue.size")
+  private String traverseQueueSize = "20";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.write.threads")
+  private String writeThreads = "8";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.write.queue.size")
+  private String writeQueueSize = "500";
+
+  private final Map<Workload, ThreadPoolExecutor> executors = new EnumMap<>(Workload.class);
+
+  /**
+   * Execute a request asynchronously and resume the response with its result. Exceptions thrown by the request are
+   * passed to the response and are handled by the registered exception mappers.
+   *
+   * @param workload Workload class of the request
+   * @param response Suspended response of the request
+   * @param request  Request producing the response
+   */
+  public void execute(Workload workload, AsyncResponse response, Callable<Response> request) {
+    execute(workload, response, null, request);
+  }
+
+  /**
+   * Same as {@link #execute(Workload, AsyncResponse, Callable)} but additionally cancels the request if an error occurs
+   * on the servlet's asynchronous context, e.g. because Jetty detected that the client disconnected. Requests of a
+   * workload which isn't {@link Workload#isCancellable() cancellable} always run to completion.
+   *
+   * @param workload Workload class of the request
+   * @param response Suspended response of the request
+   * @param context  Asynchronous context of the request, may be NULL
+   * @param request  Request producing the response
+   */
+  public void execute(Workload workload, AsyncResponse response, AsyncContext context, Callable<Response> request) {
+    ThreadPoolExecutor executor = executors.get(workload);
+    RequestTask task = new RequestTask(response, request);
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException ex) {
+      response.resume(RequestLimitHandler.createOverloadedResponse());
+      return;
+    }
+
+    // Interrupting a write could abort it after some data has already been stored, thus, let it finish.
+    if (!workload.isCancellable()) return;
+
+    // Called when the response is completed in any way. If it was completed before the task has finished the response
+    // was cancelled (or timed out) and the task is cancelled as well.
+    response.register((CompletionCallback) error -> cancel(executor, task));
+    if (context != null) {
+      context.addListener(new CancellingListener(executor, task));
+    }
+  }
+
+  int getActiveThreads(Workload workload) {
+    return executors.get(workload).getActiveCount();
+  }
+
+  int getQueueSize(Workload workload) {
+    return executors.get(workload).getQueue().size();
+  }
+
+  void start() {
+    executors.put(Workload.read, createExecutor(Workload.read, readThreads, readQueueSize));
+    executors.put(Workload.search, createExecutor(Workload.search, searchThreads, searchQueueSize));
+    executors.put(Workload.traverse, createExecutor(Workload.traverse, traverseThreads, traverseQueueSize));
+    executors.put(Workload.write, createExecutor(Workload.write, writeThreads, writeQueueSize));
+  }
+
+  void stop() {
+    executors.values().forEach(ThreadPoolExecutor::shutdown);
+    for (Map.Entry<Workload, ThreadPoolExecutor> entry : executors.entrySet()) {
+      try {
+        if (!entry.getValue().awaitTermination(10, TimeUnit.SECONDS)) {
+          logger.warning("Executor for workload %s did not terminate in time.", entry.getKey());
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    executors.clear();
+  }
+
+  private static void cancel(ThreadPoolExecutor executor, RequestTask task) {
+    if (task.cancel()) {
+      // Free up the queue slot if the task hasn't been started yet.
+      executor.remove(task);
+    }
+  }
+
+  private ThreadPoolExecutor createExecutor(Workload workload, String threads, String queueSize) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(Integer.parseInt(threads), Integer.parseInt(threads),
+            KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Integer.parseInt(queueSize)),
+            new WorkloadThreadFactory(workload));
+    // Don't keep idle threads around forever.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static class RequestTask implements Runnable {
+    private final AsyncResponse response;
+    private final Callable<Response> request;
+    // Both fields are guarded by 'this'. 'runner' is only set while the request is executed.
+    private Thread runner;
+    private boolean finished;
+
+    private RequestTask(AsyncResponse response, Callable<Response> request) {
+      this.response = response;
+      this.request = request;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (finished) return;
+        runner = Thread.currentThread();
+      }
+
+      Object result;
+      boolean cancelled;
+      try {
+        result = request.call();
+      } catch (Throwable ex) {
+        result = ex;
+      } finally {
+        synchronized (this) {
+          cancelled = finished;
+          runner = null;
+          finished = true;
+        }
+        // Clear a pending interrupt caused by cancel() such that it doesn't affect the next task executed by this thread.
+        Thread.interrupted();
+      }
+
+      // Nobody is waiting for the result of a cancelled request.
+      if (cancelled) return;
+      if (result instanceof Throwable) {
+        response.resume((Throwable) result);
+      } else {
+        response.resume(result);
+      }
+    }
+
+    /**
+     * Cancel the task if it hasn't finished yet. A running task is interrupted.
+     *
+     * @return True if the task has been cancelled by this call
+     */
+    private synchronized boolean cancel() {
+      if (finished) return false;
+      finished = true;
+      if (runner != null) runner.interrupt();
+      return true;
+    }
+  }
+
+  private static class CancellingListener implements AsyncListener {
+    private final ThreadPoolExecutor executor;
+    private final RequestTask task;
+
+    private CancellingListener(ThreadPoolExecutor executor, RequestTask task) {
+      this.executor = executor;
+      this.task = task;
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      cancel(executor, task);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      cancel(executor, task);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      // Handled by the AsyncResponse which completes the response and thereby cancels the task.
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // NOOP
+    }
+  }
+
+  private static class WorkloadThreadFactory implements ThreadFactory {
+    private final AtomicInteger counter = new AtomicInteger();
+    private final Workload workload;
+
+    private WorkloadThreadFactory(Workload workload) {
+      this.workload = workload;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, String.format("ApiServer-%s-%d", workload, counter.incrementAndGet()));
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
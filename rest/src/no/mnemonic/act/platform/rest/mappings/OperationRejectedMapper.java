@@ -0,0 +1,21 @@
+package no.mnemonic.act.platform.rest.mappings;
+
+import no.mnemonic.act.platform.api.exceptions.OperationRejectedException;
+import no.mnemonic.act.platform.rest.api.ResultStash;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+@Provider
+public class OperationRejectedMapper implements ExceptionMapper<OperationRejectedException> {
+
+  @Override
+  public Response toResponse(OperationRejectedException ex) {
+    return ResultStash.builder()
+            .setStatus(Response.Status.SERVICE_UNAVAILABLE)
+            .addActionError(ex.getMessage(), ex.getMessageTemplate())
+            .buildResponse();
+  }
+
+}
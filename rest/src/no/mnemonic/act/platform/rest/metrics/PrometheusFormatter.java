@@ -0,0 +1,98 @@
+package no.mnemonic.act.platform.rest.metrics;
+
+import com.codahale.metrics.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes all metrics of a {@link MetricRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * <p>
+ * Metric names are prefixed with {@value #PREFIX} and all characters not allowed by Prometheus are replaced by '_'.
+ * Gauges and counters are exported as gauges, meters as counters, and histograms and timers as summaries including
+ * their quantiles. Timers are exported in seconds, all other values are exported as recorded.
+ */
+public class PrometheusFormatter {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final String PREFIX = "act_";
+  private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final Writer writer;
+
+  public PrometheusFormatter(Writer writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Write all metrics of a registry.
+   *
+   * @param registry Registry to export
+   * @throws IOException If writing fails
+   */
+  public void write(MetricRegistry registry) throws IOException {
+    for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet()) {
+      writeGauge(sanitize(entry.getKey()), entry.getValue());
+    }
+    for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+      writeSample(sanitize(entry.getKey()), "gauge", entry.getValue().getCount());
+    }
+    for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+      writeSample(sanitize(entry.getKey()) + "_total", "counter", entry.getValue().getCount());
+    }
+    for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+      writeSummary(sanitize(entry.getKey()), entry.getValue().getSnapshot(), entry.getValue().getCount(), 1.0);
+    }
+    for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+      writeSummary(sanitize(entry.getKey()) + "_seconds", entry.getValue().getSnapshot(), entry.getValue().getCount(), NANOS_PER_SECOND);
+    }
+    writer.flush();
+  }
+
+  private void writeGauge(String name, Gauge gauge) throws IOException {
+    Object value = gauge.getValue();
+    if (value instanceof Number) {
+      writeSample(name, "gauge", ((Number) value).doubleValue());
+    } else if (value instanceof Boolean) {
+      writeSample(name, "gauge", (Boolean) value ? 1 : 0);
+    }
+    // Gauges with any other value (e.g. strings) cannot be represented in Prometheus and are skipped.
+  }
+
+  private void writeSample(String name, String type, double value) throws IOException {
+    writeType(name, type);
+    writeLine(name, "", value);
+  }
+
+  private void writeSummary(String name, Snapshot snapshot, long count, double factor) throws IOException {
+    writeType(name, "summary");
+    for (double quantile : QUANTILES) {
+      writeLine(name, "{quantile=\"" + quantile + "\"}", snapshot.getValue(quantile) / factor);
+    }
+    writeLine(name + "_count", "", count);
+  }
+
+  private void writeType(String name, String type) throws IOException {
+    writer.write("# TYPE " + name + " " + type + "\n");
+  }
+
+  private void writeLine(String name, String labels, double value) throws IOException {
+    writer.write(name + labels + " " + formatValue(value) + "\n");
+  }
+
+  private String formatValue(double value) {
+    if (Double.isNaN(value)) return "NaN";
+    if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+    // Avoid a trailing '.0' for integral values in order to keep the output compact.
+    return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+  }
+
+  static String sanitize(String name) {
+    return PREFIX + name.replaceAll("[^a-zA-Z0-9_:]", "_");
+  }
+
+}
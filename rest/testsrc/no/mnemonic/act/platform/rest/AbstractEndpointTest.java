@@ -1,11 +1,13 @@
 package no.mnemonic.act.platform.rest;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Scopes;
 import com.google.inject.name.Names;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.rest.container.ApiServer;
@@ -68,6 +70,7 @@ public class AbstractEndpointTest {
     protected void configure() {
       install(new RestModule());
       bind(ThreatIntelligenceService.class).toInstance(tiService);
+      bind(MetricRegistry.class).in(Scopes.SINGLETON);
       bind(String.class).annotatedWith(Names.named("api.server.port")).toInstance(String.valueOf(port));
     }
 
@@ -1,14 +1,20 @@
 package no.mnemonic.act.platform.rest;
 
+import com.google.common.base.Strings;
+import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.GetObjectByTypeValueRequest;
 import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
 import no.mnemonic.act.platform.auth.properties.model.SubjectIdentifier;
 import org.junit.Test;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
 import static org.junit.Assert.*;
-import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Test common endpoint functionality with one specific endpoint, however, it should work with every endpoint.
@@ -49,4 +55,55 @@ public class CommonEndpointTest extends AbstractEndpointTest {
     }), isA(GetObjectByTypeValueRequest.class));
   }
 
+  @Test
+  public void testBypassCacheIsSetInRequestHeader() throws Exception {
+    target("/v1/object/ip/1.1.1.1").request().header(HttpHeaders.CACHE_CONTROL, "no-cache").get();
+    target("/v1/object/ip/1.1.1.1").request().header("Pragma", "no-cache").get();
+
+    verify(getTiService(), times(2)).getObject(argThat(rh -> {
+      assertTrue(rh.isBypassCache());
+      return true;
+    }), isA(GetObjectByTypeValueRequest.class));
+  }
+
+  @Test
+  public void testBypassCacheOmittedHeader() throws Exception {
+    target("/v1/object/ip/1.1.1.1").request().header(HttpHeaders.CACHE_CONTROL, "max-age=60").get();
+
+    verify(getTiService()).getObject(argThat(rh -> {
+      assertFalse(rh.isBypassCache());
+      return true;
+    }), isA(GetObjectByTypeValueRequest.class));
+  }
+
+  @Test
+  public void testLargeResponseIsCompressed() throws Exception {
+    when(getTiService().getObject(any(), isA(GetObjectByTypeValueRequest.class)))
+            .thenReturn(Object.builder().setValue(Strings.repeat("1.1.1.1", 1000)).build());
+
+    Response response = target("/v1/object/ip/1.1.1.1").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+    assertEquals(200, response.getStatus());
+    assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  public void testSmallResponseIsNotCompressed() throws Exception {
+    when(getTiService().getObject(any(), isA(GetObjectByTypeValueRequest.class)))
+            .thenReturn(Object.builder().setValue("1.1.1.1").build());
+
+    Response response = target("/v1/object/ip/1.1.1.1").request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+    assertEquals(200, response.getStatus());
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  public void testResponseIsNotCompressedWithoutAcceptEncoding() throws Exception {
+    when(getTiService().getObject(any(), isA(GetObjectByTypeValueRequest.class)))
+            .thenReturn(Object.builder().setValue(Strings.repeat("1.1.1.1", 1000)).build());
+
+    Response response = target("/v1/object/ip/1.1.1.1").request().get();
+    assertEquals(200, response.getStatus());
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+  }
+
 }
@@ -0,0 +1,24 @@
+package no.mnemonic.act.platform.rest.api;
+
+import no.mnemonic.act.platform.rest.AbstractEndpointTest;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsEndpointTest extends AbstractEndpointTest {
+
+  @Test
+  public void testGetMetrics() {
+    Response response = target("/metrics").request().get();
+    assertEquals(200, response.getStatus());
+    assertTrue(response.getMediaType().toString().startsWith("text/plain"));
+
+    String output = response.readEntity(String.class);
+    assertTrue(output.contains("# TYPE act_api_server_requests gauge\n"));
+    assertTrue(output.contains("# TYPE act_api_server_threads gauge\n"));
+  }
+
+}
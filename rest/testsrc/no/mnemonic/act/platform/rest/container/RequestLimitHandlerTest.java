@@ -0,0 +1,106 @@
+package no.mnemonic.act.platform.rest.container;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestLimitHandlerTest {
+
+  private final CountDownLatch entered = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private Server server;
+  private RequestLimitHandler handler;
+
+  @Before
+  public void setUp() throws Exception {
+    handler = new RequestLimitHandler(1);
+    handler.setHandler(new BlockingHandler());
+
+    server = new Server();
+    ServerConnector connector = new ServerConnector(server);
+    connector.setPort(0);
+    server.addConnector(connector);
+    server.setHandler(handler);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    release.countDown();
+    executor.shutdownNow();
+    server.stop();
+  }
+
+  @Test
+  public void testRequestWithinLimitIsHandled() throws Exception {
+    release.countDown();
+    assertEquals(200, request("/").getResponseCode());
+    assertEquals(0, handler.getActiveRequests());
+    assertEquals(0, handler.getRejectedRequests());
+  }
+
+  @Test
+  public void testRequestExceedingLimitIsRejected() throws Exception {
+    Future<Integer> blocked = executor.submit(() -> request("/block").getResponseCode());
+    assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+    HttpURLConnection rejected = request("/");
+    assertEquals(503, rejected.getResponseCode());
+    assertEquals("1", rejected.getHeaderField("Retry-After"));
+    try (InputStream body = rejected.getErrorStream()) {
+      JsonNode stash = new ObjectMapper().readTree(body);
+      assertEquals(503, stash.get("responseCode").intValue());
+      assertEquals("server.overloaded", stash.get("messages").get(0).get("messageTemplate").textValue());
+    }
+    assertEquals(1, handler.getRejectedRequests());
+
+    release.countDown();
+    assertEquals(200, (int) blocked.get(10, TimeUnit.SECONDS));
+    assertEquals(200, request("/").getResponseCode());
+  }
+
+  private HttpURLConnection request(String path) throws IOException {
+    URL url = new URL("http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + path);
+    return (HttpURLConnection) url.openConnection();
+  }
+
+  private class BlockingHandler extends AbstractHandler {
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+      if ("/block".equals(target)) {
+        entered.countDown();
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      response.setStatus(200);
+      baseRequest.setHandled(true);
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+package no.mnemonic.act.platform.rest.container;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import no.mnemonic.act.platform.rest.container.WorkloadExecutor.Workload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class WorkloadExecutorTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch interrupted = new CountDownLatch(1);
+
+  @Mock
+  private AsyncResponse response;
+
+  private WorkloadExecutor executor;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    executor = Guice.createInjector(binder -> {
+      binder.bindConstant().annotatedWith(Names.named("api.server.executor.traverse.threads")).to("1");
+      binder.bindConstant().annotatedWith(Names.named("api.server.executor.traverse.queue.size")).to("1");
+    }).getInstance(WorkloadExecutor.class);
+    executor.start();
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.stop();
+  }
+
+  @Test
+  public void testExecuteResumesWithResponse() {
+    Response ok = Response.ok().build();
+    executor.execute(Workload.read, response, () -> ok);
+    verify(response, timeout(5000)).resume(ok);
+  }
+
+  @Test
+  public void testExecuteResumesWithException() {
+    IllegalStateException ex = new IllegalStateException();
+    executor.execute(Workload.read, response, () -> {
+      throw ex;
+    });
+    verify(response, timeout(5000)).resume(ex);
+  }
+
+  @Test
+  public void testExecuteRejectsWhenQueueIsFull() {
+    AsyncResponse running = mock(AsyncResponse.class);
+    AsyncResponse queued = mock(AsyncResponse.class);
+    executor.execute(Workload.traverse, running, this::block);
+    executor.execute(Workload.traverse, queued, this::block);
+    executor.execute(Workload.traverse, response, this::block);
+
+    ArgumentCaptor<Response> rejected = ArgumentCaptor.forClass(Response.class);
+    verify(response).resume(rejected.capture());
+    assertEquals(503, rejected.getValue().getStatus());
+    verify(running, never()).resume(any(Response.class));
+    verify(queued, never()).resume(any(Response.class));
+  }
+
+  @Test
+  public void testSlowWorkloadDoesNotBlockOtherWorkloads() {
+    AsyncResponse traversal = mock(AsyncResponse.class);
+    executor.execute(Workload.traverse, traversal, this::block);
+
+    Response ok = Response.ok().build();
+    executor.execute(Workload.read, response, () -> ok);
+    verify(response, timeout(5000)).resume(ok);
+    verify(traversal, never()).resume(any(Response.class));
+  }
+
+  @Test
+  public void testCancelledResponseInterruptsRequest() throws Exception {
+    executor.execute(Workload.traverse, response, this::blockUntilInterrupted);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    ArgumentCaptor<CompletionCallback> callback = ArgumentCaptor.forClass(CompletionCallback.class);
+    verify(response).register(callback.capture());
+    // Simulate that the response was cancelled before the request has finished.
+    callback.getValue().onComplete(null);
+
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    verify(response, never()).resume(any(Response.class));
+  }
+
+  @Test
+  public void testAsyncErrorInterruptsRequest() throws Exception {
+    AsyncContext context = mock(AsyncContext.class);
+    executor.execute(Workload.traverse, response, context, this::blockUntilInterrupted);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(context).addListener(listener.capture());
+    // Simulate that Jetty detected that the client disconnected.
+    listener.getValue().onError(null);
+
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCancelledWriteRequestRunsToCompletion() throws Exception {
+    AsyncContext context = mock(AsyncContext.class);
+    executor.execute(Workload.write, response, context, () -> {
+      started.countDown();
+      assertTrue(release.await(10, TimeUnit.SECONDS));
+      // The request must not observe an interrupt caused by cancelling its response.
+      if (Thread.currentThread().isInterrupted()) interrupted.countDown();
+      return Response.ok().build();
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // Neither completing the response nor an error on the asynchronous context cancels a write request.
+    verify(response, never()).register(any(CompletionCallback.class));
+    verify(context, never()).addListener(any());
+
+    release.countDown();
+    verify(response, timeout(5000)).resume(any(Response.class));
+    assertEquals(1, interrupted.getCount());
+  }
+
+  @Test
+  public void testCancelledQueuedRequestIsRemoved() throws Exception {
+    AsyncResponse running = mock(AsyncResponse.class);
+    executor.execute(Workload.traverse, running, this::block);
+    executor.execute(Workload.traverse, response, () -> Response.ok().build());
+    assertEquals(1, executor.getQueueSize(Workload.traverse));
+
+    ArgumentCaptor<CompletionCallback> callback = ArgumentCaptor.forClass(CompletionCallback.class);
+    verify(response).register(callback.capture());
+    callback.getValue().onComplete(null);
+
+    assertEquals(0, executor.getQueueSize(Workload.traverse));
+    release.countDown();
+    verify(running, timeout(5000)).resume(any(Response.class));
+    verify(response, never()).resume(any(Response.class));
+  }
+
+  @Test
+  public void testFinishedRequestIsNotInterrupted() throws Exception {
+    Response ok = Response.ok().build();
+    executor.execute(Workload.read, response, () -> ok);
+    verify(response, timeout(5000)).resume(ok);
+
+    // The response is completed after the request has finished which must not interrupt the next request.
+    ArgumentCaptor<CompletionCallback> callback = ArgumentCaptor.forClass(CompletionCallback.class);
+    verify(response).register(callback.capture());
+    callback.getValue().onComplete(null);
+
+    AsyncResponse next = mock(AsyncResponse.class);
+    executor.execute(Workload.read, next, () -> Thread.currentThread().isInterrupted() ? null : ok);
+    verify(next, timeout(5000)).resume(ok);
+  }
+
+  private Response blockUntilInterrupted() {
+    started.countDown();
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      interrupted.countDown();
+    }
+    return Response.ok().build();
+  }
+
+  private Response block() throws InterruptedException {
+    assertTrue(release.await(10, TimeUnit.SECONDS));
+    return Response.ok().build();
+  }
+
+}
@@ -80,6 +80,18 @@ public class ExceptionMappingsTest extends AbstractEndpointTest {
     assertMessages(getMessages(response), "message", "template");
   }
 
+  @Test
+  public void testOperationRejectedMapperReturns503() throws Exception {
+    TraverseByObjectIdRequest request = new TraverseByObjectIdRequest()
+            .setQuery("g.out()");
+    when(getTiService().traverseGraph(any(), isA(TraverseByObjectIdRequest.class)))
+            .thenThrow(new OperationRejectedException("message", "template"));
+
+    Response response = target(String.format("/v1/object/uuid/%s/traverse", UUID.randomUUID())).request().post(Entity.json(request));
+    assertEquals(503, response.getStatus());
+    assertMessages(getMessages(response), "message", "template");
+  }
+
   @Test
   public void testFailedRequestValidationReturns412() throws Exception {
     CreateFactRequest request = new CreateFactRequest();
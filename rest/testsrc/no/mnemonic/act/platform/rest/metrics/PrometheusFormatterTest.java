@@ -0,0 +1,77 @@
+package no.mnemonic.act.platform.rest.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PrometheusFormatterTest {
+
+  private final MetricRegistry registry = new MetricRegistry();
+
+  @Test
+  public void testWriteEmptyRegistry() throws IOException {
+    assertEquals("", format());
+  }
+
+  @Test
+  public void testSanitizeName() {
+    assertEquals("act_service_getFact_errors", PrometheusFormatter.sanitize("service.getFact.errors"));
+    assertEquals("act_cache_object_type_value_hit_ratio", PrometheusFormatter.sanitize("cache.object.type.value.hit-ratio"));
+  }
+
+  @Test
+  public void testWriteGauges() throws IOException {
+    registry.register("gauge.number", (Gauge<Double>) () -> 0.5);
+    registry.register("gauge.boolean", (Gauge<Boolean>) () -> true);
+    registry.register("gauge.string", (Gauge<String>) () -> "ignored");
+
+    String output = format();
+    assertTrue(output.contains("# TYPE act_gauge_number gauge\nact_gauge_number 0.5\n"));
+    assertTrue(output.contains("# TYPE act_gauge_boolean gauge\nact_gauge_boolean 1\n"));
+    assertFalse(output.contains("act_gauge_string"));
+  }
+
+  @Test
+  public void testWriteCountersAndMeters() throws IOException {
+    registry.counter("counter").inc(3);
+    registry.meter("meter").mark(2);
+
+    String output = format();
+    assertTrue(output.contains("# TYPE act_counter gauge\nact_counter 3\n"));
+    assertTrue(output.contains("# TYPE act_meter_total counter\nact_meter_total 2\n"));
+  }
+
+  @Test
+  public void testWriteHistogram() throws IOException {
+    registry.histogram("histogram").update(42);
+
+    String output = format();
+    assertTrue(output.contains("# TYPE act_histogram summary\n"));
+    assertTrue(output.contains("act_histogram{quantile=\"0.5\"} 42\n"));
+    assertTrue(output.contains("act_histogram{quantile=\"0.999\"} 42\n"));
+    assertTrue(output.contains("act_histogram_count 1\n"));
+  }
+
+  @Test
+  public void testWriteTimerInSeconds() throws IOException {
+    registry.timer("timer").update(1500, TimeUnit.MILLISECONDS);
+
+    String output = format();
+    assertTrue(output.contains("# TYPE act_timer_seconds summary\n"));
+    assertTrue(output.contains("act_timer_seconds{quantile=\"0.99\"} 1.5\n"));
+    assertTrue(output.contains("act_timer_seconds_count 1\n"));
+  }
+
+  private String format() throws IOException {
+    StringWriter writer = new StringWriter();
+    new PrometheusFormatter(writer).write(registry);
+    return writer.toString();
+  }
+
+}
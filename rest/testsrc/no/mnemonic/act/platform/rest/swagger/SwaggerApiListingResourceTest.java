@@ -6,6 +6,7 @@ import org.junit.Test;
 import javax.ws.rs.core.Response;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class SwaggerApiListingResourceTest extends AbstractEndpointTest {
 
@@ -15,4 +16,10 @@ public class SwaggerApiListingResourceTest extends AbstractEndpointTest {
     assertEquals(200, response.getStatus());
   }
 
+  @Test
+  public void testSwaggerJsonOmitsSuspendedResponse() throws Exception {
+    String swagger = target("/swagger.json").request().get(String.class);
+    assertFalse(swagger.contains("AsyncResponse"));
+  }
+
 }
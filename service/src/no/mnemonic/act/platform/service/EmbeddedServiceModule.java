@@ -0,0 +1,15 @@
+package no.mnemonic.act.platform.service;
+
+import no.mnemonic.act.platform.dao.embedded.EmbeddedDaoModule;
+
+/**
+ * ServiceModule using the embedded storage instead of Cassandra and ElasticSearch, thus, the whole platform runs
+ * inside one JVM. Use this module instead of {@link ServiceModule} when launching the application.
+ */
+public class EmbeddedServiceModule extends ServiceModule {
+
+  public EmbeddedServiceModule() {
+    super(new EmbeddedDaoModule());
+  }
+
+}
@@ -1,15 +1,19 @@
 package no.mnemonic.act.platform.service;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Module;
 import com.google.inject.Scopes;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.auth.properties.module.PropertiesBasedAccessControllerModule;
 import no.mnemonic.act.platform.dao.DaoModule;
 import no.mnemonic.act.platform.service.aspects.AuthenticationAspect;
+import no.mnemonic.act.platform.service.aspects.MetricsAspect;
 import no.mnemonic.act.platform.service.aspects.RequestContextAspect;
 import no.mnemonic.act.platform.service.aspects.TriggerContextAspect;
 import no.mnemonic.act.platform.service.aspects.ValidationAspect;
+import no.mnemonic.act.platform.service.metrics.ComponentMetrics;
 import no.mnemonic.act.platform.service.ti.ThreatIntelligenceServiceImpl;
+import no.mnemonic.act.platform.service.triggers.TriggerEventDispatcher;
 import no.mnemonic.act.platform.service.validators.DefaultValidatorFactory;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.services.triggers.api.service.v1.TriggerAdministrationService;
@@ -19,18 +23,38 @@ import no.mnemonic.services.triggers.service.TriggerAdministrationServiceImpl;
 
 public class ServiceModule extends AbstractModule {
 
+  private final Module daoModule;
+
+  public ServiceModule() {
+    this(new DaoModule());
+  }
+
+  /**
+   * Create a ServiceModule on top of another storage implementation than the default {@link DaoModule}.
+   *
+   * @param daoModule Module providing FactManager, ObjectManager and FactSearchManager
+   */
+  public ServiceModule(Module daoModule) {
+    this.daoModule = daoModule;
+  }
+
   @Override
   protected void configure() {
-    install(new DaoModule());
+    install(daoModule);
     install(new PropertiesBasedAccessControllerModule());
+    // MetricsAspect must be installed first in order to measure the time spent in all other aspects.
+    install(new MetricsAspect());
     install(new AuthenticationAspect());
     install(new RequestContextAspect());
     install(new ValidationAspect());
     install(new TriggerContextAspect());
-    bind(TriggerEventConsumer.class).to(InMemoryQueueWorker.class).in(Scopes.SINGLETON);
+    // Events are queued by the dispatcher and handed over to the worker which evaluates the trigger rules.
+    bind(InMemoryQueueWorker.class).in(Scopes.SINGLETON);
+    bind(TriggerEventConsumer.class).to(TriggerEventDispatcher.class).in(Scopes.SINGLETON);
     bind(TriggerAdministrationService.class).to(TriggerAdministrationServiceImpl.class).in(Scopes.SINGLETON);
     bind(ValidatorFactory.class).to(DefaultValidatorFactory.class).in(Scopes.SINGLETON);
     bind(ThreatIntelligenceService.class).to(ThreatIntelligenceServiceImpl.class).in(Scopes.SINGLETON);
+    bind(ComponentMetrics.class).asEagerSingleton();
   }
 
 }
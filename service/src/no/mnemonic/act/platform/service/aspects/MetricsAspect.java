@@ -0,0 +1,40 @@
+package no.mnemonic.act.platform.service.aspects;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.inject.matcher.Matchers;
+import no.mnemonic.act.platform.service.Service;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.inject.Inject;
+
+/**
+ * The MetricsAspect measures the latency of every service method and counts the invocations which failed.
+ * It should be installed before all other aspects in order to include their overhead in the measurements.
+ */
+public class MetricsAspect extends AbstractAspect {
+
+  private static final String METRIC_PREFIX = "service";
+
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  @Override
+  protected void configure() {
+    requestInjection(this);
+    bindInterceptor(Matchers.subclassesOf(Service.class), matchServiceMethod(), this);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    String method = invocation.getMethod().getName();
+
+    try (Timer.Context ignored = metricRegistry.timer(MetricRegistry.name(METRIC_PREFIX, method)).time()) {
+      return invocation.proceed();
+    } catch (Throwable ex) {
+      metricRegistry.counter(MetricRegistry.name(METRIC_PREFIX, method, "errors")).inc();
+      throw ex;
+    }
+  }
+
+}
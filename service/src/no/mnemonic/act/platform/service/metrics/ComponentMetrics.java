@@ -0,0 +1,112 @@
+package no.mnemonic.act.platform.service.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraFactManager;
+import no.mnemonic.act.platform.dao.cassandra.CassandraObjectManager;
+import no.mnemonic.act.platform.dao.metrics.CacheMetrics;
+import no.mnemonic.act.platform.service.ti.helpers.ReadCoalescer;
+import no.mnemonic.act.platform.service.ti.helpers.SearchResultCache;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalAdmissionController;
+import no.mnemonic.act.platform.service.triggers.TriggerEventDispatcher;
+import no.mnemonic.act.platform.service.validators.DefaultValidatorFactory;
+import no.mnemonic.act.platform.service.validators.ValidatorFactory;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.services.triggers.pipeline.worker.InMemoryQueueWorker;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Registers gauges for the internal state of platform components in the shared {@link MetricRegistry}, i.e. the
+ * statistics of all caches, the state of the trigger event dispatcher and worker, the admission of graph traversals
+ * and the coalescing of concurrent reads. Gauges are evaluated lazily when the registry is reported, thus, registering
+ * them does not require the components to be started.
+ */
+@Singleton
+public class ComponentMetrics {
+
+  private static final Logger LOGGER = Logging.getLogger(ComponentMetrics.class);
+
+  @Inject
+  public ComponentMetrics(MetricRegistry metricRegistry, FactManager factManager, ObjectManager objectManager,
+                          ValidatorFactory validatorFactory, InMemoryQueueWorker triggerEventWorker,
+                          TriggerEventDispatcher triggerEventDispatcher,
+                          TraversalAdmissionController traversalAdmissionController, ReadCoalescer readCoalescer,
+                          SearchResultCache searchResultCache) {
+    // The caches only exist in front of Cassandra, the embedded storage doesn't need them.
+    if (factManager instanceof CassandraFactManager) {
+      metricRegistry.register("cache.fact", new CacheMetrics(((CassandraFactManager) factManager)::getFactCacheStats));
+    }
+
+    if (objectManager instanceof CassandraObjectManager) {
+      CassandraObjectManager cassandraObjectManager = (CassandraObjectManager) objectManager;
+      metricRegistry.register("cache.object.id", new CacheMetrics(cassandraObjectManager::getObjectByIdCacheStats));
+      metricRegistry.register("cache.object.type.value", new CacheMetrics(cassandraObjectManager::getObjectByTypeValueCacheStats));
+    }
+
+    if (validatorFactory instanceof DefaultValidatorFactory) {
+      metricRegistry.register("cache.validator", new CacheMetrics(((DefaultValidatorFactory) validatorFactory)::getCacheStats));
+    }
+
+    metricRegistry.register("cache.search", new CacheMetrics(searchResultCache::getCacheStats));
+
+    registerTriggerMetrics(metricRegistry, triggerEventWorker);
+    registerTriggerDispatcherMetrics(metricRegistry, triggerEventDispatcher);
+
+    registerTraversalMetrics(metricRegistry, traversalAdmissionController);
+    registerReadMetrics(metricRegistry, readCoalescer);
+  }
+
+  private void registerTriggerMetrics(MetricRegistry metricRegistry, MetricAspect worker) {
+    metricRegistry.register("triggers.active", (Gauge<Long>) () -> readTriggerMetric(worker, "currentlyActiveTasks"));
+    metricRegistry.register("triggers.scheduled", (Gauge<Long>) () -> readTriggerMetric(worker, "totalScheduledTasks"));
+    metricRegistry.register("triggers.completed", (Gauge<Long>) () -> readTriggerMetric(worker, "totalCompletedTasks"));
+    metricRegistry.register("triggers.failed", (Gauge<Long>) () -> readTriggerMetric(worker, "totalFailedTasks"));
+    // The worker does not expose its queue directly, but every scheduled task is either queued, active or completed.
+    metricRegistry.register("triggers.queue.depth", (Gauge<Long>) () -> Math.max(0, readTriggerMetric(worker, "totalScheduledTasks")
+            - readTriggerMetric(worker, "totalCompletedTasks") - readTriggerMetric(worker, "currentlyActiveTasks")));
+  }
+
+  private void registerTriggerDispatcherMetrics(MetricRegistry metricRegistry, TriggerEventDispatcher dispatcher) {
+    metricRegistry.register("triggers.dispatcher.queue.depth", (Gauge<Integer>) dispatcher::getQueueDepth);
+    metricRegistry.register("triggers.dispatcher.submitted", (Gauge<Long>) dispatcher::getSubmitted);
+    metricRegistry.register("triggers.dispatcher.dispatched", (Gauge<Long>) dispatcher::getDispatched);
+    metricRegistry.register("triggers.dispatcher.dropped", (Gauge<Long>) dispatcher::getDropped);
+    metricRegistry.register("triggers.dispatcher.failed", (Gauge<Long>) dispatcher::getFailed);
+  }
+
+  private void registerTraversalMetrics(MetricRegistry metricRegistry, TraversalAdmissionController controller) {
+    metricRegistry.register("traversal.running", (Gauge<Integer>) controller::getRunning);
+    metricRegistry.register("traversal.queued", (Gauge<Integer>) controller::getQueued);
+    metricRegistry.register("traversal.cost", (Gauge<Long>) controller::getRunningCost);
+    metricRegistry.register("traversal.admitted", (Gauge<Long>) controller::getAdmitted);
+    metricRegistry.register("traversal.rejected", (Gauge<Long>) controller::getRejected);
+    metricRegistry.register("traversal.timeouts", (Gauge<Long>) controller::getTimedOut);
+  }
+
+  private void registerReadMetrics(MetricRegistry metricRegistry, ReadCoalescer coalescer) {
+    metricRegistry.register("reads.inflight", (Gauge<Integer>) coalescer::getInFlight);
+    metricRegistry.register("reads.executed", (Gauge<Long>) coalescer::getExecuted);
+    metricRegistry.register("reads.coalesced", (Gauge<Long>) coalescer::getCoalesced);
+  }
+
+  private long readTriggerMetric(MetricAspect worker, String name) {
+    try {
+      Metrics metrics = worker.getMetrics();
+      Number value = metrics != null ? metrics.getData(name) : null;
+      return value != null ? value.longValue() : 0;
+    } catch (MetricException | RuntimeException ex) {
+      // The worker throws an exception if it has not been started yet.
+      LOGGER.debug(ex, "Could not read metric '%s' from trigger event worker.", name);
+      return 0;
+    }
+  }
+
+}
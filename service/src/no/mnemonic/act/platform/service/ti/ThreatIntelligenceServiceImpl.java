@@ -10,11 +10,11 @@ import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.service.Service;
 import no.mnemonic.act.platform.service.contexts.RequestContext;
 import no.mnemonic.act.platform.service.contexts.SecurityContext;
@@ -24,6 +24,9 @@ import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
 import no.mnemonic.act.platform.service.ti.helpers.FactTypeHelper;
 import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
 import no.mnemonic.act.platform.service.ti.helpers.ObjectResolver;
+import no.mnemonic.act.platform.service.ti.helpers.ReadCoalescer;
+import no.mnemonic.act.platform.service.ti.helpers.SearchResultCache;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalAdmissionController;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.common.auth.AccessController;
@@ -55,12 +58,16 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
   private final FactConverter factConverter;
   private final AclEntryConverter aclEntryConverter;
   private final FactCommentConverter factCommentConverter;
+  private final TraversalAdmissionController traversalAdmissionController;
+  private final ReadCoalescer readCoalescer;
+  private final SearchResultCache searchResultCache;
 
   @Inject
   public ThreatIntelligenceServiceImpl(AccessController accessController, IdentityResolver identityResolver,
                                        OrganizationResolver organizationResolver, SubjectResolver subjectResolver,
                                        FactManager factManager, ObjectManager objectManager, FactSearchManager factSearchManager,
-                                       ValidatorFactory validatorFactory) {
+                                       ValidatorFactory validatorFactory, TraversalAdmissionController traversalAdmissionController,
+                                       ReadCoalescer readCoalescer, SearchResultCache searchResultCache) {
     this.accessController = accessController;
     this.identityResolver = identityResolver;
     this.organizationResolver = organizationResolver;
@@ -69,6 +76,9 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     this.objectManager = objectManager;
     this.factSearchManager = factSearchManager;
     this.validatorFactory = validatorFactory;
+    this.traversalAdmissionController = traversalAdmissionController;
+    this.readCoalescer = readCoalescer;
+    this.searchResultCache = searchResultCache;
     this.objectTypeConverter = ObjectTypeConverter.builder()
             .setNamespaceConverter(createNamespaceConverter())
             .build();
@@ -120,6 +130,8 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .setObjectManager(objectManager)
             .setFactSearchManager(factSearchManager)
             .setValidatorFactory(validatorFactory)
+            .setReadCoalescer(readCoalescer)
+            .setSearchResultCache(searchResultCache)
             .setObjectTypeConverter(objectTypeConverter)
             .setFactTypeConverter(factTypeConverter)
             .setObjectConverter(objectConverter)
@@ -205,7 +217,7 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
   @Override
   public ResultSet<Object> searchObjects(RequestHeader rh, SearchObjectRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return ObjectSearchDelegate.create().handle(request);
+    return ObjectSearchDelegate.create(isBypassCache(rh)).handle(request);
   }
 
   @Override
@@ -217,7 +229,7 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
   @Override
   public ResultSet<Fact> searchFacts(RequestHeader rh, SearchFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
-    return FactSearchDelegate.create().handle(request);
+    return FactSearchDelegate.create(isBypassCache(rh)).handle(request);
   }
 
   @Override
@@ -253,6 +265,7 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return FactRetractDelegate.builder()
             .setFactTypeResolver(new FactTypeResolver(factManager))
             .setFactStorageHelper(new FactStorageHelper(factManager, () -> SecurityContext.get().getCurrentUserID()))
+            .setFactConverter(createFactConverterWithCapturedSecurityContext())
             .build()
             .handle(request);
   }
@@ -283,33 +296,39 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
 
   @Override
   public ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectIdRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     return TraverseGraphDelegate.builder()
             .setObjectSearch(ObjectSearchDelegate.create())
             .setObjectConverter(objectConverter)
-            .setFactConverter(createFactConverterForGraphTraversal())
+            .setFactConverter(createFactConverterWithCapturedSecurityContext())
+            .setAdmissionController(traversalAdmissionController)
             .build()
             .handle(request);
   }
 
   @Override
   public ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectTypeValueRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     return TraverseGraphDelegate.builder()
             .setObjectSearch(ObjectSearchDelegate.create())
             .setObjectConverter(objectConverter)
-            .setFactConverter(createFactConverterForGraphTraversal())
+            .setFactConverter(createFactConverterWithCapturedSecurityContext())
+            .setAdmissionController(traversalAdmissionController)
             .build()
             .handle(request);
   }
 
   @Override
   public ResultSet<?> traverseGraph(RequestHeader rh, TraverseByObjectSearchRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     return TraverseGraphDelegate.builder()
             .setObjectSearch(ObjectSearchDelegate.create())
             .setObjectConverter(objectConverter)
-            .setFactConverter(createFactConverterForGraphTraversal())
+            .setFactConverter(createFactConverterWithCapturedSecurityContext())
+            .setAdmissionController(traversalAdmissionController)
             .build()
             .handle(request);
   }
@@ -354,11 +373,11 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     };
   }
 
-  private FactConverter createFactConverterForGraphTraversal() {
+  private FactConverter createFactConverterWithCapturedSecurityContext() {
     // Need to re-define accessChecker of FactConverter because the lambda used for the FactConverter available from
     // the RequestContext is calling TiSecurityContext.get() which is not available when a Gremlin query is executed
-    // in another thread. Note that this is a work-around which will be ultimately fixed when implementing service
-    // request scope.
+    // or a lazy trigger event parameter is resolved in another thread. Note that this is a work-around which will be
+    // ultimately fixed when implementing service request scope.
     TiSecurityContext securityContext = TiSecurityContext.get();
     return FactConverter.builder()
             .setFactTypeConverter(createFactTypeByIdConverter())
@@ -370,4 +389,8 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .build();
   }
 
+  private boolean isBypassCache(RequestHeader rh) {
+    return ObjectUtils.ifNotNull(rh, RequestHeader::isBypassCache, false);
+  }
+
 }
@@ -2,11 +2,13 @@ package no.mnemonic.act.platform.service.ti;
 
 import no.mnemonic.act.platform.api.model.v1.*;
 import no.mnemonic.act.platform.api.model.v1.Object;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.service.contexts.RequestContext;
+import no.mnemonic.act.platform.service.ti.helpers.ReadCoalescer;
+import no.mnemonic.act.platform.service.ti.helpers.SearchResultCache;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.commons.utilities.ObjectUtils;
 
@@ -21,6 +23,8 @@ public class TiRequestContext extends RequestContext {
   private final FactManager factManager;
   private final FactSearchManager factSearchManager;
   private final ValidatorFactory validatorFactory;
+  private final ReadCoalescer readCoalescer;
+  private final SearchResultCache searchResultCache;
   private final Function<ObjectTypeEntity, ObjectType> objectTypeConverter;
   private final Function<FactTypeEntity, FactType> factTypeConverter;
   private final Function<ObjectEntity, Object> objectConverter;
@@ -29,7 +33,8 @@ public class TiRequestContext extends RequestContext {
   private final Function<FactCommentEntity, FactComment> factCommentConverter;
 
   private TiRequestContext(ObjectManager objectManager, FactManager factManager, FactSearchManager factSearchManager,
-                           ValidatorFactory validatorFactory,
+                           ValidatorFactory validatorFactory, ReadCoalescer readCoalescer,
+                           SearchResultCache searchResultCache,
                            Function<ObjectTypeEntity, ObjectType> objectTypeConverter,
                            Function<FactTypeEntity, FactType> factTypeConverter,
                            Function<ObjectEntity, Object> objectConverter,
@@ -40,6 +45,8 @@ public class TiRequestContext extends RequestContext {
     this.factManager = factManager;
     this.factSearchManager = factSearchManager;
     this.validatorFactory = validatorFactory;
+    this.readCoalescer = readCoalescer;
+    this.searchResultCache = searchResultCache;
     this.objectTypeConverter = objectTypeConverter;
     this.factTypeConverter = factTypeConverter;
     this.objectConverter = objectConverter;
@@ -68,6 +75,14 @@ public class TiRequestContext extends RequestContext {
     return ObjectUtils.notNull(validatorFactory, "ValidationFactory not set in RequestContext.");
   }
 
+  public ReadCoalescer getReadCoalescer() {
+    return ObjectUtils.notNull(readCoalescer, "ReadCoalescer not set in RequestContext.");
+  }
+
+  public SearchResultCache getSearchResultCache() {
+    return ObjectUtils.notNull(searchResultCache, "SearchResultCache not set in RequestContext.");
+  }
+
   public Function<ObjectTypeEntity, ObjectType> getObjectTypeConverter() {
     return ObjectUtils.notNull(objectTypeConverter, "ObjectTypeConverter not set in RequestContext.");
   }
@@ -101,6 +116,8 @@ public class TiRequestContext extends RequestContext {
     private FactManager factManager;
     private FactSearchManager factSearchManager;
     private ValidatorFactory validatorFactory;
+    private ReadCoalescer readCoalescer;
+    private SearchResultCache searchResultCache;
     private Function<ObjectTypeEntity, ObjectType> objectTypeConverter;
     private Function<FactTypeEntity, FactType> factTypeConverter;
     private Function<ObjectEntity, Object> objectConverter;
@@ -112,8 +129,8 @@ public class TiRequestContext extends RequestContext {
     }
 
     public TiRequestContext build() {
-      return new TiRequestContext(objectManager, factManager, factSearchManager, validatorFactory, objectTypeConverter,
-              factTypeConverter, objectConverter, factConverter, aclEntryConverter, factCommentConverter);
+      return new TiRequestContext(objectManager, factManager, factSearchManager, validatorFactory, readCoalescer,
+              searchResultCache, objectTypeConverter, factTypeConverter, objectConverter, factConverter, aclEntryConverter, factCommentConverter);
     }
 
     public Builder setObjectManager(ObjectManager objectManager) {
@@ -136,6 +153,16 @@ public class TiRequestContext extends RequestContext {
       return this;
     }
 
+    public Builder setReadCoalescer(ReadCoalescer readCoalescer) {
+      this.readCoalescer = readCoalescer;
+      return this;
+    }
+
+    public Builder setSearchResultCache(SearchResultCache searchResultCache) {
+      this.searchResultCache = searchResultCache;
+      return this;
+    }
+
     public Builder setObjectTypeConverter(Function<ObjectTypeEntity, ObjectType> objectTypeConverter) {
       this.objectTypeConverter = objectTypeConverter;
       return this;
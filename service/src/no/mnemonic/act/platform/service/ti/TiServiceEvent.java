@@ -6,12 +6,19 @@ import no.mnemonic.services.triggers.pipeline.api.AccessMode;
 import no.mnemonic.services.triggers.pipeline.api.TriggerEvent;
 
 import java.time.Instant;
-import java.util.Collections;
+import java.util.AbstractMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Class representing a {@link TriggerEvent} created by the ThreatIntelligenceService.
+ * <p>
+ * Context parameters can either be added directly or lazily. Lazy parameters are only resolved when the trigger pipeline
+ * accesses them, i.e. after a trigger rule matched the event's organization and access mode. Thus, expensive parameters
+ * (e.g. converted Facts) are not created on the request path for events which don't match any rule.
  */
 public class TiServiceEvent implements TriggerEvent {
 
@@ -30,15 +37,15 @@ public class TiServiceEvent implements TriggerEvent {
   private final EventName event;
   private final UUID organization;
   private final AccessMode accessMode;
-  private final Map<String, ?> contextParameters;
+  private final Map<String, Object> contextParameters;
 
-  private TiServiceEvent(EventName event, UUID organization, AccessMode accessMode, Map<String, ?> contextParameters) {
+  private TiServiceEvent(EventName event, UUID organization, AccessMode accessMode, Map<String, Object> contextParameters) {
     this.id = UUID.randomUUID();
     this.timestamp = Instant.now().toEpochMilli();
     this.event = ObjectUtils.notNull(event, "'event' is a required property!");
     this.organization = ObjectUtils.notNull(organization, "'organization' is a required property!");
     this.accessMode = ObjectUtils.notNull(accessMode, "'accessMode' is a required property!");
-    this.contextParameters = ObjectUtils.ifNotNull(contextParameters, Collections::unmodifiableMap);
+    this.contextParameters = ObjectUtils.ifNotNull(contextParameters, ResolvingMap::new);
   }
 
   @Override
@@ -119,6 +126,19 @@ public class TiServiceEvent implements TriggerEvent {
       return this;
     }
 
+    /**
+     * Add a context parameter which is resolved on first access. The resolver is called at most once and might be
+     * called from another thread than the one creating the event.
+     *
+     * @param parameterName     Name of parameter
+     * @param parameterResolver Resolver of parameter value
+     * @return Builder
+     */
+    public Builder addLazyContextParameter(String parameterName, Supplier<?> parameterResolver) {
+      this.contextParameters = MapUtils.addToMap(this.contextParameters, parameterName, new LazyParameter(parameterResolver));
+      return this;
+    }
+
     private AccessMode convertAccessMode(no.mnemonic.act.platform.api.model.v1.AccessMode accessMode) {
       if (accessMode == null) return null;
 
@@ -134,4 +154,53 @@ public class TiServiceEvent implements TriggerEvent {
       }
     }
   }
+
+  private static class LazyParameter {
+    private final Supplier<?> resolver;
+    private boolean resolved;
+    private Object value;
+
+    private LazyParameter(Supplier<?> resolver) {
+      this.resolver = ObjectUtils.notNull(resolver, "'resolver' is null!");
+    }
+
+    private synchronized Object get() {
+      if (!resolved) {
+        value = resolver.get();
+        resolved = true;
+      }
+      return value;
+    }
+  }
+
+  // Unmodifiable view of the context parameters resolving lazy parameters on access.
+  private static class ResolvingMap extends AbstractMap<String, Object> {
+    private final Map<String, Object> parameters;
+
+    private ResolvingMap(Map<String, Object> parameters) {
+      this.parameters = parameters;
+    }
+
+    @Override
+    public Object get(Object key) {
+      return resolve(parameters.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return parameters.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return parameters.entrySet()
+              .stream()
+              .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), resolve(entry.getValue())))
+              .collect(Collectors.toSet());
+    }
+
+    private static Object resolve(Object value) {
+      return value instanceof LazyParameter ? ((LazyParameter) value).get() : value;
+    }
+  }
 }
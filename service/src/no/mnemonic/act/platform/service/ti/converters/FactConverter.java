@@ -6,7 +6,6 @@ import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
-import no.mnemonic.commons.utilities.collections.CollectionUtils;
 
 import java.util.UUID;
 import java.util.function.Function;
@@ -68,11 +67,12 @@ public class FactConverter implements Converter<FactEntity, Fact> {
   }
 
   private ConvertedObjects convertObjects(FactEntity entity) {
-    if (CollectionUtils.isEmpty(entity.getBindings())) return null;
-    if (CollectionUtils.size(entity.getBindings()) == 1) {
+    int count = entity.getBindingCount();
+    if (count == 0) return null;
+    if (count == 1) {
       return convertCardinalityOne(entity.getBindings().get(0));
     }
-    if (CollectionUtils.size(entity.getBindings()) == 2) {
+    if (count == 2) {
       return convertCardinalityTwo(entity, entity.getBindings().get(0), entity.getBindings().get(1));
     }
 
@@ -50,6 +50,7 @@ public class SearchFactRequestConverter implements Converter<SearchFactRequest,
             .setEndTimestamp(request.getBefore())
             .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
             .setLimit(ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT))
+            .setProjection(FactSearchCriteria.Projection.id)
             .setCurrentUserID(currentUserIdSupplier.get())
             .setAvailableOrganizationID(availableOrganizationIdSupplier.get())
             .build();
@@ -52,6 +52,7 @@ public class SearchMetaFactsRequestConverter implements Converter<SearchMetaFact
             .setEndTimestamp(request.getBefore())
             .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
             .setLimit(ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT))
+            .setProjection(FactSearchCriteria.Projection.id)
             .setCurrentUserID(currentUserIdSupplier.get())
             .setAvailableOrganizationID(availableOrganizationIdSupplier.get())
             .build();
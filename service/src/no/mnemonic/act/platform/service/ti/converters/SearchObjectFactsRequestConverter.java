@@ -54,6 +54,7 @@ public class SearchObjectFactsRequestConverter implements Converter<SearchObject
             .setEndTimestamp(request.getBefore())
             .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp)
             .setLimit(ObjectUtils.ifNull(request.getLimit(), DEFAULT_LIMIT))
+            .setProjection(FactSearchCriteria.Projection.id)
             .setCurrentUserID(currentUserIdSupplier.get())
             .setAvailableOrganizationID(availableOrganizationIdSupplier.get())
             .build();
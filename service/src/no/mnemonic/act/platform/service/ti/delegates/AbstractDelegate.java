@@ -6,6 +6,8 @@ import no.mnemonic.act.platform.api.exceptions.ObjectNotFoundException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
@@ -15,12 +17,11 @@ import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -70,14 +71,15 @@ abstract class AbstractDelegate {
   }
 
   /**
-   * Fetch an existing Fact by ID.
+   * Fetch an existing Fact by ID. Identical concurrent fetches are coalesced into one fetch.
    *
    * @param id UUID of Fact
    * @return Existing Fact
    * @throws ObjectNotFoundException Thrown if Fact cannot be found
    */
   FactEntity fetchExistingFact(UUID id) throws ObjectNotFoundException {
-    FactEntity entity = TiRequestContext.get().getFactManager().getFact(id);
+    FactEntity entity = TiRequestContext.get().getReadCoalescer()
+            .read(() -> TiRequestContext.get().getFactManager().getFact(id), "fact.id", id);
     if (entity == null) {
       throw new ObjectNotFoundException(String.format("Fact with id = %s does not exist.", id),
               "fact.not.exist", "id", ObjectUtils.ifNotNull(id, Object::toString, "NULL"));
@@ -85,6 +87,31 @@ abstract class AbstractDelegate {
     return entity;
   }
 
+  /**
+   * Fetch an Object by ID. Identical concurrent fetches are coalesced into one fetch, thus, the returned Object must
+   * not be modified. Access to the Object must be checked by the caller.
+   *
+   * @param id UUID of Object
+   * @return Object or NULL if it doesn't exist
+   */
+  ObjectEntity fetchObject(UUID id) {
+    return TiRequestContext.get().getReadCoalescer()
+            .read(() -> TiRequestContext.get().getObjectManager().getObject(id), "object.id", id);
+  }
+
+  /**
+   * Fetch an Object by type and value. Identical concurrent fetches are coalesced into one fetch, thus, the returned
+   * Object must not be modified. Access to the Object must be checked by the caller.
+   *
+   * @param type  Name of ObjectType
+   * @param value Value of Object
+   * @return Object or NULL if it doesn't exist
+   */
+  ObjectEntity fetchObject(String type, String value) {
+    return TiRequestContext.get().getReadCoalescer()
+            .read(() -> TiRequestContext.get().getObjectManager().getObject(type, value), "object.type.value", type, value);
+  }
+
   /**
    * Assert that an ObjectType does not yet exist (by name).
    *
@@ -229,23 +256,96 @@ abstract class AbstractDelegate {
     }
 
     TiRequestContext.get().getFactSearchManager().indexFact(document);
+    // The new Fact might change the results of any search.
+    TiRequestContext.get().getSearchResultCache().invalidate();
   }
 
   /**
    * Re-index an already existing Fact in ElasticSearch. If Fact is not found in ElasticSearch the Fact won't be indexed.
    *
-   * @param factID          UUID of Fact to re-index
+   * @param fact            Fact to re-index
    * @param documentUpdater Callback for updating the indexed document before re-indexing
    */
-  void reindexExistingFact(UUID factID, Function<FactDocument, FactDocument> documentUpdater) {
-    FactDocument document = TiRequestContext.get().getFactSearchManager().getFact(factID);
+  void reindexExistingFact(FactEntity fact, Function<FactDocument, FactDocument> documentUpdater) {
+    // Provide the Fact's timestamp in order to fetch the document directly from its index.
+    FactDocument document = TiRequestContext.get().getFactSearchManager().getFact(fact.getId(), fact.getTimestamp());
     // 'document' should usually not be NULL. In this case skip updating Fact because it isn't indexed.
     ObjectUtils.ifNotNullDo(document, d -> TiRequestContext.get().getFactSearchManager().indexFact(documentUpdater.apply(d)));
+    // The updated Fact (e.g. retracted or with an extended ACL) might change the results of any search.
+    TiRequestContext.get().getSearchResultCache().invalidate();
+  }
+
+  /**
+   * Calculate statistics about the Facts bound to Objects which are accessible to the current user.
+   * <p>
+   * For Objects with tracked statistics the pre-aggregated statistics from Cassandra are used. They include all public
+   * Facts and all RoleBased Facts of the Organizations available to the user. ElasticSearch is only consulted for
+   * the remaining Facts which might be accessible to the user via their ACLs, and for Objects without tracked
+   * statistics (created before statistics were maintained).
+   *
+   * @param objectID IDs of Objects
+   * @return Statistics about Facts bound to the Objects
+   */
+  ObjectStatisticsResult calculateObjectStatistics(Set<UUID> objectID) {
+    // Fetch all Objects with parallel reads.
+    List<ObjectEntity> objects = ListUtils.list(TiRequestContext.get().getObjectManager().getObjects(new ArrayList<>(objectID)));
+    return calculateObjectStatistics(objectID, objects);
+  }
+
+  /**
+   * Calculate statistics about the Facts bound to Objects which are accessible to the current user. Same as
+   * {@link #calculateObjectStatistics(Set)}, but uses already fetched Objects.
+   *
+   * @param objectID IDs of Objects
+   * @param objects  Already fetched Objects (Objects which don't exist are missing)
+   * @return Statistics about Facts bound to the Objects
+   */
+  ObjectStatisticsResult calculateObjectStatistics(Set<UUID> objectID, Collection<ObjectEntity> objects) {
+    Set<UUID> availableOrganizationID = TiSecurityContext.get().getAvailableOrganizationID();
+    Map<UUID, Map<UUID, ObjectStatisticsResult.FactStatistic>> statistics = new HashMap<>();
+    Set<UUID> untrackedObjectID = new HashSet<>();
+    Set<UUID> aclObjectID = new HashSet<>();
+
+    Set<UUID> trackedObjectID = objects.stream()
+            .filter(ObjectEntity::isStatisticsTracked)
+            .map(ObjectEntity::getId)
+            .collect(Collectors.toSet());
+    // Objects which don't exist (anymore) are also handled by ElasticSearch.
+    objectID.stream().filter(id -> !trackedObjectID.contains(id)).forEach(untrackedObjectID::add);
+
+    // Fetch the statistics of all tracked Objects with parallel reads.
+    // The statistics are fetched independent of the current user and filtered afterwards, thus, they can be shared.
+    Map<UUID, List<ObjectStatisticsEntity>> trackedStatistics = trackedObjectID.isEmpty() ? Collections.emptyMap() :
+            TiRequestContext.get().getReadCoalescer()
+                    .read(() -> TiRequestContext.get().getObjectManager().fetchObjectStatisticsBatch(trackedObjectID), "object.statistics", trackedObjectID);
+    trackedStatistics.forEach((id, entities) -> {
+      for (ObjectStatisticsEntity entity : entities) {
+        if (entity.getAccessMode() == AccessMode.Public ||
+                (entity.getAccessMode() == AccessMode.RoleBased && availableOrganizationID.contains(entity.getOrganizationID()))) {
+          // Saturate instead of overflowing, the count is only exposed as an int.
+          mergeStatistic(statistics, id, new ObjectStatisticsResult.FactStatistic(entity.getFactTypeID(),
+                  (int) Math.min(entity.getFactCount(), Integer.MAX_VALUE), entity.getLastAddedTimestamp(), entity.getLastSeenTimestamp()));
+        } else {
+          // The user might still have access to some of those Facts via their ACLs.
+          aclObjectID.add(id);
+        }
+      }
+    });
+
+    mergeStatistics(statistics, untrackedObjectID, false);
+    mergeStatistics(statistics, aclObjectID, true);
+
+    ObjectStatisticsResult.Builder result = ObjectStatisticsResult.builder();
+    statistics.forEach((id, s) -> s.values().forEach(statistic -> result.addStatistic(id, statistic)));
+    return result.build();
   }
 
   /**
    * Search for Facts based on a given FactSearchCriteria. It searches for Facts in ElasticSearch, fetches the authoritative
    * data from Cassandra, and makes sure that only Facts the user has access to are returned.
+   * <p>
+   * Only the Fact IDs are used from the search result, thus, the criteria should request the
+   * {@link FactSearchCriteria.Projection#id} projection.
    *
    * @param criteria Criteria to search for Facts
    * @return Facts wrapped inside a ResultSet
@@ -272,4 +372,27 @@ abstract class AbstractDelegate {
             .build();
   }
 
+  private void mergeStatistics(Map<UUID, Map<UUID, ObjectStatisticsResult.FactStatistic>> statistics, Set<UUID> objectID, boolean aclAccessOnly) {
+    if (objectID.isEmpty()) return;
+
+    ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
+            .setObjectID(objectID)
+            .setCurrentUserID(TiSecurityContext.get().getCurrentUserID())
+            .setAvailableOrganizationID(TiSecurityContext.get().getAvailableOrganizationID())
+            .setAclAccessOnly(aclAccessOnly)
+            .build();
+    ObjectStatisticsResult result = TiRequestContext.get().getFactSearchManager().calculateObjectStatistics(criteria);
+    for (UUID id : objectID) {
+      result.getStatistics(id).forEach(statistic -> mergeStatistic(statistics, id, statistic));
+    }
+  }
+
+  private void mergeStatistic(Map<UUID, Map<UUID, ObjectStatisticsResult.FactStatistic>> statistics, UUID objectID,
+                              ObjectStatisticsResult.FactStatistic statistic) {
+    statistics.computeIfAbsent(objectID, id -> new HashMap<>()).merge(statistic.getFactTypeID(), statistic, (a, b) ->
+            new ObjectStatisticsResult.FactStatistic(a.getFactTypeID(), a.getFactCount() + b.getFactCount(),
+                    Math.max(a.getLastAddedTimestamp(), b.getLastAddedTimestamp()),
+                    Math.max(a.getLastSeenTimestamp(), b.getLastSeenTimestamp())));
+  }
+
 }
@@ -59,6 +59,7 @@ public class FactCreateDelegate extends AbstractDelegate {
     if (fact != null) {
       // Refresh an existing Fact.
       fact = TiRequestContext.get().getFactManager().refreshFact(fact.getId());
+      TiRequestContext.get().getObjectManager().refreshObjectStatistics(fact);
       List<UUID> subjectsAddedToAcl = factStorageHelper.saveAdditionalAclForFact(fact, request.getAcl());
       // Reindex existing Fact in ElasticSearch.
       reindexExistingFact(fact, subjectsAddedToAcl);
@@ -188,6 +189,8 @@ public class FactCreateDelegate extends AbstractDelegate {
               .setDirection(binding.getDirection());
       TiRequestContext.get().getObjectManager().saveObjectFactBinding(entity);
     }
+    // Include the new Fact in the statistics of the bound Objects.
+    TiRequestContext.get().getObjectManager().incrementObjectStatistics(fact);
 
     return fact;
   }
@@ -216,7 +219,7 @@ public class FactCreateDelegate extends AbstractDelegate {
   }
 
   private void reindexExistingFact(FactEntity fact, List<UUID> acl) {
-    reindexExistingFact(fact.getId(), document -> {
+    reindexExistingFact(fact, document -> {
       // Only 'lastSeenTimestamp' and potentially the ACL have been changed when refreshing a Fact.
       document.setLastSeenTimestamp(fact.getLastSeenTimestamp());
       document.setAcl(SetUtils.union(document.getAcl(), SetUtils.set(acl)));
@@ -171,7 +171,7 @@ public class FactCreateMetaDelegate extends AbstractDelegate {
   }
 
   private void reindexExistingFact(FactEntity fact, List<UUID> acl) {
-    reindexExistingFact(fact.getId(), document -> {
+    reindexExistingFact(fact, document -> {
       // Only 'lastSeenTimestamp' and potentially the ACL have been changed when refreshing a Fact.
       document.setLastSeenTimestamp(fact.getLastSeenTimestamp());
       document.setAcl(SetUtils.union(document.getAcl(), SetUtils.set(acl)));
@@ -40,7 +40,7 @@ public class FactGrantAccessDelegate extends AbstractDelegate {
     FactAclEntity aclEntry = ObjectUtils.ifNull(findExistingAclEntry(fact, request.getSubject()), () -> {
       FactAclEntity entry = saveNewAclEntry(fact, request.getSubject());
       // Also add entry to ElasticSearch to allow searching for Fact.
-      reindexExistingFact(fact.getId(), d -> d.addAclEntry(entry.getSubjectID()));
+      reindexExistingFact(fact, d -> d.addAclEntry(entry.getSubjectID()));
       return entry;
     });
 
@@ -20,15 +20,19 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class FactRetractDelegate extends AbstractDelegate {
 
   private final FactTypeResolver factTypeResolver;
   private final FactStorageHelper factStorageHelper;
+  private final Function<FactEntity, Fact> factConverter;
 
-  private FactRetractDelegate(FactTypeResolver factTypeResolver, FactStorageHelper factStorageHelper) {
+  private FactRetractDelegate(FactTypeResolver factTypeResolver, FactStorageHelper factStorageHelper,
+                              Function<FactEntity, Fact> factConverter) {
     this.factTypeResolver = factTypeResolver;
     this.factStorageHelper = factStorageHelper;
+    this.factConverter = factConverter;
   }
 
   public Fact handle(RetractFactRequest request)
@@ -45,12 +49,11 @@ public class FactRetractDelegate extends AbstractDelegate {
     factStorageHelper.saveCommentForFact(retractionFact, request.getComment());
     // Index everything into ElasticSearch.
     indexCreatedFact(retractionFact, factTypeResolver.resolveRetractionFactType(), subjectsAddedToAcl);
-    reindexExistingFact(factToRetract.getId(), d -> d.setRetracted(true));
+    reindexExistingFact(factToRetract, d -> d.setRetracted(true));
 
     // Register TriggerEvent before returning Retraction Fact.
-    Fact retractionFactParameter = TiRequestContext.get().getFactConverter().apply(retractionFact);
-    Fact retractedFactParameter = TiRequestContext.get().getFactConverter().apply(factToRetract);
-    registerTriggerEvent(retractionFactParameter, retractedFactParameter);
+    Fact retractionFactParameter = factConverter.apply(retractionFact);
+    registerTriggerEvent(retractionFactParameter, factToRetract);
 
     return retractionFactParameter;
   }
@@ -62,6 +65,7 @@ public class FactRetractDelegate extends AbstractDelegate {
   public static class Builder {
     private FactTypeResolver factTypeResolver;
     private FactStorageHelper factStorageHelper;
+    private Function<FactEntity, Fact> factConverter;
 
     private Builder() {
     }
@@ -69,7 +73,8 @@ public class FactRetractDelegate extends AbstractDelegate {
     public FactRetractDelegate build() {
       ObjectUtils.notNull(factTypeResolver, "Cannot instantiate FactRetractDelegate without 'factTypeResolver'.");
       ObjectUtils.notNull(factStorageHelper, "Cannot instantiate FactRetractDelegate without 'factStorageHelper'.");
-      return new FactRetractDelegate(factTypeResolver, factStorageHelper);
+      ObjectUtils.notNull(factConverter, "Cannot instantiate FactRetractDelegate without 'factConverter'.");
+      return new FactRetractDelegate(factTypeResolver, factStorageHelper, factConverter);
     }
 
     public Builder setFactTypeResolver(FactTypeResolver factTypeResolver) {
@@ -81,6 +86,11 @@ public class FactRetractDelegate extends AbstractDelegate {
       this.factStorageHelper = factStorageHelper;
       return this;
     }
+
+    public Builder setFactConverter(Function<FactEntity, Fact> factConverter) {
+      this.factConverter = factConverter;
+      return this;
+    }
   }
 
   private FactEntity saveRetractionFact(RetractFactRequest request, FactEntity factToRetract) throws InvalidArgumentException {
@@ -104,7 +114,7 @@ public class FactRetractDelegate extends AbstractDelegate {
     return retractionFact;
   }
 
-  private void registerTriggerEvent(Fact retractionFact, Fact retractedFact) {
+  private void registerTriggerEvent(Fact retractionFact, FactEntity retractedFact) {
     // The AccessMode of the Retraction Fact cannot be less restrictive than the AccessMode of the Fact to retract,
     // thus, it is safe to always include both Facts as context parameters when the event's AccessMode is set to
     // the AccessMode of the Retraction Fact (i.e. to the more restrictive AccessMode).
@@ -112,7 +122,9 @@ public class FactRetractDelegate extends AbstractDelegate {
             .setOrganization(ObjectUtils.ifNotNull(retractionFact.getOrganization(), Organization.Info::getId))
             .setAccessMode(retractionFact.getAccessMode())
             .addContextParameter(TiServiceEvent.ContextParameter.RetractionFact.name(), retractionFact)
-            .addContextParameter(TiServiceEvent.ContextParameter.RetractedFact.name(), retractedFact)
+            // The retracted Fact is only converted if a trigger rule matches the event. This happens in another thread,
+            // thus, the converter must not depend on the contexts of the service call (see factConverter).
+            .addLazyContextParameter(TiServiceEvent.ContextParameter.RetractedFact.name(), () -> factConverter.apply(retractedFact))
             .build();
     TriggerContext.get().registerTriggerEvent(event);
   }
@@ -8,19 +8,32 @@ import no.mnemonic.act.platform.api.request.v1.SearchFactRequest;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.SearchFactRequestConverter;
 
 public class FactSearchDelegate extends AbstractDelegate {
 
+  private final boolean bypassCache;
+
+  private FactSearchDelegate(boolean bypassCache) {
+    this.bypassCache = bypassCache;
+  }
+
   public static FactSearchDelegate create() {
-    return new FactSearchDelegate();
+    return create(false);
+  }
+
+  public static FactSearchDelegate create(boolean bypassCache) {
+    return new FactSearchDelegate(bypassCache);
   }
 
   public ResultSet<Fact> handle(SearchFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     TiSecurityContext.get().checkPermission(TiFunctionConstants.viewFactObjects);
-    return searchForFacts(toCriteria(request));
+    FactSearchCriteria criteria = toCriteria(request);
+    // The criteria include the current user and available Organizations, thus, cached results are never shared between users.
+    return TiRequestContext.get().getSearchResultCache().get("facts", criteria, bypassCache, () -> searchForFacts(criteria));
   }
 
   private FactSearchCriteria toCriteria(SearchFactRequest request) {
@@ -6,7 +6,6 @@ import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.GetObjectByIdRequest;
 import no.mnemonic.act.platform.api.request.v1.GetObjectByTypeValueRequest;
-import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
@@ -14,6 +13,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 
 public class ObjectGetDelegate extends AbstractDelegate {
 
@@ -24,7 +24,7 @@ public class ObjectGetDelegate extends AbstractDelegate {
   public Object handle(GetObjectByIdRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     TiSecurityContext.get().checkPermission(TiFunctionConstants.viewFactObjects);
-    ObjectEntity object = TiRequestContext.get().getObjectManager().getObject(request.getId());
+    ObjectEntity object = fetchObject(request.getId());
     TiSecurityContext.get().checkReadPermission(object);
     return createObjectConverter().apply(object);
   }
@@ -33,7 +33,7 @@ public class ObjectGetDelegate extends AbstractDelegate {
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     TiSecurityContext.get().checkPermission(TiFunctionConstants.viewFactObjects);
     assertObjectTypeExists(request.getType(), "type");
-    ObjectEntity object = TiRequestContext.get().getObjectManager().getObject(request.getType(), request.getValue());
+    ObjectEntity object = fetchObject(request.getType(), request.getValue());
     TiSecurityContext.get().checkReadPermission(object);
     return createObjectConverter().apply(object);
   }
@@ -48,14 +48,7 @@ public class ObjectGetDelegate extends AbstractDelegate {
               FactTypeEntity type = TiRequestContext.get().getFactManager().getFactType(id);
               return TiRequestContext.get().getFactTypeConverter().apply(type);
             })
-            .setFactStatisticsResolver(id -> {
-              ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
-                      .addObjectID(id)
-                      .setCurrentUserID(TiSecurityContext.get().getCurrentUserID())
-                      .setAvailableOrganizationID(TiSecurityContext.get().getAvailableOrganizationID())
-                      .build();
-              return TiRequestContext.get().getFactSearchManager().calculateObjectStatistics(criteria).getStatistics(id);
-            })
+            .setFactStatisticsResolver(id -> calculateObjectStatistics(SetUtils.set(id)).getStatistics(id))
             .build();
   }
 
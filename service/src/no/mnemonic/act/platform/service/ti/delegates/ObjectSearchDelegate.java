@@ -7,9 +7,9 @@ import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.SearchObjectRequest;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
-import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
@@ -28,16 +28,31 @@ import java.util.stream.Collectors;
 
 public class ObjectSearchDelegate extends AbstractDelegate {
 
+  private final boolean bypassCache;
+
+  private ObjectSearchDelegate(boolean bypassCache) {
+    this.bypassCache = bypassCache;
+  }
+
   public static ObjectSearchDelegate create() {
-    return new ObjectSearchDelegate();
+    return create(false);
+  }
+
+  public static ObjectSearchDelegate create(boolean bypassCache) {
+    return new ObjectSearchDelegate(bypassCache);
   }
 
   public ResultSet<Object> handle(SearchObjectRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     TiSecurityContext.get().checkPermission(TiFunctionConstants.viewFactObjects);
+    FactSearchCriteria criteria = toCriteria(request);
+    // The criteria include the current user and available Organizations, thus, cached results are never shared between users.
+    return TiRequestContext.get().getSearchResultCache().get("objects", criteria, bypassCache, () -> searchForObjects(criteria));
+  }
 
+  private ResultSet<Object> searchForObjects(FactSearchCriteria criteria) {
     // Search for Objects in ElasticSearch and pick out all Object IDs.
-    SearchResult<ObjectDocument> searchResult = TiRequestContext.get().getFactSearchManager().searchObjects(toCriteria(request));
+    SearchResult<ObjectDocument> searchResult = TiRequestContext.get().getFactSearchManager().searchObjects(criteria);
     List<UUID> objectID = searchResult.getValues()
             .stream()
             .map(ObjectDocument::getId)
@@ -51,21 +66,17 @@ public class ObjectSearchDelegate extends AbstractDelegate {
               .build();
     }
 
-    // Use the Object IDs to retrieve the Fact statistics for all Objects from ElasticSearch.
-    ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
-            .setObjectID(SetUtils.set(objectID))
-            .setCurrentUserID(TiSecurityContext.get().getCurrentUserID())
-            .setAvailableOrganizationID(TiSecurityContext.get().getAvailableOrganizationID())
-            .build();
-    ObjectStatisticsResult statisticsResult = TiRequestContext.get().getFactSearchManager().calculateObjectStatistics(criteria);
-
     // Use the Object IDs to look up the authoritative data in Cassandra. This relies exclusively on access control
     // implemented in ElasticSearch. Explicitly checking access to each Object would be too expensive because this
     // requires fetching Facts for each Object. In addition, accidentally returning non-accessible Objects because
     // of an error in the ElasticSearch access control implementation will only leak the information that the Object
     // exists (plus potentially the Fact statistics) and will not give further access to any Facts.
+    List<ObjectEntity> entities = ListUtils.list(TiRequestContext.get().getObjectManager().getObjects(objectID));
+
+    // Use the Object IDs and the fetched Objects to retrieve the Fact statistics for all Objects.
+    ObjectStatisticsResult statisticsResult = calculateObjectStatistics(SetUtils.set(objectID), entities);
     ObjectConverter converter = createObjectConverter(statisticsResult);
-    List<Object> objects = ListUtils.list(TiRequestContext.get().getObjectManager().getObjects(objectID), converter);
+    List<Object> objects = ListUtils.list(entities, converter);
 
     return ResultSet.<Object>builder()
             .setCount(searchResult.getCount())
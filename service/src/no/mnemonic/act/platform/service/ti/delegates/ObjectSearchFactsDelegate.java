@@ -48,9 +48,9 @@ public class ObjectSearchFactsDelegate extends AbstractDelegate {
     ObjectEntity object;
 
     if (request.getObjectID() != null) {
-      object = TiRequestContext.get().getObjectManager().getObject(request.getObjectID());
+      object = fetchObject(request.getObjectID());
     } else {
-      object = TiRequestContext.get().getObjectManager().getObject(request.getObjectType(), request.getObjectValue());
+      object = fetchObject(request.getObjectType(), request.getObjectValue());
     }
 
     return object;
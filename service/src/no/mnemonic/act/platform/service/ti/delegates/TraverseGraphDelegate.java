@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.service.ti.delegates;
 import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.exceptions.OperationRejectedException;
 import no.mnemonic.act.platform.api.exceptions.OperationTimeoutException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.Object;
@@ -19,6 +20,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.helpers.GremlinSandboxExtension;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalAdmissionController;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
@@ -30,8 +32,10 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
@@ -44,19 +48,24 @@ public class TraverseGraphDelegate extends AbstractDelegate {
   private final ObjectSearchDelegate objectSearch;
   private final Function<ObjectEntity, Object> objectConverter;
   private final Function<FactEntity, Fact> factConverter;
+  private final TraversalAdmissionController admissionController;
   private final long scriptExecutionTimeout;
   private final TiRequestContext requestContext;
   private final TiSecurityContext securityContext;
 
   private final Collection<java.lang.Object> traversalResult = new ArrayList<>();
+  // Set when the request executing the traversal is cancelled. Checked by the graph before fetching any elements.
+  private final AtomicBoolean cancelled = new AtomicBoolean();
 
   private TraverseGraphDelegate(ObjectSearchDelegate objectSearch,
                                 Function<ObjectEntity, Object> objectConverter,
                                 Function<FactEntity, Fact> factConverter,
+                                TraversalAdmissionController admissionController,
                                 long scriptExecutionTimeout) {
     this.objectSearch = objectSearch;
     this.objectConverter = objectConverter;
     this.factConverter = factConverter;
+    this.admissionController = admissionController;
     this.scriptExecutionTimeout = scriptExecutionTimeout > 0 ? scriptExecutionTimeout : SCRIPT_EXECUTION_TIMEOUT;
     // Need to store references to the contexts. They won't be available via Context.get() when the graph traversal
     // and processing is executed in a different thread.
@@ -65,22 +74,25 @@ public class TraverseGraphDelegate extends AbstractDelegate {
   }
 
   public ResultSet<?> handle(TraverseByObjectIdRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
 
-    return handle(requestContext.getObjectManager().getObject(request.getId()), request.getQuery());
+    return handle(fetchObject(request.getId()), request.getQuery());
   }
 
   public ResultSet<?> handle(TraverseByObjectTypeValueRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
     assertObjectTypeExists(request.getType(), "type");
 
-    return handle(requestContext.getObjectManager().getObject(request.getType(), request.getValue()), request.getQuery());
+    return handle(fetchObject(request.getType(), request.getValue()), request.getQuery());
   }
 
   public ResultSet<?> handle(TraverseByObjectSearchRequest request)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     securityContext.checkPermission(TiFunctionConstants.traverseFactObjects);
 
     // Search for Objects and use the result as starting points for the graph traversal.
@@ -109,6 +121,7 @@ public class TraverseGraphDelegate extends AbstractDelegate {
     private ObjectSearchDelegate objectSearch;
     private Function<ObjectEntity, Object> objectConverter;
     private Function<FactEntity, Fact> factConverter;
+    private TraversalAdmissionController admissionController;
     private long scriptExecutionTimeout;
 
     private Builder() {
@@ -118,7 +131,8 @@ public class TraverseGraphDelegate extends AbstractDelegate {
       ObjectUtils.notNull(objectSearch, "Cannot instantiate TraverseGraphDelegate without 'objectSearch'.");
       ObjectUtils.notNull(objectConverter, "Cannot instantiate TraverseGraphDelegate without 'objectConverter'.");
       ObjectUtils.notNull(factConverter, "Cannot instantiate TraverseGraphDelegate without 'factConverter'.");
-      return new TraverseGraphDelegate(objectSearch, objectConverter, factConverter, scriptExecutionTimeout);
+      ObjectUtils.notNull(admissionController, "Cannot instantiate TraverseGraphDelegate without 'admissionController'.");
+      return new TraverseGraphDelegate(objectSearch, objectConverter, factConverter, admissionController, scriptExecutionTimeout);
     }
 
     public Builder setObjectSearch(ObjectSearchDelegate objectSearch) {
@@ -136,6 +150,11 @@ public class TraverseGraphDelegate extends AbstractDelegate {
       return this;
     }
 
+    public Builder setAdmissionController(TraversalAdmissionController admissionController) {
+      this.admissionController = admissionController;
+      return this;
+    }
+
     public Builder setScriptExecutionTimeout(long scriptExecutionTimeout) {
       this.scriptExecutionTimeout = scriptExecutionTimeout;
       return this;
@@ -143,7 +162,8 @@ public class TraverseGraphDelegate extends AbstractDelegate {
   }
 
   private ResultSet<?> handle(ObjectEntity startingObject, String query)
-          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException {
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, OperationTimeoutException,
+          OperationRejectedException {
     // Verify that user has access to starting point of graph traversal.
     securityContext.checkReadPermission(startingObject);
     // Execute traversal and process results.
@@ -156,6 +176,15 @@ public class TraverseGraphDelegate extends AbstractDelegate {
   }
 
   private void executeTraversal(Collection<UUID> startingObjects, String query)
+          throws InvalidArgumentException, OperationTimeoutException, OperationRejectedException {
+    // Wait until enough capacity is available. Rejected traversals don't consume any resources.
+    try (TraversalAdmissionController.Permit ignored = admissionController.admit(securityContext.getCurrentUserID(),
+            TraversalAdmissionController.estimateCost(startingObjects.size(), query))) {
+      executeAdmittedTraversal(startingObjects, query);
+    }
+  }
+
+  private void executeAdmittedTraversal(Collection<UUID> startingObjects, String query)
           throws InvalidArgumentException, OperationTimeoutException {
     try (Graph graph = createGraph(); GremlinExecutor executor = createExecutor()) {
       // Create the first step of the graph traversal, i.e. starting the traversal at the Object(s) specified in the request.
@@ -165,7 +194,20 @@ public class TraverseGraphDelegate extends AbstractDelegate {
       // Start script execution and wait until result arrived or execution is aborted.
       // Use 'withResult' callback here because the graph will then be iterated inside the 'eval' thread, thus, every
       // exception caused by the traversal will be handled inside that thread as well which will result in an ExecutionException.
-      executor.eval(query, SCRIPT_ENGINE, bindings, this::produceTraversalResult).get();
+      CompletableFuture<java.lang.Object> evaluation = executor.eval(query, SCRIPT_ENGINE, bindings, this::produceTraversalResult);
+      try {
+        evaluation.get();
+      } catch (InterruptedException ex) {
+        // Cancelling the future doesn't interrupt the 'eval' thread. Instead, signal the graph to stop fetching elements
+        // such that the 'eval' thread finishes quickly. Closing the executor waits for the 'eval' thread to finish.
+        cancelled.set(true);
+        evaluation.cancel(true);
+        throw ex;
+      }
+    } catch (InterruptedException ex) {
+      // The request was cancelled, e.g. because the client disconnected. Restore the interrupt status for the caller.
+      Thread.currentThread().interrupt();
+      throw new OperationTimeoutException("The performed graph traversal query was cancelled.", "graph.traversal.cancelled");
     } catch (ExecutionException ex) {
       // Exceptions causing the script execution to fail are wrapped inside an ExecutionException. Need to unwrap them.
       Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
@@ -217,6 +259,7 @@ public class TraverseGraphDelegate extends AbstractDelegate {
             .setObjectManager(requestContext.getObjectManager())
             .setFactManager(requestContext.getFactManager())
             .setHasFactAccess(securityContext::hasReadPermission)
+            .setIsCancelled(cancelled::get)
             .build();
   }
 
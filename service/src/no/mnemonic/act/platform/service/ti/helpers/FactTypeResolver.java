@@ -1,7 +1,7 @@
 package no.mnemonic.act.platform.service.ti.helpers;
 
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 
 import java.util.UUID;
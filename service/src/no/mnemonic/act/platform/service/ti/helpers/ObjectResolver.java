@@ -1,7 +1,7 @@
 package no.mnemonic.act.platform.service.ti.helpers;
 
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.service.validators.Validator;
@@ -29,7 +29,8 @@ public class ObjectResolver {
    * <p>
    * 1. Try to resolve Object by ID if input represents a UUID.
    * 2. If input is not a UUID, try to resolve Object by type and value. Input should be of form 'type/value'.
-   * 3. If Object doesn't exist yet, a new Object will be created with respect to type and value.
+   * 3. If Object doesn't exist yet, a new Object will be created with respect to type and value. If the same Object
+   * is created concurrently by another request the Object created first will be returned.
    * <p>
    * If input neither represents a UUID nor is of form 'type/value' NULL will be returned.
    * <p>
@@ -93,7 +94,8 @@ public class ObjectResolver {
             .setTypeID(type.getId())
             .setValue(value);
 
-    return objectManager.saveObject(objectEntity);
+    // Use get-or-create in order to not fail if the same Object is created concurrently.
+    return objectManager.getOrCreateObject(objectEntity);
   }
 
 }
@@ -0,0 +1,109 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical reads which are executed concurrently (single-flight). The first caller of a read executes it,
+ * all callers asking for the same read while it is in flight wait for and share its result. Nothing is cached after
+ * the read has finished, i.e. a subsequent caller executes the read again.
+ * <p>
+ * Only reads of authoritative entities which don't depend on the current user may be coalesced, e.g. fetching an Object
+ * or a Fact by its ID. Access control must be applied separately by every caller to the shared result. Because the
+ * result is shared it must not be modified by the callers.
+ */
+@Singleton
+public class ReadCoalescer {
+
+  private final Map<ReadKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Execute a read or join an identical read which is currently in flight.
+   *
+   * @param read      Read to execute, e.g. fetching an entity from the storage layer
+   * @param operation Name of the read operation, e.g. 'object.id'
+   * @param arguments Arguments identifying the read together with its operation, e.g. the ID of the entity
+   * @param <T>       Type of result
+   * @return Result of the read (might be shared with other callers)
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T read(Supplier<T> read, String operation, Object... arguments) {
+    ReadKey key = new ReadKey(operation, arguments);
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+    if (existing != null) {
+      coalesced.increment();
+      return (T) await(existing);
+    }
+
+    executed.increment();
+    try {
+      T result = read.get();
+      own.complete(result);
+      return result;
+    } catch (RuntimeException | Error ex) {
+      // Waiting callers receive the same exception.
+      own.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  public int getInFlight() {
+    return inFlight.size();
+  }
+
+  public long getExecuted() {
+    return executed.sum();
+  }
+
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  private static Object await(CompletableFuture<Object> future) {
+    try {
+      // Don't give up on interrupts, the in-flight read is bounded by the timeouts of the storage layer.
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      if (ex.getCause() instanceof Error) throw (Error) ex.getCause();
+      throw ex;
+    }
+  }
+
+  private static class ReadKey {
+    private final String operation;
+    private final Object[] arguments;
+
+    private ReadKey(String operation, Object[] arguments) {
+      this.operation = operation;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ReadKey that = (ReadKey) o;
+      return Objects.equals(operation, that.operation) &&
+              Arrays.equals(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Objects.hash(operation) + Arrays.hashCode(arguments);
+    }
+  }
+
+}
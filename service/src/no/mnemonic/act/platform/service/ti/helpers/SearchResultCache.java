@@ -0,0 +1,145 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the results of searches for a short time, such that repeating an identical search (e.g. while paging through
+ * results in the UI) doesn't hit ElasticSearch and Cassandra again.
+ * <p>
+ * Results are cached by the search criteria. The criteria include the current user and the Organizations available to
+ * the user, thus, a cached result is only returned to the same user with the same access. Every write affecting search
+ * results must call {@link #invalidate()} which bumps a generation counter and makes all cached results unreachable.
+ * Because the generation counter is local to this node, writes on other nodes are only reflected after the TTL.
+ * <p>
+ * The cache is disabled by default. Set 'search.cache.size' to a positive number in order to enable it.
+ */
+@Singleton
+public class SearchResultCache {
+
+  // ElasticSearch makes indexed documents searchable after its refresh interval (1s by default). Searches executed
+  // shortly after a write might not see the write yet, thus, their results are not cached.
+  private static final long INDEX_REFRESH_INTERVAL = 1000;
+
+  // Maximum number of cached search results. Setting it to 0 disables the cache.
+  @com.google.inject.Inject(optional = true)
+  @Named("search.cache.size")
+  private String cacheSize = "0";
+
+  // Time (in ms) a search result is cached.
+  @com.google.inject.Inject(optional = true)
+  @Named("search.cache.ttl")
+  private String cacheTtl = "5000";
+
+  private final AtomicLong generation = new AtomicLong();
+  private volatile long lastInvalidation;
+  private volatile Cache<SearchKey, ResultSet<?>> cache;
+
+  /**
+   * Return the cached result of a search or execute the search and cache its result.
+   *
+   * @param operation Name of the search operation, e.g. 'facts' or 'objects'
+   * @param criteria  Criteria of the search (including the access information of the current user)
+   * @param bypass    If true the cached result is ignored and the search is always executed
+   * @param search    Search producing the result
+   * @param <T>       Type of result values
+   * @return Result of the search
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ResultSet<T> get(String operation, FactSearchCriteria criteria, boolean bypass, Supplier<ResultSet<T>> search) {
+    if (Long.parseLong(cacheSize) <= 0) return search.get();
+
+    // Resolve the generation before executing the search. If a write happens in between the result is cached
+    // under an outdated generation and will never be returned.
+    SearchKey key = new SearchKey(operation, criteria, generation.get());
+    if (!bypass) {
+      ResultSet<T> cached = (ResultSet<T>) getCache().getIfPresent(key);
+      if (cached != null) return cached;
+    }
+
+    long startTime = System.currentTimeMillis();
+    ResultSet<T> result = search.get();
+    if (startTime - lastInvalidation >= INDEX_REFRESH_INTERVAL) {
+      getCache().put(key, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Invalidate all cached search results. Must be called after every write which could change search results.
+   */
+  public void invalidate() {
+    lastInvalidation = System.currentTimeMillis();
+    generation.incrementAndGet();
+  }
+
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Returns the statistics of the cache, e.g. hit and miss counts.
+   *
+   * @return Statistics of the cache or NULL if the cache is disabled or has not been used yet
+   */
+  public CacheStats getCacheStats() {
+    return ObjectUtils.ifNotNull(cache, Cache::stats);
+  }
+
+  private Cache<SearchKey, ResultSet<?>> getCache() {
+    // Create cache lazily because the configuration is injected after construction.
+    if (cache == null) {
+      synchronized (this) {
+        if (cache == null) {
+          cache = CacheBuilder.newBuilder()
+                  .maximumSize(Long.parseLong(cacheSize))
+                  .expireAfterWrite(Long.parseLong(cacheTtl), TimeUnit.MILLISECONDS)
+                  .recordStats()
+                  .build();
+        }
+      }
+    }
+
+    return cache;
+  }
+
+  private static class SearchKey {
+    private final String operation;
+    private final FactSearchCriteria criteria;
+    private final long generation;
+
+    private SearchKey(String operation, FactSearchCriteria criteria, long generation) {
+      this.operation = operation;
+      this.criteria = criteria;
+      this.generation = generation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      SearchKey that = (SearchKey) o;
+      return generation == that.generation &&
+              Objects.equals(operation, that.operation) &&
+              Objects.equals(criteria, that.criteria);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(operation, criteria, generation);
+    }
+  }
+
+}
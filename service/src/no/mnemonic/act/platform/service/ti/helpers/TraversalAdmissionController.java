@@ -0,0 +1,258 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.api.exceptions.OperationRejectedException;
+import no.mnemonic.commons.utilities.StringUtils;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a graph traversal may be executed. The number of concurrent traversals is limited globally and per
+ * user, and the estimated cost of all concurrent traversals is limited as well. A traversal which can't be admitted
+ * because of the global limits waits in a bounded queue until it can be admitted or its deadline expires. A traversal
+ * exceeding the per-user limit or the maximum cost of a single traversal is rejected immediately, such that a single
+ * user can't occupy the whole capacity with long-running or expensive traversals.
+ * <p>
+ * Traversals requested via the REST API are executed in the 'traverse' thread pool of the API server, which already
+ * bounds their concurrency by its number of threads ('api.server.executor.traverse.threads') and queues further
+ * requests itself ('api.server.executor.traverse.queue.size'). Therefore, the global limit defaults to the number of
+ * threads of that pool and the admission queue is disabled by default, i.e. traversals which can't be admitted are
+ * rejected immediately. Waiting for admission blocks one of the pool's threads, thus, only enable the admission queue
+ * with a short timeout, and never set the global limit above the number of threads because it would never engage.
+ */
+@Singleton
+public class TraversalAdmissionController {
+
+  // Steps walking from Objects to Facts or vice versa. Each of them potentially multiplies the traversed elements.
+  private static final Pattern EDGE_STEP = Pattern.compile("\\b(out|in|both|outE|inE|bothE|outV|inV|bothV|otherV)\\s*\\(");
+  private static final Pattern LOOP_STEP = Pattern.compile("\\brepeat\\s*\\(");
+  private static final int LOOP_WEIGHT = 10;
+
+  // Maximum number of traversals executed concurrently by all users. Defaults to the number of traverse threads.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.max.concurrent")
+  private String maxConcurrent = "";
+
+  // Number of threads executing traversals in the API server (same property and default as in the REST module).
+  @com.google.inject.Inject(optional = true)
+  @Named("api.server.executor.traverse.threads")
+  private String traverseThreads = "4";
+
+  // Maximum number of traversals executed concurrently by one user.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.max.concurrent.per.user")
+  private String maxConcurrentPerUser = "2";
+
+  // Maximum estimated cost of a single traversal.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.max.cost")
+  private String maxCost = "1000000";
+
+  // Maximum estimated cost of all concurrent traversals. A single traversal is always admitted if nothing else runs.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.max.cost.total")
+  private String maxTotalCost = "2000000";
+
+  // Maximum number of traversals waiting to be admitted. Setting it to 0 rejects traversals instead of waiting.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.queue.size")
+  private String queueSize = "0";
+
+  // Maximum time (in ms) a traversal waits to be admitted.
+  @com.google.inject.Inject(optional = true)
+  @Named("traversal.admission.queue.timeout")
+  private String queueTimeout = "1000";
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  // User -> number of running traversals of this user. Only accessed while holding the lock.
+  private final Map<UUID, Integer> runningPerUser = new HashMap<>();
+  private int running;
+  private int queued;
+  private long runningCost;
+
+  private final LongAdder admitted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+
+  /**
+   * Estimate the cost of a traversal from the number of starting Objects and the shape of the query. The estimate is
+   * only meant to compare traversals with each other. It grows linearly with the number of starting Objects and with
+   * the number of steps walking edges, loops count more than single steps.
+   *
+   * @param startingObjects Number of Objects the traversal starts at
+   * @param query           Traversal query
+   * @return Estimated cost
+   */
+  public static long estimateCost(int startingObjects, String query) {
+    long steps = 1;
+    if (!StringUtils.isBlank(query)) {
+      steps += count(EDGE_STEP, query) + LOOP_WEIGHT * count(LOOP_STEP, query);
+    }
+    return Math.max(1, startingObjects) * steps;
+  }
+
+  /**
+   * Admit a traversal, waiting for free capacity if required. The returned permit must be closed after the traversal
+   * has finished.
+   *
+   * @param user Current user, may be NULL
+   * @param cost Estimated cost of the traversal, see {@link #estimateCost(int, String)}
+   * @return Permit releasing the capacity when closed
+   * @throws OperationRejectedException If the traversal can't be admitted
+   */
+  public Permit admit(UUID user, long cost) throws OperationRejectedException {
+    if (cost > Long.parseLong(maxCost)) {
+      throw reject(rejected, "The graph traversal is too expensive, reduce the number of starting Objects or simplify the query.",
+              "graph.traversal.rejected.cost");
+    }
+
+    lock.lock();
+    try {
+      if (runningPerUser.getOrDefault(user, 0) >= Integer.parseInt(maxConcurrentPerUser)) {
+        throw reject(rejected, "Too many graph traversals are executed for the current user, retry later.",
+                "graph.traversal.rejected.user");
+      }
+
+      if (!canAdmit(cost)) {
+        if (queued >= Integer.parseInt(queueSize)) {
+          throw reject(rejected, "Too many graph traversals are executed, retry later.", "graph.traversal.rejected.global");
+        }
+        awaitCapacity(user, cost);
+      }
+
+      running++;
+      runningCost += cost;
+      runningPerUser.merge(user, 1, Integer::sum);
+      admitted.increment();
+      return new Permit(user, cost);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getRunning() {
+    lock.lock();
+    try {
+      return running;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueued() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getRunningCost() {
+    lock.lock();
+    try {
+      return runningCost;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getAdmitted() {
+    return admitted.sum();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  public long getTimedOut() {
+    return timedOut.sum();
+  }
+
+  /**
+   * Capacity of an admitted traversal. Closing it admits waiting traversals.
+   */
+  public class Permit implements AutoCloseable {
+    private final UUID user;
+    private final long permitCost;
+    private boolean closed;
+
+    private Permit(UUID user, long permitCost) {
+      this.user = user;
+      this.permitCost = permitCost;
+    }
+
+    @Override
+    public void close() {
+      lock.lock();
+      try {
+        if (closed) return;
+        closed = true;
+        running--;
+        runningCost -= permitCost;
+        runningPerUser.computeIfPresent(user, (key, count) -> count > 1 ? count - 1 : null);
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /* Private helper methods */
+
+  // Must be called while holding the lock.
+  private boolean canAdmit(long cost) {
+    if (running >= getMaxConcurrent()) return false;
+    return running == 0 || runningCost + cost <= Long.parseLong(maxTotalCost);
+  }
+
+  private int getMaxConcurrent() {
+    return Integer.parseInt(!StringUtils.isBlank(maxConcurrent) ? maxConcurrent : traverseThreads);
+  }
+
+  // Must be called while holding the lock.
+  private void awaitCapacity(UUID user, long cost) throws OperationRejectedException {
+    long remaining = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(queueTimeout));
+    queued++;
+    try {
+      // The per-user limit must be checked again because other traversals of the same user might have been admitted.
+      while (!canAdmit(cost) || runningPerUser.getOrDefault(user, 0) >= Integer.parseInt(maxConcurrentPerUser)) {
+        if (remaining <= 0) {
+          throw reject(timedOut, "Timed out waiting for other graph traversals to finish, retry later.",
+                  "graph.traversal.rejected.timeout");
+        }
+        remaining = released.awaitNanos(remaining);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw reject(rejected, "Interrupted while waiting for other graph traversals to finish.", "graph.traversal.rejected.interrupted");
+    } finally {
+      queued--;
+    }
+  }
+
+  private static OperationRejectedException reject(LongAdder counter, String message, String messageTemplate) {
+    counter.increment();
+    return new OperationRejectedException(message, messageTemplate);
+  }
+
+  private static int count(Pattern pattern, String query) {
+    Matcher matcher = pattern.matcher(query);
+    int count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,208 @@
+package no.mnemonic.act.platform.service.triggers;
+
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.services.triggers.pipeline.api.TriggerEvent;
+import no.mnemonic.services.triggers.pipeline.api.TriggerEventConsumer;
+import no.mnemonic.services.triggers.pipeline.worker.InMemoryQueueWorker;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded hand-off between the submission of {@link TriggerEvent}s and their evaluation. Events are put into a bounded
+ * queue on the request path and handed over one by one to the {@link InMemoryQueueWorker} by a dedicated dispatcher
+ * thread. If the worker can't keep up (e.g. during bulk ingest) the queue fills up and the configured
+ * {@link OverflowPolicy} decides whether submitters wait for free space or events are dropped. The queue never grows
+ * beyond its configured size. When the component is stopped all queued events are still handed over to the worker.
+ */
+@Singleton
+public class TriggerEventDispatcher implements TriggerEventConsumer, LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(TriggerEventDispatcher.class);
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+  /**
+   * Defines what happens when an event is submitted while the queue is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Wait for free space up to the configured timeout, then drop the submitted event.
+     */
+    block,
+    /**
+     * Drop the submitted event immediately.
+     */
+    dropNewest,
+    /**
+     * Drop the oldest queued event in favour of the submitted event.
+     */
+    dropOldest
+  }
+
+  // Maximum number of events waiting to be dispatched to the worker.
+  @com.google.inject.Inject(optional = true)
+  @Named("trigger.dispatcher.queue.size")
+  private String queueSize = "10000";
+
+  @com.google.inject.Inject(optional = true)
+  @Named("trigger.dispatcher.overflow.policy")
+  private String overflowPolicy = OverflowPolicy.block.name();
+
+  // Maximum time (in ms) a submitter waits for free space when using the 'block' policy.
+  @com.google.inject.Inject(optional = true)
+  @Named("trigger.dispatcher.block.timeout")
+  private String blockTimeout = "1000";
+
+  @Dependency
+  private final TriggerEventConsumer worker;
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  private volatile BlockingQueue<TriggerEvent> queue;
+  private volatile boolean running;
+  private Thread dispatcher;
+
+  @Inject
+  public TriggerEventDispatcher(InMemoryQueueWorker worker) {
+    this.worker = ObjectUtils.notNull(worker, "'worker' is null!");
+  }
+
+  @Override
+  public void startComponent() {
+    queue = new ArrayBlockingQueue<>(Integer.parseInt(queueSize));
+    running = true;
+    dispatcher = new Thread(this::dispatchEvents, "TriggerEventDispatcher");
+    dispatcher.setDaemon(true);
+    dispatcher.start();
+  }
+
+  @Override
+  public void stopComponent() {
+    running = false;
+    if (dispatcher == null) return;
+
+    try {
+      dispatcher.join(SHUTDOWN_TIMEOUT_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (dispatcher.isAlive()) {
+      LOGGER.warning("TriggerEventDispatcher did not finish in time, %d events are discarded.", queue.size());
+      dispatcher.interrupt();
+      queue.clear();
+      return;
+    }
+
+    // Submitters which passed the running check before stopping might have queued events after the dispatcher thread
+    // exited. Hand them over here, submitters queuing even later dispatch their events themselves (see submit()).
+    for (TriggerEvent event = queue.poll(); event != null; event = queue.poll()) {
+      dispatchEvent(event);
+    }
+  }
+
+  @Override
+  public void submit(TriggerEvent event) {
+    if (event == null) return;
+    if (!running) throw new IllegalStateException("TriggerEventDispatcher has not been started.");
+
+    submitted.increment();
+    switch (OverflowPolicy.valueOf(overflowPolicy)) {
+      case block:
+        offerWithTimeout(event);
+        break;
+      case dropNewest:
+        if (!queue.offer(event)) drop(event);
+        break;
+      case dropOldest:
+        while (!queue.offer(event)) {
+          // Make room by dropping the oldest event. Other submitters compete for the free space, thus, retry.
+          TriggerEvent oldest = queue.poll();
+          if (oldest != null) drop(oldest);
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unsupported overflow policy " + overflowPolicy);
+    }
+
+    // The component was stopped concurrently, thus, nobody might take the event from the queue anymore. If the event
+    // is still queued dispatch it directly, otherwise the dispatcher thread or stopComponent() has already taken it.
+    if (!running && queue.remove(event)) {
+      dispatchEvent(event);
+    }
+  }
+
+  public int getQueueDepth() {
+    BlockingQueue<TriggerEvent> current = queue;
+    return current != null ? current.size() : 0;
+  }
+
+  public long getSubmitted() {
+    return submitted.sum();
+  }
+
+  public long getDispatched() {
+    return dispatched.sum();
+  }
+
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  /* Private helper methods */
+
+  private void offerWithTimeout(TriggerEvent event) {
+    try {
+      if (!queue.offer(event, Long.parseLong(blockTimeout), TimeUnit.MILLISECONDS)) drop(event);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      drop(event);
+    }
+  }
+
+  private void drop(TriggerEvent event) {
+    dropped.increment();
+    LOGGER.warning("Dropped TriggerEvent (id = %s) because the dispatch queue is full.", event.getId());
+  }
+
+  private void dispatchEvents() {
+    // Continue after stopping until the queue has been drained, unless interrupted.
+    while ((running || !queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+      try {
+        TriggerEvent event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (event != null) dispatchEvent(event);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void dispatchEvent(TriggerEvent event) {
+    try {
+      // The worker blocks while it is saturated which lets the queue fill up and applies the overflow policy.
+      worker.submit(event);
+      dispatched.increment();
+    } catch (Exception ex) {
+      failed.increment();
+      LOGGER.error(ex, "Could not submit TriggerEvent (id = %s).", event.getId());
+    }
+  }
+
+}
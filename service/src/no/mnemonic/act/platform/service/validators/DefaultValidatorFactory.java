@@ -2,6 +2,7 @@ package no.mnemonic.act.platform.service.validators;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
@@ -16,6 +17,7 @@ public class DefaultValidatorFactory implements ValidatorFactory {
   public DefaultValidatorFactory() {
     cache = CacheBuilder.newBuilder()
             .expireAfterAccess(10, TimeUnit.MINUTES)
+            .recordStats()
             .build(new CacheLoader<String, Validator>() {
               @Override
               public Validator load(String key) throws Exception {
@@ -35,6 +37,15 @@ public class DefaultValidatorFactory implements ValidatorFactory {
     }
   }
 
+  /**
+   * Returns the statistics of the Validator cache, e.g. hit and miss counts.
+   *
+   * @return Statistics of Validator cache
+   */
+  public CacheStats getCacheStats() {
+    return cache.stats();
+  }
+
   private Validator createValidator(String key) throws Exception {
     String validator = extractValidatorFromCacheKey(key);
     String parameter = extractParameterFromCacheKey(key);
@@ -0,0 +1,86 @@
+package no.mnemonic.act.platform.service.aspects;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import no.mnemonic.act.platform.api.service.v1.RequestHeader;
+import no.mnemonic.act.platform.service.Service;
+import no.mnemonic.act.platform.service.TestSecurityContext;
+import no.mnemonic.act.platform.service.contexts.RequestContext;
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.services.common.auth.model.Credentials;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsAspectTest {
+
+  private final MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Test
+  public void testMeasureServiceMethod() {
+    TestService service = createService();
+    assertEquals("Called!", service.method(RequestHeader.builder().build(), "Called!"));
+    assertEquals("Called!", service.method(RequestHeader.builder().build(), "Called!"));
+
+    assertEquals(2, metricRegistry.timer("service.method").getCount());
+    assertFalse(metricRegistry.getCounters().containsKey("service.method.errors"));
+  }
+
+  @Test
+  public void testCountFailedServiceMethod() {
+    TestService service = createService();
+    try {
+      service.failingMethod(RequestHeader.builder().build());
+      fail();
+    } catch (IllegalStateException ignored) {
+      // Expected, exception must be rethrown.
+    }
+
+    assertEquals(1, metricRegistry.timer("service.failingMethod").getCount());
+    assertEquals(1, metricRegistry.counter("service.failingMethod.errors").getCount());
+  }
+
+  @Test
+  public void testIgnoreNonServiceMethod() {
+    assertEquals("Called!", createService().nonServiceMethod("Called!"));
+    assertTrue(metricRegistry.getTimers().isEmpty());
+  }
+
+  private TestService createService() {
+    return Guice.createInjector(new TestModule()).getInstance(TestService.class);
+  }
+
+  private class TestModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(MetricRegistry.class).toInstance(metricRegistry);
+      install(new MetricsAspect());
+    }
+  }
+
+  static class TestService implements Service {
+    String method(RequestHeader rh, String something) {
+      return something;
+    }
+
+    String failingMethod(RequestHeader rh) {
+      throw new IllegalStateException();
+    }
+
+    String nonServiceMethod(String something) {
+      return something;
+    }
+
+    @Override
+    public SecurityContext createSecurityContext(Credentials credentials) {
+      return new TestSecurityContext();
+    }
+
+    @Override
+    public RequestContext createRequestContext() {
+      return new RequestContext();
+    }
+  }
+
+}
@@ -3,9 +3,12 @@ package no.mnemonic.act.platform.service.ti;
 import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
+import no.mnemonic.act.platform.service.ti.helpers.ReadCoalescer;
+import no.mnemonic.act.platform.service.ti.helpers.SearchResultCache;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalAdmissionController;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
@@ -43,7 +46,7 @@ public class ThreatIntelligenceServiceImplTest {
   @Before
   public void initialize() {
     initMocks(this);
-    service = new ThreatIntelligenceServiceImpl(accessController, identityResolver, organizationResolver, subjectResolver, factManager, objectManager, factSearchManager, validatorFactory);
+    service = new ThreatIntelligenceServiceImpl(accessController, identityResolver, organizationResolver, subjectResolver, factManager, objectManager, factSearchManager, validatorFactory, new TraversalAdmissionController(), new ReadCoalescer(), new SearchResultCache());
   }
 
   @Test
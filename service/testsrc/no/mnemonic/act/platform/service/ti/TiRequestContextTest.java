@@ -24,6 +24,16 @@ public class TiRequestContextTest {
     TiRequestContext.builder().build().getValidatorFactory();
   }
 
+  @Test(expected = RuntimeException.class)
+  public void testReadCoalescerNotSetInContextThrowsException() {
+    TiRequestContext.builder().build().getReadCoalescer();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testSearchResultCacheNotSetInContextThrowsException() {
+    TiRequestContext.builder().build().getSearchResultCache();
+  }
+
   @Test(expected = RuntimeException.class)
   public void testObjectTypeConverterNotSetInContextThrowsException() {
     TiRequestContext.builder().build().getObjectTypeConverter();
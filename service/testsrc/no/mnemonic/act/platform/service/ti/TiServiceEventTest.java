@@ -1,12 +1,16 @@
 package no.mnemonic.act.platform.service.ti;
 
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.services.triggers.pipeline.api.AccessMode;
 import no.mnemonic.services.triggers.pipeline.api.TriggerEvent;
 import org.junit.Test;
 
+import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static no.mnemonic.act.platform.service.ti.TiServiceEvent.EventName.FactAdded;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static org.junit.Assert.*;
 
 public class TiServiceEventTest {
@@ -68,6 +72,23 @@ public class TiServiceEventTest {
     assertEquals(42, event.getContextParameters().get("parameter2"));
   }
 
+  @Test
+  public void testCreateTiServiceEventWithLazyContextParameter() {
+    AtomicInteger resolved = new AtomicInteger();
+    TriggerEvent event = TiServiceEvent.forEvent(FactAdded)
+            .setOrganization(UUID.randomUUID())
+            .setAccessMode(no.mnemonic.act.platform.api.model.v1.AccessMode.Public)
+            .addContextParameter("parameter1", "value")
+            .addLazyContextParameter("parameter2", resolved::incrementAndGet)
+            .build();
+    assertEquals(0, resolved.get());
+    assertTrue(event.getContextParameters().containsKey("parameter2"));
+    assertEquals(0, resolved.get());
+    assertEquals(1, event.getContextParameters().get("parameter2"));
+    assertEquals(MapUtils.map(T("parameter1", "value"), T("parameter2", 1)), new HashMap<>(event.getContextParameters()));
+    assertEquals(1, resolved.get());
+  }
+
   @Test(expected = RuntimeException.class)
   public void testCreateTiServiceEventWithoutEvent() {
     TiServiceEvent.forEvent(null)
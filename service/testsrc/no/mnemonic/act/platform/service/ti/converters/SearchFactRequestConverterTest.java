@@ -40,6 +40,7 @@ public class SearchFactRequestConverterTest {
     FactSearchCriteria criteria = converter.apply(new SearchFactRequest());
     assertFalse(criteria.getRetracted());
     assertEquals(25, criteria.getLimit());
+    assertEquals(FactSearchCriteria.Projection.id, criteria.getProjection());
     assertNotNull(criteria.getCurrentUserID());
     assertNotNull(criteria.getAvailableOrganizationID());
   }
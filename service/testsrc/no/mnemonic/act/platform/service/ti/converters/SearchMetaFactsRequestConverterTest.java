@@ -41,6 +41,7 @@ public class SearchMetaFactsRequestConverterTest {
     FactSearchCriteria criteria = converter.apply(new SearchMetaFactsRequest());
     assertFalse(criteria.getRetracted());
     assertEquals(25, criteria.getLimit());
+    assertEquals(FactSearchCriteria.Projection.id, criteria.getProjection());
     assertNotNull(criteria.getCurrentUserID());
     assertNotNull(criteria.getAvailableOrganizationID());
   }
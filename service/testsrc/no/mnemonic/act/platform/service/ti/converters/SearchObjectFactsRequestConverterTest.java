@@ -41,6 +41,7 @@ public class SearchObjectFactsRequestConverterTest {
     FactSearchCriteria criteria = converter.apply(new SearchObjectFactsRequest());
     assertFalse(criteria.getRetracted());
     assertEquals(25, criteria.getLimit());
+    assertEquals(FactSearchCriteria.Projection.id, criteria.getProjection());
     assertNotNull(criteria.getCurrentUserID());
     assertNotNull(criteria.getAvailableOrganizationID());
   }
@@ -1,15 +1,17 @@
 package no.mnemonic.act.platform.service.ti.delegates;
 
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
-import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.FactManager;
+import no.mnemonic.act.platform.dao.api.FactSearchManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.service.contexts.RequestContext;
 import no.mnemonic.act.platform.service.contexts.SecurityContext;
 import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.*;
+import no.mnemonic.act.platform.service.ti.helpers.ReadCoalescer;
+import no.mnemonic.act.platform.service.ti.helpers.SearchResultCache;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.After;
@@ -56,6 +58,8 @@ abstract class AbstractDelegateTest {
             .setFactManager(factManager)
             .setFactSearchManager(factSearchManager)
             .setValidatorFactory(validatorFactory)
+            .setReadCoalescer(new ReadCoalescer())
+            .setSearchResultCache(new SearchResultCache())
             .setObjectTypeConverter(objectTypeConverter)
             .setObjectConverter(objectConverter)
             .setFactTypeConverter(factTypeConverter)
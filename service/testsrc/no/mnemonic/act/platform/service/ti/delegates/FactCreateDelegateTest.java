@@ -214,6 +214,7 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
 
     verify(getFactManager()).saveFact(matchFactEntity(request));
     verify(getObjectManager(), times(2)).saveObjectFactBinding(matchObjectFactBindingEntity());
+    verify(getObjectManager()).incrementObjectStatistics(matchFactEntity(request));
     verify(factStorageHelper).saveInitialAclForNewFact(matchFactEntity(request), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(matchFactEntity(request), eq(request.getComment()));
     verify(getFactSearchManager()).indexFact(matchFactDocument(request));
@@ -315,12 +316,14 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
 
     // Mock stuff needed for refreshing Fact.
     when(getFactManager().refreshFact(existingFact.getId())).thenReturn(existingFact);
-    when(getFactSearchManager().getFact(existingFact.getId())).thenReturn(new FactDocument());
+    when(getFactSearchManager().getFact(eq(existingFact.getId()), anyLong())).thenReturn(new FactDocument());
     when(factStorageHelper.saveAdditionalAclForFact(existingFact, request.getAcl())).thenReturn(request.getAcl());
 
     delegate.handle(request);
 
     verify(getFactManager()).refreshFact(existingFact.getId());
+    verify(getObjectManager()).refreshObjectStatistics(same(existingFact));
+    verify(getObjectManager(), never()).incrementObjectStatistics(any());
     verify(factStorageHelper).saveAdditionalAclForFact(same(existingFact), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(same(existingFact), eq(request.getComment()));
     verify(getFactSearchManager()).indexFact(argThat(document -> document.getLastSeenTimestamp() > 0 &&
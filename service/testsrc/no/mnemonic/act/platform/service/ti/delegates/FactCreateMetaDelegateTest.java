@@ -266,7 +266,7 @@ public class FactCreateMetaDelegateTest extends AbstractDelegateTest {
 
     // Mock stuff needed for refreshing Fact.
     when(getFactManager().refreshFact(existingFact.getId())).thenReturn(existingFact);
-    when(getFactSearchManager().getFact(existingFact.getId())).thenReturn(new FactDocument());
+    when(getFactSearchManager().getFact(eq(existingFact.getId()), anyLong())).thenReturn(new FactDocument());
     when(factStorageHelper.saveAdditionalAclForFact(existingFact, request.getAcl())).thenReturn(request.getAcl());
 
     delegate.handle(request);
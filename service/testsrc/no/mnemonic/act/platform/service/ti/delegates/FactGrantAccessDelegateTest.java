@@ -71,7 +71,7 @@ public class FactGrantAccessDelegateTest extends AbstractDelegateTest {
     UUID currentUser = UUID.randomUUID();
     GrantFactAccessRequest request = createGrantAccessRequest();
     when(getFactManager().getFact(request.getFact())).thenReturn(createFactEntity(request));
-    when(getFactSearchManager().getFact(request.getFact())).thenReturn(new FactDocument());
+    when(getFactSearchManager().getFact(eq(request.getFact()), anyLong())).thenReturn(new FactDocument());
     when(getFactManager().saveFactAclEntry(any())).then(i -> i.getArgument(0));
     when(getSecurityContext().getCurrentUserID()).thenReturn(currentUser);
 
@@ -9,6 +9,7 @@ import no.mnemonic.act.platform.api.request.v1.AccessMode;
 import no.mnemonic.act.platform.api.request.v1.RetractFactRequest;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiServiceEvent;
 import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
@@ -16,10 +17,13 @@ import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,17 +44,23 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
     delegate = FactRetractDelegate.builder()
             .setFactTypeResolver(factTypeResolver)
             .setFactStorageHelper(factStorageHelper)
+            .setFactConverter(getFactConverter())
             .build();
   }
 
   @Test(expected = RuntimeException.class)
   public void testCreateDelegateWithoutFactTypeResolver() {
-    FactRetractDelegate.builder().setFactStorageHelper(factStorageHelper).build();
+    FactRetractDelegate.builder().setFactStorageHelper(factStorageHelper).setFactConverter(getFactConverter()).build();
   }
 
   @Test(expected = RuntimeException.class)
   public void testCreateDelegateWithoutFactStorageHelper() {
-    FactRetractDelegate.builder().setFactTypeResolver(factTypeResolver).build();
+    FactRetractDelegate.builder().setFactTypeResolver(factTypeResolver).setFactConverter(getFactConverter()).build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateDelegateWithoutFactConverter() {
+    FactRetractDelegate.builder().setFactTypeResolver(factTypeResolver).setFactStorageHelper(factStorageHelper).build();
   }
 
   @Test(expected = ObjectNotFoundException.class)
@@ -96,7 +106,8 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
     verify(getFactManager()).saveFact(matchFactEntity(request));
     verify(factStorageHelper).saveInitialAclForNewFact(matchFactEntity(request), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(matchFactEntity(request), eq(request.getComment()));
-    verify(getFactConverter(), times(2)).apply(matchFactEntity(request));
+    // The retracted Fact is only converted when the TriggerEvent's context parameter is accessed.
+    verify(getFactConverter()).apply(matchFactEntity(request));
   }
 
   @Test
@@ -180,6 +191,28 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
     }));
   }
 
+  @Test
+  public void testRetractedFactIsConvertedWithoutContextsOfResolvingThread() throws Exception {
+    RetractFactRequest request = mockRetractingFact();
+    delegate.handle(request);
+
+    ArgumentCaptor<TiServiceEvent> event = ArgumentCaptor.forClass(TiServiceEvent.class);
+    verify(getTriggerContext()).registerTriggerEvent(event.capture());
+
+    // The trigger pipeline resolves the parameter in one of its own threads where no SecurityContext is set.
+    AtomicReference<Object> retractedFact = new AtomicReference<>();
+    AtomicBoolean contextSet = new AtomicBoolean();
+    Thread resolver = new Thread(() -> {
+      retractedFact.set(event.getValue().getContextParameters().get(TiServiceEvent.ContextParameter.RetractedFact.name()));
+      contextSet.set(SecurityContext.isSet());
+    });
+    resolver.start();
+    resolver.join(5000);
+
+    assertEquals(request.getFact(), Fact.class.cast(retractedFact.get()).getId());
+    assertFalse(contextSet.get());
+  }
+
   private RetractFactRequest mockRetractingFact() {
     RetractFactRequest request = createRetractRequest();
 
@@ -192,7 +225,7 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
             .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(object.getId()).setDirection(Direction.BiDirectional)));
 
     // Needed for indexing into ElasticSearch.
-    when(getFactSearchManager().getFact(request.getFact())).thenReturn(new FactDocument().setId(request.getFact()));
+    when(getFactSearchManager().getFact(eq(request.getFact()), anyLong())).thenReturn(new FactDocument().setId(request.getFact()));
     when(getObjectManager().getObject(object.getId())).thenReturn(object);
     when(getObjectManager().getObjectType(object.getTypeID())).thenReturn(new ObjectTypeEntity().setId(object.getTypeID()).setName("objectType"));
 
@@ -7,7 +7,9 @@ import no.mnemonic.act.platform.api.model.v1.ObjectType;
 import no.mnemonic.act.platform.api.request.v1.SearchObjectRequest;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectStatisticsEntity;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
@@ -16,10 +18,11 @@ import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -27,17 +30,18 @@ import static org.mockito.Mockito.*;
 public class ObjectSearchDelegateTest extends AbstractDelegateTest {
 
   private final UUID objectID = UUID.randomUUID();
+  private final UUID availableOrganizationID = UUID.randomUUID();
 
   @Before
   public void setup() {
     // Mocks required for Object search itself.
     when(getFactSearchManager().searchObjects(any())).thenReturn(createSearchResult());
     when(getFactSearchManager().calculateObjectStatistics(any())).thenReturn(ObjectStatisticsResult.builder().build());
-    when(getObjectManager().getObjects(any())).thenReturn(SetUtils.set(new ObjectEntity().setId(objectID)).iterator());
+    mockObjects(new ObjectEntity().setId(objectID));
 
     // Mocks required for ElasticSearch access control.
     when(getSecurityContext().getCurrentUserID()).thenReturn(UUID.randomUUID());
-    when(getSecurityContext().getAvailableOrganizationID()).thenReturn(SetUtils.set(UUID.randomUUID()));
+    when(getSecurityContext().getAvailableOrganizationID()).thenReturn(SetUtils.set(availableOrganizationID));
 
     // Mocks required for ObjectConverter.
     when(getObjectTypeConverter().apply(any())).thenReturn(ObjectType.builder().build());
@@ -91,6 +95,68 @@ public class ObjectSearchDelegateTest extends AbstractDelegateTest {
     verify(getObjectManager()).getObjects(ListUtils.list(objectID));
   }
 
+  @Test
+  public void testSearchObjectsUsesTrackedStatistics() throws Exception {
+    UUID factTypeID = UUID.randomUUID();
+    mockObjects(new ObjectEntity().setId(objectID).setStatisticsTracked(true));
+    mockObjectStatistics(ListUtils.list(
+            createStatistics(factTypeID, AccessMode.Public, UUID.randomUUID(), 2, 100),
+            createStatistics(factTypeID, AccessMode.RoleBased, availableOrganizationID, 3, 200)
+    ));
+
+    ResultSet<Object> result = ObjectSearchDelegate.create().handle(new SearchObjectRequest());
+    Object object = ListUtils.list(result.getValues()).get(0);
+    assertEquals(1, object.getStatistics().size());
+    assertEquals(5, object.getStatistics().get(0).getCount());
+    assertEquals(200L, (long) object.getStatistics().get(0).getLastAddedTimestamp());
+
+    verify(getObjectManager()).fetchObjectStatisticsBatch(SetUtils.set(objectID));
+    verify(getFactSearchManager(), never()).calculateObjectStatistics(any());
+  }
+
+  @Test
+  public void testSearchObjectsCalculatesAclStatisticsForInaccessibleOrganizations() throws Exception {
+    mockObjects(new ObjectEntity().setId(objectID).setStatisticsTracked(true));
+    mockObjectStatistics(ListUtils.list(
+            createStatistics(UUID.randomUUID(), AccessMode.RoleBased, UUID.randomUUID(), 1, 100)
+    ));
+
+    ObjectSearchDelegate.create().handle(new SearchObjectRequest());
+
+    verify(getFactSearchManager()).calculateObjectStatistics(argThat(criteria -> {
+      assertTrue(criteria.isAclAccessOnly());
+      assertEquals(SetUtils.set(objectID), criteria.getObjectID());
+      return true;
+    }));
+  }
+
+  @Test
+  public void testSearchObjectsCalculatesStatisticsForUntrackedObjects() throws Exception {
+    ObjectSearchDelegate.create().handle(new SearchObjectRequest());
+
+    verify(getObjectManager(), never()).fetchObjectStatisticsBatch(anyCollection());
+    verify(getFactSearchManager()).calculateObjectStatistics(argThat(criteria -> !criteria.isAclAccessOnly()));
+  }
+
+  private void mockObjects(ObjectEntity... objects) {
+    when(getObjectManager().getObjects(any())).then(i -> ListUtils.list(objects).iterator());
+  }
+
+  private void mockObjectStatistics(List<ObjectStatisticsEntity> statistics) {
+    when(getObjectManager().fetchObjectStatisticsBatch(anyCollection())).thenReturn(Collections.singletonMap(objectID, statistics));
+  }
+
+  private ObjectStatisticsEntity createStatistics(UUID factTypeID, AccessMode accessMode, UUID organizationID, long count, long timestamp) {
+    return new ObjectStatisticsEntity()
+            .setObjectID(objectID)
+            .setFactTypeID(factTypeID)
+            .setAccessMode(accessMode)
+            .setOrganizationID(organizationID)
+            .setFactCount(count)
+            .setLastAddedTimestamp(timestamp)
+            .setLastSeenTimestamp(timestamp);
+  }
+
   private SearchResult<ObjectDocument> createSearchResult() {
     return SearchResult.<ObjectDocument>builder()
             .setLimit(25)
@@ -11,6 +11,7 @@ import no.mnemonic.act.platform.api.request.v1.TraverseByObjectTypeValueRequest;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.helpers.TraversalAdmissionController;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +20,9 @@ import org.mockito.Mock;
 import java.util.Collections;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -67,6 +71,7 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
             .setObjectSearch(objectSearch)
             .setObjectConverter(getObjectConverter())
             .setFactConverter(getFactConverter())
+            .setAdmissionController(new TraversalAdmissionController())
             .setScriptExecutionTimeout(2000)
             .build();
   }
@@ -92,6 +97,16 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     TraverseGraphDelegate.builder()
             .setObjectSearch(objectSearch)
             .setObjectConverter(getObjectConverter())
+            .setAdmissionController(new TraversalAdmissionController())
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateDelegateWithoutAdmissionController() {
+    TraverseGraphDelegate.builder()
+            .setObjectSearch(objectSearch)
+            .setObjectConverter(getObjectConverter())
+            .setFactConverter(getFactConverter())
             .build();
   }
 
@@ -255,6 +270,45 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
     testTraverseGraphTimeout(byObjectSearchHandle);
   }
 
+  @Test
+  public void testTraverseGraphCancelled() throws Exception {
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(true);
+    ObjectEntity otherObject = mockFetchObject();
+    FactEntity fact = mockFetchFact(otherObject);
+    ObjectEntity startObject = mockFetchObject(fact);
+
+    // Block fetching the Fact until the request has been cancelled.
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(getFactManager().getFact(fact.getId())).thenAnswer(invocation -> {
+      fetching.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return fact;
+    });
+
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread request = new Thread(() -> {
+      try {
+        delegate.handle(new TraverseByObjectIdRequest().setId(startObject.getId()).setQuery("g.outE().inV()"));
+      } catch (Exception ex) {
+        failure.set(ex);
+      }
+    });
+    request.start();
+    assertTrue(fetching.await(10, TimeUnit.SECONDS));
+
+    request.interrupt();
+    // The request waits for the traversal to finish, give it time to signal the cancellation to the graph.
+    request.join(500);
+    release.countDown();
+    request.join(10000);
+
+    assertTrue(failure.get() instanceof OperationTimeoutException);
+    assertEquals("graph.traversal.cancelled", OperationTimeoutException.class.cast(failure.get()).getMessageTemplate());
+    // The traversal stops before fetching the Object on the other side of the Fact.
+    verify(getObjectManager(), never()).getObject(otherObject.getId());
+  }
+
   private void testTraverseGraphReturnEdges(TestMethod method) throws Exception {
     ObjectEntity startObject = mockFullTraversal();
     ResultSet<?> result = method.execute(startObject, "g.outE()");
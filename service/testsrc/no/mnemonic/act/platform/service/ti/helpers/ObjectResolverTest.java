@@ -1,7 +1,7 @@
 package no.mnemonic.act.platform.service.ti.helpers;
 
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.api.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
 import no.mnemonic.act.platform.service.validators.Validator;
@@ -75,17 +75,29 @@ public class ObjectResolverTest {
     ObjectTypeEntity type = mockFetchObjectType();
     mockValidator(true);
 
-    when(objectManager.saveObject(any())).thenAnswer(i -> i.getArgument(0));
+    when(objectManager.getOrCreateObject(any())).thenAnswer(i -> i.getArgument(0));
 
     ObjectEntity resolvedObject = resolver.resolveObject(String.format("%s/%s", type.getName(), value));
     assertObjectEntity(resolvedObject, type.getId(), value);
 
-    verify(objectManager).saveObject(argThat(e -> {
+    verify(objectManager).getOrCreateObject(argThat(e -> {
       assertObjectEntity(e, type.getId(), value);
       return true;
     }));
   }
 
+  @Test
+  public void testCreateMissingObjectReturnsConcurrentlyCreatedObject() throws Exception {
+    ObjectTypeEntity type = mockFetchObjectType();
+    ObjectEntity existing = new ObjectEntity().setId(UUID.randomUUID()).setTypeID(type.getId()).setValue("ObjectValue");
+    mockValidator(true);
+
+    when(objectManager.getOrCreateObject(any())).thenReturn(existing);
+
+    assertSame(existing, resolver.resolveObject(String.format("%s/%s", type.getName(), existing.getValue())));
+    verify(objectManager, never()).saveObject(any());
+  }
+
   @Test
   public void testCreateMissingObjectFailsOnMissingObjectType() {
     try {
@@ -93,7 +105,7 @@ public class ObjectResolverTest {
       fail();
     } catch (InvalidArgumentException ex) {
       assertEquals("object.type.not.exist", ex.getValidationErrors().iterator().next().getMessageTemplate());
-      verify(objectManager, never()).saveObject(any());
+      verify(objectManager, never()).getOrCreateObject(any());
     }
   }
 
@@ -107,7 +119,7 @@ public class ObjectResolverTest {
       fail();
     } catch (InvalidArgumentException ex) {
       assertEquals("object.not.valid", ex.getValidationErrors().iterator().next().getMessageTemplate());
-      verify(objectManager, never()).saveObject(any());
+      verify(objectManager, never()).getOrCreateObject(any());
     }
   }
 
@@ -0,0 +1,122 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class ReadCoalescerTest {
+
+  private final ReadCoalescer coalescer = new ReadCoalescer();
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger reads = new AtomicInteger();
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrentIdenticalReadsAreCoalesced() throws Exception {
+    UUID id = UUID.randomUUID();
+    Object result = new Object();
+
+    Future<Object> first = executor.submit(() -> coalescer.read(blockingRead(() -> result), "object.id", id));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Future<Object> second = executor.submit(() -> coalescer.read(blockingRead(Object::new), "object.id", id));
+    waitUntilCoalesced(1);
+
+    release.countDown();
+    assertSame(result, first.get(5, TimeUnit.SECONDS));
+    assertSame(result, second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, reads.get());
+    assertEquals(1, coalescer.getExecuted());
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  @Test
+  public void testDifferentReadsAreNotCoalesced() throws Exception {
+    UUID id = UUID.randomUUID();
+
+    Future<Object> first = executor.submit(() -> coalescer.read(blockingRead(Object::new), "object.id", id));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    // Same argument, but different operation.
+    assertEquals("other", coalescer.read(() -> "other", "fact.id", id));
+    // Same operation, but different arguments.
+    assertEquals("other", coalescer.read(() -> "other", "object.id", UUID.randomUUID()));
+
+    release.countDown();
+    assertNotNull(first.get(5, TimeUnit.SECONDS));
+    assertEquals(0, coalescer.getCoalesced());
+    assertEquals(3, coalescer.getExecuted());
+  }
+
+  @Test
+  public void testFinishedReadsAreNotCached() {
+    assertEquals(1, (int) coalescer.read(reads::incrementAndGet, "object.type.value", "type", "value"));
+    assertEquals(2, (int) coalescer.read(reads::incrementAndGet, "object.type.value", "type", "value"));
+    assertEquals(0, coalescer.getCoalesced());
+  }
+
+  @Test
+  public void testFailedReadIsPassedToCoalescedReads() throws Exception {
+    IllegalStateException failure = new IllegalStateException();
+
+    Future<Object> first = executor.submit(() -> coalescer.read(blockingRead(() -> {
+      throw failure;
+    }), "fact.id", "id"));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Future<Object> second = executor.submit(() -> coalescer.read(Object::new, "fact.id", "id"));
+    waitUntilCoalesced(1);
+
+    release.countDown();
+    assertSame(failure, failureOf(first));
+    assertSame(failure, failureOf(second));
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  private <T> Supplier<T> blockingRead(Supplier<T> read) {
+    return () -> {
+      reads.incrementAndGet();
+      started.countDown();
+      try {
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      }
+      return read.get();
+    };
+  }
+
+  private void waitUntilCoalesced(long expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (coalescer.getCoalesced() < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, coalescer.getCoalesced());
+  }
+
+  private Throwable failureOf(Future<?> future) throws Exception {
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+      return null;
+    } catch (ExecutionException ex) {
+      return ex.getCause();
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class SearchResultCacheTest {
+
+  private final UUID currentUser = UUID.randomUUID();
+  private final UUID organization = UUID.randomUUID();
+  private final AtomicInteger searches = new AtomicInteger();
+
+  private SearchResultCache cache;
+
+  @Before
+  public void setUp() {
+    cache = createCache("10");
+  }
+
+  @Test
+  public void testIdenticalSearchIsCached() {
+    ResultSet<String> first = cache.get("facts", createCriteria(currentUser, "value"), false, search());
+    ResultSet<String> second = cache.get("facts", createCriteria(currentUser, "value"), false, search());
+
+    assertSame(first, second);
+    assertEquals(1, searches.get());
+    assertEquals(1, cache.getCacheStats().hitCount());
+  }
+
+  @Test
+  public void testDifferentSearchesAreNotShared() {
+    cache.get("facts", createCriteria(currentUser, "value"), false, search());
+    // Same request, but different operation.
+    cache.get("objects", createCriteria(currentUser, "value"), false, search());
+    // Same request, but different user.
+    cache.get("facts", createCriteria(UUID.randomUUID(), "value"), false, search());
+    // Same user, but different request.
+    cache.get("facts", createCriteria(currentUser, "other"), false, search());
+
+    assertEquals(4, searches.get());
+    assertEquals(0, cache.getCacheStats().hitCount());
+  }
+
+  @Test
+  public void testBypassExecutesSearchAndRefreshesCache() {
+    ResultSet<String> first = cache.get("facts", createCriteria(currentUser, "value"), false, search());
+    ResultSet<String> bypassed = cache.get("facts", createCriteria(currentUser, "value"), true, search());
+    ResultSet<String> cached = cache.get("facts", createCriteria(currentUser, "value"), false, search());
+
+    assertNotSame(first, bypassed);
+    assertSame(bypassed, cached);
+    assertEquals(2, searches.get());
+  }
+
+  @Test
+  public void testInvalidateMakesCachedResultsUnreachable() {
+    cache.get("facts", createCriteria(currentUser, "value"), false, search());
+    cache.invalidate();
+    cache.get("facts", createCriteria(currentUser, "value"), false, search());
+    // Results of searches executed directly after a write are not cached because the index might not be refreshed yet.
+    cache.get("facts", createCriteria(currentUser, "value"), false, search());
+
+    assertEquals(3, searches.get());
+    assertEquals(1, cache.getGeneration());
+  }
+
+  @Test
+  public void testCacheIsDisabledByDefault() {
+    SearchResultCache disabled = new SearchResultCache();
+    disabled.get("facts", createCriteria(currentUser, "value"), false, search());
+    disabled.get("facts", createCriteria(currentUser, "value"), false, search());
+
+    assertEquals(2, searches.get());
+    assertNull(disabled.getCacheStats());
+  }
+
+  private Supplier<ResultSet<String>> search() {
+    return () -> {
+      searches.incrementAndGet();
+      return ResultSet.<String>builder().build();
+    };
+  }
+
+  private FactSearchCriteria createCriteria(UUID user, String value) {
+    return FactSearchCriteria.builder()
+            .addFactValue(value)
+            .setLimit(25)
+            .setCurrentUserID(user)
+            .addAvailableOrganizationID(organization)
+            .build();
+  }
+
+  private SearchResultCache createCache(String size) {
+    return Guice.createInjector(binder -> binder.bindConstant().annotatedWith(Names.named("search.cache.size")).to(size))
+            .getInstance(SearchResultCache.class);
+  }
+
+}
@@ -0,0 +1,158 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import no.mnemonic.act.platform.api.exceptions.OperationRejectedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TraversalAdmissionControllerTest {
+
+  private final UUID analyst = UUID.randomUUID();
+  private final UUID batchUser = UUID.randomUUID();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private TraversalAdmissionController controller;
+
+  @Before
+  public void setUp() {
+    controller = Guice.createInjector(binder -> {
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.max.concurrent")).to("2");
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.max.concurrent.per.user")).to("1");
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.max.cost")).to("100");
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.max.cost.total")).to("150");
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.queue.size")).to("1");
+      binder.bindConstant().annotatedWith(Names.named("traversal.admission.queue.timeout")).to("200");
+    }).getInstance(TraversalAdmissionController.class);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testEstimateCost() {
+    assertEquals(1, TraversalAdmissionController.estimateCost(0, null));
+    assertEquals(10, TraversalAdmissionController.estimateCost(10, "g.values('value')"));
+    assertEquals(30, TraversalAdmissionController.estimateCost(10, "g.outE().inV()"));
+    assertEquals(120, TraversalAdmissionController.estimateCost(10, "g.repeat(both()).times(3)"));
+  }
+
+  @Test
+  public void testDefaultsRejectInsteadOfWaitingWhenTraversePoolIsSaturated() throws Exception {
+    TraversalAdmissionController defaults = Guice.createInjector(binder -> binder.bindConstant()
+            .annotatedWith(Names.named("api.server.executor.traverse.threads")).to("2"))
+            .getInstance(TraversalAdmissionController.class);
+
+    try (TraversalAdmissionController.Permit ignored1 = defaults.admit(analyst, 10);
+         TraversalAdmissionController.Permit ignored2 = defaults.admit(batchUser, 10)) {
+      defaults.admit(UUID.randomUUID(), 10);
+      fail();
+    } catch (OperationRejectedException ignored) {
+      assertEquals(0, defaults.getTimedOut());
+      assertEquals(1, defaults.getRejected());
+    }
+  }
+
+  @Test
+  public void testAdmitAndRelease() throws Exception {
+    try (TraversalAdmissionController.Permit ignored = controller.admit(analyst, 10)) {
+      assertEquals(1, controller.getRunning());
+      assertEquals(10, controller.getRunningCost());
+    }
+    assertEquals(0, controller.getRunning());
+    assertEquals(0, controller.getRunningCost());
+    assertEquals(1, controller.getAdmitted());
+  }
+
+  @Test
+  public void testReleaseTwiceReleasesOnce() throws Exception {
+    TraversalAdmissionController.Permit first = controller.admit(analyst, 10);
+    try (TraversalAdmissionController.Permit ignored = controller.admit(batchUser, 10)) {
+      first.close();
+      first.close();
+      assertEquals(1, controller.getRunning());
+    }
+  }
+
+  @Test
+  public void testRejectTooExpensiveTraversal() {
+    assertRejected(() -> controller.admit(analyst, 101), "graph.traversal.rejected.cost");
+    assertEquals(0, controller.getRunning());
+  }
+
+  @Test
+  public void testRejectTraversalExceedingUserLimit() throws Exception {
+    try (TraversalAdmissionController.Permit ignored = controller.admit(batchUser, 10)) {
+      assertRejected(() -> controller.admit(batchUser, 10), "graph.traversal.rejected.user");
+      // Other users are still admitted.
+      controller.admit(analyst, 10).close();
+    }
+  }
+
+  @Test
+  public void testQueuedTraversalIsAdmittedWhenCapacityIsReleased() throws Exception {
+    TraversalAdmissionController.Permit running = controller.admit(batchUser, 100);
+    // Exceeds the total cost, thus, it has to wait until the first traversal is finished.
+    Future<Long> queued = executor.submit(() -> {
+      try (TraversalAdmissionController.Permit ignored = controller.admit(analyst, 100)) {
+        return controller.getRunningCost();
+      }
+    });
+
+    waitUntilQueued(1);
+    running.close();
+    assertEquals(100, (long) queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testQueuedTraversalTimesOut() throws Exception {
+    try (TraversalAdmissionController.Permit ignored = controller.admit(batchUser, 100)) {
+      assertRejected(() -> controller.admit(analyst, 100), "graph.traversal.rejected.timeout");
+      assertEquals(1, controller.getTimedOut());
+      assertEquals(0, controller.getQueued());
+    }
+  }
+
+  @Test
+  public void testRejectTraversalIfQueueIsFull() throws Exception {
+    try (TraversalAdmissionController.Permit ignored = controller.admit(batchUser, 100)) {
+      executor.submit(() -> controller.admit(analyst, 100));
+      waitUntilQueued(1);
+      assertRejected(() -> controller.admit(UUID.randomUUID(), 100), "graph.traversal.rejected.global");
+      assertEquals(1, controller.getRejected());
+    }
+  }
+
+  private void waitUntilQueued(int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (controller.getQueued() < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, controller.getQueued());
+  }
+
+  private void assertRejected(Admission admission, String messageTemplate) {
+    try {
+      admission.admit().close();
+      fail("Traversal should have been rejected.");
+    } catch (OperationRejectedException ex) {
+      assertEquals(messageTemplate, ex.getMessageTemplate());
+    }
+  }
+
+  private interface Admission {
+    TraversalAdmissionController.Permit admit() throws OperationRejectedException;
+  }
+
+}
@@ -0,0 +1,239 @@
+package no.mnemonic.act.platform.service.triggers;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import no.mnemonic.services.triggers.pipeline.api.SubmissionException;
+import no.mnemonic.services.triggers.pipeline.api.TriggerEvent;
+import no.mnemonic.services.triggers.pipeline.worker.InMemoryQueueWorker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TriggerEventDispatcherTest {
+
+  @Mock
+  private InMemoryQueueWorker worker;
+
+  private final CountDownLatch workerBlocked = new CountDownLatch(1);
+  private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+  private TriggerEventDispatcher dispatcher;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+  }
+
+  @After
+  public void tearDown() {
+    releaseWorker.countDown();
+    if (dispatcher != null) dispatcher.stopComponent();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSubmitBeforeStartThrowsException() {
+    createDispatcher("block").submit(createEvent());
+  }
+
+  @Test
+  public void testSubmittedEventsAreDispatchedToWorker() throws Exception {
+    dispatcher = createDispatcher("block");
+    dispatcher.startComponent();
+
+    TriggerEvent event = createEvent();
+    dispatcher.submit(event);
+
+    waitFor(dispatcher::getDispatched, 1);
+    verify(worker).submit(event);
+    assertEquals(1, dispatcher.getSubmitted());
+  }
+
+  @Test
+  public void testQueuedEventsAreDispatchedInOrder() throws Exception {
+    dispatcher = createDispatcher("block", "10");
+    dispatcher.startComponent();
+    blockWorker();
+
+    List<TriggerEvent> events = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      events.add(createEvent());
+      dispatcher.submit(events.get(i));
+    }
+    assertEquals(5, dispatcher.getQueueDepth());
+
+    releaseWorker.countDown();
+    waitFor(dispatcher::getDispatched, 6);
+    assertEquals(0, dispatcher.getQueueDepth());
+
+    InOrder inOrder = inOrder(worker);
+    for (TriggerEvent event : events) {
+      inOrder.verify(worker).submit(event);
+    }
+  }
+
+  @Test
+  public void testDropNewestEventIfQueueIsFull() throws Exception {
+    dispatcher = createDispatcher("dropNewest");
+    dispatcher.startComponent();
+    blockWorker();
+
+    TriggerEvent queued = createEvent();
+    TriggerEvent dropped = createEvent();
+    dispatcher.submit(queued);
+    dispatcher.submit(dropped);
+    assertEquals(1, dispatcher.getDropped());
+
+    releaseWorker.countDown();
+    waitFor(dispatcher::getDispatched, 2);
+    verify(worker).submit(queued);
+    verify(worker, never()).submit(dropped);
+  }
+
+  @Test
+  public void testDropOldestEventIfQueueIsFull() throws Exception {
+    dispatcher = createDispatcher("dropOldest");
+    dispatcher.startComponent();
+    blockWorker();
+
+    TriggerEvent dropped = createEvent();
+    TriggerEvent queued = createEvent();
+    dispatcher.submit(dropped);
+    dispatcher.submit(queued);
+    assertEquals(1, dispatcher.getDropped());
+
+    releaseWorker.countDown();
+    waitFor(dispatcher::getDispatched, 2);
+    verify(worker).submit(queued);
+    verify(worker, never()).submit(dropped);
+  }
+
+  @Test
+  public void testBlockAndDropEventAfterTimeout() throws Exception {
+    dispatcher = createDispatcher("block");
+    dispatcher.startComponent();
+    blockWorker();
+
+    dispatcher.submit(createEvent());
+    long start = System.currentTimeMillis();
+    dispatcher.submit(createEvent());
+
+    assertTrue(System.currentTimeMillis() - start >= 50);
+    assertEquals(1, dispatcher.getDropped());
+  }
+
+  @Test
+  public void testFailedSubmissionToWorkerIsCounted() throws Exception {
+    dispatcher = createDispatcher("block");
+    dispatcher.startComponent();
+    doThrow(SubmissionException.class).when(worker).submit(any());
+
+    dispatcher.submit(createEvent());
+
+    waitFor(dispatcher::getFailed, 1);
+    assertEquals(0, dispatcher.getDispatched());
+  }
+
+  @Test
+  public void testStopDispatchesQueuedEvents() throws Exception {
+    dispatcher = createDispatcher("block", "10");
+    dispatcher.startComponent();
+    blockWorker();
+    dispatcher.submit(createEvent());
+
+    releaseWorker.countDown();
+    dispatcher.stopComponent();
+    assertEquals(2, dispatcher.getDispatched());
+  }
+
+  @Test
+  public void testStopDispatchesEventAcceptedWhileStopping() throws Exception {
+    dispatcher = createDispatcher("block", "1", "5000");
+    dispatcher.startComponent();
+    blockWorker();
+    dispatcher.submit(createEvent());
+
+    // The submitter passes the running check before stopping and waits for free space in the full queue.
+    TriggerEvent late = createEvent();
+    Thread submitter = new Thread(() -> dispatcher.submit(late));
+    submitter.start();
+    waitForState(submitter, Thread.State.TIMED_WAITING);
+
+    Thread stopper = new Thread(dispatcher::stopComponent);
+    stopper.start();
+    waitForState(stopper, Thread.State.TIMED_WAITING);
+    releaseWorker.countDown();
+
+    submitter.join(5000);
+    stopper.join(5000);
+    assertEquals(3, dispatcher.getDispatched());
+    assertEquals(0, dispatcher.getDropped());
+    assertEquals(0, dispatcher.getQueueDepth());
+    verify(worker).submit(late);
+  }
+
+  private void blockWorker() throws Exception {
+    doAnswer(invocation -> {
+      workerBlocked.countDown();
+      assertTrue(releaseWorker.await(5, TimeUnit.SECONDS));
+      return null;
+    }).doNothing().when(worker).submit(any());
+
+    // The first event occupies the worker, thus, all following events stay in the queue.
+    dispatcher.submit(createEvent());
+    assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+  }
+
+  private void waitFor(LongSupplier counter, long expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (counter.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, counter.getAsLong());
+  }
+
+  private void waitForState(Thread thread, Thread.State expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (thread.getState() != expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, thread.getState());
+  }
+
+  private TriggerEventDispatcher createDispatcher(String policy) {
+    return createDispatcher(policy, "1");
+  }
+
+  private TriggerEventDispatcher createDispatcher(String policy, String queueSize) {
+    return createDispatcher(policy, queueSize, "50");
+  }
+
+  private TriggerEventDispatcher createDispatcher(String policy, String queueSize, String blockTimeout) {
+    return Guice.createInjector(binder -> {
+      binder.bind(InMemoryQueueWorker.class).toInstance(worker);
+      binder.bindConstant().annotatedWith(Names.named("trigger.dispatcher.queue.size")).to(queueSize);
+      binder.bindConstant().annotatedWith(Names.named("trigger.dispatcher.overflow.policy")).to(policy);
+      binder.bindConstant().annotatedWith(Names.named("trigger.dispatcher.block.timeout")).to(blockTimeout);
+    }).getInstance(TriggerEventDispatcher.class);
+  }
+
+  private TriggerEvent createEvent() {
+    TriggerEvent event = mock(TriggerEvent.class);
+    when(event.getId()).thenReturn(UUID.randomUUID());
+    return event;
+  }
+
+}